@@ -0,0 +1,238 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshotStore;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cold-start benchmark comparing the time to the first {@code execute()} when the
+ * KieContainer is built from raw DRL versus loaded from the precompiled executable model,
+ * and when the executable model's kbases are restored from a {@link KieBaseSnapshotStore}
+ * snapshot instead of being built.
+ *
+ * Every sample runs in a fresh JVM, because class loading and DRL compilation only
+ * happen once per process. Run it with {@code ./gradlew startupBenchmark}.
+ */
+public class StartupBenchmark {
+
+    static final String MODE_DRL = "drl";
+    static final String MODE_EXECUTABLE_MODEL = "executable-model";
+    static final String MODE_SNAPSHOT = "snapshot";
+
+    private static final String[] KSESSIONS = {"offerKSession", "orderKSession", "paymentKSession", "allRulesKSession"};
+    private static final String[] DRL_RESOURCES = {"rules/offer-rules.drl", "rules/order-rules.drl", "rules/payment-rules.drl"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (MODE_DRL.equals(args[0]) || MODE_EXECUTABLE_MODEL.equals(args[0]))) {
+            runSingle(args[0]);
+        } else if (args.length > 1 && MODE_SNAPSHOT.equals(args[0])) {
+            runSnapshot(Paths.get(args[1]));
+        } else {
+            int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+            compare(iterations);
+        }
+    }
+
+    /**
+     * Forks {@code iterations} JVMs per mode and prints the median of each metric.
+     */
+    private static void compare(int iterations) throws IOException, InterruptedException {
+        System.out.printf("%-18s %16s %16s %16s%n", "mode", "container (ms)", "first exec (ms)", "metaspace (MB)");
+        for (String mode : new String[]{MODE_DRL, MODE_EXECUTABLE_MODEL}) {
+            String classpath = classpath(mode);
+            List<double[]> samples = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                samples.add(fork(classpath, mode));
+            }
+            print(mode, samples);
+        }
+
+        // The first run writes the snapshots the measured runs restore
+        Path snapshots = Files.createTempDirectory("kbase-snapshots");
+        String classpath = classpath(MODE_EXECUTABLE_MODEL);
+        fork(classpath, MODE_SNAPSHOT, snapshots.toString());
+        List<double[]> samples = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            samples.add(fork(classpath, MODE_SNAPSHOT, snapshots.toString()));
+        }
+        print(MODE_SNAPSHOT, samples);
+    }
+
+    private static String classpath(String mode) {
+        String classpath = System.getProperty("rulesengine.benchmark.classpath." + mode);
+        if (classpath == null) {
+            throw new IllegalStateException("System property rulesengine.benchmark.classpath." + mode + " is not set");
+        }
+        return classpath;
+    }
+
+    private static void print(String mode, List<double[]> samples) {
+        System.out.printf("%-18s %16.1f %16.1f %16.1f%n", mode,
+                median(samples, 0), median(samples, 1), median(samples, 2));
+    }
+
+    private static double[] fork(String classpath, String... args) throws IOException, InterruptedException {
+        String mode = args[0];
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(java, "-cp", classpath, StartupBenchmark.class.getName()));
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    result = line;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Benchmark run for mode " + mode + " failed");
+        }
+        String[] fields = result.split(" ");
+        return new double[]{Double.parseDouble(fields[1]), Double.parseDouble(fields[2]), Double.parseDouble(fields[3])};
+    }
+
+    private static double median(List<double[]> samples, int index) {
+        List<Double> values = new ArrayList<>();
+        for (double[] sample : samples) {
+            values.add(sample[index]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    /**
+     * Measures a single cold start: container creation, then one execute per ksession.
+     */
+    private static void runSingle(String mode) {
+        long start = System.nanoTime();
+        KieContainer kieContainer = MODE_DRL.equals(mode) ? buildFromDrl() : KieServices.Factory.get().getKieClasspathContainer();
+        long containerReady = System.nanoTime();
+
+        for (String ksession : KSESSIONS) {
+            StatelessKieSession session = kieContainer.newStatelessKieSession(ksession);
+            session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+            session.execute(Arrays.asList(sampleOffer(), sampleOrder(), samplePayment()));
+        }
+        long firstExecuted = System.nanoTime();
+
+        printResult(start, containerReady, firstExecuted);
+    }
+
+    /**
+     * Measures a cold start of the executable model whose kbases come from snapshots: container
+     * creation and kbase restore, then one execute per ksession.
+     */
+    private static void runSnapshot(Path directory) {
+        long start = System.nanoTime();
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        KieBaseSnapshotStore store = new KieBaseSnapshotStore(directory);
+        List<KieBase> kieBases = new ArrayList<>();
+        for (String ksession : KSESSIONS) {
+            String kieBaseName = kieContainer.getKieSessionModel(ksession).getKieBaseModel().getName();
+            kieBases.add(store.load(kieContainer, kieBaseName).getKieBase());
+        }
+        long containerReady = System.nanoTime();
+
+        for (KieBase kieBase : kieBases) {
+            StatelessKieSession session = kieBase.newStatelessKieSession();
+            session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+            session.execute(Arrays.asList(sampleOffer(), sampleOrder(), samplePayment()));
+        }
+        long firstExecuted = System.nanoTime();
+
+        printResult(start, containerReady, firstExecuted);
+    }
+
+    private static void printResult(long start, long containerReady, long firstExecuted) {
+        System.out.printf("RESULT %.3f %.3f %.3f%n",
+                (containerReady - start) / 1_000_000.0,
+                (firstExecuted - start) / 1_000_000.0,
+                metaspaceUsed() / (1024.0 * 1024.0));
+    }
+
+    private static KieContainer buildFromDrl() {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId("io.shaama", "rules-engine-kjar-drl", "benchmark");
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.write(kieServices.getResources().newClassPathResource("META-INF/kmodule.xml")
+                .setTargetPath("src/main/resources/META-INF/kmodule.xml"));
+        for (String drl : DRL_RESOURCES) {
+            kfs.write(kieServices.getResources().newClassPathResource(drl).setTargetPath("src/main/resources/" + drl));
+        }
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll();
+        if (kieBuilder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("DRL build failed: " + kieBuilder.getResults().getMessages());
+        }
+        return kieServices.newKieContainer(releaseId);
+    }
+
+    private static long metaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if ("Metaspace".equals(pool.getName())) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return 0;
+    }
+
+    private static Offer sampleOffer() {
+        return Offer.builder()
+                .offerId("OFF-BENCH")
+                .customerId("CUST-BENCH")
+                .customerSegment("PREMIUM")
+                .orderAmount(new BigDecimal("1500"))
+                .build();
+    }
+
+    private static Order sampleOrder() {
+        return Order.builder()
+                .orderId("ORD-BENCH")
+                .customerId("CUST-BENCH")
+                .orderAmount(new BigDecimal("800"))
+                .deliveryZone("REGIONAL")
+                .itemCount(3)
+                .productType("ELECTRONICS")
+                .build();
+    }
+
+    private static Payment samplePayment() {
+        return Payment.builder()
+                .paymentId("PAY-BENCH")
+                .orderId("ORD-BENCH")
+                .customerId("CUST-BENCH")
+                .amount(new BigDecimal("1000"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("REGULAR")
+                .transactionCount(5)
+                .build();
+    }
+}
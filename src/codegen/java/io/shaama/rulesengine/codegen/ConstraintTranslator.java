@@ -0,0 +1,414 @@
+package io.shaama.rulesengine.codegen;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates the DRL constraint subset used by single-pattern rules into a Java boolean
+ * expression over a fact variable.
+ *
+ * Supported: property access and method calls on the fact, calls and constants on imported
+ * classes, {@code new}, string, number, boolean and null literals, {@code == != < <= > >=},
+ * {@code in (...)}, {@code not in (...)}, {@code && || !} and parentheses. Anything else fails
+ * the build so the generated evaluator can never silently diverge from Drools. Primitives and
+ * constants of the same enum are compared directly, everything else through
+ * {@code FastPathSupport}. A {@code new BigDecimal} or {@code new BigInteger} of literals is
+ * immutable, so it becomes a constant of the evaluator instead of being created per fact; the
+ * generator does the same in consequences.
+ */
+class ConstraintTranslator {
+
+    private static final String SUPPORT = "FastPathSupport";
+    private static final Set<String> OPERATORS = Set.of("==", "!=", "<", "<=", ">", ">=");
+
+    private final Class<?> factType;
+    private final String factVariable;
+    private final Map<String, Class<?>> imports;
+    private final Map<String, String> constants;
+    private List<String> tokens;
+    private int position;
+
+    /**
+     * @param constants the constants of the evaluator, by the expression they are initialized
+     *                  with; constants the translated constraints use are added to it
+     */
+    ConstraintTranslator(Class<?> factType, String factVariable, Map<String, Class<?>> imports,
+                         Map<String, String> constants) {
+        this.factType = factType;
+        this.factVariable = factVariable;
+        this.imports = imports;
+        this.constants = constants;
+    }
+
+    String translate(String constraint) {
+        tokens = tokenize(constraint);
+        position = 0;
+        Expr expr = parseOr();
+        if (position != tokens.size()) {
+            throw unsupported(constraint, "unexpected '" + tokens.get(position) + "'");
+        }
+        if (expr.type != boolean.class && expr.type != Boolean.class) {
+            throw unsupported(constraint, "not a boolean expression");
+        }
+        return expr.code;
+    }
+
+    private Expr parseOr() {
+        Expr left = parseAnd();
+        while (accept("||")) {
+            Expr right = parseAnd();
+            left = new Expr(left.code + " || " + right.code, boolean.class);
+        }
+        return left;
+    }
+
+    private Expr parseAnd() {
+        Expr left = parseUnary();
+        while (accept("&&")) {
+            Expr right = parseUnary();
+            left = new Expr(left.code + " && " + right.code, boolean.class);
+        }
+        return left;
+    }
+
+    private Expr parseUnary() {
+        if (accept("!")) {
+            Expr operand = parseUnary();
+            return new Expr("!" + operand.code, boolean.class);
+        }
+        return parseComparison();
+    }
+
+    private Expr parseComparison() {
+        Expr left = parsePrimary();
+        String next = peek();
+        if (next != null && OPERATORS.contains(next)) {
+            position++;
+            return compare(left, next, parsePrimary());
+        }
+        boolean negated = "not".equals(next) && "in".equals(peek(1));
+        if (negated || "in".equals(next)) {
+            position += negated ? 2 : 1;
+            expect("(");
+            List<String> alternatives = new ArrayList<>();
+            do {
+                alternatives.add(compare(left, "==", parsePrimary()).code);
+            } while (accept(","));
+            expect(")");
+            String any = "(" + String.join(" || ", alternatives) + ")";
+            return new Expr(negated ? "!" + any : any, boolean.class);
+        }
+        return left;
+    }
+
+    private Expr parsePrimary() {
+        String token = next();
+        if (token.equals("(")) {
+            Expr inner = parseOr();
+            expect(")");
+            return new Expr("(" + inner.code + ")", inner.type);
+        }
+        if (token.startsWith("\"")) {
+            return parseMembers(new Expr(token, String.class));
+        }
+        if (Character.isDigit(token.charAt(0))) {
+            return numberLiteral(token);
+        }
+        switch (token) {
+            case "null":
+                return new Expr("null", Void.class);
+            case "true":
+            case "false":
+                return new Expr(token, boolean.class);
+            case "new": {
+                Class<?> type = resolveClass(next());
+                List<Expr> args = parseArguments();
+                String code = "new " + type.getSimpleName() + "(" + codes(args) + ")";
+                if ((type == BigDecimal.class || type == BigInteger.class) && args.stream().allMatch(this::isLiteral)) {
+                    code = constant(constants, code, type.getSimpleName(), codes(args));
+                }
+                return parseMembers(new Expr(code, type));
+            }
+            default:
+                break;
+        }
+        if (!isIdentifier(token)) {
+            throw unsupported(String.join(" ", tokens), "unexpected '" + token + "'");
+        }
+        if ("(".equals(peek())) {
+            return parseMembers(invoke(new Expr(factVariable, factType), token, parseArguments(), false));
+        }
+        if (imports.containsKey(token) && ".".equals(peek())) {
+            position++;
+            String member = next();
+            Class<?> type = imports.get(token);
+            if (!"(".equals(peek())) {
+                return parseMembers(staticField(type, member));
+            }
+            return parseMembers(invoke(new Expr(type.getSimpleName(), type), member, parseArguments(), true));
+        }
+        return parseMembers(property(new Expr(factVariable, factType), token));
+    }
+
+    private Expr parseMembers(Expr receiver) {
+        Expr current = receiver;
+        while (accept(".")) {
+            String member = next();
+            current = "(".equals(peek())
+                    ? invoke(current, member, parseArguments(), false)
+                    : property(current, member);
+        }
+        return current;
+    }
+
+    private List<Expr> parseArguments() {
+        expect("(");
+        List<Expr> args = new ArrayList<>();
+        if (!accept(")")) {
+            do {
+                args.add(parseOr());
+            } while (accept(","));
+            expect(")");
+        }
+        return args;
+    }
+
+    private Expr compare(Expr left, String operator, Expr right) {
+        if (left.type == Void.class || right.type == Void.class) {
+            Expr value = left.type == Void.class ? right : left;
+            if (!operator.equals("==") && !operator.equals("!=")) {
+                throw unsupported(String.join(" ", tokens), "ordering against null");
+            }
+            return new Expr(value.code + " " + operator + " null", boolean.class);
+        }
+        if ((left.type.isPrimitive() && right.type.isPrimitive())
+                || (left.type.isEnum() && left.type == right.type && (operator.equals("==") || operator.equals("!=")))) {
+            return new Expr(left.code + " " + operator + " " + right.code, boolean.class);
+        }
+        return switch (operator) {
+            case "==" -> new Expr(SUPPORT + ".eq(" + left.code + ", " + right.code + ")", boolean.class);
+            case "!=" -> new Expr("!" + SUPPORT + ".eq(" + left.code + ", " + right.code + ")", boolean.class);
+            default -> {
+                if (!isNumeric(left.type) || !isNumeric(right.type)) {
+                    throw unsupported(String.join(" ", tokens), "ordering of " + left.type.getSimpleName()
+                            + " and " + right.type.getSimpleName());
+                }
+                String method = switch (operator) {
+                    case "<" -> "lt";
+                    case "<=" -> "le";
+                    case ">" -> "gt";
+                    default -> "ge";
+                };
+                yield new Expr(SUPPORT + "." + method + "(" + left.code + ", " + right.code + ")", boolean.class);
+            }
+        };
+    }
+
+    private boolean isLiteral(Expr expr) {
+        return (expr.type == String.class && expr.code.startsWith("\""))
+                || (isNumeric(expr.type) && Character.isDigit(expr.code.charAt(0)));
+    }
+
+    /**
+     * Returns the name of the constant initialized with {@code code}, e.g. {@code BIG_DECIMAL_5000}
+     * for {@code new BigDecimal("5000")}, and adds it to {@code constants} if it is new.
+     */
+    static String constant(Map<String, String> constants, String code, String typeName, String args) {
+        String existing = constants.get(code);
+        if (existing != null) {
+            return existing;
+        }
+        String name = typeName.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase()
+                + "_" + args.replace("-", "MINUS").replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+        String unique = name;
+        for (int i = 2; constants.containsValue(unique); i++) {
+            unique = name + "_" + i;
+        }
+        constants.put(code, unique);
+        return unique;
+    }
+
+    private Expr property(Expr receiver, String name) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : List.of("get" + capitalized, "is" + capitalized, name)) {
+            try {
+                Method method = receiver.type.getMethod(candidate);
+                return new Expr(receiver.code + "." + candidate + "()", method.getReturnType());
+            } catch (NoSuchMethodException e) {
+                // try the next accessor convention
+            }
+        }
+        throw unsupported(String.join(" ", tokens), "no property " + name + " on " + receiver.type.getSimpleName());
+    }
+
+    private Expr staticField(Class<?> type, String name) {
+        try {
+            Field field = type.getField(name);
+            if (Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers())) {
+                return new Expr(type.getSimpleName() + "." + name, field.getType());
+            }
+        } catch (NoSuchFieldException e) {
+            // reported below
+        }
+        throw unsupported(String.join(" ", tokens), "no constant " + name + " on " + type.getSimpleName());
+    }
+
+    private Expr invoke(Expr receiver, String name, List<Expr> args, boolean isStatic) {
+        for (Method method : receiver.type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == args.size() && !method.isBridge()
+                    && Modifier.isStatic(method.getModifiers()) == isStatic && accepts(method, args)) {
+                return new Expr(receiver.code + "." + name + "(" + codes(args) + ")", method.getReturnType());
+            }
+        }
+        throw unsupported(String.join(" ", tokens), "no method " + name + "/" + args.size()
+                + " on " + receiver.type.getSimpleName());
+    }
+
+    private static boolean accepts(Method method, List<Expr> args) {
+        Class<?>[] parameters = method.getParameterTypes();
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> arg = args.get(i).type;
+            if (arg != Void.class && !box(parameters[i]).isAssignableFrom(box(arg))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Expr numberLiteral(String token) {
+        if (token.contains(".")) {
+            return new Expr(token, double.class);
+        }
+        if (token.endsWith("L") || token.endsWith("l")) {
+            return new Expr(token, long.class);
+        }
+        return new Expr(token, int.class);
+    }
+
+    private Class<?> resolveClass(String simpleName) {
+        Class<?> type = imports.get(simpleName);
+        if (type == null) {
+            throw unsupported(String.join(" ", tokens), "unknown type " + simpleName);
+        }
+        return type;
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return Number.class.isAssignableFrom(box(type));
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return switch (type.getName()) {
+            case "int" -> Integer.class;
+            case "long" -> Long.class;
+            case "double" -> Double.class;
+            case "float" -> Float.class;
+            case "short" -> Short.class;
+            case "byte" -> Byte.class;
+            case "char" -> Character.class;
+            case "boolean" -> Boolean.class;
+            default -> type;
+        };
+    }
+
+    private static String codes(List<Expr> args) {
+        List<String> codes = new ArrayList<>();
+        args.forEach(arg -> codes.add(arg.code));
+        return String.join(", ", codes);
+    }
+
+    private static boolean isIdentifier(String token) {
+        return Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    private String peek() {
+        return peek(0);
+    }
+
+    private String peek(int offset) {
+        return position + offset < tokens.size() ? tokens.get(position + offset) : null;
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw unsupported(String.join(" ", tokens), "unexpected end");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String token) {
+        if (token.equals(peek())) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw unsupported(String.join(" ", tokens), "expected '" + token + "'");
+        }
+    }
+
+    private static List<String> tokenize(String constraint) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < constraint.length()) {
+            char c = constraint.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = i + 1;
+                while (constraint.charAt(end) != '"') {
+                    end += constraint.charAt(end) == '\\' ? 2 : 1;
+                }
+                tokens.add(constraint.substring(i, end + 1));
+                i = end + 1;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i;
+                while (end < constraint.length() && Character.isJavaIdentifierPart(constraint.charAt(end))) {
+                    end++;
+                }
+                tokens.add(constraint.substring(i, end));
+                i = end;
+            } else if (Character.isDigit(c)) {
+                int end = i;
+                while (end < constraint.length()
+                        && (Character.isLetterOrDigit(constraint.charAt(end)) || constraint.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(constraint.substring(i, end));
+                i = end;
+            } else {
+                String two = i + 1 < constraint.length() ? constraint.substring(i, i + 2) : "";
+                if (Set.of("==", "!=", "<=", ">=", "&&", "||").contains(two)) {
+                    tokens.add(two);
+                    i += 2;
+                } else if ("()!<>,.".indexOf(c) >= 0) {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    throw unsupported(constraint, "unexpected character '" + c + "'");
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static UnsupportedOperationException unsupported(String constraint, String reason) {
+        return new UnsupportedOperationException("Cannot translate constraint [" + constraint + "]: " + reason);
+    }
+
+    private record Expr(String code, Class<?> type) {
+    }
+}
@@ -0,0 +1,80 @@
+package io.shaama.rulesengine.codegen;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build-time generator for the Drools executable model.
+ *
+ * Compiles the DRL files and kmodule.xml found in the resources directory into
+ * the generated rule classes and model metadata (META-INF/kie/..., the project
+ * model class and pom.properties), and writes everything that is not already a
+ * plain resource into the output directory so the jar task can package it.
+ *
+ * Usage: ExecutableModelGenerator &lt;resourcesDir&gt; &lt;outputDir&gt; &lt;groupId&gt; &lt;artifactId&gt; &lt;version&gt;
+ */
+public class ExecutableModelGenerator {
+
+    private static final String RESOURCES_PREFIX = "src/main/resources/";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            throw new IllegalArgumentException(
+                    "Usage: ExecutableModelGenerator <resourcesDir> <outputDir> <groupId> <artifactId> <version>");
+        }
+        Path resourcesDir = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]);
+
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId(args[2], args[3], args[4]);
+
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        List<Path> resources = listFiles(resourcesDir);
+        for (Path resource : resources) {
+            kfs.write(RESOURCES_PREFIX + toResourceName(resourcesDir, resource), Files.readAllBytes(resource));
+        }
+
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll(ExecutableModelProject.class);
+        List<Message> errors = kieBuilder.getResults().getMessages(Message.Level.ERROR);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Executable model generation failed: " + errors);
+        }
+
+        InternalKieModule kieModule = (InternalKieModule) kieBuilder.getKieModule();
+        int written = 0;
+        for (String fileName : kieModule.getFileNames()) {
+            // kmodule.xml and the DRL sources are already packaged from src/main/resources
+            if (Files.exists(resourcesDir.resolve(fileName))) {
+                continue;
+            }
+            Path target = outputDir.resolve(fileName);
+            Files.createDirectories(target.getParent());
+            Files.write(target, kieModule.getBytes(fileName));
+            written++;
+        }
+        System.out.println("Generated executable model for " + releaseId + ": " + written + " files in " + outputDir);
+    }
+
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static String toResourceName(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+}
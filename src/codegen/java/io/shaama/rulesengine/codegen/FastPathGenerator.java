@@ -0,0 +1,277 @@
+package io.shaama.rulesengine.codegen;
+
+import org.drools.drl.ast.descr.AttributeDescr;
+import org.drools.drl.ast.descr.BaseDescr;
+import org.drools.drl.ast.descr.ExprConstraintDescr;
+import org.drools.drl.ast.descr.GlobalDescr;
+import org.drools.drl.ast.descr.ImportDescr;
+import org.drools.drl.ast.descr.PackageDescr;
+import org.drools.drl.ast.descr.PatternDescr;
+import org.drools.drl.ast.descr.RuleDescr;
+import org.drools.drl.parser.DrlParser;
+import org.drools.drl.parser.DroolsParserException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Build-time translator from flat single-fact DRL files to straight-line Java evaluators.
+ *
+ * Every rule must have a single pattern on the same fact type, plain constraints and a
+ * consequence that only updates the fact and reports to the decision event sink global. Since
+ * such rules never notify the engine of changes, Drools evaluates all their constraints when
+ * the fact is inserted and then fires the matches by descending salience, ties in declaration
+ * order; the generated code does exactly the same, stopping early where the
+ * {@code HitPolicy} cancels the remaining matches. Rule files outside that shape fail the
+ * build instead of producing an evaluator that could diverge from Drools.
+ *
+ * Writes one {@code <Name>FastPath} class per DRL file plus the
+ * {@code META-INF/services} registration for {@code FastPathEvaluator}.
+ *
+ * Usage: FastPathGenerator &lt;rulesDir&gt; &lt;javaOutputDir&gt; &lt;resourcesOutputDir&gt;
+ */
+public class FastPathGenerator {
+
+    static final String GENERATED_PACKAGE = "io.shaama.rulesengine.fastpath.generated";
+
+    private static final String SINK_TYPE = "io.shaama.rulesengine.events.DecisionEventSink";
+    private static final String EVALUATOR_TYPE = "io.shaama.rulesengine.fastpath.FastPathEvaluator";
+    private static final String HIT_POLICY_TYPE = "io.shaama.rulesengine.runtime.HitPolicy";
+    private static final String FACT = "fact";
+    private static final Pattern RULE_NAME = Pattern.compile("drools\\s*\\.\\s*getRule\\s*\\(\\s*\\)\\s*\\.\\s*getName\\s*\\(\\s*\\)");
+    private static final Pattern CONSTANT = Pattern.compile(
+            "\\bnew\\s+(BigDecimal|BigInteger)\\s*\\(\\s*(\"[^\"\\\\]*\"|[0-9][0-9.]*)\\s*\\)");
+    private static final Pattern ENGINE_CALL = Pattern.compile(
+            "\\bdrools\\b|\\b(update|insert|insertLogical|modify|retract|delete|kcontext)\\s*[({.]");
+
+    public static void main(String[] args) throws IOException, DroolsParserException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: FastPathGenerator <rulesDir> <javaOutputDir> <resourcesOutputDir>");
+        }
+        Path rulesDir = Paths.get(args[0]);
+        Path javaDir = Paths.get(args[1]);
+        Path resourcesDir = Paths.get(args[2]);
+
+        List<String> generated = new ArrayList<>();
+        for (Path drl : listDrlFiles(rulesDir)) {
+            String className = className(drl);
+            String source = generate(rulesDir.relativize(drl).toString().replace('\\', '/'), className,
+                    Files.readString(drl));
+            Path target = javaDir.resolve(GENERATED_PACKAGE.replace('.', '/')).resolve(className + ".java");
+            Files.createDirectories(target.getParent());
+            Files.writeString(target, source);
+            generated.add(GENERATED_PACKAGE + "." + className);
+        }
+
+        Path services = resourcesDir.resolve("META-INF/services/" + EVALUATOR_TYPE);
+        Files.createDirectories(services.getParent());
+        Files.writeString(services, String.join("\n", generated) + "\n");
+        System.out.println("Generated " + generated.size() + " fast-path evaluators in " + javaDir);
+    }
+
+    static String generate(String sourceName, String className, String drl) throws DroolsParserException {
+        DrlParser parser = new DrlParser();
+        PackageDescr pkg = parser.parse(false, drl);
+        if (parser.hasErrors()) {
+            throw new IllegalStateException("Cannot parse " + sourceName + ": " + parser.getErrors());
+        }
+
+        Map<String, Class<?>> imports = resolveImports(pkg);
+        String sinkGlobal = sinkGlobal(sourceName, pkg);
+        List<RuleDescr> rules = new ArrayList<>(pkg.getRules());
+        rules.sort(Comparator.comparingInt(FastPathGenerator::salience).reversed());
+
+        Class<?> factType = null;
+        Map<String, String> constants = new LinkedHashMap<>();
+        StringBuilder conditions = new StringBuilder();
+        StringBuilder consequences = new StringBuilder();
+        for (int i = 0; i < pkg.getRules().size(); i++) {
+            RuleDescr rule = pkg.getRules().get(i);
+            PatternDescr pattern = singlePattern(sourceName, rule);
+            Class<?> type = imports.get(pattern.getObjectType());
+            if (type == null || (factType != null && factType != type)) {
+                throw new UnsupportedOperationException(sourceName + ": rule '" + rule.getName()
+                        + "' must match the single fact type of the file, found " + pattern.getObjectType());
+            }
+            factType = type;
+            ConstraintTranslator translator = new ConstraintTranslator(type, FACT, imports, constants);
+            List<String> constraints = new ArrayList<>();
+            for (BaseDescr constraint : pattern.getConstraint().getDescrs()) {
+                if (!(constraint instanceof ExprConstraintDescr expr)) {
+                    throw new UnsupportedOperationException(sourceName + ": rule '" + rule.getName()
+                            + "' has an unsupported constraint " + constraint);
+                }
+                constraints.add(constraints.isEmpty() && pattern.getConstraint().getDescrs().size() == 1
+                        ? translator.translate(expr.getExpression())
+                        : "(" + translator.translate(expr.getExpression()) + ")");
+            }
+            conditions.append("        boolean ").append(matchVariable(rule, pkg)).append(" = ")
+                    .append(constraints.isEmpty() ? "true" : String.join("\n                && ", constraints))
+                    .append("; // ").append(rule.getName()).append('\n');
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            RuleDescr rule = rules.get(i);
+            PatternDescr pattern = singlePattern(sourceName, rule);
+            consequences.append('\n');
+            if (i > 0 && salience(rule) != salience(rules.get(i - 1))) {
+                consequences.append("        if (fired > 0 && hitPolicy == HitPolicy.PRIORITY) {\n")
+                        .append("            return fired;\n")
+                        .append("        }\n");
+            }
+            consequences.append("        // salience ").append(salience(rule)).append(": ").append(rule.getName()).append('\n')
+                    .append("        if (").append(matchVariable(rule, pkg)).append(") {\n");
+            if (pattern.getIdentifier() != null) {
+                consequences.append("            ").append(factType.getSimpleName()).append(' ')
+                        .append(pattern.getIdentifier()).append(" = ").append(FACT).append(";\n");
+            }
+            consequences.append(consequence(sourceName, rule, sinkGlobal, constants))
+                    .append("            if (++fired == 1 && hitPolicy == HitPolicy.FIRST) {\n")
+                    .append("                return fired;\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+        if (factType == null) {
+            throw new UnsupportedOperationException(sourceName + " has no rules");
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(GENERATED_PACKAGE).append(";\n\n");
+        source.append("import ").append(SINK_TYPE).append(";\n");
+        source.append("import ").append(EVALUATOR_TYPE).append(";\n");
+        source.append("import ").append(HIT_POLICY_TYPE).append(";\n");
+        source.append("import io.shaama.rulesengine.fastpath.FastPathSupport;\n");
+        for (Class<?> type : new LinkedHashMap<>(imports).values()) {
+            if (!type.getPackageName().equals("java.lang")) {
+                source.append("import ").append(type.getName()).append(";\n");
+            }
+        }
+        source.append("\n/**\n * Generated from ").append(sourceName)
+                .append(" by FastPathGenerator; do not edit.\n */\n");
+        source.append("public final class ").append(className).append(" implements FastPathEvaluator<")
+                .append(factType.getSimpleName()).append("> {\n\n");
+        constants.forEach((code, name) -> source.append("    private static final ")
+                .append(code, "new ".length(), code.indexOf('(')).append(' ').append(name).append(" = ")
+                .append(code).append(";\n"));
+        if (!constants.isEmpty()) {
+            source.append('\n');
+        }
+        source.append("    @Override\n    public String packageName() {\n        return \"")
+                .append(pkg.getNamespace()).append("\";\n    }\n\n");
+        source.append("    @Override\n    public Class<").append(factType.getSimpleName())
+                .append("> factType() {\n        return ").append(factType.getSimpleName()).append(".class;\n    }\n\n");
+        source.append("    @Override\n    public int evaluate(").append(factType.getSimpleName()).append(' ')
+                .append(FACT).append(", DecisionEventSink ").append(sinkGlobal).append(", HitPolicy hitPolicy) {\n");
+        source.append("        // Constraints are evaluated against the fact as inserted, like the Drools alpha network\n");
+        source.append(conditions);
+        source.append("        int fired = 0;\n");
+        source.append(consequences);
+        source.append("        return fired;\n");
+        source.append("    }\n}\n");
+        return source.toString();
+    }
+
+    private static PatternDescr singlePattern(String sourceName, RuleDescr rule) {
+        List<? extends BaseDescr> lhs = rule.getLhs().getDescrs();
+        if (lhs.size() != 1 || !(lhs.get(0) instanceof PatternDescr pattern) || pattern.getSource() != null) {
+            throw new UnsupportedOperationException(sourceName + ": rule '" + rule.getName()
+                    + "' must have exactly one plain pattern");
+        }
+        return pattern;
+    }
+
+    private static String consequence(String sourceName, RuleDescr rule, String sinkGlobal,
+                                      Map<String, String> constants) {
+        String code = RULE_NAME.matcher(rule.getConsequence().toString())
+                .replaceAll(Matcher.quoteReplacement(javaString(rule.getName())));
+        if (ENGINE_CALL.matcher(stripStringsAndComments(code)).find()) {
+            throw new UnsupportedOperationException(sourceName + ": rule '" + rule.getName()
+                    + "' interacts with the engine in its consequence");
+        }
+        // Rates and charges are literals in the DRL, so that a rule pack carries its own
+        code = CONSTANT.matcher(code).replaceAll(match -> Matcher.quoteReplacement(ConstraintTranslator.constant(
+                constants, "new " + match.group(1) + "(" + match.group(2) + ")", match.group(1), match.group(2))));
+        // The parser hands over the first line without its indentation
+        List<String> lines = code.lines().filter(line -> !line.isBlank()).toList();
+        int indent = lines.stream().skip(1)
+                .mapToInt(line -> line.length() - line.stripLeading().length()).min().orElse(0);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            String statement = i == 0 || line.length() - line.stripLeading().length() < indent
+                    ? line.strip() : line.substring(indent).stripTrailing();
+            body.append("            ").append(statement).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static Map<String, Class<?>> resolveImports(PackageDescr pkg) {
+        Map<String, Class<?>> imports = new LinkedHashMap<>();
+        for (ImportDescr importDescr : pkg.getImports()) {
+            String name = importDescr.getTarget();
+            if (name.endsWith(".*")) {
+                throw new UnsupportedOperationException("Wildcard import " + name + " is not supported");
+            }
+            imports.put(name.substring(name.lastIndexOf('.') + 1), load(name));
+        }
+        return imports;
+    }
+
+    private static String sinkGlobal(String sourceName, PackageDescr pkg) {
+        List<GlobalDescr> globals = pkg.getGlobals();
+        if (globals.size() != 1 || !globals.get(0).getType().equals(SINK_TYPE)) {
+            throw new UnsupportedOperationException(sourceName + " must declare exactly one global of type " + SINK_TYPE);
+        }
+        return globals.get(0).getIdentifier();
+    }
+
+    private static int salience(RuleDescr rule) {
+        AttributeDescr salience = rule.getAttributes().get("salience");
+        return salience == null ? 0 : Integer.parseInt(salience.getValue().trim());
+    }
+
+    private static String matchVariable(RuleDescr rule, PackageDescr pkg) {
+        return "match" + (pkg.getRules().indexOf(rule) + 1);
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name, false, FastPathGenerator.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot resolve import " + name, e);
+        }
+    }
+
+    private static String javaString(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String stripStringsAndComments(String code) {
+        return code.replaceAll("\"(\\\\.|[^\"\\\\])*\"", "\"\"").replaceAll("//[^\\n]*", "");
+    }
+
+    private static String className(Path drl) {
+        StringBuilder name = new StringBuilder();
+        for (String part : drl.getFileName().toString().replaceFirst("\\.drl$", "").split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        return name + "FastPath";
+    }
+
+    private static List<Path> listDrlFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(path -> path.toString().endsWith(".drl")).sorted().toList();
+        }
+    }
+}
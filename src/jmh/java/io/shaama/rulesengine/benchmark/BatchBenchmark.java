@@ -0,0 +1,86 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.runtime.BatchEvaluator;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a batch of mixed facts per kbase, reported per fact.
+ *
+ * Fresh facts are built at {@link Level#Invocation} since the rules update them in place;
+ * with {@value #BATCH_SIZE} facts per invocation the setup cost is negligible next to the
+ * measured work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ddrools.projectClassLoader.enableStoreFirst=false")
+public class BatchBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    @Param({"offerKBase", "orderKBase", "paymentKBase"})
+    private String kieBaseName;
+
+    private StatelessKieSession session;
+    private BatchEvaluator batchEvaluator;
+    private List<Object> facts;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        KieBase kieBase = kieContainer.getKieBase(kieBaseName);
+        session = kieBase.newStatelessKieSession();
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        batchEvaluator = BatchEvaluator.create();
+    }
+
+    @Setup(Level.Invocation)
+    public void newFacts() {
+        facts = Facts.mixed(kieBaseName, BATCH_SIZE, seed++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Object> executeOneByOne() {
+        for (Object fact : facts) {
+            session.execute(fact);
+        }
+        return facts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Object> executeBatch() {
+        session.execute(facts);
+        return facts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Object> executeParallel() {
+        return batchEvaluator.evaluate(kieBaseName, facts).getResults();
+    }
+}
@@ -0,0 +1,103 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.ProductType;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The alpha checks of order-rules.drl evaluated in isolation, in the string/BigDecimal form the
+ * rules used before the typed fact model and in the enum/minor-unit form they use now.
+ * Run with {@code -Pjmh.args="-prof gc"} to see the allocation per check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ddrools.projectClassLoader.enableStoreFirst=false")
+public class ConstraintBenchmark {
+
+    private static final int FACTS = 1000;
+
+    private Order[] orders;
+
+    @Setup
+    public void setUp() {
+        List<Object> facts = Facts.mixed(KieBaseNames.ORDER, FACTS, 42);
+        orders = facts.toArray(new Order[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FACTS)
+    public int stringAndDecimalConstraints() {
+        int matches = 0;
+        for (Order order : orders) {
+            String zone = order.getDeliveryZone() == null ? null : order.getDeliveryZone().name();
+            String productType = order.getProductType() == null ? null : order.getProductType().name();
+            BigDecimal amount = order.getOrderAmount();
+            if (amount.compareTo(new BigDecimal("1000")) >= 0) {
+                matches++;
+            }
+            if ("LOCAL".equals(zone) && amount.compareTo(new BigDecimal("1000")) < 0) {
+                matches++;
+            }
+            if ("INTERNATIONAL".equals(zone) && amount.compareTo(new BigDecimal("1000")) < 0) {
+                matches++;
+            }
+            if (amount.compareTo(new BigDecimal("10000")) >= 0) {
+                matches++;
+            }
+            if ("ELECTRONICS".equals(productType) && amount.compareTo(new BigDecimal("5000")) >= 0) {
+                matches++;
+            }
+            if (amount.compareTo(new BigDecimal("50")) < 0) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FACTS)
+    public int enumAndMinorUnitConstraints() {
+        int matches = 0;
+        for (Order order : orders) {
+            long amount = order.getOrderAmountMinor();
+            if (amount >= 100000) {
+                matches++;
+            }
+            if (order.getDeliveryZone() == DeliveryZone.LOCAL && amount < 100000) {
+                matches++;
+            }
+            if (order.getDeliveryZone() == DeliveryZone.INTERNATIONAL && amount < 100000) {
+                matches++;
+            }
+            if (amount >= 1000000) {
+                matches++;
+            }
+            if (order.getProductType() == ProductType.ELECTRONICS && amount >= 500000) {
+                matches++;
+            }
+            if (amount < 5000) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,132 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark fixtures. Rules mutate the facts they match, so every invocation needs fresh ones.
+ */
+final class Facts {
+
+    private static final String[] ZONES = {"LOCAL", "REGIONAL", "NATIONAL", "INTERNATIONAL"};
+    private static final String[] PRODUCT_TYPES = {"ELECTRONICS", "GROCERIES", "FASHION", "BOOKS", "OTHER"};
+    private static final String[] PAYMENT_METHODS = {"CREDIT_CARD", "DEBIT_CARD", "UPI", "NET_BANKING", "WALLET", "COD"};
+    private static final String[] CUSTOMER_TYPES = {"NEW", "REGULAR", "VIP"};
+    private static final String[] SEGMENTS = {"PREMIUM", "GOLD", "SILVER", "REGULAR"};
+
+    private Facts() {
+    }
+
+    static Object typical(String kieBaseName) {
+        return switch (kieBaseName) {
+            case KieBaseNames.OFFER -> Offer.builder()
+                    .offerId("OFF-1")
+                    .customerId("CUST-1")
+                    .customerSegment("GOLD")
+                    .orderAmount(new BigDecimal("900"))
+                    .productCategory("BOOKS")
+                    .build();
+            case KieBaseNames.ORDER -> Order.builder()
+                    .orderId("ORD-1")
+                    .customerId("CUST-1")
+                    .orderAmount(new BigDecimal("600"))
+                    .deliveryZone("REGIONAL")
+                    .itemCount(2)
+                    .productType("BOOKS")
+                    .build();
+            case KieBaseNames.PAYMENT -> Payment.builder()
+                    .paymentId("PAY-1")
+                    .customerId("CUST-1")
+                    .amount(new BigDecimal("1500"))
+                    .paymentMethod("UPI")
+                    .customerType("REGULAR")
+                    .transactionCount(4)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown kbase " + kieBaseName);
+        };
+    }
+
+    /**
+     * Facts that match as many rules of their kbase as possible, e.g. a VIP credit-card
+     * payment above the 50000 manual-review threshold.
+     */
+    static Object worstCase(String kieBaseName) {
+        return switch (kieBaseName) {
+            case KieBaseNames.OFFER -> Offer.builder()
+                    .offerId("OFF-W")
+                    .customerId("CUST-W")
+                    .customerSegment("PREMIUM")
+                    .orderAmount(new BigDecimal("2500"))
+                    .productCategory("FASHION")
+                    .isFirstTimeCustomer(true)
+                    .offerValidUntil(LocalDate.now().minusDays(1))
+                    .build();
+            case KieBaseNames.ORDER -> Order.builder()
+                    .orderId("ORD-W")
+                    .customerId("CUST-W")
+                    .orderAmount(new BigDecimal("15000"))
+                    .deliveryZone("INTERNATIONAL")
+                    .itemCount(15)
+                    .isPeakHour(true)
+                    .productType("ELECTRONICS")
+                    .build();
+            case KieBaseNames.PAYMENT -> Payment.builder()
+                    .paymentId("PAY-W")
+                    .customerId("CUST-W")
+                    .amount(new BigDecimal("60000"))
+                    .paymentMethod("CREDIT_CARD")
+                    .customerType("VIP")
+                    .transactionCount(25)
+                    .creditLimit(new BigDecimal("100000"))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown kbase " + kieBaseName);
+        };
+    }
+
+    /**
+     * A reproducible mix of facts spread over the rule thresholds and categories.
+     */
+    static List<Object> mixed(String kieBaseName, int count, long seed) {
+        Random random = new Random(seed);
+        List<Object> facts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            facts.add(switch (kieBaseName) {
+                case KieBaseNames.OFFER -> Offer.builder()
+                        .offerId("OFF-" + i)
+                        .customerId("CUST-" + random.nextInt(1000))
+                        .customerSegment(SEGMENTS[random.nextInt(SEGMENTS.length)])
+                        .orderAmount(BigDecimal.valueOf(random.nextInt(3000)))
+                        .productCategory(PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)])
+                        .isFirstTimeCustomer(random.nextInt(10) == 0)
+                        .build();
+                case KieBaseNames.ORDER -> Order.builder()
+                        .orderId("ORD-" + i)
+                        .customerId("CUST-" + random.nextInt(1000))
+                        .orderAmount(BigDecimal.valueOf(random.nextInt(15000)))
+                        .deliveryZone(ZONES[random.nextInt(ZONES.length)])
+                        .itemCount(1 + random.nextInt(15))
+                        .isPeakHour(random.nextBoolean())
+                        .productType(PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)])
+                        .build();
+                case KieBaseNames.PAYMENT -> Payment.builder()
+                        .paymentId("PAY-" + i)
+                        .customerId("CUST-" + random.nextInt(1000))
+                        .amount(BigDecimal.valueOf(random.nextInt(60000)))
+                        .paymentMethod(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)])
+                        .customerType(CUSTOMER_TYPES[random.nextInt(CUSTOMER_TYPES.length)])
+                        .transactionCount(random.nextInt(20))
+                        .build();
+                default -> throw new IllegalArgumentException("Unknown kbase " + kieBaseName);
+            });
+        }
+        return facts;
+    }
+}
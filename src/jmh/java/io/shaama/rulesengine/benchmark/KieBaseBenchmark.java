@@ -0,0 +1,166 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.events.RingBufferDecisionEventSink;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import io.shaama.rulesengine.fastpath.FastPathEvaluators;
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-fact latency per kbase.
+ *
+ * <ul>
+ *   <li>{@code cold*}: a new stateless session per call, as a naive caller would do.</li>
+ *   <li>{@code warm*}: one session created up front and reused.</li>
+ *   <li>{@code pooled*}: a session backed by a {@link KieSessionsPool}, as used by the RulesEngine.</li>
+ *   <li>{@code worstCase*}: a fact matching as many rules of the kbase as possible.</li>
+ *   <li>{@code *WithEventSink}: decision events recorded to a ring buffer instead of discarded.</li>
+ *   <li>{@code *WithMetrics}: rule firing counters attached and the execute latency recorded.</li>
+ *   <li>{@code *FastPath}: the generated straight-line evaluator instead of a Drools session.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ddrools.projectClassLoader.enableStoreFirst=false")
+public class KieBaseBenchmark {
+
+    @Param({"offerKBase", "orderKBase", "paymentKBase"})
+    private String kieBaseName;
+
+    private KieBase kieBase;
+    private StatelessKieSession warmSession;
+    private KieSessionsPool kieSessionsPool;
+    private StatelessKieSession pooledSession;
+    private RingBufferDecisionEventSink eventSink;
+    private StatelessKieSession eventSinkSession;
+    private RuleMetrics ruleMetrics;
+    private StatelessKieSession metricsSession;
+    private FastPathEvaluator<Object> fastPath;
+
+    @Setup
+    public void setUp() {
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        kieBase = kieContainer.getKieBase(kieBaseName);
+        warmSession = newSession();
+        kieSessionsPool = kieBase.newKieSessionsPool(1);
+        pooledSession = kieSessionsPool.newStatelessKieSession();
+        pooledSession.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        eventSink = new RingBufferDecisionEventSink(RingBufferDecisionEventSink.DEFAULT_CAPACITY, event -> {
+        });
+        eventSinkSession = kieBase.newStatelessKieSession();
+        eventSinkSession.setGlobal(DecisionEventSink.GLOBAL, eventSink);
+        ruleMetrics = new RuleMetrics();
+        metricsSession = newSession();
+        ruleMetrics.attach(metricsSession, kieBaseName);
+        fastPath = fastPath(kieBase);
+    }
+
+    @TearDown
+    public void tearDown() {
+        kieSessionsPool.shutdown();
+        eventSink.close();
+    }
+
+    @Benchmark
+    public Object coldExecute() {
+        Object fact = Facts.typical(kieBaseName);
+        newSession().execute(fact);
+        return fact;
+    }
+
+    @Benchmark
+    public Object warmExecute() {
+        Object fact = Facts.typical(kieBaseName);
+        warmSession.execute(fact);
+        return fact;
+    }
+
+    @Benchmark
+    public Object pooledExecute() {
+        Object fact = Facts.typical(kieBaseName);
+        pooledSession.execute(fact);
+        return fact;
+    }
+
+    @Benchmark
+    public Object worstCaseExecute() {
+        Object fact = Facts.worstCase(kieBaseName);
+        warmSession.execute(fact);
+        return fact;
+    }
+
+    @Benchmark
+    public Object worstCaseExecuteWithEventSink() {
+        Object fact = Facts.worstCase(kieBaseName);
+        eventSinkSession.execute(fact);
+        return fact;
+    }
+
+    @Benchmark
+    public Object warmExecuteWithMetrics() {
+        Object fact = Facts.typical(kieBaseName);
+        long start = System.nanoTime();
+        metricsSession.execute(fact);
+        ruleMetrics.recordExecution(kieBaseName, System.nanoTime() - start);
+        return fact;
+    }
+
+    @Benchmark
+    public Object worstCaseExecuteWithMetrics() {
+        Object fact = Facts.worstCase(kieBaseName);
+        long start = System.nanoTime();
+        metricsSession.execute(fact);
+        ruleMetrics.recordExecution(kieBaseName, System.nanoTime() - start);
+        return fact;
+    }
+
+    @Benchmark
+    public Object warmExecuteFastPath() {
+        Object fact = Facts.typical(kieBaseName);
+        fastPath.evaluate(fact, DecisionEventSink.NOOP);
+        return fact;
+    }
+
+    @Benchmark
+    public Object worstCaseExecuteFastPath() {
+        Object fact = Facts.worstCase(kieBaseName);
+        fastPath.evaluate(fact, DecisionEventSink.NOOP);
+        return fact;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FastPathEvaluator<Object> fastPath(KieBase kieBase) {
+        return (FastPathEvaluator<Object>) FastPathEvaluators.load().stream()
+                .filter(evaluator -> kieBase.getKiePackage(evaluator.packageName()) != null)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No fast-path evaluator for " + kieBase));
+    }
+
+    private StatelessKieSession newSession() {
+        StatelessKieSession session = kieBase.newStatelessKieSession();
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        return session;
+    }
+}
@@ -0,0 +1,99 @@
+package io.shaama.rulesengine.benchmark;
+
+import io.shaama.rulesengine.model.Order;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.internal.conf.AlphaRangeIndexThresholdOption;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A synthetic tiered-pricing pack of {@code tiers} rules, each matching one amount band
+ * ({@code orderAmountMinor >= lower, orderAmountMinor < upper}), executed with the amount
+ * thresholds range-indexed and with range indexing switched off. With the index, placing an order
+ * in its band costs a tree lookup; without it, every tier's lower bound is tested.
+ *
+ * <p>The pack is compiled from DRL at setup, not from the executable model, so absolute numbers
+ * are not comparable with {@link KieBaseBenchmark}; the ratio between the two modes is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ddrools.projectClassLoader.enableStoreFirst=false")
+public class TieredRulesBenchmark {
+
+    private static final int ORDERS = 1000;
+    private static final long TIER_WIDTH_MINOR = 1000;
+
+    @Param({"10", "100", "500"})
+    private int tiers;
+
+    @Param({"true", "false"})
+    private boolean rangeIndexed;
+
+    private StatelessKieSession session;
+    private long[] amounts;
+
+    @Setup
+    public void setUp() {
+        KieBaseConfiguration configuration = KieServices.Factory.get().newKieBaseConfiguration();
+        configuration.setOption(AlphaRangeIndexThresholdOption.get(rangeIndexed ? 3 : Integer.MAX_VALUE));
+        KieBase kieBase = new KieHelper()
+                .addContent(tieredRules(tiers), ResourceType.DRL)
+                .build(configuration);
+        session = kieBase.newStatelessKieSession();
+
+        Random random = new Random(42);
+        amounts = new long[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            amounts[i] = random.nextLong(tiers * TIER_WIDTH_MINOR);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public Order execute() {
+        Order order = null;
+        for (long amount : amounts) {
+            order = Order.builder().orderAmountMinor(amount).build();
+            session.execute(order);
+        }
+        return order;
+    }
+
+    private static String tieredRules(int tiers) {
+        StringBuilder drl = new StringBuilder()
+                .append("package io.shaama.rulesengine.rules.tiered\n")
+                .append("import io.shaama.rulesengine.model.Order\n")
+                .append("import java.math.BigDecimal\n");
+        for (int tier = 0; tier < tiers; tier++) {
+            drl.append("rule \"Tier ").append(tier).append("\"\n")
+                    .append("    when\n")
+                    .append("        $order: Order(orderAmountMinor >= ").append(tier * TIER_WIDTH_MINOR)
+                    .append(", orderAmountMinor < ").append((tier + 1) * TIER_WIDTH_MINOR).append(")\n")
+                    .append("    then\n")
+                    .append("        $order.setProcessingFee(BigDecimal.valueOf(").append(tier).append("));\n")
+                    .append("end\n");
+        }
+        return drl.toString();
+    }
+}
@@ -1,12 +1,48 @@
 package io.shaama.rulesengine;
 
+import io.shaama.rulesengine.audit.AuditEntry;
+import io.shaama.rulesengine.audit.DecisionAuditReader;
+import io.shaama.rulesengine.metrics.LatencySnapshot;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.WarmUpReport;
+import io.shaama.rulesengine.stream.FactSchema;
+import io.shaama.rulesengine.stream.StreamProcessor;
+import io.shaama.rulesengine.stream.StreamStats;
+import io.shaama.rulesengine.workload.LoadTestConfig;
+import io.shaama.rulesengine.workload.LoadTestResult;
+import io.shaama.rulesengine.workload.LoadTestRunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 /**
  * Rules Engine KJAR - Main class for demonstration purposes only.
  * This KJAR is designed to be consumed as a dependency by other applications.
+ *
+ * With {@code --warm-up} it primes every kbase and prints how long that took and how latency changed.
+ * {@code stream <order|payment|offer> <input> <output>} re-scores an NDJSON or CSV export.
+ * {@code audit <directory> [factId]} prints the decisions recorded in a decision audit log.
+ * {@code load-test [ratePerSecond] [seconds] [seed]} drives the engine with synthetic facts at a fixed rate.
  */
 public class RulesengineApplication {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		if (args.length > 0 && args[0].equals("stream")) {
+			stream(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("audit")) {
+			audit(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("load-test")) {
+			loadTest(args);
+			return;
+		}
 		System.out.println("Rules Engine KJAR v1.0.0");
 		System.out.println("This KJAR contains rules for:");
 		System.out.println("- Offer Management");
@@ -14,6 +50,87 @@ public class RulesengineApplication {
 		System.out.println("- Payment Processing");
 		System.out.println("");
 		System.out.println("To use these rules, include this KJAR as a dependency in your microservice.");
+		if (Arrays.asList(args).contains("--warm-up")) {
+			warmUp();
+		}
+	}
+
+	private static void stream(String[] args) throws IOException {
+		if (args.length != 4) {
+			System.err.println("Usage: stream <order|payment|offer> <input.ndjson|input.csv> <output.ndjson|output.csv>");
+			System.exit(2);
+		}
+		StreamStats stats = StreamProcessor.create()
+				.process(FactSchema.named(args[1]), Path.of(args[2]), Path.of(args[3]));
+		System.out.printf("Processed %d %s records (%d malformed skipped) in %d ms: %.0f records/s, %.1f MB/s%n",
+				stats.getRecords(), stats.getRecordType(), stats.getMalformed(),
+				TimeUnit.NANOSECONDS.toMillis(stats.getElapsedNanos()), stats.getRecordsPerSecond(),
+				stats.getMegabytesPerSecond());
+	}
+
+	private static void audit(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: audit <directory> [factId]");
+			System.exit(2);
+		}
+		try (Stream<AuditEntry> entries = DecisionAuditReader.read(Path.of(args[1]))) {
+			entries.filter(entry -> args.length == 2 || args[2].equals(entry.getFactId()))
+					.forEach(entry -> System.out.printf("%s %s %s %s %s%n",
+							entry.getTimestamp(), entry.getKieBaseName(), entry.getFactId(),
+							entry.isCached() ? "cached" : entry.getFiredRules(), entry.getFields()));
+		}
+	}
+
+	private static void loadTest(String[] args) {
+		if (args.length > 4) {
+			System.err.println("Usage: load-test [ratePerSecond] [seconds] [seed]");
+			System.exit(2);
+		}
+		LoadTestConfig.LoadTestConfigBuilder config = LoadTestConfig.builder();
+		if (args.length > 1) {
+			config.ratePerSecond(Double.parseDouble(args[1]));
+		}
+		if (args.length > 2) {
+			config.duration(Duration.ofSeconds(Long.parseLong(args[2])));
+		}
+		if (args.length > 3) {
+			config.seed(Long.parseLong(args[3]));
+		}
+		try (RulesEngine engine = RulesEngine.create()) {
+			LoadTestResult result = new LoadTestRunner(engine).run(config.build());
+			System.out.printf("Target %.0f/s, achieved %.0f/s: %d started, %d completed, %d failed (%d rejected), %d timed out%n",
+					result.getTargetRatePerSecond(), result.getThroughputPerSecond(), result.getStarted(),
+					result.getCompleted(), result.getFailed(), result.getRejected(), result.getTimedOut());
+			System.out.printf("Max schedule lag %.3f ms%n", result.getMaxScheduleLagNanos() / 1e6);
+			printLatency("latency (corrected)", result.getLatency());
+			printLatency("service time", result.getServiceTime());
+		}
+	}
+
+	private static void printLatency(String label, LatencySnapshot snapshot) {
+		System.out.printf("%-20s p50 %9.1f us  p90 %9.1f us  p99 %9.1f us  p99.9 %9.1f us  max %9.1f us%n", label,
+				snapshot.getP50Nanos() / 1e3, snapshot.getP90Nanos() / 1e3, snapshot.getP99Nanos() / 1e3,
+				snapshot.getP999Nanos() / 1e3, snapshot.getMaxNanos() / 1e3);
+	}
+
+	private static void warmUp() {
+		try (RulesEngine engine = RulesEngine.create()) {
+			WarmUpReport report = engine.warmUp();
+			System.out.println("");
+			System.out.printf("Warm-up %s after %d ms, %d rounds, %d evaluations, %d ms JIT compilation%n",
+					report.isSettled() ? "settled" : "timed out",
+					TimeUnit.NANOSECONDS.toMillis(report.getDurationNanos()), report.getRounds(),
+					report.getEvaluations(), report.getCompilationMillis());
+			report.getInitialMeanNanos().forEach((kieSessionName, initial) ->
+					System.out.printf("- %s: %.0f ns -> %.0f ns per fact%n",
+							kieSessionName, initial, report.getFinalMeanNanos().get(kieSessionName)));
+			report.getUnfiredRules().forEach((kieSessionName, rules) -> {
+				if (!rules.isEmpty()) {
+					System.out.println("- " + kieSessionName + " rules not exercised: " + rules);
+				}
+			});
+			System.out.println("Ready: " + engine.isReady());
+		}
 	}
 
 }
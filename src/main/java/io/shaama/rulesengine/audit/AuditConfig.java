@@ -0,0 +1,34 @@
+package io.shaama.rulesengine.audit;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Where and how much {@link DecisionAuditLog} records.
+ */
+@Value
+@Builder
+public class AuditConfig {
+
+    /** Directory the segment files are written to; created if missing. */
+    @NonNull
+    Path directory;
+
+    /** Size of each memory-mapped segment file; a new segment is started when one is full. */
+    @Builder.Default
+    int segmentBytes = 64 << 20;
+
+    /** Fraction of evaluations recorded, from 0 to 1. */
+    @Builder.Default
+    double sampleRate = 1.0;
+
+    /** Decisions buffered for the writer thread, a power of two; further decisions are dropped. */
+    @Builder.Default
+    int bufferCapacity = 1 << 16;
+
+    /** Segments kept on disk, oldest deleted first; 0 keeps all of them. */
+    int maxSegments;
+}
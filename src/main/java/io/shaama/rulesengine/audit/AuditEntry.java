@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One audited evaluation as read back by {@link DecisionAuditReader}. Enum fields come back as
+ * their constant names, integral fields as {@link Long} and amounts as
+ * {@link java.math.BigDecimal}.
+ */
+@Value
+@Builder
+public class AuditEntry {
+    Instant timestamp;
+    String kieBaseName;
+    String factId;
+    /** Rules that fired, in firing order; empty when the result came from the decision cache. */
+    List<String> firedRules;
+    /** Whether the result was applied from the decision cache instead of firing rules. */
+    boolean cached;
+    /** Key input and output fields of the fact after evaluation, in a fixed order per fact type. */
+    Map<String, Object> fields;
+}
@@ -0,0 +1,110 @@
+package io.shaama.rulesengine.audit;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout of audit segment files.
+ *
+ * A segment starts with {@link #MAGIC} and {@link #VERSION} and is followed by records, each
+ * introduced by a type byte. A zero type byte, which is also what the unwritten tail of a
+ * segment holds, ends the segment. Strings that repeat across decisions (kbase, rule, field and
+ * enum constant names) are defined once per segment by a {@link #SYMBOL} record and then
+ * referenced by number, so every segment can be read on its own.
+ *
+ * <pre>
+ * SYMBOL:   0x01 id:varint length:varint utf8
+ * DECISION: 0x02 length:varint timestampMillis:varint kieBase:varint factId:value flags:u8
+ *           firedCount:varint rule:varint... fieldCount:varint (name:varint value)...
+ * value:    tag:u8 [NULL | FALSE | TRUE | LONG zigzag | DECIMAL scale:zigzag unscaled:zigzag
+ *           | SYMBOL id:varint | STRING length:varint utf8]
+ * </pre>
+ */
+final class AuditFormat {
+
+    static final int MAGIC = 0x44554152; // "RAUD" little-endian
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    static final byte END = 0;
+    static final byte SYMBOL = 1;
+    static final byte DECISION = 2;
+
+    static final int FLAG_CACHED = 1;
+
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte LONG = 3;
+    static final byte DECIMAL = 4;
+    static final byte SYMBOL_VALUE = 5;
+    static final byte STRING = 6;
+
+    private AuditFormat() {
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint at " + buffer.position());
+    }
+
+    static int getVarInt(ByteBuffer buffer) {
+        return Math.toIntExact(getVarLong(buffer));
+    }
+
+    static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    static long getZigZag(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[getVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Upper bound of the bytes {@link #putString} needs.
+     */
+    static int maxStringBytes(String value) {
+        return 5 + value.length() * 3;
+    }
+
+    /**
+     * Whether the decimal can be written as a {@link #DECIMAL}; others are written as strings.
+     */
+    static boolean fitsDecimal(BigDecimal value) {
+        return value.unscaledValue().bitLength() < 64;
+    }
+
+    static BigDecimal decimal(long unscaled, int scale) {
+        return new BigDecimal(BigInteger.valueOf(unscaled), scale);
+    }
+}
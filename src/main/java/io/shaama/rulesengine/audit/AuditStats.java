@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.audit;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Counters of a {@link DecisionAuditLog}.
+ */
+@Value
+@Builder
+public class AuditStats {
+    /** Decisions accepted into the buffer. */
+    long recorded;
+    /** Decisions appended to a segment. */
+    long written;
+    /** Decisions discarded because the buffer was full or the decision did not fit a segment. */
+    long dropped;
+    /** Evaluations skipped by sampling. */
+    long sampledOut;
+    long bytesWritten;
+    /** Segments started since the log was opened. */
+    long segments;
+}
@@ -0,0 +1,104 @@
+package io.shaama.rulesengine.audit;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fact id and the key input and output fields recorded for each fact type.
+ */
+final class AuditedFact<T> {
+
+    private static final AuditedFact<Payment> PAYMENT = new AuditedFact<>(Payment::getPaymentId, List.of(
+            field("customerId", Payment::getCustomerId),
+            field("amountMinor", Payment::getAmountMinor),
+            field("paymentMethod", Payment::getPaymentMethod),
+            field("customerType", Payment::getCustomerType),
+            field("transactionCount", Payment::getTransactionCount),
+            field("creditLimitMinor", Payment::getCreditLimitMinor),
+            field("paymentStatus", Payment::getPaymentStatus),
+            field("paymentApproved", Payment::isPaymentApproved),
+            field("requiresManualReview", Payment::isRequiresManualReview),
+            field("riskScore", Payment::getRiskScore),
+            field("transactionFee", Payment::getTransactionFee),
+            field("cashbackAmount", Payment::getCashbackAmount),
+            field("rejectionReason", Payment::getRejectionReason)));
+
+    private static final AuditedFact<Offer> OFFER = new AuditedFact<>(Offer::getOfferId, List.of(
+            field("customerId", Offer::getCustomerId),
+            field("orderAmountMinor", Offer::getOrderAmountMinor),
+            field("customerSegment", Offer::getCustomerSegment),
+            field("productCategory", Offer::getProductCategory),
+            field("isFirstTimeCustomer", Offer::isFirstTimeCustomer),
+            field("offerApplicable", Offer::isOfferApplicable),
+            field("appliedOfferType", Offer::getAppliedOfferType),
+            field("discountAmount", Offer::getDiscountAmount),
+            field("rejectionReason", Offer::getRejectionReason)));
+
+    private static final AuditedFact<Order> ORDER = new AuditedFact<>(Order::getOrderId, List.of(
+            field("customerId", Order::getCustomerId),
+            field("orderAmountMinor", Order::getOrderAmountMinor),
+            field("deliveryZone", Order::getDeliveryZone),
+            field("itemCount", Order::getItemCount),
+            field("isPeakHour", Order::isPeakHour),
+            field("productType", Order::getProductType),
+            field("shippingCharge", Order::getShippingCharge),
+            field("processingFee", Order::getProcessingFee),
+            field("totalAmount", Order::getTotalAmount),
+            field("orderPriority", Order::getOrderPriority),
+            field("requiresApproval", Order::isRequiresApproval),
+            field("validationMessage", Order::getValidationMessage)));
+
+    private static final Map<Class<?>, AuditedFact<?>> BY_TYPE = Map.of(
+            Payment.class, PAYMENT, Offer.class, OFFER, Order.class, ORDER);
+
+    /** The most fields any audited type records. */
+    static final int MAX_FIELDS = BY_TYPE.values().stream().mapToInt(audited -> audited.names.length).max().orElse(0);
+
+    private final Function<T, String> id;
+    private final List<Field<T>> fields;
+    private final String[] names;
+
+    private AuditedFact(Function<T, String> id, List<Field<T>> fields) {
+        this.id = id;
+        this.fields = fields;
+        this.names = fields.stream().map(Field::name).toArray(String[]::new);
+    }
+
+    /**
+     * Returns the layout of the fact's type, or null if facts of that type are not audited.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> AuditedFact<T> of(T fact) {
+        return (AuditedFact<T>) BY_TYPE.get(fact.getClass());
+    }
+
+    String id(T fact) {
+        return id.apply(fact);
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    /**
+     * Reads the fields into {@code values} in {@link #names()} order. All values are immutable,
+     * so the writer thread can encode them later; primitive fields are boxed.
+     */
+    void copyValues(T fact, Object[] values) {
+        for (int i = 0; i < names.length; i++) {
+            values[i] = fields.get(i).getter().apply(fact);
+        }
+    }
+
+    private static <T> Field<T> field(String name, Function<T, ?> getter) {
+        return new Field<>(name, getter);
+    }
+
+    private record Field<T>(String name, Function<T, ?> getter) {
+    }
+}
@@ -0,0 +1,447 @@
+package io.shaama.rulesengine.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only binary log of rule decisions for compliance: per evaluation the fired rules and
+ * the key input and output fields of the fact, in rolling memory-mapped segment files.
+ *
+ * Evaluating threads claim a slot of a preallocated multi-producer ring and copy the fired rule
+ * names and field value references into the slot's arrays, so recording never blocks; when the
+ * ring is full the decision is dropped and counted. The slot arrays only grow when a decision
+ * fires more rules than any before it in that slot. What a sampled decision still allocates is
+ * on the evaluating side: the engine's capture of the fired rules and the boxes of primitive
+ * field values outside the {@code Long} cache.
+ *
+ * A single writer thread encodes the decisions in {@link AuditFormat} and appends them to the
+ * current segment, starting a new one when it is full. A decision becomes visible to readers
+ * when its first byte is written, which happens last, so segments can be read while they are
+ * written. If the next segment cannot be created, the full one stays open, decisions that do not
+ * fit it are dropped and counted, and creating the segment is retried at most once a second;
+ * the failure is logged once, and so is the recovery.
+ *
+ * Sampling is decided per evaluation through {@link #sample()} before any capture work.
+ */
+public class DecisionAuditLog implements AutoCloseable {
+
+    static final String SEGMENT_PREFIX = "decisions-";
+    static final String SEGMENT_SUFFIX = ".audit";
+
+    private static final Logger logger = LoggerFactory.getLogger(DecisionAuditLog.class);
+    private static final long IDLE_PARK_NANOS = 100_000;
+    private static final long SEGMENT_RETRY_NANOS = 1_000_000_000;
+
+    private final AuditConfig config;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong segmentsStarted = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread state
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private final List<String> newSymbols = new ArrayList<>();
+    private ByteBuffer symbolRecords = ByteBuffer.allocate(1024);
+    private ByteBuffer payload = ByteBuffer.allocate(1024);
+    private ByteBuffer staged = ByteBuffer.allocate(2048);
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentRetryAt;
+    private long droppedSinceSegmentFailure = -1;
+
+    private DecisionAuditLog(AuditConfig config) throws IOException {
+        if (config.getBufferCapacity() < 1 || Integer.bitCount(config.getBufferCapacity()) != 1) {
+            throw new IllegalArgumentException("bufferCapacity must be a positive power of two: " + config.getBufferCapacity());
+        }
+        if (config.getSegmentBytes() < 4096) {
+            throw new IllegalArgumentException("segmentBytes must be at least 4096: " + config.getSegmentBytes());
+        }
+        this.config = config;
+        this.slots = new Slot[config.getBufferCapacity()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = config.getBufferCapacity() - 1;
+        Files.createDirectories(config.getDirectory());
+        for (Path existing : DecisionAuditReader.segments(config.getDirectory())) {
+            segmentIndex = Math.max(segmentIndex, DecisionAuditReader.segmentIndex(existing));
+        }
+        openSegment();
+        this.writer = Thread.ofPlatform()
+                .name("decision-audit-writer")
+                .daemon()
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Opens a log that appends to a new segment in the configured directory, after any
+     * segments already there.
+     */
+    public static DecisionAuditLog open(AuditConfig config) throws IOException {
+        return new DecisionAuditLog(config);
+    }
+
+    /**
+     * Decides whether the next evaluation is recorded, according to
+     * {@link AuditConfig#getSampleRate()}.
+     */
+    public boolean sample() {
+        double rate = config.getSampleRate();
+        if (rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return true;
+        }
+        sampledOut.increment();
+        return false;
+    }
+
+    /**
+     * Records an evaluated offer, order or payment; facts of other types are ignored.
+     *
+     * @param firedRules rules fired for the fact, in firing order
+     * @param cached     whether the result came from the decision cache
+     */
+    public <T> void record(String kieBaseName, T fact, List<String> firedRules, boolean cached) {
+        AuditedFact<T> audited = AuditedFact.of(fact);
+        if (audited == null) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained.get() >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestamp = System.currentTimeMillis();
+        slot.kieBaseName = kieBaseName;
+        slot.factId = audited.id(fact);
+        slot.cached = cached;
+        slot.setFiredRules(firedRules);
+        slot.names = audited.names();
+        audited.copyValues(fact, slot.values);
+        slot.published = sequence;
+    }
+
+    public AuditStats stats() {
+        return AuditStats.builder()
+                .recorded(claimed.get())
+                .written(written.get())
+                .dropped(dropped.sum())
+                .sampledOut(sampledOut.sum())
+                .bytesWritten(bytesWritten.get())
+                .segments(segmentsStarted.get())
+                .build();
+    }
+
+    public Path getDirectory() {
+        return config.getDirectory();
+    }
+
+    /**
+     * Stops the writer after it has appended every decision already recorded and forces the
+     * current segment to disk.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeSegment();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            boolean stopping = !running;
+            if (drainAvailable() == 0) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainAvailable() {
+        long next = drained.get();
+        int count = 0;
+        while (true) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                return count;
+            }
+            try {
+                append(slot);
+            } catch (RuntimeException e) {
+                dropped.increment();
+                logger.warn("Could not append audit record for {}", slot.factId, e);
+            }
+            slot.clear();
+            drained.setRelease(++next);
+            count++;
+        }
+    }
+
+    private void append(Slot record) {
+        stage(record);
+        if (segment.remaining() < staged.remaining()) {
+            if (segment.position() == AuditFormat.HEADER_BYTES) {
+                discardNewSymbols();
+                dropped.increment();
+                logger.warn("Audit record for {} does not fit a segment of {} bytes", record.factId, config.getSegmentBytes());
+                return;
+            }
+            discardNewSymbols();
+            if (!startSegment()) {
+                dropped.increment();
+                droppedSinceSegmentFailure++;
+                return;
+            }
+            stage(record);
+        }
+        int position = segment.position();
+        int length = staged.remaining();
+        segment.put(position + 1, staged, 1, length - 1);
+        VarHandle.releaseFence();
+        segment.put(position, staged.get(0));
+        segment.position(position + length);
+        written.incrementAndGet();
+        bytesWritten.addAndGet(length);
+    }
+
+    /**
+     * Encodes the record, preceded by definitions of the symbols it introduces, into
+     * {@link #staged}, growing the buffers until it fits.
+     */
+    private void stage(Slot record) {
+        while (true) {
+            try {
+                symbolRecords.clear();
+                payload.clear();
+                newSymbols.clear();
+                encode(record);
+                payload.flip();
+                symbolRecords.flip();
+                staged.clear();
+                staged.put(symbolRecords);
+                staged.put(AuditFormat.DECISION);
+                AuditFormat.putVarLong(staged, payload.remaining());
+                staged.put(payload);
+                staged.flip();
+                return;
+            } catch (BufferOverflowException e) {
+                discardNewSymbols();
+                symbolRecords = ByteBuffer.allocate(symbolRecords.capacity() * 2);
+                payload = ByteBuffer.allocate(payload.capacity() * 2);
+                staged = ByteBuffer.allocate(staged.capacity() * 2);
+            }
+        }
+    }
+
+    private void encode(Slot record) {
+        AuditFormat.putVarLong(payload, record.timestamp);
+        AuditFormat.putVarLong(payload, symbol(record.kieBaseName));
+        putValue(record.factId);
+        payload.put((byte) (record.cached ? AuditFormat.FLAG_CACHED : 0));
+        AuditFormat.putVarLong(payload, record.firedCount);
+        for (int i = 0; i < record.firedCount; i++) {
+            AuditFormat.putVarLong(payload, symbol(record.firedRules[i]));
+        }
+        AuditFormat.putVarLong(payload, record.names.length);
+        for (int i = 0; i < record.names.length; i++) {
+            AuditFormat.putVarLong(payload, symbol(record.names[i]));
+            putValue(record.values[i]);
+        }
+    }
+
+    private void putValue(Object value) {
+        if (value == null) {
+            payload.put(AuditFormat.NULL);
+        } else if (value instanceof Boolean flag) {
+            payload.put(flag ? AuditFormat.TRUE : AuditFormat.FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            payload.put(AuditFormat.LONG);
+            AuditFormat.putZigZag(payload, ((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal && AuditFormat.fitsDecimal(decimal)) {
+            payload.put(AuditFormat.DECIMAL);
+            AuditFormat.putZigZag(payload, decimal.scale());
+            AuditFormat.putZigZag(payload, decimal.unscaledValue().longValue());
+        } else if (value instanceof Enum<?> constant) {
+            payload.put(AuditFormat.SYMBOL_VALUE);
+            AuditFormat.putVarLong(payload, symbol(constant.name()));
+        } else {
+            payload.put(AuditFormat.STRING);
+            AuditFormat.putString(payload, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+        }
+    }
+
+    private int symbol(String name) {
+        Integer id = symbols.get(name);
+        if (id == null) {
+            id = symbols.size();
+            symbols.put(name, id);
+            newSymbols.add(name);
+            symbolRecords.put(AuditFormat.SYMBOL);
+            AuditFormat.putVarLong(symbolRecords, id);
+            AuditFormat.putString(symbolRecords, name);
+        }
+        return id;
+    }
+
+    private void discardNewSymbols() {
+        newSymbols.forEach(symbols::remove);
+        newSymbols.clear();
+    }
+
+    /**
+     * Replaces the full segment with a new one, keeping it if the new one cannot be created.
+     *
+     * @return whether the new segment was started
+     */
+    private boolean startSegment() {
+        if (droppedSinceSegmentFailure >= 0 && System.nanoTime() - segmentRetryAt < 0) {
+            return false;
+        }
+        try {
+            openSegment();
+        } catch (IOException e) {
+            segmentRetryAt = System.nanoTime() + SEGMENT_RETRY_NANOS;
+            if (droppedSinceSegmentFailure < 0) {
+                droppedSinceSegmentFailure = 0;
+                logger.warn("Could not start a new audit segment in {}, dropping decisions until one can be created",
+                        config.getDirectory(), e);
+            }
+            return false;
+        }
+        if (droppedSinceSegmentFailure >= 0) {
+            logger.info("Started a new audit segment after dropping {} decisions", droppedSinceSegmentFailure);
+            droppedSinceSegmentFailure = -1;
+        }
+        return true;
+    }
+
+    /**
+     * Maps the next segment file and only then closes the current one, so a failure leaves the
+     * current segment in place.
+     */
+    private void openSegment() throws IOException {
+        Path file = config.getDirectory().resolve(String.format("%s%012d%s", SEGMENT_PREFIX, segmentIndex + 1, SEGMENT_SUFFIX));
+        FileChannel nextChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer next;
+        try {
+            next = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0, config.getSegmentBytes());
+        } catch (IOException | RuntimeException e) {
+            nextChannel.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        closeSegment();
+        segmentIndex++;
+        channel = nextChannel;
+        segment = next;
+        symbols.clear();
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(AuditFormat.MAGIC);
+        segment.putInt(AuditFormat.VERSION);
+        segmentsStarted.incrementAndGet();
+        deleteExpiredSegments();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+        segment = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close audit segment", e);
+        }
+    }
+
+    private void deleteExpiredSegments() {
+        if (config.getMaxSegments() <= 0) {
+            return;
+        }
+        try {
+            List<Path> segments = DecisionAuditReader.segments(config.getDirectory());
+            for (Path expired : segments.subList(0, Math.max(0, segments.size() - config.getMaxSegments()))) {
+                Files.deleteIfExists(expired);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete expired audit segments in {}", config.getDirectory(), e);
+        }
+    }
+
+    /**
+     * One ring entry, reused for every decision that lands on it. The producer fills the fields
+     * and then publishes its sequence number; the writer reads them once it sees that number.
+     */
+    private static final class Slot {
+        volatile long published = -1;
+        long timestamp;
+        String kieBaseName;
+        String factId;
+        boolean cached;
+        String[] firedRules = new String[8];
+        int firedCount;
+        String[] names;
+        final Object[] values = new Object[AuditedFact.MAX_FIELDS];
+
+        void setFiredRules(List<String> rules) {
+            if (rules.size() > firedRules.length) {
+                firedRules = new String[Math.max(rules.size(), firedRules.length * 2)];
+            }
+            for (int i = 0; i < rules.size(); i++) {
+                firedRules[i] = rules.get(i);
+            }
+            firedCount = rules.size();
+        }
+
+        /**
+         * Drops the references, so the ring does not keep facts' values alive.
+         */
+        void clear() {
+            Arrays.fill(firedRules, 0, firedCount, null);
+            Arrays.fill(values, null);
+            kieBaseName = null;
+            factId = null;
+            names = null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.shaama.rulesengine.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Reads the segments written by {@link DecisionAuditLog}, oldest first. Segments that are
+ * still being written can be read; decisions appended after a segment was opened are not seen.
+ */
+public final class DecisionAuditReader {
+
+    private DecisionAuditReader() {
+    }
+
+    /**
+     * Streams every decision in the directory. Each segment is mapped when the stream reaches it.
+     */
+    public static Stream<AuditEntry> read(Path directory) throws IOException {
+        return segments(directory).stream().flatMap(segment -> readSegment(segment).stream());
+    }
+
+    /**
+     * Decisions in the directory that match the predicate, oldest first.
+     */
+    public static List<AuditEntry> query(Path directory, Predicate<AuditEntry> filter) throws IOException {
+        try (Stream<AuditEntry> entries = read(directory)) {
+            return entries.filter(filter).toList();
+        }
+    }
+
+    /**
+     * Decisions recorded for one offer, order or payment, oldest first.
+     */
+    public static List<AuditEntry> history(Path directory, String factId) throws IOException {
+        return query(directory, entry -> factId.equals(entry.getFactId()));
+    }
+
+    /**
+     * Decisions of a single segment file.
+     */
+    public static List<AuditEntry> readSegment(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < AuditFormat.HEADER_BYTES
+                    || buffer.getInt() != AuditFormat.MAGIC || buffer.getInt() != AuditFormat.VERSION) {
+                throw new IllegalStateException("Not an audit segment: " + segment);
+            }
+            return decode(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit segment " + segment, e);
+        }
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(DecisionAuditReader::isSegment).sorted().toList();
+        }
+    }
+
+    static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(DecisionAuditLog.SEGMENT_PREFIX.length(),
+                name.length() - DecisionAuditLog.SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(DecisionAuditLog.SEGMENT_PREFIX) && name.endsWith(DecisionAuditLog.SEGMENT_SUFFIX);
+    }
+
+    private static List<AuditEntry> decode(ByteBuffer buffer) {
+        List<String> symbols = new ArrayList<>();
+        List<AuditEntry> entries = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            if (type == AuditFormat.END) {
+                break;
+            } else if (type == AuditFormat.SYMBOL) {
+                int id = AuditFormat.getVarInt(buffer);
+                if (id != symbols.size()) {
+                    throw new IllegalStateException("Unexpected symbol id " + id + " at " + buffer.position());
+                }
+                symbols.add(AuditFormat.getString(buffer));
+            } else if (type == AuditFormat.DECISION) {
+                int length = AuditFormat.getVarInt(buffer);
+                int end = buffer.position() + length;
+                entries.add(decision(buffer, symbols));
+                buffer.position(end);
+            } else {
+                throw new IllegalStateException("Unknown record type " + type + " at " + (buffer.position() - 1));
+            }
+        }
+        return entries;
+    }
+
+    private static AuditEntry decision(ByteBuffer buffer, List<String> symbols) {
+        Instant timestamp = Instant.ofEpochMilli(AuditFormat.getVarLong(buffer));
+        String kieBaseName = symbols.get(AuditFormat.getVarInt(buffer));
+        Object factId = value(buffer, symbols);
+        boolean cached = (buffer.get() & AuditFormat.FLAG_CACHED) != 0;
+        String[] firedRules = new String[AuditFormat.getVarInt(buffer)];
+        for (int i = 0; i < firedRules.length; i++) {
+            firedRules[i] = symbols.get(AuditFormat.getVarInt(buffer));
+        }
+        int fieldCount = AuditFormat.getVarInt(buffer);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String name = symbols.get(AuditFormat.getVarInt(buffer));
+            fields.put(name, value(buffer, symbols));
+        }
+        return AuditEntry.builder()
+                .timestamp(timestamp)
+                .kieBaseName(kieBaseName)
+                .factId(factId == null ? null : factId.toString())
+                .firedRules(List.of(firedRules))
+                .cached(cached)
+                .fields(Collections.unmodifiableMap(fields))
+                .build();
+    }
+
+    private static Object value(ByteBuffer buffer, List<String> symbols) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case AuditFormat.NULL -> null;
+            case AuditFormat.FALSE -> Boolean.FALSE;
+            case AuditFormat.TRUE -> Boolean.TRUE;
+            case AuditFormat.LONG -> AuditFormat.getZigZag(buffer);
+            case AuditFormat.DECIMAL -> {
+                int scale = (int) AuditFormat.getZigZag(buffer);
+                yield AuditFormat.decimal(AuditFormat.getZigZag(buffer), scale);
+            }
+            case AuditFormat.SYMBOL_VALUE -> symbols.get(AuditFormat.getVarInt(buffer));
+            case AuditFormat.STRING -> AuditFormat.getString(buffer);
+            default -> throw new IllegalStateException("Unknown value tag " + tag + " at " + (buffer.position() - 1));
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package io.shaama.rulesengine.cache;
+
+final class AmountBands {
+
+    private AmountBands() {
+    }
+
+    /**
+     * Number of ascending thresholds the amount reaches; every {@code >=} and {@code <}
+     * comparison against those thresholds has the same result within a band.
+     */
+    static int band(long amountMinor, long[] thresholds) {
+        int band = 0;
+        while (band < thresholds.length && amountMinor >= thresholds[band]) {
+            band++;
+        }
+        return band;
+    }
+}
@@ -0,0 +1,187 @@
+package io.shaama.rulesengine.cache;
+
+import io.shaama.rulesengine.model.BusinessDate;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import org.kie.api.KieBase;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Opt-in result cache in front of the offer and order rules of one kbase.
+ *
+ * Entries are keyed on the attributes the rules read, with order amounts reduced to the band
+ * between two rule thresholds, and hold the rule outputs. Amount-derived outputs such as
+ * {@code discountAmount} and {@code totalAmount} are recomputed from the fact's own amount on a
+ * hit, so cached results are identical to a full evaluation. Only facts whose output fields are
+ * still unset are cached; everything else, including payments, is evaluated directly.
+ *
+ * A cache built on a container is cleared when the container's kbase instance or release
+ * changes, and every cache is cleared at the first lookup of a new day. A cache built on a fixed
+ * kbase never sees its kbase change, so only a new day clears it. The day is read from
+ * {@link BusinessDate#today()}, the date the expiry rule compares against, so the cache and the
+ * rules never disagree on it.
+ * Once {@code maximumSize} entries are reached the least recently used entry is evicted. Entries
+ * are kept in an access-ordered map behind a short lock, so a lookup and an eviction each take
+ * constant time however large the cache is.
+ */
+public class DecisionCache {
+
+    private static final DecisionProfile<Offer> OFFER_PROFILE = new OfferDecisionProfile();
+    private static final DecisionProfile<Order> ORDER_PROFILE = new OrderDecisionProfile();
+
+    private final Supplier<KieBase> kieBaseSource;
+    private final Supplier<ReleaseId> releaseIdSource;
+    private final String kieBaseName;
+    private final int maximumSize;
+    private final AtomicReference<Generation> generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    public DecisionCache(KieContainer kieContainer, String kieBaseName, int maximumSize) {
+        this(() -> kieContainer.getKieBase(kieBaseName), kieContainer::getReleaseId, kieBaseName, maximumSize);
+    }
+
+    /**
+     * Caches decisions of a kbase that was not obtained from a container, such as one restored
+     * from a {@link io.shaama.rulesengine.snapshot.KieBaseSnapshotStore snapshot}.
+     */
+    public DecisionCache(KieBase kieBase, ReleaseId releaseId, String kieBaseName, int maximumSize) {
+        this(() -> kieBase, () -> releaseId, kieBaseName, maximumSize);
+    }
+
+    private DecisionCache(Supplier<KieBase> kieBaseSource, Supplier<ReleaseId> releaseIdSource,
+                          String kieBaseName, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.kieBaseSource = kieBaseSource;
+        this.releaseIdSource = releaseIdSource;
+        this.kieBaseName = kieBaseName;
+        this.maximumSize = maximumSize;
+        this.generation = new AtomicReference<>(new Generation(kieBaseSource.get(),
+                releaseIdSource.get(), BusinessDate.today()));
+    }
+
+    /**
+     * Applies the cached outputs to the fact, or runs {@code evaluator} on a miss and caches
+     * what it produced.
+     */
+    public <T> T evaluate(T fact, UnaryOperator<T> evaluator) {
+        DecisionProfile<T> profile = profile(fact);
+        if (profile == null) {
+            bypasses.increment();
+            return evaluator.apply(fact);
+        }
+        Generation current = currentGeneration();
+        Object key = profile.key(fact, current.date);
+        if (key == null) {
+            bypasses.increment();
+            return evaluator.apply(fact);
+        }
+
+        Object cached = current.get(key);
+        if (cached != null) {
+            profile.apply(cached, fact);
+            hits.increment();
+            return fact;
+        }
+
+        misses.increment();
+        T result = evaluator.apply(fact);
+        Object outcome = profile.capture(result);
+        // Drop the result if the kbase or the date changed while it was being evaluated.
+        if (outcome != null && generation.get() == current) {
+            current.putIfAbsent(key, outcome);
+        }
+        return result;
+    }
+
+    public DecisionCacheStats stats() {
+        return DecisionCacheStats.builder()
+                .kieBaseName(kieBaseName)
+                .size(generation.get().size())
+                .maximumSize(maximumSize)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .bypasses(bypasses.sum())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DecisionProfile<T> profile(T fact) {
+        if (fact instanceof Offer) {
+            return (DecisionProfile<T>) OFFER_PROFILE;
+        }
+        if (fact instanceof Order) {
+            return (DecisionProfile<T>) ORDER_PROFILE;
+        }
+        return null;
+    }
+
+    private Generation currentGeneration() {
+        Generation current = generation.get();
+        KieBase kieBase = kieBaseSource.get();
+        ReleaseId releaseId = releaseIdSource.get();
+        LocalDate today = BusinessDate.today();
+        if (current.kieBase == kieBase && Objects.equals(current.releaseId, releaseId) && current.date.equals(today)) {
+            return current;
+        }
+        Generation next = new Generation(kieBase, releaseId, today);
+        if (generation.compareAndSet(current, next)) {
+            invalidations.increment();
+            return next;
+        }
+        return generation.get();
+    }
+
+    private class Generation {
+        final KieBase kieBase;
+        final ReleaseId releaseId;
+        final LocalDate date;
+        /** Outcomes in access order, least recently used first. */
+        private final LinkedHashMap<Object, Object> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Generation(KieBase kieBase, ReleaseId releaseId, LocalDate date) {
+            this.kieBase = kieBase;
+            this.releaseId = releaseId;
+            this.date = date;
+        }
+
+        synchronized Object get(Object key) {
+            return entries.get(key);
+        }
+
+        synchronized void putIfAbsent(Object key, Object outcome) {
+            entries.putIfAbsent(key, outcome);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
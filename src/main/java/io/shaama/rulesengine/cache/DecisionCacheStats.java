@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters of a {@link DecisionCache}.
+ */
+@Value
+@Builder
+public class DecisionCacheStats {
+    String kieBaseName;
+    int size;
+    int maximumSize;
+    long hits;
+    long misses;
+    long evictions;
+    /** Times the cache was cleared because the kbase or the date changed. */
+    long invalidations;
+    /** Evaluations that skipped the cache: unsupported fact types or output fields already set. */
+    long bypasses;
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
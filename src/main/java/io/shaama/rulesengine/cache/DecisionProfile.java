@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Describes which inputs a rule set reads and which outputs it writes for one fact type.
+ */
+interface DecisionProfile<T> {
+
+    /**
+     * Key built from exactly the attributes the rules read, with date comparisons resolved
+     * against {@code today}; null if the fact cannot be served from the cache (e.g. its output
+     * fields are already set).
+     */
+    Object key(T fact, LocalDate today);
+
+    /**
+     * Outputs of an evaluated fact, with amount-derived values reduced to the factor they are
+     * computed from; null if they cannot be reproduced exactly.
+     */
+    Object capture(T evaluated);
+
+    /**
+     * Writes captured outputs onto a fact with the same key.
+     */
+    void apply(Object outcome, T fact);
+}
@@ -0,0 +1,65 @@
+package io.shaama.rulesengine.cache;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Inputs and outputs of offer-rules.drl.
+ */
+class OfferDecisionProfile implements DecisionProfile<Offer> {
+
+    /** Every orderAmountMinor threshold compared against in offer-rules.drl. */
+    private static final long[] AMOUNT_THRESHOLDS = {20000, 50000, 80000, 100000, 150000, 200000};
+
+    @Override
+    public Object key(Offer offer, LocalDate today) {
+        if (offer.getOrderAmount() == null || offer.isOfferApplicable() || offer.getRejectionReason() != null
+                || offer.getDiscountPercentage() != null || offer.getDiscountAmount() != null
+                || offer.getAppliedOfferType() != null) {
+            return null;
+        }
+        LocalDate validUntil = offer.getOfferValidUntil();
+        int validity = validUntil == null ? 0 : validUntil.isBefore(today) ? 1 : 2;
+        return new Key(offer.getCustomerSegment(), offer.getProductCategory(), offer.isFirstTimeCustomer(),
+                AmountBands.band(offer.getOrderAmountMinor(), AMOUNT_THRESHOLDS), validity);
+    }
+
+    @Override
+    public Object capture(Offer offer) {
+        BigDecimal factor = null;
+        if (offer.getDiscountAmount() != null) {
+            if (offer.getDiscountPercentage() == null) {
+                return null;
+            }
+            factor = offer.getDiscountPercentage().movePointLeft(2);
+            if (!offer.getOrderAmount().multiply(factor).equals(offer.getDiscountAmount())) {
+                return null;
+            }
+        }
+        return new Outcome(offer.getDiscountPercentage(), factor, offer.getAppliedOfferType(),
+                offer.isOfferApplicable(), offer.getRejectionReason());
+    }
+
+    @Override
+    public void apply(Object cached, Offer offer) {
+        Outcome outcome = (Outcome) cached;
+        offer.setDiscountPercentage(outcome.discountPercentage());
+        offer.setDiscountAmount(outcome.discountFactor() == null
+                ? null : offer.getOrderAmount().multiply(outcome.discountFactor()));
+        offer.setAppliedOfferType(outcome.appliedOfferType());
+        offer.setOfferApplicable(outcome.offerApplicable());
+        offer.setRejectionReason(outcome.rejectionReason());
+    }
+
+    private record Key(CustomerSegment customerSegment, ProductType productCategory, boolean firstTimeCustomer,
+                       int amountBand, int validity) {
+    }
+
+    private record Outcome(BigDecimal discountPercentage, BigDecimal discountFactor, String appliedOfferType,
+                           boolean offerApplicable, String rejectionReason) {
+    }
+}
@@ -0,0 +1,73 @@
+package io.shaama.rulesengine.cache;
+
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.OrderPriority;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Inputs and outputs of order-rules.drl.
+ */
+class OrderDecisionProfile implements DecisionProfile<Order> {
+
+    /** Every orderAmountMinor threshold compared against in order-rules.drl. */
+    private static final long[] AMOUNT_THRESHOLDS = {5000, 100000, 500000, 1000000};
+
+    private static final int BULK_ITEM_COUNT = 10;
+
+    @Override
+    public Object key(Order order, LocalDate today) {
+        if (order.getOrderAmount() == null || order.getShippingCharge() != null || order.getProcessingFee() != null
+                || order.getTotalAmount() != null || order.getOrderPriority() != null || order.isRequiresApproval()
+                || order.isFreeShippingEligible() || order.getValidationMessage() != null) {
+            return null;
+        }
+        Integer itemCount = order.getItemCount();
+        int items = itemCount == null ? 0 : itemCount >= BULK_ITEM_COUNT ? 2 : 1;
+        return new Key(order.getDeliveryZone(), order.getProductType(), order.isPeakHour(), items,
+                AmountBands.band(order.getOrderAmountMinor(), AMOUNT_THRESHOLDS));
+    }
+
+    @Override
+    public Object capture(Order order) {
+        boolean totalled = order.getTotalAmount() != null;
+        if (totalled && !total(order, order.getShippingCharge(), order.getProcessingFee()).equals(order.getTotalAmount())) {
+            return null;
+        }
+        return new Outcome(order.getShippingCharge(), order.getProcessingFee(), totalled, order.getOrderPriority(),
+                order.isRequiresApproval(), order.isFreeShippingEligible(), order.getValidationMessage());
+    }
+
+    @Override
+    public void apply(Object cached, Order order) {
+        Outcome outcome = (Outcome) cached;
+        order.setShippingCharge(outcome.shippingCharge());
+        order.setProcessingFee(outcome.processingFee());
+        order.setTotalAmount(outcome.totalled()
+                ? total(order, outcome.shippingCharge(), outcome.processingFee()) : null);
+        order.setOrderPriority(outcome.orderPriority());
+        order.setRequiresApproval(outcome.requiresApproval());
+        order.setFreeShippingEligible(outcome.freeShippingEligible());
+        order.setValidationMessage(outcome.validationMessage());
+    }
+
+    /**
+     * Same computation as the "Calculate Total Order Amount" rule.
+     */
+    private static BigDecimal total(Order order, BigDecimal shippingCharge, BigDecimal processingFee) {
+        BigDecimal shipping = shippingCharge != null ? shippingCharge : BigDecimal.ZERO;
+        BigDecimal processing = processingFee != null ? processingFee : BigDecimal.ZERO;
+        return order.getOrderAmount().add(shipping).add(processing);
+    }
+
+    private record Key(DeliveryZone deliveryZone, ProductType productType, boolean peakHour, int items, int amountBand) {
+    }
+
+    private record Outcome(BigDecimal shippingCharge, BigDecimal processingFee, boolean totalled,
+                           OrderPriority orderPriority, boolean requiresApproval, boolean freeShippingEligible,
+                           String validationMessage) {
+    }
+}
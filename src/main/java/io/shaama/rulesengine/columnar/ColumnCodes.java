@@ -0,0 +1,55 @@
+package io.shaama.rulesengine.columnar;
+
+/**
+ * Encoding of nullable fact fields in the primitive columns of {@link OrderColumns} and
+ * {@link PaymentColumns}. Enums are stored as their ordinal in a {@code byte}, and null as a
+ * sentinel that no real value can take.
+ */
+public final class ColumnCodes {
+
+    /** Code of a null enum. */
+    public static final byte NULL_CODE = -1;
+    /** Value of a null {@code Integer}. */
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    /** Value of a null {@code Long}. */
+    public static final long NULL_LONG = Long.MIN_VALUE;
+
+    private ColumnCodes() {
+    }
+
+    public static byte encode(Enum<?> value) {
+        return value == null ? NULL_CODE : (byte) value.ordinal();
+    }
+
+    public static <E extends Enum<E>> E decode(byte code, E[] values) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is the null sentinel
+     */
+    public static int encode(Integer value) {
+        if (value != null && value == NULL_INT) {
+            throw new IllegalArgumentException("Value is reserved for null: " + value);
+        }
+        return value == null ? NULL_INT : value;
+    }
+
+    public static Integer decode(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is the null sentinel
+     */
+    public static long encode(Long value) {
+        if (value != null && value == NULL_LONG) {
+            throw new IllegalArgumentException("Value is reserved for null: " + value);
+        }
+        return value == null ? NULL_LONG : value;
+    }
+
+    public static Long decode(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
@@ -0,0 +1,125 @@
+package io.shaama.rulesengine.columnar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+/**
+ * Evaluates the order and payment rules over columnar batches, for bulk recomputation of
+ * charges, priorities and fees where even the fast path's per-object evaluation is bound by
+ * pointer chasing and branches.
+ *
+ * The rules are the ones of order-rules.drl and payment-rules.drl, evaluated the way the fast
+ * path evaluates them: conditions against the row as added, consequences by salience. Decision
+ * events, rule metrics and hit policies do not apply; a batch always gets the full rule set.
+ *
+ * {@link #create()} uses SIMD through the incubating {@code jdk.incubator.vector} module when
+ * the JVM was started with {@code --add-modules jdk.incubator.vector}, and a scalar loop with
+ * the same results otherwise. {@code -Drulesengine.columnar.vector=false} forces the scalar
+ * loop. An evaluator is stateless and may be shared; a batch must not be evaluated by several
+ * threads at once unless they work on disjoint row ranges.
+ */
+public final class ColumnarEvaluator {
+
+    public static final String VECTOR_PROPERTY = "rulesengine.columnar.vector";
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarEvaluator.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final ColumnarKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private final ColumnarKernel kernel;
+
+    private ColumnarEvaluator(ColumnarKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns the vector evaluator when the Vector API is available and enabled, otherwise the
+     * scalar one.
+     */
+    public static ColumnarEvaluator create() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"));
+        return enabled && VECTOR_KERNEL != null ? vector() : scalar();
+    }
+
+    public static ColumnarEvaluator scalar() {
+        return new ColumnarEvaluator(ScalarKernel.INSTANCE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the Vector API is not available
+     */
+    public static ColumnarEvaluator vector() {
+        if (VECTOR_KERNEL == null) {
+            throw new UnsupportedOperationException("Vector API not available, start the JVM with --add-modules "
+                    + VECTOR_MODULE);
+        }
+        return new ColumnarEvaluator(VECTOR_KERNEL);
+    }
+
+    /**
+     * Whether {@code jdk.incubator.vector} is resolved and its preferred species has more than
+     * one {@code long} lane.
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+    public boolean isVectorized() {
+        return kernel != ScalarKernel.INSTANCE;
+    }
+
+    /**
+     * The kernel in use, e.g. {@code "vector (4 x 64-bit lanes)"} or {@code "scalar"}.
+     */
+    public String description() {
+        return kernel.description();
+    }
+
+    public void evaluate(OrderColumns columns) {
+        evaluate(columns, 0, columns.size());
+    }
+
+    /**
+     * Evaluates the rows from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public void evaluate(OrderColumns columns, int from, int to) {
+        Objects.checkFromToIndex(from, to, columns.size());
+        kernel.evaluateOrders(columns, from, to);
+    }
+
+    public void evaluate(PaymentColumns columns) {
+        evaluate(columns, 0, columns.size());
+    }
+
+    /**
+     * Evaluates the rows from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    public void evaluate(PaymentColumns columns, int from, int to) {
+        Objects.checkFromToIndex(from, to, columns.size());
+        kernel.evaluatePayments(columns, from, to);
+    }
+
+    /**
+     * Loads the vector kernel by name, so that this class and the scalar path never link
+     * against the incubator module when it is not resolved.
+     */
+    private static ColumnarKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> kernelClass = Class.forName(ColumnarEvaluator.class.getPackageName() + ".VectorKernel");
+            int lanes = (int) kernelClass.getDeclaredMethod("lanes").invoke(null);
+            if (lanes < 2) {
+                logger.info("Vector API offers {} long lane, using the scalar columnar kernel", lanes);
+                return null;
+            }
+            return (ColumnarKernel) kernelClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Failed to load the vector columnar kernel, using the scalar one", e);
+            return null;
+        }
+    }
+}
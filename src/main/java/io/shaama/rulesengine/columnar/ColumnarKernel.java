@@ -0,0 +1,14 @@
+package io.shaama.rulesengine.columnar;
+
+/**
+ * Evaluates the order and payment rules over a range of rows of a columnar batch. The range
+ * has been checked against the batch size.
+ */
+interface ColumnarKernel {
+
+    void evaluateOrders(OrderColumns columns, int from, int to);
+
+    void evaluatePayments(PaymentColumns columns, int from, int to);
+
+    String description();
+}
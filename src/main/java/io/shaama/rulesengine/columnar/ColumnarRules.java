@@ -0,0 +1,103 @@
+package io.shaama.rulesengine.columnar;
+
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.OrderPriority;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.PaymentStatus;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.math.BigDecimal;
+
+/**
+ * Thresholds, charges and codes of order-rules.drl and payment-rules.drl in the form the
+ * columnar kernels compare against. They are copied from the packaged DRL, not taken from a
+ * reloaded rule pack, and {@code ColumnarEvaluatorTest} runs both kernels against Drools so a
+ * rule change that is not mirrored here fails the build.
+ */
+final class ColumnarRules {
+
+    // order-rules.drl
+    static final long MINIMUM_ORDER_MINOR = 5_000;
+    static final long FREE_SHIPPING_MINOR = 100_000;
+    static final long APPROVAL_MINOR = 1_000_000;
+    static final long ELECTRONICS_PRIORITY_MINOR = 500_000;
+    static final int BULK_ITEM_COUNT = 10;
+    static final long PEAK_HOUR_FEE_MINOR = minor("25");
+    static final String MINIMUM_ORDER_MESSAGE = "Order amount must be at least 50";
+
+    static final byte LOCAL = code(DeliveryZone.LOCAL);
+    static final byte REGIONAL = code(DeliveryZone.REGIONAL);
+    static final byte NATIONAL = code(DeliveryZone.NATIONAL);
+    static final byte INTERNATIONAL = code(DeliveryZone.INTERNATIONAL);
+    static final long LOCAL_SHIPPING_MINOR = minor("50");
+    static final long REGIONAL_SHIPPING_MINOR = minor("100");
+    static final long NATIONAL_SHIPPING_MINOR = minor("200");
+    static final long INTERNATIONAL_SHIPPING_MINOR = minor("500");
+    static final byte ELECTRONICS = code(ProductType.ELECTRONICS);
+    static final byte HIGH = code(OrderPriority.HIGH);
+    static final byte MEDIUM = code(OrderPriority.MEDIUM);
+    static final byte LOW = code(OrderPriority.LOW);
+
+    // payment-rules.drl
+    static final long MANUAL_REVIEW_MINOR = 5_000_000;
+    static final long NEW_CUSTOMER_VERIFY_MINOR = 1_000_000;
+    static final long COD_LIMIT_MINOR = 500_000;
+    static final long VIP_CASHBACK_MINOR = 100_000;
+    static final long REGULAR_CASHBACK_MINOR = 500_000;
+    static final int REGULAR_CASHBACK_TRANSACTIONS = 5;
+    static final long LOW_RISK_MINOR = 1_000_000;
+    static final long MEDIUM_RISK_MINOR = 2_500_000;
+    static final int MEDIUM_RISK_TRANSACTIONS = 1;
+    static final int CREDIT_LIMIT_RISK = 100;
+    static final int MANUAL_REVIEW_RISK = 75;
+    static final int NEW_CUSTOMER_VERIFY_RISK = 60;
+    static final int LOW_RISK = 10;
+    static final int MEDIUM_RISK = 35;
+    static final int DEFAULT_RISK = 50;
+    static final String CREDIT_LIMIT_REASON = "Payment amount exceeds credit limit";
+    static final String COD_LIMIT_REASON = "COD not available for orders above 5000";
+    static final String VIP_CASHBACK_PERCENTAGE = "5%";
+    static final String REGULAR_CASHBACK_PERCENTAGE = "2%";
+
+    /** Decimal places of the fee and cashback rates, so every rate is a whole number of 1/1000. */
+    static final int RATE_SCALE = 3;
+    static final long CREDIT_CARD_FEE_RATE = rate("0.025");
+    static final long DEBIT_CARD_FEE_RATE = rate("0.015");
+    static final long WALLET_FEE_RATE = rate("0.01");
+    static final long VIP_CASHBACK_RATE = rate("0.05");
+    static final long REGULAR_CASHBACK_RATE = rate("0.02");
+
+    static final byte CREDIT_CARD = code(PaymentMethod.CREDIT_CARD);
+    static final byte DEBIT_CARD = code(PaymentMethod.DEBIT_CARD);
+    static final byte UPI = code(PaymentMethod.UPI);
+    static final byte NET_BANKING = code(PaymentMethod.NET_BANKING);
+    static final byte WALLET = code(PaymentMethod.WALLET);
+    static final byte COD = code(PaymentMethod.COD);
+    static final byte NEW = code(CustomerType.NEW);
+    static final byte REGULAR = code(CustomerType.REGULAR);
+    static final byte VIP = code(CustomerType.VIP);
+    static final byte APPROVED = code(PaymentStatus.APPROVED);
+    static final byte PENDING = code(PaymentStatus.PENDING);
+    static final byte REJECTED = code(PaymentStatus.REJECTED);
+    static final byte REQUIRES_VERIFICATION = code(PaymentStatus.REQUIRES_VERIFICATION);
+
+    private ColumnarRules() {
+    }
+
+    private static byte code(Enum<?> value) {
+        return ColumnCodes.encode(value);
+    }
+
+    private static long minor(String amount) {
+        return MinorUnits.of(new BigDecimal(amount));
+    }
+
+    /**
+     * @throws ArithmeticException if a rate gains more decimal places than {@link #RATE_SCALE}
+     */
+    private static long rate(String rate) {
+        return new BigDecimal(rate).movePointRight(RATE_SCALE).longValueExact();
+    }
+}
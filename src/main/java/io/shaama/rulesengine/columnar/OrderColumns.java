@@ -0,0 +1,203 @@
+package io.shaama.rulesengine.columnar;
+
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.OrderPriority;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.util.List;
+
+/**
+ * A fixed-capacity batch of orders held as one primitive array per field, the input of
+ * {@link ColumnarEvaluator}.
+ *
+ * Rows are evaluated as orders the rules have not seen yet: the only calculated field a row
+ * carries in is its priority, which the priority rules test. Amounts are whole minor units, so
+ * charges and totals add up exactly, and enums are stored as {@link ColumnCodes}. The accessors return the backing arrays, so callers
+ * can fill and read a batch without going through {@link Order}; only rows below
+ * {@link #size()} are evaluated.
+ */
+public final class OrderColumns {
+
+    // Bits of flags()
+    public static final byte FREE_SHIPPING = 1;
+    public static final byte REQUIRES_APPROVAL = 1 << 1;
+    /** The order is below the minimum amount and carries the validation message. */
+    public static final byte BELOW_MINIMUM = 1 << 2;
+    /** A shipping charge was set, zero for free shipping. */
+    public static final byte SHIPPING_CHARGED = 1 << 3;
+    public static final byte PROCESSING_CHARGED = 1 << 4;
+
+    // Inputs
+    final long[] orderAmountMinor;
+    final byte[] deliveryZone;
+    final byte[] productType;
+    final int[] itemCount;
+    final boolean[] peakHour;
+    // Input and output
+    final byte[] orderPriority;
+    // Outputs
+    final long[] shippingChargeMinor;
+    final long[] processingFeeMinor;
+    final long[] totalAmountMinor;
+    final byte[] flags;
+
+    private int size;
+
+    public OrderColumns(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.orderAmountMinor = new long[capacity];
+        this.deliveryZone = new byte[capacity];
+        this.productType = new byte[capacity];
+        this.itemCount = new int[capacity];
+        this.peakHour = new boolean[capacity];
+        this.orderPriority = new byte[capacity];
+        this.shippingChargeMinor = new long[capacity];
+        this.processingFeeMinor = new long[capacity];
+        this.totalAmountMinor = new long[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    public static OrderColumns of(List<Order> orders) {
+        OrderColumns columns = new OrderColumns(orders.size());
+        for (Order order : orders) {
+            columns.add(order);
+        }
+        return columns;
+    }
+
+    /**
+     * Appends the order's rule inputs and returns its row.
+     *
+     * @throws IllegalArgumentException if the order has no amount, an amount with a fraction
+     *                                  below one minor unit, or already carries results of the
+     *                                  rules other than its priority
+     * @throws IllegalStateException    if the batch is full
+     */
+    public int add(Order order) {
+        if (order.getOrderAmount() == null) {
+            throw new IllegalArgumentException("Order has no amount: " + order.getOrderId());
+        }
+        if (!MinorUnits.isWhole(order.getOrderAmount())) {
+            throw new IllegalArgumentException("Order amount " + order.getOrderAmount()
+                    + " is not a whole number of minor units: " + order.getOrderId());
+        }
+        if (order.getShippingCharge() != null || order.getProcessingFee() != null || order.getTotalAmount() != null
+                || order.getValidationMessage() != null || order.isRequiresApproval() || order.isFreeShippingEligible()) {
+            throw new IllegalArgumentException("Order was already evaluated: " + order.getOrderId());
+        }
+        return add(order.getOrderAmountMinor(), order.getDeliveryZone(), order.getProductType(), order.getItemCount(),
+                order.isPeakHour(), order.getOrderPriority());
+    }
+
+    /**
+     * Appends a row and returns its index.
+     *
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(long orderAmountMinor, DeliveryZone deliveryZone, ProductType productType, Integer itemCount,
+                   boolean peakHour, OrderPriority orderPriority) {
+        if (size == capacity()) {
+            throw new IllegalStateException("Batch is full: " + size);
+        }
+        int row = size++;
+        this.orderAmountMinor[row] = orderAmountMinor;
+        this.deliveryZone[row] = ColumnCodes.encode(deliveryZone);
+        this.productType[row] = ColumnCodes.encode(productType);
+        this.itemCount[row] = ColumnCodes.encode(itemCount);
+        this.peakHour[row] = peakHour;
+        this.orderPriority[row] = ColumnCodes.encode(orderPriority);
+        return row;
+    }
+
+    /**
+     * Writes the results of an evaluated row to the order, which should be the one the row
+     * was added from. Amounts are set at {@link MinorUnits#SCALE} decimal places.
+     */
+    public void applyTo(int row, Order order) {
+        checkRow(row);
+        byte rowFlags = flags[row];
+        if ((rowFlags & SHIPPING_CHARGED) != 0) {
+            order.setShippingCharge(MinorUnits.toAmount(shippingChargeMinor[row]));
+        }
+        if ((rowFlags & PROCESSING_CHARGED) != 0) {
+            order.setProcessingFee(MinorUnits.toAmount(processingFeeMinor[row]));
+        }
+        order.setTotalAmount(MinorUnits.toAmount(totalAmountMinor[row]));
+        order.setOrderPriority(ColumnCodes.decode(orderPriority[row], OrderPriority.values()));
+        order.setFreeShippingEligible((rowFlags & FREE_SHIPPING) != 0);
+        order.setRequiresApproval((rowFlags & REQUIRES_APPROVAL) != 0);
+        if ((rowFlags & BELOW_MINIMUM) != 0) {
+            order.setValidationMessage(ColumnarRules.MINIMUM_ORDER_MESSAGE);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return orderAmountMinor.length;
+    }
+
+    /**
+     * Empties the batch for reuse; evaluated rows are overwritten by the next evaluation.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public long[] orderAmountMinor() {
+        return orderAmountMinor;
+    }
+
+    public byte[] deliveryZone() {
+        return deliveryZone;
+    }
+
+    public byte[] productType() {
+        return productType;
+    }
+
+    public int[] itemCount() {
+        return itemCount;
+    }
+
+    public boolean[] peakHour() {
+        return peakHour;
+    }
+
+    /**
+     * The priority a row was added with, replaced by the evaluated priority.
+     */
+    public byte[] orderPriority() {
+        return orderPriority;
+    }
+
+    /** Valid where {@link #SHIPPING_CHARGED} is set. */
+    public long[] shippingChargeMinor() {
+        return shippingChargeMinor;
+    }
+
+    /** Valid where {@link #PROCESSING_CHARGED} is set. */
+    public long[] processingFeeMinor() {
+        return processingFeeMinor;
+    }
+
+    public long[] totalAmountMinor() {
+        return totalAmountMinor;
+    }
+
+    public byte[] flags() {
+        return flags;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside batch of " + size);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.shaama.rulesengine.columnar;
+
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A fixed-capacity batch of payments held as one primitive array per field, the input of
+ * {@link ColumnarEvaluator}.
+ *
+ * Rows are evaluated as payments the rules have not seen yet: the only calculated field a row
+ * carries in is its status, which most payment rules test. Amounts are whole minor units, so
+ * the strict and amount-to-credit-limit checks the rules make on the decimal amounts are exact
+ * on them, and enums are stored as {@link ColumnCodes}. Transaction fees and cashback are the amount times
+ * a rate, so they are kept exactly at {@link #FEE_SCALE} decimal places instead of being
+ * rounded to minor units. The accessors return the backing arrays; only rows below
+ * {@link #size()} are evaluated.
+ */
+public final class PaymentColumns {
+
+    /** Decimal places of {@link #transactionFee()} and {@link #cashback()}. */
+    public static final int FEE_SCALE = MinorUnits.SCALE + ColumnarRules.RATE_SCALE;
+
+    // Bits of flags()
+    public static final byte APPROVED = 1;
+    public static final byte MANUAL_REVIEW = 1 << 1;
+    /** A transaction fee was set, zero for UPI. */
+    public static final byte FEE_CHARGED = 1 << 2;
+    public static final byte VIP_CASHBACK = 1 << 3;
+    public static final byte REGULAR_CASHBACK = 1 << 4;
+    public static final byte REJECTED_CREDIT_LIMIT = 1 << 5;
+    public static final byte REJECTED_COD_LIMIT = 1 << 6;
+
+    // Inputs
+    final long[] amountMinor;
+    final byte[] paymentMethod;
+    final byte[] customerType;
+    final int[] transactionCount;
+    final long[] creditLimitMinor;
+    // Input and output
+    final byte[] paymentStatus;
+    // Outputs
+    final long[] transactionFee;
+    final long[] cashback;
+    final int[] riskScore;
+    final byte[] flags;
+
+    private int size;
+
+    public PaymentColumns(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.amountMinor = new long[capacity];
+        this.paymentMethod = new byte[capacity];
+        this.customerType = new byte[capacity];
+        this.transactionCount = new int[capacity];
+        this.creditLimitMinor = new long[capacity];
+        this.paymentStatus = new byte[capacity];
+        this.transactionFee = new long[capacity];
+        this.cashback = new long[capacity];
+        this.riskScore = new int[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    public static PaymentColumns of(List<Payment> payments) {
+        PaymentColumns columns = new PaymentColumns(payments.size());
+        for (Payment payment : payments) {
+            columns.add(payment);
+        }
+        return columns;
+    }
+
+    /**
+     * Appends the payment's rule inputs and returns its row.
+     *
+     * @throws IllegalArgumentException if the payment has no amount, an amount or credit limit
+     *                                  with a fraction below one minor unit, or already carries
+     *                                  results of the rules other than its status
+     * @throws IllegalStateException    if the batch is full
+     */
+    public int add(Payment payment) {
+        if (payment.getAmount() == null) {
+            throw new IllegalArgumentException("Payment has no amount: " + payment.getPaymentId());
+        }
+        if (!MinorUnits.isWhole(payment.getAmount()) || !MinorUnits.isWhole(payment.getCreditLimit())) {
+            throw new IllegalArgumentException("Payment amount " + payment.getAmount() + " or credit limit "
+                    + payment.getCreditLimit() + " is not a whole number of minor units: " + payment.getPaymentId());
+        }
+        if (payment.getTransactionFee() != null || payment.getCashbackAmount() != null
+                || payment.getCashbackPercentage() != null || payment.getRejectionReason() != null
+                || payment.getRiskScore() != null || payment.isPaymentApproved() || payment.isRequiresManualReview()) {
+            throw new IllegalArgumentException("Payment was already evaluated: " + payment.getPaymentId());
+        }
+        return add(payment.getAmountMinor(), payment.getPaymentMethod(), payment.getCustomerType(),
+                payment.getTransactionCount(), payment.getCreditLimitMinor(), payment.getPaymentStatus());
+    }
+
+    /**
+     * Appends a row and returns its index.
+     *
+     * @throws IllegalStateException if the batch is full
+     */
+    public int add(long amountMinor, PaymentMethod paymentMethod, CustomerType customerType, Integer transactionCount,
+                   Long creditLimitMinor, PaymentStatus paymentStatus) {
+        if (size == capacity()) {
+            throw new IllegalStateException("Batch is full: " + size);
+        }
+        int row = size++;
+        this.amountMinor[row] = amountMinor;
+        this.paymentMethod[row] = ColumnCodes.encode(paymentMethod);
+        this.customerType[row] = ColumnCodes.encode(customerType);
+        this.transactionCount[row] = ColumnCodes.encode(transactionCount);
+        this.creditLimitMinor[row] = ColumnCodes.encode(creditLimitMinor);
+        this.paymentStatus[row] = ColumnCodes.encode(paymentStatus);
+        return row;
+    }
+
+    /**
+     * Writes the results of an evaluated row to the payment, which should be the one the row
+     * was added from. Fees and cashback are set at {@link #FEE_SCALE} decimal places.
+     */
+    public void applyTo(int row, Payment payment) {
+        checkRow(row);
+        byte rowFlags = flags[row];
+        payment.setPaymentStatus(ColumnCodes.decode(paymentStatus[row], PaymentStatus.values()));
+        payment.setRiskScore(ColumnCodes.decode(riskScore[row]));
+        payment.setPaymentApproved((rowFlags & APPROVED) != 0);
+        payment.setRequiresManualReview((rowFlags & MANUAL_REVIEW) != 0);
+        if ((rowFlags & FEE_CHARGED) != 0) {
+            payment.setTransactionFee(BigDecimal.valueOf(transactionFee[row], FEE_SCALE));
+        }
+        if ((rowFlags & (VIP_CASHBACK | REGULAR_CASHBACK)) != 0) {
+            payment.setCashbackAmount(BigDecimal.valueOf(cashback[row], FEE_SCALE));
+            payment.setCashbackPercentage((rowFlags & VIP_CASHBACK) != 0
+                    ? ColumnarRules.VIP_CASHBACK_PERCENTAGE : ColumnarRules.REGULAR_CASHBACK_PERCENTAGE);
+        }
+        // The COD limit rule fires after the credit limit rule, so its reason is the one kept
+        if ((rowFlags & REJECTED_COD_LIMIT) != 0) {
+            payment.setRejectionReason(ColumnarRules.COD_LIMIT_REASON);
+        } else if ((rowFlags & REJECTED_CREDIT_LIMIT) != 0) {
+            payment.setRejectionReason(ColumnarRules.CREDIT_LIMIT_REASON);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return amountMinor.length;
+    }
+
+    /**
+     * Empties the batch for reuse; evaluated rows are overwritten by the next evaluation.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public long[] amountMinor() {
+        return amountMinor;
+    }
+
+    public byte[] paymentMethod() {
+        return paymentMethod;
+    }
+
+    public byte[] customerType() {
+        return customerType;
+    }
+
+    public int[] transactionCount() {
+        return transactionCount;
+    }
+
+    public long[] creditLimitMinor() {
+        return creditLimitMinor;
+    }
+
+    /**
+     * The status a row was added with, replaced by the evaluated status.
+     */
+    public byte[] paymentStatus() {
+        return paymentStatus;
+    }
+
+    /** At {@link #FEE_SCALE} decimal places, valid where {@link #FEE_CHARGED} is set. */
+    public long[] transactionFee() {
+        return transactionFee;
+    }
+
+    /** At {@link #FEE_SCALE} decimal places, valid where a cashback flag is set. */
+    public long[] cashback() {
+        return cashback;
+    }
+
+    /** {@link ColumnCodes#NULL_INT} where no rule assigned a score. */
+    public int[] riskScore() {
+        return riskScore;
+    }
+
+    public byte[] flags() {
+        return flags;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside batch of " + size);
+        }
+    }
+}
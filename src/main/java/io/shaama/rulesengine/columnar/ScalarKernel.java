@@ -0,0 +1,181 @@
+package io.shaama.rulesengine.columnar;
+
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_CODE;
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_INT;
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_LONG;
+import static io.shaama.rulesengine.columnar.ColumnarRules.*;
+
+/**
+ * Row-at-a-time kernel, used where the Vector API is not available and for the rows after the
+ * last full vector.
+ *
+ * None of the rules notify Drools of their changes, so every condition is evaluated against the
+ * row as added and the consequences that match are applied by descending salience. Each output
+ * is therefore taken from the matching rule with the lowest salience that writes it, which is
+ * the order the assignments below are made in.
+ */
+final class ScalarKernel implements ColumnarKernel {
+
+    static final ScalarKernel INSTANCE = new ScalarKernel();
+
+    private ScalarKernel() {
+    }
+
+    @Override
+    public void evaluateOrders(OrderColumns columns, int from, int to) {
+        for (int row = from; row < to; row++) {
+            evaluateOrder(columns, row);
+        }
+    }
+
+    @Override
+    public void evaluatePayments(PaymentColumns columns, int from, int to) {
+        for (int row = from; row < to; row++) {
+            evaluatePayment(columns, row);
+        }
+    }
+
+    @Override
+    public String description() {
+        return "scalar";
+    }
+
+    static void evaluateOrder(OrderColumns columns, int row) {
+        long amount = columns.orderAmountMinor[row];
+        byte zone = columns.deliveryZone[row];
+        int items = columns.itemCount[row];
+        byte priority = columns.orderPriority[row];
+
+        boolean freeShipping = amount >= FREE_SHIPPING_MINOR;
+        boolean zoned = !freeShipping && zone != NULL_CODE;
+        long shipping = zoned ? shippingCharge(zone) : 0;
+        boolean peakHour = columns.peakHour[row];
+        boolean approval = amount >= APPROVAL_MINOR;
+        boolean unprioritized = priority == NULL_CODE;
+        boolean electronicsValue = columns.productType[row] == ELECTRONICS && amount >= ELECTRONICS_PRIORITY_MINOR;
+        boolean bulk = unprioritized && items >= BULK_ITEM_COUNT;
+        boolean standard = unprioritized && !approval && !electronicsValue && items != NULL_INT && items < BULK_ITEM_COUNT;
+
+        if (approval) {
+            priority = HIGH;
+        }
+        if (unprioritized && electronicsValue) {
+            priority = HIGH;
+        }
+        if (bulk) {
+            priority = MEDIUM;
+        }
+        if (standard) {
+            priority = LOW;
+        }
+
+        long processing = peakHour ? PEAK_HOUR_FEE_MINOR : 0;
+        columns.shippingChargeMinor[row] = shipping;
+        columns.processingFeeMinor[row] = processing;
+        columns.totalAmountMinor[row] = amount + shipping + processing;
+        columns.orderPriority[row] = priority;
+        columns.flags[row] = (byte) ((freeShipping ? OrderColumns.FREE_SHIPPING | OrderColumns.SHIPPING_CHARGED : 0)
+                | (zoned ? OrderColumns.SHIPPING_CHARGED : 0)
+                | (peakHour ? OrderColumns.PROCESSING_CHARGED : 0)
+                | (approval ? OrderColumns.REQUIRES_APPROVAL : 0)
+                | (amount < MINIMUM_ORDER_MINOR ? OrderColumns.BELOW_MINIMUM : 0));
+    }
+
+    static void evaluatePayment(PaymentColumns columns, int row) {
+        long amount = columns.amountMinor[row];
+        byte method = columns.paymentMethod[row];
+        byte type = columns.customerType[row];
+        int transactions = columns.transactionCount[row];
+        long creditLimit = columns.creditLimitMinor[row];
+        byte status = columns.paymentStatus[row];
+
+        boolean notRejected = status != REJECTED;
+        // The rules make the strict checks on the decimal amounts; rows are whole minor units, where both agree
+        boolean creditLimitExceeded = (method == CREDIT_CARD || method == NET_BANKING)
+                && creditLimit != NULL_LONG && amount > creditLimit;
+        boolean codOverLimit = method == COD && amount > COD_LIMIT_MINOR;
+        boolean manualReview = amount >= MANUAL_REVIEW_MINOR;
+        boolean newCustomerVerify = amount >= NEW_CUSTOMER_VERIFY_MINOR && type == NEW && notRejected;
+        boolean feeCharged = (method == CREDIT_CARD || method == DEBIT_CARD || method == UPI || method == WALLET)
+                && notRejected;
+        boolean vipCashback = amount >= VIP_CASHBACK_MINOR && type == VIP && notRejected;
+        boolean regularCashback = amount >= REGULAR_CASHBACK_MINOR && type == REGULAR
+                && transactions >= REGULAR_CASHBACK_TRANSACTIONS && notRejected;
+        boolean lowRisk = amount < LOW_RISK_MINOR && (type == REGULAR || type == VIP) && !codOverLimit;
+        boolean mediumRisk = amount < MEDIUM_RISK_MINOR && type == NEW && transactions >= MEDIUM_RISK_TRANSACTIONS
+                && notRejected && status != REQUIRES_VERIFICATION;
+        boolean pending = amount < MANUAL_REVIEW_MINOR && status == NULL_CODE
+                && (creditLimit == NULL_LONG || amount <= creditLimit)
+                && !codOverLimit
+                && !(amount < LOW_RISK_MINOR && (type == REGULAR || type == VIP))
+                && !(type == NEW && amount >= NEW_CUSTOMER_VERIFY_MINOR);
+
+        int risk = NULL_INT;
+        if (creditLimitExceeded) {
+            status = REJECTED;
+            risk = CREDIT_LIMIT_RISK;
+        }
+        if (codOverLimit) {
+            status = REJECTED;
+        }
+        if (manualReview) {
+            status = REQUIRES_VERIFICATION;
+            risk = MANUAL_REVIEW_RISK;
+        }
+        if (newCustomerVerify) {
+            status = REQUIRES_VERIFICATION;
+            risk = NEW_CUSTOMER_VERIFY_RISK;
+        }
+        if (lowRisk) {
+            status = APPROVED;
+            risk = LOW_RISK;
+        }
+        if (mediumRisk) {
+            status = APPROVED;
+            risk = MEDIUM_RISK;
+        }
+        if (pending) {
+            status = PENDING;
+            risk = DEFAULT_RISK;
+        }
+
+        columns.paymentStatus[row] = status;
+        columns.riskScore[row] = risk;
+        columns.transactionFee[row] = feeCharged ? amount * feeRate(method) : 0;
+        columns.cashback[row] = vipCashback ? amount * VIP_CASHBACK_RATE
+                : regularCashback ? amount * REGULAR_CASHBACK_RATE : 0;
+        columns.flags[row] = (byte) ((lowRisk || mediumRisk ? PaymentColumns.APPROVED : 0)
+                | (manualReview || newCustomerVerify ? PaymentColumns.MANUAL_REVIEW : 0)
+                | (feeCharged ? PaymentColumns.FEE_CHARGED : 0)
+                | (vipCashback ? PaymentColumns.VIP_CASHBACK : 0)
+                | (regularCashback ? PaymentColumns.REGULAR_CASHBACK : 0)
+                | (creditLimitExceeded ? PaymentColumns.REJECTED_CREDIT_LIMIT : 0)
+                | (codOverLimit ? PaymentColumns.REJECTED_COD_LIMIT : 0));
+    }
+
+    private static long shippingCharge(byte zone) {
+        if (zone == LOCAL) {
+            return LOCAL_SHIPPING_MINOR;
+        }
+        if (zone == REGIONAL) {
+            return REGIONAL_SHIPPING_MINOR;
+        }
+        if (zone == NATIONAL) {
+            return NATIONAL_SHIPPING_MINOR;
+        }
+        return INTERNATIONAL_SHIPPING_MINOR;
+    }
+
+    private static long feeRate(byte method) {
+        if (method == CREDIT_CARD) {
+            return CREDIT_CARD_FEE_RATE;
+        }
+        if (method == DEBIT_CARD) {
+            return DEBIT_CARD_FEE_RATE;
+        }
+        if (method == WALLET) {
+            return WALLET_FEE_RATE;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,30 @@
+package io.shaama.rulesengine.events;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * One preallocated slot of a {@link RingBufferDecisionEventSink}. The slot is reused once the
+ * handler returns, so handlers must copy whatever they want to keep.
+ */
+@Getter
+@ToString
+public final class DecisionEvent {
+    private long sequence;
+    private long timestamp;
+    private String ruleId;
+    private String factId;
+    private String outcome;
+    private BigDecimal amount;
+
+    void set(long sequence, long timestamp, String ruleId, String factId, String outcome, BigDecimal amount) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.ruleId = ruleId;
+        this.factId = factId;
+        this.outcome = outcome;
+        this.amount = amount;
+    }
+}
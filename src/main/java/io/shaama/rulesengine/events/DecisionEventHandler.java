@@ -0,0 +1,10 @@
+package io.shaama.rulesengine.events;
+
+/**
+ * Consumes drained decision events on the drainer thread of a {@link RingBufferDecisionEventSink}.
+ */
+@FunctionalInterface
+public interface DecisionEventHandler {
+
+    void onEvent(DecisionEvent event);
+}
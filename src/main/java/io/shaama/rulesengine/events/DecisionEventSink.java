@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.events;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives one decision event per rule firing. Bound to the {@value #GLOBAL} global of every
+ * rule package and called from rule consequences, so implementations must be cheap and must
+ * not block.
+ */
+@FunctionalInterface
+public interface DecisionEventSink {
+
+    /** Name of the DRL global the sink is bound to. */
+    String GLOBAL = "events";
+
+    /** Discards every event. */
+    DecisionEventSink NOOP = (ruleId, factId, outcome, amount) -> {
+    };
+
+    /**
+     * @param ruleId  name of the rule that fired
+     * @param factId  id of the fact the rule matched
+     * @param outcome status, priority or offer type set by the rule
+     * @param amount  key amount set or checked by the rule, or null
+     */
+    void record(String ruleId, String factId, String outcome, BigDecimal amount);
+}
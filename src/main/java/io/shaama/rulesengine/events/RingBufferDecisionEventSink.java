@@ -0,0 +1,148 @@
+package io.shaama.rulesengine.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decision event sink backed by a preallocated multi-producer, single-consumer ring buffer.
+ *
+ * Rule consequences claim a slot with a CAS on the producer sequence, fill the preallocated
+ * {@link DecisionEvent} in place and publish it, so recording allocates nothing and never
+ * blocks. A daemon drainer thread hands published events to the {@link DecisionEventHandler}
+ * in sequence order. When the buffer is full the event is dropped and counted instead of
+ * slowing down rule evaluation.
+ */
+public class RingBufferDecisionEventSink implements DecisionEventSink, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferDecisionEventSink.class);
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final DecisionEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder handlerFailures = new LongAdder();
+    private final DecisionEventHandler handler;
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity number of preallocated slots, a power of two
+     * @param handler  receives the events on the drainer thread
+     */
+    public RingBufferDecisionEventSink(int capacity, DecisionEventHandler handler) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a positive power of two: " + capacity);
+        }
+        this.slots = new DecisionEvent[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new DecisionEvent();
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.handler = handler;
+        this.drainer = Thread.ofPlatform()
+                .name("decision-event-drainer")
+                .daemon()
+                .start(this::drainLoop);
+    }
+
+    /**
+     * Creates a sink with {@value #DEFAULT_CAPACITY} slots that drains to SLF4J.
+     */
+    public static RingBufferDecisionEventSink logging() {
+        return new RingBufferDecisionEventSink(DEFAULT_CAPACITY, new Slf4jDecisionEventHandler());
+    }
+
+    @Override
+    public void record(String ruleId, String factId, String outcome, BigDecimal amount) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained.get() >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        slots[index].set(sequence, System.currentTimeMillis(), ruleId, factId, outcome, amount);
+        published.setRelease(index, sequence);
+    }
+
+    /** Events accepted into the buffer. */
+    public long getRecordedCount() {
+        return claimed.get();
+    }
+
+    /** Events handed to the handler. */
+    public long getDrainedCount() {
+        return drained.get();
+    }
+
+    /** Events discarded because the buffer was full. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Events whose handler call threw. */
+    public long getHandlerFailureCount() {
+        return handlerFailures.sum();
+    }
+
+    /**
+     * Stops the drainer after it has handed every already published event to the handler.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = !running;
+            if (drainAvailable() == 0) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainAvailable() {
+        long next = drained.get();
+        int count = 0;
+        while (true) {
+            int index = (int) (next & mask);
+            if (published.getAcquire(index) != next) {
+                return count;
+            }
+            try {
+                handler.onEvent(slots[index]);
+            } catch (RuntimeException e) {
+                handlerFailures.increment();
+                logger.warn("Decision event handler failed for event {}", next, e);
+            }
+            drained.setRelease(++next);
+            count++;
+        }
+    }
+}
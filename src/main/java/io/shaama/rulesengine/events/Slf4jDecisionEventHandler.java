@@ -0,0 +1,20 @@
+package io.shaama.rulesengine.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes decision events to the {@code io.shaama.rulesengine.decisions} logger at INFO.
+ */
+public class Slf4jDecisionEventHandler implements DecisionEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger("io.shaama.rulesengine.decisions");
+
+    @Override
+    public void onEvent(DecisionEvent event) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Rule '{}' fired for {}: outcome={} amount={}",
+                    event.getRuleId(), event.getFactId(), event.getOutcome(), event.getAmount());
+        }
+    }
+}
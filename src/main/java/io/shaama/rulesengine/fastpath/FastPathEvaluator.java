@@ -0,0 +1,30 @@
+package io.shaama.rulesengine.fastpath;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.runtime.HitPolicy;
+
+/**
+ * Straight-line Java translation of one DRL rule file, generated at build time by
+ * {@code FastPathGenerator} and registered through {@link java.util.ServiceLoader}.
+ *
+ * Produces the same fact updates and decision events as executing the rule package in a
+ * stateless session.
+ */
+public interface FastPathEvaluator<T> {
+
+    /** DRL package the evaluator was generated from. */
+    String packageName();
+
+    Class<T> factType();
+
+    default void evaluate(T fact, DecisionEventSink events) {
+        evaluate(fact, events, HitPolicy.COLLECT);
+    }
+
+    /**
+     * Fires the fact's matches the given hit policy admits, in the order Drools would.
+     *
+     * @return the number of rules fired
+     */
+    int evaluate(T fact, DecisionEventSink events, HitPolicy hitPolicy);
+}
@@ -0,0 +1,39 @@
+package io.shaama.rulesengine.fastpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Generated fast-path evaluators available on the classpath.
+ */
+public final class FastPathEvaluators {
+
+    private FastPathEvaluators() {
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static List<FastPathEvaluator<?>> load(ClassLoader classLoader) {
+        List<FastPathEvaluator<?>> evaluators = new ArrayList<>();
+        for (FastPathEvaluator evaluator : ServiceLoader.load(FastPathEvaluator.class, classLoader)) {
+            evaluators.add(evaluator);
+        }
+        return evaluators;
+    }
+
+    public static List<FastPathEvaluator<?>> load() {
+        return load(FastPathEvaluators.class.getClassLoader());
+    }
+
+    /**
+     * Returns the evaluator generated from the given DRL package, or null.
+     */
+    public static FastPathEvaluator<?> forPackage(String packageName) {
+        for (FastPathEvaluator<?> evaluator : load()) {
+            if (evaluator.packageName().equals(packageName)) {
+                return evaluator;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package io.shaama.rulesengine.fastpath;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Constraint operators used by generated evaluators, with the null semantics of Drools:
+ * {@code ==} is a null-safe equals and an ordering comparison involving null is false.
+ */
+public final class FastPathSupport {
+
+    private FastPathSupport() {
+    }
+
+    public static boolean eq(Object left, Object right) {
+        if (left instanceof Number a && right instanceof Number b) {
+            return compare(a, b) == 0;
+        }
+        return Objects.equals(left, right);
+    }
+
+    public static boolean lt(Number left, Number right) {
+        return left != null && right != null && compare(left, right) < 0;
+    }
+
+    public static boolean le(Number left, Number right) {
+        return left != null && right != null && compare(left, right) <= 0;
+    }
+
+    public static boolean gt(Number left, Number right) {
+        return left != null && right != null && compare(left, right) > 0;
+    }
+
+    public static boolean ge(Number left, Number right) {
+        return left != null && right != null && compare(left, right) >= 0;
+    }
+
+    private static int compare(Number left, Number right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return Long.compare(left.longValue(), right.longValue());
+        }
+        return toBigDecimal(left).compareTo(toBigDecimal(right));
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (number instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+}
@@ -0,0 +1,123 @@
+package io.shaama.rulesengine.metrics;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.DefaultRuleRuntimeEventListener;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histogram for one kbase, plus the listeners that feed them.
+ */
+class KieBaseMetrics implements KieBaseMetricsMXBean {
+
+    private final String kieBaseName;
+    private final ConcurrentHashMap<String, LongAdder> firings = new ConcurrentHashMap<>();
+    private final LongAdder factsInserted = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder evaluationFirings = new LongAdder();
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+
+    final FiringCounter firingCounter = new FiringCounter();
+    final FactCounter factCounter = new FactCounter();
+
+    KieBaseMetrics(String kieBaseName) {
+        this.kieBaseName = kieBaseName;
+    }
+
+    void recordExecution(long nanos) {
+        executeLatency.record(nanos);
+    }
+
+    void recordFirings(int fired) {
+        evaluations.increment();
+        evaluationFirings.add(fired);
+    }
+
+    KieBaseMetricsSnapshot snapshot() {
+        Map<String, Long> ruleFirings = new TreeMap<>();
+        firings.forEach((rule, count) -> ruleFirings.put(rule, count.sum()));
+        return KieBaseMetricsSnapshot.builder()
+                .kieBaseName(kieBaseName)
+                .factsInserted(factsInserted.sum())
+                .ruleFirings(ruleFirings)
+                .executeLatency(executeLatency.snapshot())
+                .evaluations(evaluations.sum())
+                .evaluationFirings(evaluationFirings.sum())
+                .build();
+    }
+
+    @Override
+    public long getFactsInserted() {
+        return factsInserted.sum();
+    }
+
+    @Override
+    public long getTotalFirings() {
+        return firings.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public Map<String, Long> getRuleFirings() {
+        return snapshot().getRuleFirings();
+    }
+
+    @Override
+    public double getFiringsPerEvaluation() {
+        long count = evaluations.sum();
+        return count == 0 ? 0 : (double) evaluationFirings.sum() / count;
+    }
+
+    @Override
+    public long getExecuteCount() {
+        return executeLatency.snapshot().getCount();
+    }
+
+    @Override
+    public double getExecuteMeanNanos() {
+        return executeLatency.snapshot().getMeanNanos();
+    }
+
+    @Override
+    public long getExecuteP50Nanos() {
+        return executeLatency.snapshot().getP50Nanos();
+    }
+
+    @Override
+    public long getExecuteP99Nanos() {
+        return executeLatency.snapshot().getP99Nanos();
+    }
+
+    @Override
+    public long getExecuteP999Nanos() {
+        return executeLatency.snapshot().getP999Nanos();
+    }
+
+    @Override
+    public long getExecuteMaxNanos() {
+        return executeLatency.snapshot().getMaxNanos();
+    }
+
+    class FiringCounter extends DefaultAgendaEventListener {
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            String rule = event.getMatch().getRule().getName();
+            LongAdder count = firings.get(rule);
+            if (count == null) {
+                count = firings.computeIfAbsent(rule, name -> new LongAdder());
+            }
+            count.increment();
+        }
+    }
+
+    class FactCounter extends DefaultRuleRuntimeEventListener {
+        @Override
+        public void objectInserted(ObjectInsertedEvent event) {
+            factsInserted.increment();
+        }
+    }
+}
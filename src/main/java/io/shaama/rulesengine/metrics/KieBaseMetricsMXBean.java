@@ -0,0 +1,30 @@
+package io.shaama.rulesengine.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of one kbase, registered as
+ * {@code io.shaama.rulesengine:type=RuleMetrics,kieBase=<name>}.
+ */
+public interface KieBaseMetricsMXBean {
+
+    long getFactsInserted();
+
+    long getTotalFirings();
+
+    Map<String, Long> getRuleFirings();
+
+    double getFiringsPerEvaluation();
+
+    long getExecuteCount();
+
+    double getExecuteMeanNanos();
+
+    long getExecuteP50Nanos();
+
+    long getExecuteP99Nanos();
+
+    long getExecuteP999Nanos();
+
+    long getExecuteMaxNanos();
+}
@@ -0,0 +1,31 @@
+package io.shaama.rulesengine.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Point-in-time rule firing counts and execute latency of one kbase.
+ */
+@Value
+@Builder
+public class KieBaseMetricsSnapshot {
+    String kieBaseName;
+    long factsInserted;
+    /** Firings per rule name, sorted by name. */
+    Map<String, Long> ruleFirings;
+    LatencySnapshot executeLatency;
+    /** Evaluations reported through {@link RuleMetrics#recordFirings}. */
+    long evaluations;
+    /** Rules fired across those evaluations. */
+    long evaluationFirings;
+
+    public long getTotalFirings() {
+        return ruleFirings.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double getFiringsPerEvaluation() {
+        return evaluations == 0 ? 0 : (double) evaluationFirings / evaluations;
+    }
+}
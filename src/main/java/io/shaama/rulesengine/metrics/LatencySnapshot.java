@@ -0,0 +1,19 @@
+package io.shaama.rulesengine.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time percentiles of a {@link LatencyHistogram}, in nanoseconds.
+ */
+@Value
+@Builder
+public class LatencySnapshot {
+    long count;
+    double meanNanos;
+    long maxNanos;
+    long p50Nanos;
+    long p90Nanos;
+    long p99Nanos;
+    long p999Nanos;
+}
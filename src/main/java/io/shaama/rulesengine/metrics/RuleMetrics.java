@@ -0,0 +1,126 @@
+package io.shaama.rulesengine.metrics;
+
+import org.kie.api.event.KieRuntimeEventManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-rule firing counts and per-kbase execute latency.
+ *
+ * {@link #attach} adds an agenda listener counting firings per rule and a rule runtime
+ * listener counting inserted facts to a session; callers that time their own executions
+ * report them through {@link #recordExecution}, and the rules fired per evaluation through
+ * {@link #recordFirings}. All counters are striped, so recording never
+ * locks. Snapshots are available through {@link #snapshot()} and, when created with an
+ * {@link MBeanServer}, as one {@link KieBaseMetricsMXBean} per kbase.
+ */
+public class RuleMetrics implements AutoCloseable {
+
+    public static final String JMX_DOMAIN = "io.shaama.rulesengine";
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleMetrics.class);
+
+    private final ConcurrentHashMap<String, KieBaseMetrics> kieBases = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private final MBeanServer mBeanServer;
+
+    public RuleMetrics() {
+        this(null);
+    }
+
+    /**
+     * @param mBeanServer server to register a {@link KieBaseMetricsMXBean} per kbase on, or null
+     */
+    public RuleMetrics(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * Creates metrics registered on the platform MBean server.
+     */
+    public static RuleMetrics withJmx() {
+        return new RuleMetrics(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Counts rule firings and inserted facts of the session under the given kbase.
+     */
+    public void attach(KieRuntimeEventManager session, String kieBaseName) {
+        KieBaseMetrics metrics = kieBase(kieBaseName);
+        session.addEventListener(metrics.firingCounter);
+        session.addEventListener(metrics.factCounter);
+    }
+
+    public void recordExecution(String kieBaseName, long nanos) {
+        kieBase(kieBaseName).recordExecution(nanos);
+    }
+
+    /**
+     * Records one evaluation of a single fact that fired {@code fired} rules, e.g. to confirm a
+     * {@code HitPolicy} cuts evaluations short.
+     */
+    public void recordFirings(String kieBaseName, int fired) {
+        kieBase(kieBaseName).recordFirings(fired);
+    }
+
+    public KieBaseMetricsSnapshot snapshot(String kieBaseName) {
+        return kieBase(kieBaseName).snapshot();
+    }
+
+    public Map<String, KieBaseMetricsSnapshot> snapshot() {
+        Map<String, KieBaseMetricsSnapshot> snapshots = new TreeMap<>();
+        kieBases.forEach((name, metrics) -> snapshots.put(name, metrics.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Unregisters the MBeans; counters stay readable through {@link #snapshot()}.
+     */
+    @Override
+    public void close() {
+        synchronized (registered) {
+            for (ObjectName name : registered) {
+                try {
+                    mBeanServer.unregisterMBean(name);
+                } catch (JMException e) {
+                    logger.warn("Could not unregister {}", name, e);
+                }
+            }
+            registered.clear();
+        }
+    }
+
+    private KieBaseMetrics kieBase(String kieBaseName) {
+        KieBaseMetrics metrics = kieBases.get(kieBaseName);
+        if (metrics == null) {
+            metrics = kieBases.computeIfAbsent(kieBaseName, this::create);
+        }
+        return metrics;
+    }
+
+    private KieBaseMetrics create(String kieBaseName) {
+        KieBaseMetrics metrics = new KieBaseMetrics(kieBaseName);
+        if (mBeanServer != null) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=RuleMetrics,kieBase=" + kieBaseName);
+                mBeanServer.registerMBean(metrics, name);
+                synchronized (registered) {
+                    registered.add(name);
+                }
+            } catch (JMException e) {
+                logger.warn("Could not register rule metrics MBean for {}", kieBaseName, e);
+            }
+        }
+        return metrics;
+    }
+}
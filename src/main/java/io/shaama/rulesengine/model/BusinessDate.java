@@ -0,0 +1,58 @@
+package io.shaama.rulesengine.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Today's date in the default time zone, as the rules compare offer validity against it.
+ *
+ * {@code LocalDate.now()} looks up the default zone and allocates a clock, an instant and a
+ * date on every call, which made it the largest allocation of an offer evaluation. The date is
+ * kept here together with the instants the day starts and ends, so a call reads the system time
+ * and returns the shared date; the date is only recomputed once the day is over. A change of
+ * the default time zone is picked up at the next day boundary.
+ *
+ * Everything that must agree with the rules on the date, such as the decision cache, reads it
+ * here. {@link #setClock} replaces the system clock, e.g. to move tests to another day.
+ */
+public final class BusinessDate {
+
+    /** Null for the system clock in the default time zone. */
+    private static volatile Clock clock;
+    private static volatile Day current = Day.of(System.currentTimeMillis(), null);
+
+    private BusinessDate() {
+    }
+
+    public static LocalDate today() {
+        Clock source = clock;
+        Day day = current;
+        long now = source == null ? System.currentTimeMillis() : source.millis();
+        if (now < day.startMillis || now >= day.endMillis) {
+            day = Day.of(now, source);
+            current = day;
+        }
+        return day.date;
+    }
+
+    /**
+     * Makes {@link #today()} tell the date of {@code clock} in its zone, or of the system clock
+     * again when it is null.
+     */
+    public static void setClock(Clock clock) {
+        BusinessDate.clock = clock;
+        current = Day.of(clock == null ? System.currentTimeMillis() : clock.millis(), clock);
+    }
+
+    private record Day(LocalDate date, long startMillis, long endMillis) {
+
+        static Day of(long epochMillis, Clock clock) {
+            ZoneId zone = clock == null ? ZoneId.systemDefault() : clock.getZone();
+            LocalDate date = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate();
+            return new Day(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
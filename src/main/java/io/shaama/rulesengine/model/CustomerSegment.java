@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Loyalty segment of the customer an {@link Offer} is evaluated for.
+ */
+public enum CustomerSegment {
+    PREMIUM,
+    GOLD,
+    SILVER,
+    REGULAR;
+
+    private static final CustomerSegment[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static CustomerSegment of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
@@ -0,0 +1,22 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Customer type of a {@link Payment}.
+ */
+public enum CustomerType {
+    NEW,
+    REGULAR,
+    VIP;
+
+    private static final CustomerType[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static CustomerType of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Delivery zone of an {@link Order}.
+ */
+public enum DeliveryZone {
+    LOCAL,
+    REGIONAL,
+    NATIONAL,
+    INTERNATIONAL;
+
+    private static final DeliveryZone[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static DeliveryZone of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
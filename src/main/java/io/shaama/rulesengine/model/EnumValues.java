@@ -0,0 +1,32 @@
+package io.shaama.rulesengine.model;
+
+import java.util.Arrays;
+
+/**
+ * Parsing of the legacy string values of the fact enums.
+ */
+final class EnumValues {
+
+    private EnumValues() {
+    }
+
+    /**
+     * Returns the constant named exactly by the value, or null when the value is null. Before the
+     * fields were typed the rules compared the strings exactly, so a value that names no constant
+     * is rejected rather than silently matching no rule.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    static <E extends Enum<E>> E parse(E[] constants, String value) {
+        if (value == null) {
+            return null;
+        }
+        for (E constant : constants) {
+            if (constant.name().equals(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + constants[0].getDeclaringClass().getSimpleName()
+                + " '" + value + "', expected one of " + Arrays.toString(constants));
+    }
+}
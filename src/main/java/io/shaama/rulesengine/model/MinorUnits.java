@@ -0,0 +1,43 @@
+package io.shaama.rulesengine.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversion between decimal amounts and the {@code long} minor units the rules compare against.
+ *
+ * A minor unit is always 1/100 of the amount, whatever the {@code currency} of the fact: the
+ * thresholds in the rules are written in hundredths, so currencies without a fraction or with a
+ * third decimal compare exactly as they did against the decimal amounts, down to the hundredth.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Returns the amount in minor units, rounded towards negative infinity, 0 for null.
+     *
+     * Rounding down keeps {@code >=} and {@code <} checks against a whole number of minor units
+     * exact: 999.999 is below a 1000.00 threshold both as a decimal and as 99999. It does not
+     * for {@code >} and {@code <=}, where 5000.006 would compare like 5000.00, so the rules make
+     * those checks, and checks of one amount against another, on the decimal amounts.
+     */
+    public static long of(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Whether the amount is a whole number of minor units, so that {@link #of} returns it
+     * exactly. True for null.
+     */
+    public static boolean isWhole(BigDecimal amount) {
+        return amount == null || amount.scale() <= SCALE || amount.stripTrailingZeros().scale() <= SCALE;
+    }
+
+    public static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
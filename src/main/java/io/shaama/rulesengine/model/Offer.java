@@ -8,6 +8,12 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Offer fact. The rules match on {@link #orderAmountMinor}; {@link #orderAmount} holds the same
+ * amount as given by the caller and is what consequences compute with. Setting either keeps the
+ * other in sync. The categorical fields are enums; their deprecated {@code String} setters and
+ * {@code get...Name()} getters remain for callers built against the untyped model.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,10 +22,11 @@ public class Offer {
     private String offerId;
     private String offerCode;
     private String customerId;
-    private String customerSegment; // PREMIUM, GOLD, SILVER, REGULAR
+    private CustomerSegment customerSegment;
     private BigDecimal orderAmount;
+    private long orderAmountMinor;
     private LocalDate offerValidUntil;
-    private String productCategory;
+    private ProductType productCategory;
     private boolean isFirstTimeCustomer;
     
     // Calculated fields (set by rules)
@@ -28,4 +35,91 @@ public class Offer {
     private String appliedOfferType;
     private boolean offerApplicable;
     private String rejectionReason;
+
+    public void setOrderAmount(BigDecimal orderAmount) {
+        this.orderAmount = orderAmount;
+        this.orderAmountMinor = MinorUnits.of(orderAmount);
+    }
+
+    public void setOrderAmountMinor(long orderAmountMinor) {
+        this.orderAmountMinor = orderAmountMinor;
+        this.orderAmount = MinorUnits.toAmount(orderAmountMinor);
+    }
+
+    public void setCustomerSegment(CustomerSegment customerSegment) {
+        this.customerSegment = customerSegment;
+    }
+
+    /**
+     * @deprecated use {@link #setCustomerSegment(CustomerSegment)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setCustomerSegment(String customerSegment) {
+        setCustomerSegment(CustomerSegment.of(customerSegment));
+    }
+
+    /**
+     * @deprecated use {@link #getCustomerSegment()}
+     */
+    @Deprecated
+    public String getCustomerSegmentName() {
+        return customerSegment == null ? null : customerSegment.name();
+    }
+
+    public void setProductCategory(ProductType productCategory) {
+        this.productCategory = productCategory;
+    }
+
+    /**
+     * @deprecated use {@link #setProductCategory(ProductType)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setProductCategory(String productCategory) {
+        setProductCategory(ProductType.of(productCategory));
+    }
+
+    /**
+     * @deprecated use {@link #getProductCategory()}
+     */
+    @Deprecated
+    public String getProductCategoryName() {
+        return productCategory == null ? null : productCategory.name();
+    }
+
+    /**
+     * Also accepts the string values of the categorical fields for callers built against the
+     * untyped model.
+     */
+    public static class OfferBuilder {
+
+        public OfferBuilder orderAmount(BigDecimal orderAmount) {
+            this.orderAmount = orderAmount;
+            this.orderAmountMinor = MinorUnits.of(orderAmount);
+            return this;
+        }
+
+        public OfferBuilder orderAmountMinor(long orderAmountMinor) {
+            this.orderAmountMinor = orderAmountMinor;
+            this.orderAmount = MinorUnits.toAmount(orderAmountMinor);
+            return this;
+        }
+
+        public OfferBuilder customerSegment(CustomerSegment customerSegment) {
+            this.customerSegment = customerSegment;
+            return this;
+        }
+
+        public OfferBuilder customerSegment(String customerSegment) {
+            return customerSegment(CustomerSegment.of(customerSegment));
+        }
+
+        public OfferBuilder productCategory(ProductType productCategory) {
+            this.productCategory = productCategory;
+            return this;
+        }
+
+        public OfferBuilder productCategory(String productCategory) {
+            return productCategory(ProductType.of(productCategory));
+        }
+    }
 }
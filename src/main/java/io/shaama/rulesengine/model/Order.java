@@ -8,6 +8,12 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Order fact. The rules match on {@link #orderAmountMinor}; {@link #orderAmount} holds the same
+ * amount as given by the caller and is what consequences compute with. Setting either keeps the
+ * other in sync. The categorical fields are enums; their deprecated {@code String} setters and
+ * {@code get...Name()} getters remain for callers built against the untyped model.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,18 +22,135 @@ public class Order {
     private String orderId;
     private String customerId;
     private BigDecimal orderAmount;
-    private String deliveryZone; // LOCAL, REGIONAL, NATIONAL, INTERNATIONAL
+    private long orderAmountMinor;
+    private DeliveryZone deliveryZone;
     private LocalDateTime orderDate;
     private Integer itemCount;
     private boolean isPeakHour;
-    private String productType; // ELECTRONICS, GROCERIES, FASHION, BOOKS, OTHER
+    private ProductType productType;
     
     // Calculated fields (set by rules)
     private BigDecimal shippingCharge;
     private BigDecimal processingFee;
     private BigDecimal totalAmount;
-    private String orderPriority; // HIGH, MEDIUM, LOW
+    private OrderPriority orderPriority;
     private boolean requiresApproval;
     private boolean freeShippingEligible;
     private String validationMessage;
+
+    public void setOrderAmount(BigDecimal orderAmount) {
+        this.orderAmount = orderAmount;
+        this.orderAmountMinor = MinorUnits.of(orderAmount);
+    }
+
+    public void setOrderAmountMinor(long orderAmountMinor) {
+        this.orderAmountMinor = orderAmountMinor;
+        this.orderAmount = MinorUnits.toAmount(orderAmountMinor);
+    }
+
+    public void setDeliveryZone(DeliveryZone deliveryZone) {
+        this.deliveryZone = deliveryZone;
+    }
+
+    /**
+     * @deprecated use {@link #setDeliveryZone(DeliveryZone)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setDeliveryZone(String deliveryZone) {
+        setDeliveryZone(DeliveryZone.of(deliveryZone));
+    }
+
+    /**
+     * @deprecated use {@link #getDeliveryZone()}
+     */
+    @Deprecated
+    public String getDeliveryZoneName() {
+        return deliveryZone == null ? null : deliveryZone.name();
+    }
+
+    public void setProductType(ProductType productType) {
+        this.productType = productType;
+    }
+
+    /**
+     * @deprecated use {@link #setProductType(ProductType)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setProductType(String productType) {
+        setProductType(ProductType.of(productType));
+    }
+
+    /**
+     * @deprecated use {@link #getProductType()}
+     */
+    @Deprecated
+    public String getProductTypeName() {
+        return productType == null ? null : productType.name();
+    }
+
+    public void setOrderPriority(OrderPriority orderPriority) {
+        this.orderPriority = orderPriority;
+    }
+
+    /**
+     * @deprecated use {@link #setOrderPriority(OrderPriority)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setOrderPriority(String orderPriority) {
+        setOrderPriority(OrderPriority.of(orderPriority));
+    }
+
+    /**
+     * @deprecated use {@link #getOrderPriority()}
+     */
+    @Deprecated
+    public String getOrderPriorityName() {
+        return orderPriority == null ? null : orderPriority.name();
+    }
+
+    /**
+     * Also accepts the string values of the categorical fields for callers built against the
+     * untyped model.
+     */
+    public static class OrderBuilder {
+
+        public OrderBuilder orderAmount(BigDecimal orderAmount) {
+            this.orderAmount = orderAmount;
+            this.orderAmountMinor = MinorUnits.of(orderAmount);
+            return this;
+        }
+
+        public OrderBuilder orderAmountMinor(long orderAmountMinor) {
+            this.orderAmountMinor = orderAmountMinor;
+            this.orderAmount = MinorUnits.toAmount(orderAmountMinor);
+            return this;
+        }
+
+        public OrderBuilder deliveryZone(DeliveryZone deliveryZone) {
+            this.deliveryZone = deliveryZone;
+            return this;
+        }
+
+        public OrderBuilder deliveryZone(String deliveryZone) {
+            return deliveryZone(DeliveryZone.of(deliveryZone));
+        }
+
+        public OrderBuilder productType(ProductType productType) {
+            this.productType = productType;
+            return this;
+        }
+
+        public OrderBuilder productType(String productType) {
+            return productType(ProductType.of(productType));
+        }
+
+        public OrderBuilder orderPriority(OrderPriority orderPriority) {
+            this.orderPriority = orderPriority;
+            return this;
+        }
+
+        public OrderBuilder orderPriority(String orderPriority) {
+            return orderPriority(OrderPriority.of(orderPriority));
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Processing priority set on an {@link Order} by the rules.
+ */
+public enum OrderPriority {
+    HIGH,
+    MEDIUM,
+    LOW;
+
+    private static final OrderPriority[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static OrderPriority of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
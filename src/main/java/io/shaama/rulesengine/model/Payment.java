@@ -8,6 +8,13 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * Payment fact. The rules match on {@link #amountMinor} and {@link #creditLimitMinor};
+ * {@link #amount} and {@link #creditLimit} hold the same amounts as given by the caller and are
+ * what consequences compute with. Setting either representation keeps the other in sync. The
+ * categorical fields are enums; their deprecated {@code String} setters and {@code get...Name()}
+ * getters remain for callers built against the untyped model.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,20 +24,160 @@ public class Payment {
     private String orderId;
     private String customerId;
     private BigDecimal amount;
-    private String paymentMethod; // CREDIT_CARD, DEBIT_CARD, UPI, NET_BANKING, WALLET, COD
-    private String customerType; // NEW, REGULAR, VIP
+    private long amountMinor;
+    private PaymentMethod paymentMethod;
+    private CustomerType customerType;
     private Integer transactionCount; // Number of successful transactions in last 30 days
     private LocalDateTime paymentDate;
     private String currency;
     private BigDecimal creditLimit;
+    private Long creditLimitMinor;
     
     // Calculated fields (set by rules)
     private boolean paymentApproved;
-    private String paymentStatus; // APPROVED, PENDING, REJECTED, REQUIRES_VERIFICATION
+    private PaymentStatus paymentStatus;
     private BigDecimal transactionFee;
     private BigDecimal cashbackAmount;
     private String cashbackPercentage;
     private boolean requiresManualReview;
     private String rejectionReason;
     private Integer riskScore; // 0-100, higher means more risky
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+        this.amountMinor = MinorUnits.of(amount);
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+        this.amount = MinorUnits.toAmount(amountMinor);
+    }
+
+    public void setCreditLimit(BigDecimal creditLimit) {
+        this.creditLimit = creditLimit;
+        this.creditLimitMinor = creditLimit == null ? null : MinorUnits.of(creditLimit);
+    }
+
+    public void setCreditLimitMinor(Long creditLimitMinor) {
+        this.creditLimitMinor = creditLimitMinor;
+        this.creditLimit = creditLimitMinor == null ? null : MinorUnits.toAmount(creditLimitMinor);
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    /**
+     * @deprecated use {@link #setPaymentMethod(PaymentMethod)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setPaymentMethod(String paymentMethod) {
+        setPaymentMethod(PaymentMethod.of(paymentMethod));
+    }
+
+    /**
+     * @deprecated use {@link #getPaymentMethod()}
+     */
+    @Deprecated
+    public String getPaymentMethodName() {
+        return paymentMethod == null ? null : paymentMethod.name();
+    }
+
+    public void setCustomerType(CustomerType customerType) {
+        this.customerType = customerType;
+    }
+
+    /**
+     * @deprecated use {@link #setCustomerType(CustomerType)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setCustomerType(String customerType) {
+        setCustomerType(CustomerType.of(customerType));
+    }
+
+    /**
+     * @deprecated use {@link #getCustomerType()}
+     */
+    @Deprecated
+    public String getCustomerTypeName() {
+        return customerType == null ? null : customerType.name();
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    /**
+     * @deprecated use {@link #setPaymentStatus(PaymentStatus)}; the value must be a constant name
+     */
+    @Deprecated
+    public void setPaymentStatus(String paymentStatus) {
+        setPaymentStatus(PaymentStatus.of(paymentStatus));
+    }
+
+    /**
+     * @deprecated use {@link #getPaymentStatus()}
+     */
+    @Deprecated
+    public String getPaymentStatusName() {
+        return paymentStatus == null ? null : paymentStatus.name();
+    }
+
+    /**
+     * Also accepts the string values of the categorical fields for callers built against the
+     * untyped model.
+     */
+    public static class PaymentBuilder {
+
+        public PaymentBuilder amount(BigDecimal amount) {
+            this.amount = amount;
+            this.amountMinor = MinorUnits.of(amount);
+            return this;
+        }
+
+        public PaymentBuilder amountMinor(long amountMinor) {
+            this.amountMinor = amountMinor;
+            this.amount = MinorUnits.toAmount(amountMinor);
+            return this;
+        }
+
+        public PaymentBuilder creditLimit(BigDecimal creditLimit) {
+            this.creditLimit = creditLimit;
+            this.creditLimitMinor = creditLimit == null ? null : MinorUnits.of(creditLimit);
+            return this;
+        }
+
+        public PaymentBuilder creditLimitMinor(Long creditLimitMinor) {
+            this.creditLimitMinor = creditLimitMinor;
+            this.creditLimit = creditLimitMinor == null ? null : MinorUnits.toAmount(creditLimitMinor);
+            return this;
+        }
+
+        public PaymentBuilder paymentMethod(PaymentMethod paymentMethod) {
+            this.paymentMethod = paymentMethod;
+            return this;
+        }
+
+        public PaymentBuilder paymentMethod(String paymentMethod) {
+            return paymentMethod(PaymentMethod.of(paymentMethod));
+        }
+
+        public PaymentBuilder customerType(CustomerType customerType) {
+            this.customerType = customerType;
+            return this;
+        }
+
+        public PaymentBuilder customerType(String customerType) {
+            return customerType(CustomerType.of(customerType));
+        }
+
+        public PaymentBuilder paymentStatus(PaymentStatus paymentStatus) {
+            this.paymentStatus = paymentStatus;
+            return this;
+        }
+
+        public PaymentBuilder paymentStatus(String paymentStatus) {
+            return paymentStatus(PaymentStatus.of(paymentStatus));
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kie.api.definition.type.Expires;
+import org.kie.api.definition.type.Role;
+import org.kie.api.definition.type.Timestamp;
+
+/**
+ * A successful payment, inserted as an event into the payment velocity stream. The event is
+ * timestamped with the time of the payment, in epoch milliseconds of the session clock, so
+ * payments replayed after a restart fall into the windows they were made in. It expires once
+ * it has left the longest velocity window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Role(Role.Type.EVENT)
+@Timestamp("paidAtMillis")
+@Expires("30d")
+public class PaymentEvent {
+    private String customerId;
+    private String paymentId;
+    private long amountMinor;
+    private long paidAtMillis;
+}
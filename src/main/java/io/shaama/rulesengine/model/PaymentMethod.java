@@ -0,0 +1,25 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Payment method of a {@link Payment}.
+ */
+public enum PaymentMethod {
+    CREDIT_CARD,
+    DEBIT_CARD,
+    UPI,
+    NET_BANKING,
+    WALLET,
+    COD;
+
+    private static final PaymentMethod[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static PaymentMethod of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Status set on a {@link Payment} by the rules.
+ */
+public enum PaymentStatus {
+    APPROVED,
+    PENDING,
+    REJECTED,
+    REQUIRES_VERIFICATION;
+
+    private static final PaymentStatus[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static PaymentStatus of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
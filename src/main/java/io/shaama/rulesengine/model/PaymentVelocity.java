@@ -0,0 +1,24 @@
+package io.shaama.rulesengine.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Velocity of one customer's successful payments over the sliding windows of the velocity
+ * rules. Inserted as a request and filled in by the rules.
+ */
+@Data
+@NoArgsConstructor
+public class PaymentVelocity {
+    private String customerId;
+
+    // Calculated fields (set by rules)
+    private long transactionsLastHour;
+    private long transactionsLastDay;
+    private long transactionsLast30Days;
+    private long amountLastDayMinor;
+
+    public PaymentVelocity(String customerId) {
+        this.customerId = customerId;
+    }
+}
@@ -0,0 +1,24 @@
+package io.shaama.rulesengine.model;
+
+/**
+ * Product type of an {@link Order} and product category of an {@link Offer}.
+ */
+public enum ProductType {
+    ELECTRONICS,
+    GROCERIES,
+    FASHION,
+    BOOKS,
+    OTHER;
+
+    private static final ProductType[] VALUES = values();
+
+    /**
+     * Parses the legacy string representation, which must be the constant name; null maps to
+     * null, which no rule matches.
+     *
+     * @throws IllegalArgumentException if the value is not a constant name
+     */
+    public static ProductType of(String value) {
+        return EnumValues.parse(VALUES, value);
+    }
+}
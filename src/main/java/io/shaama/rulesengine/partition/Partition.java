@@ -0,0 +1,102 @@
+package io.shaama.rulesengine.partition;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One thread draining one queue against one state object. The state is only touched by the
+ * partition thread, so it needs no synchronization of its own.
+ */
+final class Partition<S> {
+
+    private static final Runnable STOP = () -> {
+    };
+
+    private final int index;
+    private final S state;
+    private final BlockingQueue<Runnable> queue;
+    private final Thread thread;
+    private final LongAdder rejected = new LongAdder();
+    private volatile long completed;
+    private volatile long failed;
+
+    Partition(int index, S state, int queueCapacity) {
+        this.index = index;
+        this.state = state;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = Thread.ofPlatform().name("rules-partition-" + index).daemon().start(this::run);
+    }
+
+    <R> CompletableFuture<R> submit(Function<? super S, ? extends R> task) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        Runnable runnable = () -> {
+            R result;
+            try {
+                result = task.apply(state);
+            } catch (Throwable e) {
+                failed++;
+                future.completeExceptionally(e);
+                return;
+            }
+            completed++;
+            future.complete(result);
+        };
+        if (!queue.offer(runnable)) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Queue of partition " + index + " is full"));
+        }
+        return future;
+    }
+
+    /**
+     * Returns a latch released once every task queued before the call has run. Waits for
+     * queue space rather than rejecting.
+     */
+    CountDownLatch barrier() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        queue.put(latch::countDown);
+        return latch;
+    }
+
+    /**
+     * Lets the queued tasks finish, then ends the partition thread.
+     */
+    void stop() throws InterruptedException {
+        queue.put(STOP);
+        thread.join();
+    }
+
+    S state() {
+        return state;
+    }
+
+    PartitionStats stats() {
+        return PartitionStats.builder()
+                .partition(index)
+                .queueDepth(queue.size())
+                .completed(completed)
+                .failed(failed)
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    private void run() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            task.run();
+        }
+    }
+}
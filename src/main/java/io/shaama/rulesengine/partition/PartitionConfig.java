@@ -0,0 +1,24 @@
+package io.shaama.rulesengine.partition;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Partition count and queue sizing for {@link PartitionedExecutor}.
+ */
+@Value
+@Builder
+public class PartitionConfig {
+
+    /** Single-threaded partitions, each owning its own state. */
+    @Builder.Default
+    int partitions = Runtime.getRuntime().availableProcessors();
+
+    /** Tasks queued per partition; further submissions to a full partition are rejected immediately. */
+    @Builder.Default
+    int queueCapacity = 10_000;
+
+    public static PartitionConfig defaults() {
+        return PartitionConfig.builder().build();
+    }
+}
@@ -0,0 +1,18 @@
+package io.shaama.rulesengine.partition;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters of one {@link PartitionedExecutor} partition.
+ */
+@Value
+@Builder
+public class PartitionStats {
+    int partition;
+    /** Tasks waiting in the partition's queue, excluding the one running. */
+    int queueDepth;
+    long completed;
+    long failed;
+    long rejected;
+}
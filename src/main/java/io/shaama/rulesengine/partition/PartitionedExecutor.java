@@ -0,0 +1,279 @@
+package io.shaama.rulesengine.partition;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Runs per-customer work on a fixed set of single-threaded partitions chosen by customer id.
+ *
+ * Each partition owns one state object from the state factory, typically a stateful session
+ * such as a {@link io.shaama.rulesengine.velocity.PaymentVelocityTracker}, and one thread that
+ * runs its tasks in submission order. All tasks for a customer therefore see the same state,
+ * in order, without contending with other threads; throughput scales with the number of
+ * partitions up to the number of cores. A full partition queue rejects further submissions
+ * with a {@link RejectedExecutionException} instead of blocking the caller.
+ *
+ * Customers are assigned with jump consistent hashing, so {@link #resize(int)} from n to n + 1
+ * partitions moves only 1/(n + 1) of them. Partitions that remain keep their state, and the
+ * {@link StateHandOff} moves the state of the customers that change partition; an executor
+ * built without one cannot be resized. Tasks must not submit to the executor themselves, as a
+ * resize waits for them while holding off submissions.
+ */
+public class PartitionedExecutor<S> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedExecutor.class);
+
+    private final IntFunction<? extends S> stateFactory;
+    private final StateHandOff<S> handOff;
+    private final int queueCapacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Partition<S>> partitions;
+    private boolean closed;
+
+    /**
+     * Creates an executor that cannot be resized, since the customers' state could not follow
+     * them to their new partition.
+     *
+     * @param stateFactory creates the state of the partition with the given index
+     */
+    public PartitionedExecutor(PartitionConfig config, IntFunction<? extends S> stateFactory) {
+        this(config, stateFactory, null);
+    }
+
+    /**
+     * @param stateFactory creates the state of the partition with the given index
+     * @param handOff moves customers' state to their new partition on a resize;
+     *                {@link StateHandOff#none()} if the state keeps nothing per customer
+     */
+    public PartitionedExecutor(PartitionConfig config, IntFunction<? extends S> stateFactory, StateHandOff<S> handOff) {
+        if (config.getPartitions() < 1) {
+            throw new IllegalArgumentException("partitions must be positive: " + config.getPartitions());
+        }
+        this.stateFactory = stateFactory;
+        this.handOff = handOff;
+        this.queueCapacity = config.getQueueCapacity();
+        List<Partition<S>> created = new ArrayList<>();
+        for (int i = 0; i < config.getPartitions(); i++) {
+            created.add(newPartition(i));
+        }
+        this.partitions = List.copyOf(created);
+    }
+
+    /**
+     * Runs the task against the state of the customer's partition after all tasks submitted
+     * earlier for that partition. Facts without a customer id all go to one partition.
+     */
+    public <R> CompletableFuture<R> submit(String customerId, Function<? super S, ? extends R> task) {
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Partitioned executor is closed"));
+            }
+            return partitions.get(partitionOf(customerId, partitions.size())).submit(task);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Submits the task for the customer of an {@link Offer}, {@link Order} or {@link Payment}.
+     */
+    public <T, R> CompletableFuture<R> submitFact(T fact, BiFunction<? super S, ? super T, ? extends R> task) {
+        return submit(customerId(fact), state -> task.apply(state, fact));
+    }
+
+    /**
+     * Changes the number of partitions. Submissions wait while every partition finishes its
+     * queued tasks, so no customer's tasks are reordered across the move, and the state of the
+     * customers that change partition is handed off before the new partitions take tasks.
+     * Partitions beyond the new count are then stopped and their state closed if it is
+     * {@link AutoCloseable}. If a hand-off fails, the partitions added are stopped and the
+     * executor keeps its partition count; state already handed off to them is lost.
+     *
+     * @throws IllegalStateException if the executor was built without a {@link StateHandOff}
+     */
+    public void resize(int partitionCount) throws InterruptedException {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("partitionCount must be positive: " + partitionCount);
+        }
+        if (handOff == null) {
+            throw new IllegalStateException("Partition state cannot be handed off; create the executor with a StateHandOff to resize it");
+        }
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Partitioned executor is closed");
+            }
+            List<Partition<S>> current = partitions;
+            if (partitionCount == current.size()) {
+                return;
+            }
+            List<CountDownLatch> drained = new ArrayList<>();
+            for (Partition<S> partition : current) {
+                drained.add(partition.barrier());
+            }
+            for (CountDownLatch latch : drained) {
+                latch.await();
+            }
+            int kept = Math.min(partitionCount, current.size());
+            List<Partition<S>> next = new ArrayList<>(current.subList(0, kept));
+            for (int i = current.size(); i < partitionCount; i++) {
+                next.add(newPartition(i));
+            }
+            try {
+                handOff(current, next);
+            } catch (RuntimeException e) {
+                for (Partition<S> added : next.subList(kept, next.size())) {
+                    stop(added);
+                }
+                throw e;
+            }
+            for (Partition<S> removed : current.subList(kept, current.size())) {
+                stop(removed);
+            }
+            partitions = List.copyOf(next);
+            logger.info("Resized from {} to {} partitions", current.size(), partitionCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getPartitionCount() {
+        lock.readLock().lock();
+        try {
+            return partitions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queue depth and task counters per partition, in partition order.
+     */
+    public List<PartitionStats> stats() {
+        lock.readLock().lock();
+        try {
+            return partitions.stream().map(Partition::stats).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The partition a customer id is assigned to out of {@code partitionCount}.
+     */
+    public static int partitionOf(String customerId, int partitionCount) {
+        return jumpConsistentHash(mix(customerId == null ? 0 : customerId.hashCode()), partitionCount);
+    }
+
+    /**
+     * Lets every partition finish its queued tasks, then stops the threads and closes the
+     * states that are {@link AutoCloseable}.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Partition<S> partition : partitions) {
+                stop(partition);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hands off every customer whose partition changes: those of removed partitions when
+     * shrinking, those moving to added partitions when growing.
+     */
+    private void handOff(List<Partition<S>> current, List<Partition<S>> next) {
+        int before = current.size();
+        int after = next.size();
+        for (int from = 0; from < before; from++) {
+            for (int to = 0; to < after; to++) {
+                if (from == to || (from < after && to < before)) {
+                    continue;
+                }
+                int source = from;
+                int target = to;
+                handOff.handOff(current.get(from).state(), next.get(to).state(),
+                        customerId -> partitionOf(customerId, before) == source && partitionOf(customerId, after) == target);
+            }
+        }
+    }
+
+    private Partition<S> newPartition(int index) {
+        return new Partition<>(index, stateFactory.apply(index), queueCapacity);
+    }
+
+    private static void stop(Partition<?> partition) throws InterruptedException {
+        partition.stop();
+        if (partition.state() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close partition state", e);
+            }
+        }
+    }
+
+    private static String customerId(Object fact) {
+        if (fact instanceof Offer offer) {
+            return offer.getCustomerId();
+        }
+        if (fact instanceof Order order) {
+            return order.getCustomerId();
+        }
+        if (fact instanceof Payment payment) {
+            return payment.getCustomerId();
+        }
+        throw new IllegalArgumentException("No customer id on " + fact.getClass().getName());
+    }
+
+    /**
+     * Spreads the bits of a string hash over 64 bits (the MurmurHash3 finalizer); jump hashing
+     * needs well-distributed keys.
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Lamping and Veach's jump consistent hash: growing the bucket count from n to n + 1 only
+     * moves keys into the new bucket.
+     */
+    private static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,26 @@
+package io.shaama.rulesengine.partition;
+
+import java.util.function.Predicate;
+
+/**
+ * Moves per-customer state between partitions when {@link PartitionedExecutor#resize(int)}
+ * assigns customers to another partition.
+ */
+@FunctionalInterface
+public interface StateHandOff<S> {
+
+    /**
+     * For partition states that keep nothing per customer; a resize then moves nothing.
+     */
+    static <S> StateHandOff<S> none() {
+        return (from, to, moved) -> {
+        };
+    }
+
+    /**
+     * Moves the state of the customers {@code moved} accepts from one partition's state to
+     * another's. Called on the resizing thread while no partition runs a task, before the new
+     * partition count takes submissions.
+     */
+    void handOff(S from, S to, Predicate<String> moved);
+}
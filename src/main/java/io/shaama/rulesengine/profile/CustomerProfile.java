@@ -0,0 +1,21 @@
+package io.shaama.rulesengine.profile;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The per-customer attributes the rules match on, as held by a {@link CustomerProfileStore}.
+ * Null fields are left as the caller set them when the profile is applied to a fact.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CustomerProfile {
+    long customerId;
+    boolean firstTimeCustomer;
+    CustomerType customerType;
+    CustomerSegment customerSegment;
+    Integer transactionCount;
+    Long creditLimitMinor;
+}
@@ -0,0 +1,418 @@
+package io.shaama.rulesengine.profile;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Payment;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Customer profiles in a memory-mapped file, addressed directly by a numeric customer id.
+ *
+ * Each id from 0 to the capacity owns a fixed 32-byte slot, so a lookup is an offset
+ * computation and profiles live outside the Java heap: tens of millions of customers cost no
+ * GC work, and reopening the file after a restart maps it without loading anything. Slots are
+ * mapped in segments of {@value #SEGMENT_RECORDS} records to stay under the 2 GB limit of a
+ * single mapping.
+ *
+ * Reads are lock-free. Every slot carries a sequence number that writers make odd while they
+ * change the slot; a reader retries until it sees the same even number before and after reading
+ * the fields. Writers are serialized on the store. {@link #apply(Object, ToLongFunction)} copies
+ * a profile into an {@link Offer} or {@link Payment} without allocating beyond what the id
+ * mapping does, which is what {@code RulesEngine} does before each evaluation when a store is
+ * configured.
+ *
+ * The store has no notion of the string customer ids of the facts; the caller maps them to
+ * store ids, e.g. with {@link #idsMatching(String)}.
+ *
+ * Enums are stored by ordinal, so constants must only be appended to {@link CustomerType} and
+ * {@link CustomerSegment} while a store file is in use.
+ */
+public class CustomerProfileStore implements AutoCloseable {
+
+    static final int SEGMENT_RECORDS = 1 << 24;
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int RECORD_BYTES = 32;
+    private static final int HEADER_BYTES = 4096;
+    private static final int MAGIC = 0x43505331;
+    private static final int FORMAT_VERSION = 1;
+
+    // Header layout
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_CAPACITY = 8;
+
+    // Record layout
+    private static final int SEQUENCE = 0;
+    private static final int FLAGS = 4;
+    private static final int CUSTOMER_TYPE = 8;
+    private static final int CUSTOMER_SEGMENT = 9;
+    private static final int TRANSACTION_COUNT = 12;
+    private static final int CREDIT_LIMIT = 16;
+
+    private static final int PRESENT = 1;
+    private static final int FIRST_TIME_CUSTOMER = 1 << 1;
+    private static final int HAS_TRANSACTION_COUNT = 1 << 2;
+    private static final int HAS_CREDIT_LIMIT = 1 << 3;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final CustomerType[] CUSTOMER_TYPES = CustomerType.values();
+    private static final CustomerSegment[] CUSTOMER_SEGMENTS = CustomerSegment.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long capacity;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+
+    private CustomerProfileStore(Path file, FileChannel channel, long capacity) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.header = map(channel, 0, HEADER_BYTES);
+        int segmentCount = (int) ((capacity + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long records = Math.min(SEGMENT_RECORDS, capacity - (long) i * SEGMENT_RECORDS);
+            segments[i] = map(channel, HEADER_BYTES + (long) i * SEGMENT_RECORDS * RECORD_BYTES, records * RECORD_BYTES);
+        }
+    }
+
+    /**
+     * Creates a store file for customer ids from 0 to {@code capacity - 1}. The file is sparse,
+     * so disk space is only taken as profiles are written.
+     */
+    public static CustomerProfileStore create(Path file, long capacity) throws IOException {
+        if (capacity < 1 || capacity > (long) Integer.MAX_VALUE * SEGMENT_RECORDS) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + (long) Integer.MAX_VALUE * SEGMENT_RECORDS + ": " + capacity);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+        try {
+            channel.write(ByteBuffer.allocate(1), HEADER_BYTES + capacity * RECORD_BYTES - 1);
+            CustomerProfileStore store = new CustomerProfileStore(file, channel, capacity);
+            store.header.putInt(HEADER_MAGIC, MAGIC);
+            store.header.putInt(HEADER_VERSION, FORMAT_VERSION);
+            store.header.putLong(HEADER_CAPACITY, capacity);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing store file; profiles are available immediately.
+     */
+    public static CustomerProfileStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != FORMAT_VERSION) {
+                throw new IOException("Not a customer profile store: " + file);
+            }
+            long capacity = header.getLong(HEADER_CAPACITY);
+            if (channel.size() < HEADER_BYTES + capacity * RECORD_BYTES) {
+                throw new IOException("Customer profile store is truncated: " + file);
+            }
+            return new CustomerProfileStore(file, channel, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store file if it exists, otherwise creates it with {@code capacity}.
+     */
+    public static CustomerProfileStore openOrCreate(Path file, long capacity) throws IOException {
+        return Files.exists(file) ? open(file) : create(file, capacity);
+    }
+
+    /**
+     * Maps customer ids that match {@code regex} as a whole to the decimal number captured by
+     * its first group, and every other id to -1. With a canonical form such as
+     * {@code "CUST-(\\d{6})"} each store id has exactly one customer id: {@code "CUST-000123"}
+     * maps to 123, while {@code "123"} and {@code "CUST-123"} have no profile. Numbers beyond
+     * {@code long} map to -1 rather than being truncated.
+     */
+    public static ToLongFunction<String> idsMatching(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        if (pattern.matcher("").groupCount() < 1) {
+            throw new IllegalArgumentException("Customer id pattern has no group for the number: " + regex);
+        }
+        return customerId -> {
+            Matcher matcher = pattern.matcher(customerId);
+            if (!matcher.matches() || matcher.group(1) == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        };
+    }
+
+    /**
+     * Returns the profile of the customer, or null if none has been stored.
+     */
+    public CustomerProfile get(long customerId) {
+        if (!contains(customerId)) {
+            return null;
+        }
+        ByteBuffer segment = segment(customerId);
+        int offset = offset(customerId);
+        while (true) {
+            int sequence = (int) INT.getAcquire(segment, offset + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                int flags = segment.getInt(offset + FLAGS);
+                byte customerType = segment.get(offset + CUSTOMER_TYPE);
+                byte customerSegment = segment.get(offset + CUSTOMER_SEGMENT);
+                int transactionCount = segment.getInt(offset + TRANSACTION_COUNT);
+                long creditLimitMinor = segment.getLong(offset + CREDIT_LIMIT);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getOpaque(segment, offset + SEQUENCE) == sequence) {
+                    if ((flags & PRESENT) == 0) {
+                        return null;
+                    }
+                    return CustomerProfile.builder()
+                            .customerId(customerId)
+                            .firstTimeCustomer((flags & FIRST_TIME_CUSTOMER) != 0)
+                            .customerType(customerType == 0 ? null : CUSTOMER_TYPES[customerType - 1])
+                            .customerSegment(customerSegment == 0 ? null : CUSTOMER_SEGMENTS[customerSegment - 1])
+                            .transactionCount((flags & HAS_TRANSACTION_COUNT) == 0 ? null : transactionCount)
+                            .creditLimitMinor((flags & HAS_CREDIT_LIMIT) == 0 ? null : creditLimitMinor)
+                            .build();
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Copies the profile of the fact's customer into an {@link Offer} (first-time flag and
+     * segment) or a {@link Payment} (customer type, transaction count and credit limit).
+     * Facts of other types, without a customer id, whose id {@code customerIds} maps to a
+     * negative number, or without a stored profile are left unchanged.
+     *
+     * @param customerIds maps the fact's customer id to its store id
+     * @return whether a profile was applied
+     */
+    public boolean apply(Object fact, ToLongFunction<String> customerIds) {
+        if (fact instanceof Offer offer) {
+            return offer.getCustomerId() != null && applyTo(offer, customerIds.applyAsLong(offer.getCustomerId()));
+        }
+        if (fact instanceof Payment payment) {
+            return payment.getCustomerId() != null && applyTo(payment, customerIds.applyAsLong(payment.getCustomerId()));
+        }
+        return false;
+    }
+
+    /**
+     * Stores the profile, replacing the customer's previous one.
+     *
+     * @throws IllegalArgumentException if the customer id is outside the store's capacity
+     */
+    public synchronized void put(CustomerProfile profile) {
+        long customerId = profile.getCustomerId();
+        checkCustomerId(customerId);
+        int flags = PRESENT;
+        if (profile.isFirstTimeCustomer()) {
+            flags |= FIRST_TIME_CUSTOMER;
+        }
+        if (profile.getTransactionCount() != null) {
+            flags |= HAS_TRANSACTION_COUNT;
+        }
+        if (profile.getCreditLimitMinor() != null) {
+            flags |= HAS_CREDIT_LIMIT;
+        }
+        ByteBuffer segment = segment(customerId);
+        int offset = offset(customerId);
+        int sequence = beginWrite(segment, offset);
+        segment.putInt(offset + FLAGS, flags);
+        segment.put(offset + CUSTOMER_TYPE, (byte) (profile.getCustomerType() == null ? 0 : profile.getCustomerType().ordinal() + 1));
+        segment.put(offset + CUSTOMER_SEGMENT, (byte) (profile.getCustomerSegment() == null ? 0 : profile.getCustomerSegment().ordinal() + 1));
+        segment.putInt(offset + TRANSACTION_COUNT, profile.getTransactionCount() == null ? 0 : profile.getTransactionCount());
+        segment.putLong(offset + CREDIT_LIMIT, profile.getCreditLimitMinor() == null ? 0 : profile.getCreditLimitMinor());
+        endWrite(segment, offset, sequence);
+    }
+
+    /**
+     * Replaces the customer's profile with {@code update} applied to it. The update receives an
+     * empty profile with only the id set if none is stored yet; returning null removes it.
+     */
+    public synchronized CustomerProfile update(long customerId, UnaryOperator<CustomerProfile> update) {
+        checkCustomerId(customerId);
+        CustomerProfile existing = get(customerId);
+        CustomerProfile updated = update.apply(existing != null ? existing : CustomerProfile.builder().customerId(customerId).build());
+        if (updated == null) {
+            remove(customerId);
+        } else if (updated.getCustomerId() != customerId) {
+            throw new IllegalArgumentException("Update changed customer id " + customerId + " to " + updated.getCustomerId());
+        } else {
+            put(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Counts a successful transaction: increments the transaction count and clears the
+     * first-time flag, creating the profile if needed.
+     */
+    public CustomerProfile recordTransaction(long customerId) {
+        return update(customerId, profile -> profile.toBuilder()
+                .firstTimeCustomer(false)
+                .transactionCount(profile.getTransactionCount() == null ? 1 : profile.getTransactionCount() + 1)
+                .build());
+    }
+
+    public synchronized void remove(long customerId) {
+        checkCustomerId(customerId);
+        ByteBuffer segment = segment(customerId);
+        int offset = offset(customerId);
+        int sequence = beginWrite(segment, offset);
+        segment.putInt(offset + FLAGS, 0);
+        endWrite(segment, offset, sequence);
+    }
+
+    /** Customer ids the store has slots for, from 0. */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes changed profiles to the file. The OS writes them back eventually anyway; this
+     * bounds what a machine crash can lose.
+     */
+    public synchronized void flush() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private boolean applyTo(Offer offer, long customerId) {
+        if (!contains(customerId)) {
+            return false;
+        }
+        ByteBuffer segment = segment(customerId);
+        int offset = offset(customerId);
+        while (true) {
+            int sequence = (int) INT.getAcquire(segment, offset + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                int flags = segment.getInt(offset + FLAGS);
+                byte customerSegment = segment.get(offset + CUSTOMER_SEGMENT);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getOpaque(segment, offset + SEQUENCE) == sequence) {
+                    if ((flags & PRESENT) == 0) {
+                        return false;
+                    }
+                    offer.setFirstTimeCustomer((flags & FIRST_TIME_CUSTOMER) != 0);
+                    if (customerSegment != 0) {
+                        offer.setCustomerSegment(CUSTOMER_SEGMENTS[customerSegment - 1]);
+                    }
+                    return true;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean applyTo(Payment payment, long customerId) {
+        if (!contains(customerId)) {
+            return false;
+        }
+        ByteBuffer segment = segment(customerId);
+        int offset = offset(customerId);
+        while (true) {
+            int sequence = (int) INT.getAcquire(segment, offset + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                int flags = segment.getInt(offset + FLAGS);
+                byte customerType = segment.get(offset + CUSTOMER_TYPE);
+                int transactionCount = segment.getInt(offset + TRANSACTION_COUNT);
+                long creditLimitMinor = segment.getLong(offset + CREDIT_LIMIT);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getOpaque(segment, offset + SEQUENCE) == sequence) {
+                    if ((flags & PRESENT) == 0) {
+                        return false;
+                    }
+                    if (customerType != 0) {
+                        payment.setCustomerType(CUSTOMER_TYPES[customerType - 1]);
+                    }
+                    if ((flags & HAS_TRANSACTION_COUNT) != 0) {
+                        payment.setTransactionCount(transactionCount);
+                    }
+                    if ((flags & HAS_CREDIT_LIMIT) != 0) {
+                        payment.setCreditLimitMinor(creditLimitMinor);
+                    }
+                    return true;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Makes the sequence odd before any field changes, so readers retry until
+     * {@link #endWrite} makes it even again.
+     */
+    private static int beginWrite(ByteBuffer segment, int offset) {
+        int sequence = (int) INT.get(segment, offset + SEQUENCE);
+        INT.setOpaque(segment, offset + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        return sequence;
+    }
+
+    private static void endWrite(ByteBuffer segment, int offset, int sequence) {
+        INT.setRelease(segment, offset + SEQUENCE, sequence + 2);
+    }
+
+    private boolean contains(long customerId) {
+        return customerId >= 0 && customerId < capacity;
+    }
+
+    private void checkCustomerId(long customerId) {
+        if (!contains(customerId)) {
+            throw new IllegalArgumentException("Customer id " + customerId + " is outside the store capacity " + capacity);
+        }
+    }
+
+    private ByteBuffer segment(long customerId) {
+        return segments[(int) (customerId >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long customerId) {
+        return (int) (customerId & (SEGMENT_RECORDS - 1)) * RECORD_BYTES;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,104 @@
+package io.shaama.rulesengine.registry;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.runtime.KieContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifies the compiled content of a kbase, so two releases whose rule packages are identical
+ * can share one kbase.
+ *
+ * The digest covers the kbase options from kmodule.xml and every rule resource of the kbase's
+ * packages: DRL files by their {@code package} declaration and executable model classes by
+ * their directory. Fact classes are outside the rule packages and resolve to the application's
+ * classes either way, so they are left out. Resources whose package cannot be told cheaply, such
+ * as decision tables, are included for every kbase. A kbase that includes other kbases, or whose
+ * module cannot be inspected, gets a digest of its own and is never shared.
+ */
+final class KieBaseFingerprint {
+
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)", Pattern.MULTILINE);
+    private static final List<String> OTHER_RULE_RESOURCES = List.of(".dslr", ".rdrl", ".xls", ".xlsx", ".dmn", ".gdst");
+
+    private KieBaseFingerprint() {
+    }
+
+    static String of(KieContainer kieContainer, String kieBaseName) {
+        if (!(kieContainer instanceof KieContainerImpl container)) {
+            return unique(kieContainer, kieBaseName);
+        }
+        InternalKieModule kieModule = container.getKieProject().getKieModuleForKBase(kieBaseName);
+        KieBaseModel kieBaseModel = kieModule == null ? null : kieModule.getKieModuleModel().getKieBaseModels().get(kieBaseName);
+        if (kieBaseModel == null || !kieBaseModel.getIncludes().isEmpty()) {
+            return unique(kieContainer, kieBaseName);
+        }
+        MessageDigest digest = sha256();
+        update(digest, kieBaseModel.getEventProcessingMode() + "|" + kieBaseModel.getEqualsBehavior() + "|"
+                + kieBaseModel.getDeclarativeAgenda() + "|" + kieBaseModel.getSequential() + "|"
+                + new TreeSet<>(kieBaseModel.getPackages()));
+        for (String fileName : new TreeSet<>(kieModule.getFileNames())) {
+            byte[] content = kieModule.getBytes(fileName);
+            if (content != null && belongsTo(kieBaseModel.getPackages(), fileName, content)) {
+                update(digest, fileName);
+                digest.update(content);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean belongsTo(List<String> packages, String fileName, byte[] content) {
+        if (fileName.endsWith(".drl")) {
+            Matcher matcher = PACKAGE.matcher(new String(content, StandardCharsets.UTF_8));
+            return matches(packages, matcher.find() ? matcher.group(1) : "");
+        }
+        if (fileName.endsWith(".class")) {
+            int slash = fileName.lastIndexOf('/');
+            return matches(packages, slash < 0 ? "" : fileName.substring(0, slash).replace('/', '.'));
+        }
+        return OTHER_RULE_RESOURCES.stream().anyMatch(fileName::endsWith);
+    }
+
+    /**
+     * Applies the kmodule.xml package filter: no packages or {@code *} selects all of them, and
+     * {@code org.example.*} selects a package and its subpackages.
+     */
+    private static boolean matches(List<String> packages, String packageName) {
+        if (packages.isEmpty()) {
+            return true;
+        }
+        for (String pattern : packages) {
+            if (pattern.equals("*") || pattern.equals(packageName)
+                    || (pattern.endsWith(".*") && (packageName + ".").startsWith(pattern.substring(0, pattern.length() - 1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unique(KieContainer kieContainer, String kieBaseName) {
+        return kieContainer.getReleaseId() + "/" + kieBaseName + "@" + System.identityHashCode(kieContainer);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
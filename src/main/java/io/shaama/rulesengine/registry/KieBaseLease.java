@@ -0,0 +1,53 @@
+package io.shaama.rulesengine.registry;
+
+import org.kie.api.KieBase;
+import org.kie.api.builder.ReleaseId;
+
+/**
+ * A kbase of one release, held for as long as the caller uses it. The release is not evicted
+ * while any of its leases is open.
+ */
+public final class KieBaseLease implements AutoCloseable {
+
+    private final KieBaseRegistry registry;
+    private final KieBaseRegistry.Version version;
+    private final KieBaseRegistry.SharedKieBase kieBase;
+    private boolean closed;
+
+    KieBaseLease(KieBaseRegistry registry, KieBaseRegistry.Version version, KieBaseRegistry.SharedKieBase kieBase) {
+        this.registry = registry;
+        this.version = version;
+        this.kieBase = kieBase;
+    }
+
+    public ReleaseId getReleaseId() {
+        return version.releaseId;
+    }
+
+    public String getKieBaseName() {
+        return kieBase.kieBaseName;
+    }
+
+    public KieBase getKieBase() {
+        return kieBase.kieBase;
+    }
+
+    /**
+     * Whether the kbase was built for another release with identical rule packages.
+     */
+    public boolean isShared() {
+        return kieBase.owner != version;
+    }
+
+    KieBaseRegistry.SharedKieBase sharedKieBase() {
+        return kieBase;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            registry.release(version);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package io.shaama.rulesengine.registry;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.metrics.ThreadAllocation;
+import io.shaama.rulesengine.runtime.KieBaseOptions;
+import org.kie.api.KieBase;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serves kbases of several rule pack releases side by side, e.g. regional variants of the offer
+ * rules and a canary of the payment rules, within an allocation budget.
+ *
+ * A release is loaded through {@link RegistryConfig#getLoader()} the first time one of its
+ * kbases is requested, and each kbase is built on first use. Before building, the kbase's rule
+ * resources are fingerprinted; when another release already built a kbase with the same
+ * fingerprint, that kbase is served instead, so a canary that only changes the payment rules
+ * adds a single kbase. Loading runs on a platform thread, where the bytes it allocates can be
+ * counted; each release is charged what loading it and building its own kbases allocated.
+ *
+ * The charge is an allocation count, not a retained size: it includes the garbage of the build,
+ * so it overstates the heap a release keeps, but it grows with the size of the rule pack and is
+ * cheap to take. Callers hold a {@link KieBaseLease} while they use a kbase. When the charged
+ * total exceeds {@link RegistryConfig#getAllocationBudgetBytes()}, releases without open leases are evicted, least
+ * recently used first. An evicted release's container is disposed once no other release still
+ * uses a kbase it built. {@link #route(String, String)} picks the release for a routing key from
+ * the kbase's {@link Rollout}.
+ */
+public class KieBaseRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieBaseRegistry.class);
+
+    private final RegistryConfig config;
+    private final ExecutorService loader = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("kiebase-loader-", 0).daemon().factory());
+    private final Object lock = new Object();
+    /** Loaded releases in access order, least recently used first. */
+    private final LinkedHashMap<ReleaseId, Version> versions = new LinkedHashMap<>(16, 0.75f, true);
+    /** Built kbases by fingerprint, including those pinned by releases other than their owner. */
+    private final Map<String, SharedKieBase> kieBases = new HashMap<>();
+    private long allocatedBytes;
+    private long loads;
+    private long evictions;
+    private long sharedKieBaseHits;
+    private boolean closed;
+
+    public KieBaseRegistry(RegistryConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Leases a kbase of the release, loading the release and building the kbase if needed.
+     *
+     * @throws IllegalArgumentException if the release has no such kbase
+     */
+    public KieBaseLease acquire(ReleaseId releaseId, String kieBaseName) {
+        Version version;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Registry is closed");
+            }
+            version = versions.computeIfAbsent(releaseId, Version::new);
+            version.leases++;
+            version.hits++;
+        }
+        SharedKieBase kieBase;
+        try {
+            kieBase = version.kieBase(kieBaseName);
+        } catch (RuntimeException e) {
+            release(version);
+            synchronized (lock) {
+                if (version.leases == 0 && version.container == null) {
+                    versions.remove(releaseId, version);
+                }
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            if (kieBase.owner != version) {
+                sharedKieBaseHits++;
+            }
+        }
+        evictOverBudget();
+        return new KieBaseLease(this, version, kieBase);
+    }
+
+    /**
+     * Leases the kbase of the release the kbase's rollout selects for the routing key.
+     *
+     * @throws IllegalArgumentException if no rollout is configured for the kbase
+     */
+    public KieBaseLease route(String routingKey, String kieBaseName) {
+        Rollout rollout = config.getRollouts().get(kieBaseName);
+        if (rollout == null) {
+            throw new IllegalArgumentException("No rollout configured for " + kieBaseName);
+        }
+        return acquire(rollout.select(routingKey), kieBaseName);
+    }
+
+    /**
+     * Executes the fact on a stateless session of the routed release's kbase and returns it.
+     */
+    public <T> T evaluate(String routingKey, String kieBaseName, T fact) {
+        try (KieBaseLease lease = route(routingKey, kieBaseName)) {
+            lease.sharedKieBase().session().execute(fact);
+            return fact;
+        }
+    }
+
+    public RegistryStats stats() {
+        synchronized (lock) {
+            List<VersionStats> versionStats = new ArrayList<>(versions.size());
+            for (Version version : versions.values()) {
+                versionStats.add(version.stats());
+            }
+            return RegistryStats.builder()
+                    .allocationBudgetBytes(config.getAllocationBudgetBytes())
+                    .allocatedBytes(allocatedBytes)
+                    .loads(loads)
+                    .evictions(evictions)
+                    .sharedKieBaseHits(sharedKieBaseHits)
+                    .versions(versionStats)
+                    .build();
+        }
+    }
+
+    /**
+     * Disposes every loaded release; leases still open must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        Set<KieContainer> containers = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<SharedKieBase> built;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Version version : versions.values()) {
+                if (version.container != null) {
+                    containers.add(version.container);
+                }
+            }
+            built = new ArrayList<>(kieBases.values());
+            built.forEach(kieBase -> containers.add(kieBase.owner.container));
+            versions.clear();
+            kieBases.clear();
+            allocatedBytes = 0;
+        }
+        built.forEach(SharedKieBase::shutdown);
+        containers.forEach(KieContainer::dispose);
+        loader.shutdownNow();
+    }
+
+    void release(Version version) {
+        synchronized (lock) {
+            version.leases--;
+        }
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        List<SharedKieBase> unused = new ArrayList<>();
+        List<KieContainer> disposable = new ArrayList<>();
+        synchronized (lock) {
+            Iterator<Version> candidates = versions.values().iterator();
+            while (allocatedBytes > config.getAllocationBudgetBytes() && candidates.hasNext()) {
+                Version version = candidates.next();
+                if (version.leases > 0) {
+                    continue;
+                }
+                candidates.remove();
+                version.evicted = true;
+                evictions++;
+                logger.info("Evicted rule pack {} ({} bytes allocated); {} of {} bytes charged", version.releaseId,
+                        version.allocatedBytes(), allocatedBytes, config.getAllocationBudgetBytes());
+                for (SharedKieBase kieBase : version.kieBasesByName.values()) {
+                    if (--kieBase.references == 0) {
+                        kieBases.remove(kieBase.fingerprint);
+                        allocatedBytes -= kieBase.bytes;
+                        kieBase.owner.builtInUse--;
+                        unused.add(kieBase);
+                        disposeIfUnused(kieBase.owner, disposable);
+                    }
+                }
+                disposeIfUnused(version, disposable);
+            }
+        }
+        unused.forEach(SharedKieBase::shutdown);
+        disposable.forEach(KieContainer::dispose);
+    }
+
+    private void disposeIfUnused(Version version, List<KieContainer> disposable) {
+        if (version.evicted && version.builtInUse == 0 && version.container != null && !version.disposed) {
+            version.disposed = true;
+            allocatedBytes -= version.containerBytes;
+            disposable.add(version.container);
+        }
+    }
+
+    /**
+     * Runs the step on a loader thread and counts what it allocates.
+     */
+    private <T> Measured<T> measured(Supplier<T> step) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long before = ThreadAllocation.allocatedBytes();
+                T value = step.get();
+                return new Measured<>(value, Math.max(0, ThreadAllocation.allocatedBytes() - before));
+            }, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+
+    private record Measured<T>(T value, long bytes) {
+    }
+
+    /**
+     * A release known to the registry. Guarded by the registry lock except where noted.
+     */
+    final class Version {
+        final ReleaseId releaseId;
+        /** Kbases in use by this release, built for it or shared; written under {@link #loading}. */
+        final Map<String, SharedKieBase> kieBasesByName = new ConcurrentHashMap<>();
+        private final ReentrantLock loading = new ReentrantLock();
+        KieContainer container;
+        long containerBytes;
+        int leases;
+        long hits;
+        /** Kbases built for this release that some release still uses. */
+        int builtInUse;
+        boolean evicted;
+        boolean disposed;
+
+        Version(ReleaseId releaseId) {
+            this.releaseId = releaseId;
+        }
+
+        SharedKieBase kieBase(String kieBaseName) {
+            SharedKieBase kieBase = kieBasesByName.get(kieBaseName);
+            if (kieBase != null) {
+                return kieBase;
+            }
+            loading.lock();
+            try {
+                kieBase = kieBasesByName.get(kieBaseName);
+                if (kieBase == null) {
+                    kieBase = load(kieBaseName);
+                    kieBasesByName.put(kieBaseName, kieBase);
+                }
+                return kieBase;
+            } finally {
+                loading.unlock();
+            }
+        }
+
+        private SharedKieBase load(String kieBaseName) {
+            KieContainer loaded;
+            synchronized (lock) {
+                loaded = container;
+            }
+            if (loaded == null) {
+                Measured<KieContainer> measured = measured(() -> config.getLoader().load(releaseId));
+                loaded = measured.value();
+                synchronized (lock) {
+                    container = loaded;
+                    containerBytes = measured.bytes();
+                    allocatedBytes += measured.bytes();
+                    loads++;
+                }
+                logger.info("Loaded rule pack {} ({} bytes allocated)", releaseId, measured.bytes());
+            }
+            if (!loaded.getKieBaseNames().contains(kieBaseName)) {
+                throw new IllegalArgumentException("Rule pack " + releaseId + " has no kbase " + kieBaseName);
+            }
+            KieContainer kieContainer = loaded;
+            String fingerprint = KieBaseFingerprint.of(kieContainer, kieBaseName);
+            SharedKieBase existing = reference(fingerprint);
+            if (existing != null) {
+                return existing;
+            }
+            Measured<KieBase> built = measured(() -> KieBaseOptions.newKieBase(kieContainer, kieBaseName));
+            synchronized (lock) {
+                // Another release may have built the same kbase meanwhile; ours is then dropped,
+                // since the container does not keep kbases built with an explicit configuration.
+                existing = reference(fingerprint);
+                if (existing != null) {
+                    return existing;
+                }
+                SharedKieBase kieBase = new SharedKieBase(fingerprint, kieBaseName, built.value(), this, built.bytes());
+                kieBases.put(fingerprint, kieBase);
+                allocatedBytes += built.bytes();
+                builtInUse++;
+                return kieBase;
+            }
+        }
+
+        private SharedKieBase reference(String fingerprint) {
+            synchronized (lock) {
+                SharedKieBase kieBase = kieBases.get(fingerprint);
+                if (kieBase != null) {
+                    kieBase.references++;
+                }
+                return kieBase;
+            }
+        }
+
+        long allocatedBytes() {
+            long bytes = containerBytes;
+            for (SharedKieBase kieBase : kieBasesByName.values()) {
+                if (kieBase.owner == this) {
+                    bytes += kieBase.bytes;
+                }
+            }
+            return bytes;
+        }
+
+        VersionStats stats() {
+            List<String> own = new ArrayList<>();
+            List<String> shared = new ArrayList<>();
+            kieBasesByName.forEach((name, kieBase) -> (kieBase.owner == this ? own : shared).add(name));
+            Collections.sort(own);
+            Collections.sort(shared);
+            return VersionStats.builder()
+                    .releaseId(releaseId)
+                    .allocatedBytes(allocatedBytes())
+                    .hits(hits)
+                    .activeLeases(leases)
+                    .ownKieBases(own)
+                    .sharedKieBases(shared)
+                    .build();
+        }
+    }
+
+    /**
+     * A built kbase and the releases using it, counted in {@link #references}.
+     */
+    final class SharedKieBase {
+        final String fingerprint;
+        final String kieBaseName;
+        final KieBase kieBase;
+        final Version owner;
+        final long bytes;
+        int references = 1;
+        private KieSessionsPool sessionsPool;
+        private StatelessKieSession session;
+
+        SharedKieBase(String fingerprint, String kieBaseName, KieBase kieBase, Version owner, long bytes) {
+            this.fingerprint = fingerprint;
+            this.kieBaseName = kieBaseName;
+            this.kieBase = kieBase;
+            this.owner = owner;
+            this.bytes = bytes;
+        }
+
+        synchronized StatelessKieSession session() {
+            if (session == null) {
+                sessionsPool = kieBase.newKieSessionsPool(config.getSessionsPerKieBase());
+                session = sessionsPool.newStatelessKieSession();
+                boolean declaresEvents = kieBase.getKiePackages().stream()
+                        .flatMap(kiePackage -> kiePackage.getGlobalVariables().stream())
+                        .anyMatch(global -> global.getName().equals(DecisionEventSink.GLOBAL));
+                if (declaresEvents) {
+                    session.setGlobal(DecisionEventSink.GLOBAL, config.getDecisionEventSink());
+                }
+            }
+            return session;
+        }
+
+        synchronized void shutdown() {
+            if (sessionsPool != null) {
+                sessionsPool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.shaama.rulesengine.registry;
+
+import io.shaama.rulesengine.reload.RulePackSource;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Creates the container of a rule pack release when {@link KieBaseRegistry} first needs it.
+ */
+@FunctionalInterface
+public interface KieContainerLoader {
+
+    KieContainer load(ReleaseId releaseId);
+
+    /**
+     * Releases already known to the KIE repository, including those resolved from Maven.
+     */
+    static KieContainerLoader repository() {
+        return releaseId -> KieServices.Factory.get().newKieContainer(releaseId);
+    }
+
+    /**
+     * Rule packs in a directory as {@code rules-engine-kjar-<version>.jar}, the layout read by
+     * {@link io.shaama.rulesengine.reload.DirectoryRulePackSource}.
+     */
+    static KieContainerLoader directory(Path directory) {
+        return releaseId -> {
+            Path file = directory.resolve(RulePackSource.ARTIFACT_ID + "-" + releaseId.getVersion() + ".jar");
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("No rule pack " + releaseId + " in " + directory);
+            }
+            KieServices kieServices = KieServices.Factory.get();
+            KieModule kieModule = kieServices.getRepository()
+                    .addKieModule(kieServices.getResources().newFileSystemResource(file.toFile()));
+            return kieServices.newKieContainer(kieModule.getReleaseId());
+        };
+    }
+}
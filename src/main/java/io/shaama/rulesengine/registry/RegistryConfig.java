@@ -0,0 +1,43 @@
+package io.shaama.rulesengine.registry;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Settings for {@link KieBaseRegistry}.
+ */
+@Value
+@Builder
+public class RegistryConfig {
+
+    /**
+     * Bytes the loaded releases may have allocated while loading before idle ones are evicted,
+     * least recently used first. This bounds allocations, not the heap the releases retain,
+     * which is smaller; see {@link VersionStats#getAllocatedBytes()}.
+     */
+    @Builder.Default
+    long allocationBudgetBytes = 512L << 20;
+
+    /** Loads a release the first time it is requested. */
+    @Builder.Default
+    KieContainerLoader loader = KieContainerLoader.repository();
+
+    /** Rollout per kbase name used by {@link KieBaseRegistry#route(String, String)}. */
+    @Builder.Default
+    Map<String, Rollout> rollouts = Map.of();
+
+    /** Stateful sessions kept per kbase for {@link KieBaseRegistry#evaluate}. */
+    @Builder.Default
+    int sessionsPerKieBase = Runtime.getRuntime().availableProcessors();
+
+    /** Bound to the {@code events} global of sessions created by {@link KieBaseRegistry#evaluate}. */
+    @Builder.Default
+    DecisionEventSink decisionEventSink = DecisionEventSink.NOOP;
+
+    public static RegistryConfig defaults() {
+        return RegistryConfig.builder().build();
+    }
+}
@@ -0,0 +1,24 @@
+package io.shaama.rulesengine.registry;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Counters of a {@link KieBaseRegistry}.
+ */
+@Value
+@Builder
+public class RegistryStats {
+    long allocationBudgetBytes;
+    /** Sum of {@link VersionStats#getAllocatedBytes()}, including evicted releases still pinned by a shared kbase. */
+    long allocatedBytes;
+    /** Releases loaded, including reloads after an eviction. */
+    long loads;
+    long evictions;
+    /** Kbase requests served by a kbase built for another release. */
+    long sharedKieBaseHits;
+    /** Loaded releases, least recently used first. */
+    List<VersionStats> versions;
+}
@@ -0,0 +1,68 @@
+package io.shaama.rulesengine.registry;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.kie.api.builder.ReleaseId;
+
+import java.util.List;
+
+/**
+ * How the requests for one kbase are split between rule pack releases, e.g. 95% on the
+ * baseline and 5% on a canary. A routing key such as the customer id always selects the same
+ * release as long as the variants are unchanged, so a customer does not flip between versions.
+ */
+@Value
+@Builder
+public class Rollout {
+
+    @Singular
+    List<Variant> variants;
+
+    /**
+     * Sends every request to one release.
+     */
+    public static Rollout of(ReleaseId releaseId) {
+        return Rollout.builder().variant(new Variant(releaseId, 1)).build();
+    }
+
+    /**
+     * The release for the routing key; a null key is routed like an empty one.
+     */
+    public ReleaseId select(String routingKey) {
+        long total = 0;
+        for (Variant variant : variants) {
+            total += variant.getWeight();
+        }
+        if (total <= 0) {
+            throw new IllegalStateException("Rollout has no variant with a positive weight");
+        }
+        long bucket = Long.remainderUnsigned(mix(routingKey == null ? 0 : routingKey.hashCode()), total);
+        for (Variant variant : variants) {
+            bucket -= variant.getWeight();
+            if (bucket < 0) {
+                return variant.getReleaseId();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    /**
+     * Spreads similar keys such as consecutive customer numbers over all buckets.
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    @Value
+    public static class Variant {
+        ReleaseId releaseId;
+        /** Share of the requests relative to the other variants; 0 takes none. */
+        int weight;
+    }
+}
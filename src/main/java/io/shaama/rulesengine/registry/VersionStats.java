@@ -0,0 +1,30 @@
+package io.shaama.rulesengine.registry;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kie.api.builder.ReleaseId;
+
+import java.util.List;
+
+/**
+ * One loaded rule pack release in a {@link KieBaseRegistry}.
+ */
+@Value
+@Builder
+public class VersionStats {
+    ReleaseId releaseId;
+    /**
+     * Bytes allocated while loading the container and building the kbases this release owns.
+     * This includes garbage produced during the build, so it overstates what stays on the heap.
+     * Kbases reused from another release are charged to that release.
+     */
+    long allocatedBytes;
+    /** Leases taken on the release since it was loaded. */
+    long hits;
+    /** Leases not yet closed; a release with open leases is never evicted. */
+    int activeLeases;
+    /** Kbases built for this release. */
+    List<String> ownKieBases;
+    /** Kbases served from another release whose rule packages are identical. */
+    List<String> sharedKieBases;
+}
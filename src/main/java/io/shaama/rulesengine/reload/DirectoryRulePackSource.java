@@ -0,0 +1,53 @@
+package io.shaama.rulesengine.reload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rule packs dropped into a directory as {@code rules-engine-kjar-<version>.jar}.
+ *
+ * The version is numeric, e.g. {@code 1.0.10}, with an optional qualifier that starts with an
+ * upper-case letter, e.g. {@code -SNAPSHOT} or {@code -RC1}. Classifier jars published next to a
+ * pack, such as {@code -sources.jar} or {@code -javadoc.jar}, are not packs and are ignored.
+ *
+ * Publishers should write the file under another name and rename it into place, so a half
+ * written jar is never picked up.
+ */
+public class DirectoryRulePackSource implements RulePackSource {
+
+    private static final Pattern FILE_NAME = Pattern.compile(
+            Pattern.quote(ARTIFACT_ID + "-") + "(\\d+(?:\\.\\d+)*(?:-[A-Z][A-Za-z0-9]*)?)\\.jar");
+
+    private final Path directory;
+
+    public DirectoryRulePackSource(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<RulePack> latest() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(DirectoryRulePackSource::toRulePack)
+                    .flatMap(Optional::stream)
+                    .max(Comparator.comparing(RulePack::getVersion, VERSION_ORDER));
+        }
+    }
+
+    private static Optional<RulePack> toRulePack(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new RulePack(matcher.group(1), file));
+    }
+}
@@ -0,0 +1,52 @@
+package io.shaama.rulesengine.reload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Rule pack releases installed in a local Maven repository, e.g. by
+ * {@code ./gradlew publishToMavenLocal}. Snapshot versions are ignored.
+ *
+ * A version counts once both its jar and its pom are present; the pom is written last.
+ */
+public class MavenRepositoryRulePackSource implements RulePackSource {
+
+    private final Path artifactDirectory;
+
+    public MavenRepositoryRulePackSource(Path repository) {
+        this.artifactDirectory = repository.resolve(GROUP_ID.replace('.', '/')).resolve(ARTIFACT_ID);
+    }
+
+    /**
+     * Source for {@code ~/.m2/repository}.
+     */
+    public static MavenRepositoryRulePackSource userRepository() {
+        return new MavenRepositoryRulePackSource(Path.of(System.getProperty("user.home"), ".m2", "repository"));
+    }
+
+    @Override
+    public Optional<RulePack> latest() throws IOException {
+        if (!Files.isDirectory(artifactDirectory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> versions = Files.list(artifactDirectory)) {
+            return versions.filter(Files::isDirectory)
+                    .map(versionDirectory -> versionDirectory.getFileName().toString())
+                    .filter(version -> !version.endsWith("-SNAPSHOT"))
+                    .filter(this::isComplete)
+                    .max(VERSION_ORDER)
+                    .map(version -> new RulePack(version, artifactFile(version, ".jar")));
+        }
+    }
+
+    private boolean isComplete(String version) {
+        return Files.isRegularFile(artifactFile(version, ".jar")) && Files.isRegularFile(artifactFile(version, ".pom"));
+    }
+
+    private Path artifactFile(String version, String extension) {
+        return artifactDirectory.resolve(version).resolve(ARTIFACT_ID + "-" + version + extension);
+    }
+}
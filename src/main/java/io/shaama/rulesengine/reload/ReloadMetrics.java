@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.reload;
+
+import io.shaama.rulesengine.metrics.LatencySnapshot;
+import io.shaama.rulesengine.runtime.ReloadResult;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time counters of a {@link RuleReloader}.
+ */
+@Value
+@Builder
+public class ReloadMetrics {
+    long reloads;
+    long failures;
+    long rollbacks;
+    /** Build plus warm-up time of successful reloads. */
+    LatencySnapshot reloadTime;
+    /** Swap pause of reloads and rollbacks. */
+    LatencySnapshot swapPause;
+    /** The most recent reload or rollback, or null. */
+    ReloadResult lastResult;
+}
@@ -0,0 +1,14 @@
+package io.shaama.rulesengine.reload;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * A released rules KJAR found by a {@link RulePackSource}.
+ */
+@Value
+public class RulePack {
+    String version;
+    Path file;
+}
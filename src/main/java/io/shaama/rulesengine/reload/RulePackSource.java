@@ -0,0 +1,31 @@
+package io.shaama.rulesengine.reload;
+
+import org.kie.api.builder.ReleaseIdComparator;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Where {@link RuleReloader} looks for new rule pack releases.
+ */
+public interface RulePackSource {
+
+    /** The artifact id rule packs are published under. */
+    String ARTIFACT_ID = "rules-engine-kjar";
+
+    /** The group id rule packs are published under. */
+    String GROUP_ID = "io.shaama";
+
+    /**
+     * Orders packs by Maven version, e.g. {@code 1.0.10} after {@code 1.0.9} and a release after
+     * its {@code -SNAPSHOT}.
+     */
+    Comparator<String> VERSION_ORDER = (left, right) -> new ReleaseIdComparator.ComparableVersion(left)
+            .compareTo(new ReleaseIdComparator.ComparableVersion(right));
+
+    /**
+     * The highest version currently available, if any.
+     */
+    Optional<RulePack> latest() throws IOException;
+}
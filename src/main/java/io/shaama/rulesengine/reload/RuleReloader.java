@@ -0,0 +1,152 @@
+package io.shaama.rulesengine.reload;
+
+import io.shaama.rulesengine.metrics.LatencyHistogram;
+import io.shaama.rulesengine.runtime.ReloadResult;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls a {@link RulePackSource} and hot-reloads a {@link RulesEngine} when a newer rule pack
+ * version appears.
+ *
+ * Each new pack is loaded into its own {@link KieContainer} and handed to
+ * {@link RulesEngine#reload(KieContainer)} on the reloader thread, so requests keep running on
+ * the current kbases while the new ones are built and warmed. A pack that fails to load or
+ * reload is logged, its module is removed from the repository, and it is not tried again: the
+ * reloader waits for a version newer than the failed one. After a {@link #rollback()} the
+ * reloader only moves on once a version newer than the rolled back one is published.
+ */
+public class RuleReloader implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleReloader.class);
+
+    private final RulesEngine rulesEngine;
+    private final RulePackSource source;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rule-reloader").daemon().factory());
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LatencyHistogram reloadTime = new LatencyHistogram(1);
+    private final LatencyHistogram swapPause = new LatencyHistogram(1);
+    private String loadedVersion;
+    /** The last version that failed to load, skipped until a newer one is published. */
+    private String failedVersion;
+    private volatile ReloadResult lastResult;
+
+    public RuleReloader(RulesEngine rulesEngine, RulePackSource source) {
+        this.rulesEngine = rulesEngine;
+        this.source = source;
+        ReleaseId releaseId = rulesEngine.getReleaseId();
+        if (releaseId != null && RulePackSource.GROUP_ID.equals(releaseId.getGroupId())
+                && RulePackSource.ARTIFACT_ID.equals(releaseId.getArtifactId())) {
+            this.loadedVersion = releaseId.getVersion();
+        }
+    }
+
+    /**
+     * Checks the source every {@code pollInterval}, starting immediately.
+     */
+    public void start(Duration pollInterval) {
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reloads the engine if the source has a version newer than the last one loaded and the
+     * last one that failed.
+     *
+     * @return the reload, or empty if there was nothing newer
+     */
+    public synchronized Optional<ReloadResult> checkNow() throws IOException {
+        Optional<RulePack> latest = source.latest();
+        if (latest.isEmpty() || !isNewer(latest.get().getVersion())) {
+            return Optional.empty();
+        }
+        RulePack rulePack = latest.get();
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = null;
+        ReloadResult result;
+        try {
+            KieModule kieModule = kieServices.getRepository()
+                    .addKieModule(kieServices.getResources().newFileSystemResource(rulePack.getFile().toFile()));
+            releaseId = kieModule.getReleaseId();
+            result = rulesEngine.reload(kieServices.newKieContainer(releaseId));
+        } catch (RuntimeException e) {
+            failures.increment();
+            failedVersion = rulePack.getVersion();
+            if (releaseId != null) {
+                kieServices.getRepository().removeKieModule(releaseId);
+            }
+            throw e;
+        }
+        failedVersion = null;
+        loadedVersion = rulePack.getVersion();
+        reloads.increment();
+        reloadTime.record(result.getBuildNanos() + result.getWarmUpNanos());
+        swapPause.record(result.getSwapPauseNanos());
+        lastResult = result;
+        logger.info("Reloaded rules {} -> {} in {} ms (swap pause {} us)", result.getPreviousReleaseId(),
+                result.getReleaseId(), TimeUnit.NANOSECONDS.toMillis(result.getBuildNanos() + result.getWarmUpNanos()),
+                TimeUnit.NANOSECONDS.toMicros(result.getSwapPauseNanos()));
+        return Optional.of(result);
+    }
+
+    /**
+     * Swaps the engine back to the rule pack it ran before the last reload.
+     *
+     * @throws IllegalStateException if there is nothing to roll back to
+     */
+    public synchronized ReloadResult rollback() {
+        ReloadResult result = rulesEngine.rollback();
+        rollbacks.increment();
+        swapPause.record(result.getSwapPauseNanos());
+        lastResult = result;
+        logger.warn("Rolled back rules {} -> {}", result.getPreviousReleaseId(), result.getReleaseId());
+        return result;
+    }
+
+    public ReloadMetrics metrics() {
+        return ReloadMetrics.builder()
+                .reloads(reloads.sum())
+                .failures(failures.sum())
+                .rollbacks(rollbacks.sum())
+                .reloadTime(reloadTime.snapshot())
+                .swapPause(swapPause.snapshot())
+                .lastResult(lastResult)
+                .build();
+    }
+
+    /**
+     * Stops polling; the engine keeps the rule pack it is running.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        try {
+            checkNow();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Rule pack reload failed", e);
+        }
+    }
+
+    private boolean isNewer(String version) {
+        return (loadedVersion == null || RulePackSource.VERSION_ORDER.compare(version, loadedVersion) > 0)
+                && (failedVersion == null || RulePackSource.VERSION_ORDER.compare(version, failedVersion) > 0);
+    }
+}
@@ -0,0 +1,47 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the rules fired for one sampled evaluation before it is handed to the
+ * {@link io.shaama.rulesengine.audit.DecisionAuditLog}. Drools executions add to
+ * {@link #begin()}'s list through a {@link HitPolicyFilter}; fast-path evaluators report to
+ * this sink, which forwards every event to the engine's sink. An evaluation that never began
+ * was answered from the decision cache.
+ */
+final class AuditCapture implements DecisionEventSink {
+
+    private final DecisionEventSink delegate;
+    private final List<String> firedRules = new ArrayList<>(4);
+    private boolean evaluated;
+
+    AuditCapture(DecisionEventSink delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Marks the fact as evaluated by rules and returns the list fired rules are added to.
+     */
+    List<String> begin() {
+        evaluated = true;
+        return firedRules;
+    }
+
+    @Override
+    public void record(String ruleId, String factId, String outcome, BigDecimal amount) {
+        firedRules.add(ruleId);
+        delegate.record(ruleId, factId, outcome, amount);
+    }
+
+    List<String> getFiredRules() {
+        return firedRules;
+    }
+
+    boolean isCached() {
+        return !evaluated;
+    }
+}
@@ -0,0 +1,154 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates large lists of facts in parallel on a fork-join pool.
+ *
+ * The list is split into chunks and every chunk is executed as a single stateless
+ * execution against the shared KieBase, so session setup is paid once per chunk
+ * instead of once per fact. All rules match a single fact and never call update(),
+ * which makes the result for each fact identical to a single-fact execute().
+ * A {@link HitPolicy} set for the kbase applies to each fact of a chunk, as in
+ * {@link RulesEngine}. Facts are updated in place, so the returned list keeps the input order.
+ */
+public class BatchEvaluator {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final ConfiguredKieBases kieBases;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final DecisionEventSink decisionEventSink;
+    private final RuleMetrics ruleMetrics;
+    private final Map<String, HitPolicy> hitPolicies;
+
+    public BatchEvaluator(KieContainer kieContainer, ForkJoinPool pool, int chunkSize) {
+        this(kieContainer, pool, chunkSize, DecisionEventSink.NOOP, null);
+    }
+
+    /**
+     * @param ruleMetrics counts rule firings of every chunk session, or null
+     */
+    public BatchEvaluator(KieContainer kieContainer, ForkJoinPool pool, int chunkSize,
+                          DecisionEventSink decisionEventSink, RuleMetrics ruleMetrics) {
+        this(kieContainer, pool, chunkSize, decisionEventSink, ruleMetrics, Map.of());
+    }
+
+    /**
+     * @param ruleMetrics counts rule firings of every chunk session, or null
+     * @param hitPolicies hit policy per kbase name, e.g. {@link RulesEngineConfig#getHitPolicies()};
+     *                    kbases not listed use {@link HitPolicy#COLLECT}
+     */
+    public BatchEvaluator(KieContainer kieContainer, ForkJoinPool pool, int chunkSize,
+                          DecisionEventSink decisionEventSink, RuleMetrics ruleMetrics,
+                          Map<String, HitPolicy> hitPolicies) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.kieBases = new ConfiguredKieBases(kieContainer);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.decisionEventSink = decisionEventSink;
+        this.ruleMetrics = ruleMetrics;
+        this.hitPolicies = Map.copyOf(hitPolicies);
+    }
+
+    /**
+     * Creates an evaluator on the classpath KJAR using the common fork-join pool.
+     */
+    public static BatchEvaluator create() {
+        return new BatchEvaluator(KieServices.Factory.get().getKieClasspathContainer(),
+                ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BatchResult<Offer> evaluateOffers(List<Offer> offers) {
+        return evaluate(KieBaseNames.OFFER, offers);
+    }
+
+    public BatchResult<Order> evaluateOrders(List<Order> orders) {
+        return evaluate(KieBaseNames.ORDER, orders);
+    }
+
+    public BatchResult<Payment> evaluatePayments(List<Payment> payments) {
+        return evaluate(KieBaseNames.PAYMENT, payments);
+    }
+
+    /**
+     * Evaluates the facts against the named KieBase and waits for all chunks to complete.
+     */
+    public <T> BatchResult<T> evaluate(String kieBaseName, List<T> facts) {
+        List<T> input = facts instanceof RandomAccess ? facts : new ArrayList<>(facts);
+        KieBase kieBase = kieBases.get(kieBaseName);
+        LongAdder chunks = new LongAdder();
+
+        long start = System.nanoTime();
+        if (!input.isEmpty()) {
+            HitPolicy hitPolicy = hitPolicies.getOrDefault(kieBaseName, HitPolicy.COLLECT);
+            pool.invoke(new ChunkTask<>(kieBaseName, kieBase, hitPolicy, input, 0, input.size(), chunks));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        BatchStats stats = BatchStats.builder()
+                .kieBaseName(kieBaseName)
+                .factCount(input.size())
+                .chunkCount(chunks.intValue())
+                .parallelism(pool.getParallelism())
+                .elapsedNanos(elapsed)
+                .build();
+        return new BatchResult<>(input, stats);
+    }
+
+    private class ChunkTask<T> extends RecursiveAction {
+        private final String kieBaseName;
+        private final KieBase kieBase;
+        private final HitPolicy hitPolicy;
+        private final List<T> facts;
+        private final int from;
+        private final int to;
+        private final LongAdder chunks;
+
+        ChunkTask(String kieBaseName, KieBase kieBase, HitPolicy hitPolicy, List<T> facts, int from, int to, LongAdder chunks) {
+            this.kieBaseName = kieBaseName;
+            this.kieBase = kieBase;
+            this.hitPolicy = hitPolicy;
+            this.facts = facts;
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                StatelessKieSession session = kieBase.newStatelessKieSession();
+                session.setGlobal(DecisionEventSink.GLOBAL, decisionEventSink);
+                if (ruleMetrics != null) {
+                    ruleMetrics.attach(session, kieBaseName);
+                }
+                hitPolicy.execute(session, facts.subList(from, to));
+                chunks.increment();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask<>(kieBaseName, kieBase, hitPolicy, facts, from, mid, chunks),
+                    new ChunkTask<>(kieBaseName, kieBase, hitPolicy, facts, mid, to, chunks));
+        }
+    }
+}
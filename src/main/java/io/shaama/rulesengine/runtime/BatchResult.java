@@ -0,0 +1,14 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Evaluated facts, in the same order as the input list, together with the batch statistics.
+ */
+@Value
+public class BatchResult<T> {
+    List<T> results;
+    BatchStats stats;
+}
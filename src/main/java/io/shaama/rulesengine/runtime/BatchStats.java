@@ -0,0 +1,25 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Statistics for one batch evaluation.
+ */
+@Value
+@Builder
+public class BatchStats {
+    String kieBaseName;
+    int factCount;
+    int chunkCount;
+    int parallelism;
+    long elapsedNanos;
+
+    public double getFactsPerSecond() {
+        return elapsedNanos == 0 ? 0 : factCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double getNanosPerFact() {
+        return factCount == 0 ? 0 : (double) elapsedNanos / factCount;
+    }
+}
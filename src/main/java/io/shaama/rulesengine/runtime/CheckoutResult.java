@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Decisions of one checkout, with the time each stage took inside the engine.
+ */
+@Value
+@Builder
+public class CheckoutResult {
+    Offer offer;
+    /** Priced at the discounted offer amount. */
+    Order order;
+    /** For the order total. */
+    Payment payment;
+    long offerNanos;
+    long orderNanos;
+    long paymentNanos;
+
+    public long getTotalNanos() {
+        return offerNanos + orderNanos + paymentNanos;
+    }
+}
@@ -0,0 +1,51 @@
+package io.shaama.rulesengine.runtime;
+
+import org.kie.api.KieBase;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The kbases of one container built with {@link KieBaseOptions}, each built once and shared the
+ * way {@link KieContainer#getKieBase(String)} shares the container's own. They are built again
+ * once the container is updated to another release.
+ */
+public final class ConfiguredKieBases {
+
+    private final KieContainer kieContainer;
+    private volatile Release release;
+
+    public ConfiguredKieBases(KieContainer kieContainer) {
+        this.kieContainer = kieContainer;
+    }
+
+    public KieBase get(String kieBaseName) {
+        return release().kieBases().computeIfAbsent(kieBaseName,
+                name -> KieBaseOptions.newKieBase(kieContainer, name));
+    }
+
+    public ReleaseId getReleaseId() {
+        return release().releaseId();
+    }
+
+    private Release release() {
+        ReleaseId releaseId = kieContainer.getReleaseId();
+        Release current = release;
+        if (current == null || !Objects.equals(current.releaseId(), releaseId)) {
+            synchronized (this) {
+                current = release;
+                if (current == null || !Objects.equals(current.releaseId(), releaseId)) {
+                    current = new Release(releaseId, new ConcurrentHashMap<>());
+                    release = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record Release(ReleaseId releaseId, Map<String, KieBase> kieBases) {
+    }
+}
@@ -0,0 +1,14 @@
+package io.shaama.rulesengine.runtime;
+
+/**
+ * How {@link RulesEngine} evaluates a fact.
+ */
+public enum EvaluationMode {
+    /** Execute the rules in a pooled Drools session. */
+    DROOLS,
+    /**
+     * Run the generated {@link io.shaama.rulesengine.fastpath.FastPathEvaluator} for the fact's
+     * rule package, falling back to Drools when none was generated.
+     */
+    FAST_PATH
+}
@@ -0,0 +1,32 @@
+package io.shaama.rulesengine.runtime;
+
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.util.List;
+
+/**
+ * Which of a fact's matching rules fire, set per kbase through
+ * {@link RulesEngineConfig#getHitPolicies()}. Matches are taken in agenda order: descending
+ * salience, ties in declaration order. Matches that do not fire are cancelled without running
+ * their consequence.
+ */
+public enum HitPolicy {
+    /** Every match fires, so later consequences can overwrite earlier ones; plain Drools behaviour. */
+    COLLECT,
+    /** Only the first match fires; the fact's remaining matches are cancelled. */
+    FIRST,
+    /** Every match with the salience of the first match fires; lower-salience matches are cancelled. */
+    PRIORITY;
+
+    /**
+     * Executes the facts in one stateless execution, firing the matches this policy admits for
+     * each fact, as {@link RulesEngine} does for a single fact.
+     */
+    public void execute(StatelessKieSession session, List<?> facts) {
+        if (this == COLLECT) {
+            session.execute(facts);
+        } else {
+            HitPolicyFilter.execute(session, facts, this, null);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.shaama.rulesengine.runtime;
+
+import org.drools.commands.runtime.rule.FireAllRulesCommand;
+import org.kie.api.KieServices;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.api.runtime.rule.AgendaFilter;
+import org.kie.api.runtime.rule.Match;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a {@link HitPolicy} to the matches of one stateless execution and counts the
+ * firings. The agenda offers matches in firing order, so the first match seen for a fact sets
+ * the salience that {@link HitPolicy#PRIORITY} admits and is the only one
+ * {@link HitPolicy#FIRST} admits. All rules match a single fact, which identifies the match.
+ * When given a list, the names of the admitted rules are added to it in firing order.
+ */
+final class HitPolicyFilter implements AgendaFilter {
+
+    private static final KieCommands COMMANDS = KieServices.Factory.get().getCommands();
+
+    private final HitPolicy hitPolicy;
+    private final Map<Object, Integer> firstSalience = new IdentityHashMap<>(2);
+    private final List<String> firedRules;
+    private int fired;
+
+    HitPolicyFilter(HitPolicy hitPolicy) {
+        this(hitPolicy, null);
+    }
+
+    HitPolicyFilter(HitPolicy hitPolicy, List<String> firedRules) {
+        this.hitPolicy = hitPolicy;
+        this.firedRules = firedRules;
+    }
+
+    @Override
+    public boolean accept(Match match) {
+        if (hitPolicy != HitPolicy.COLLECT) {
+            Integer salience = firstSalience.putIfAbsent(match.getObjects().get(0), match.getSalience());
+            if (salience != null && (hitPolicy == HitPolicy.FIRST || salience != match.getSalience())) {
+                return false;
+            }
+        }
+        fired++;
+        if (firedRules != null) {
+            firedRules.add(match.getRule().getName());
+        }
+        return true;
+    }
+
+    int getFired() {
+        return fired;
+    }
+
+    /**
+     * Inserts the facts and fires the rules through a filter for the hit policy in one stateless
+     * execution. Returns the firings; adds the fired rule names to {@code firedRules} unless it
+     * is null.
+     */
+    static int execute(StatelessKieSession session, List<?> facts, HitPolicy hitPolicy, List<String> firedRules) {
+        HitPolicyFilter filter = new HitPolicyFilter(hitPolicy, firedRules);
+        List<Command<?>> commands = new ArrayList<>(facts.size() + 1);
+        for (Object fact : facts) {
+            commands.add(COMMANDS.newInsert(fact));
+        }
+        commands.add(new FireAllRulesCommand(filter));
+        session.execute(COMMANDS.newBatchExecution(commands));
+        return filter.getFired();
+    }
+}
@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * What building one kbase of a {@link RulesEngine} cost.
+ */
+@Value
+@Builder
+public class KieBaseBuildStats {
+    String kieBaseName;
+    /** Time spent building, restoring or assembling the kbase, not counting waits for its parts. */
+    long buildNanos;
+    /**
+     * Bytes allocated on the thread that built the kbase while building it, garbage included.
+     * This is not the size of the kbase: it is not what stays on the heap, and a build whose
+     * parts were made on other threads, such as an assembled kbase, does not count them.
+     */
+    long allocatedBytes;
+    /** True if the kbase was restored from a {@link io.shaama.rulesengine.snapshot.KieBaseSnapshotStore}. */
+    boolean restored;
+    /** Kbases whose packages this one was assembled from; empty if it was built on its own. */
+    List<String> composedFrom;
+}
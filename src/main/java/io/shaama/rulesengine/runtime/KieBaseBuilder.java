@@ -0,0 +1,217 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.metrics.ThreadAllocation;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshot;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshotStore;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds the kbases of one {@link RuleGeneration} when they are first needed, once each.
+ *
+ * {@link #buildAll} builds independent kbases in parallel, one platform thread per core at most.
+ * A kbase whose packages are each the only package of another kbase that is already built or
+ * being built, as {@code allRulesKBase} is next to the offer, order and payment kbases, is
+ * assembled from their packages instead of being built from the module again. Drools copies a
+ * package that already belongs to a kbase, so the assembled kbase stays independent of its parts.
+ * If assembling fails, the kbase is built from the container as usual.
+ */
+final class KieBaseBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieBaseBuilder.class);
+
+    private final KieContainer kieContainer;
+    private final KieBaseSnapshotStore snapshots;
+    private final Map<String, CompletableFuture<KieBase>> kieBases = new ConcurrentHashMap<>();
+    private final Map<String, KieBaseBuildStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param snapshots restores kbases that are not assembled from others; null builds them all
+     */
+    KieBaseBuilder(KieContainer kieContainer, KieBaseSnapshotStore snapshots) {
+        this.kieContainer = kieContainer;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * The kbase, built on the calling thread unless another thread is already building it.
+     */
+    KieBase get(String kieBaseName) {
+        CompletableFuture<KieBase> created = new CompletableFuture<>();
+        CompletableFuture<KieBase> existing = kieBases.putIfAbsent(kieBaseName, created);
+        if (existing != null) {
+            return join(existing);
+        }
+        build(kieBaseName, created);
+        return join(created);
+    }
+
+    /**
+     * Builds the kbases in parallel and waits for all of them.
+     *
+     * @throws RuntimeException the failure of the first kbase that could not be built
+     */
+    void buildAll(Collection<String> kieBaseNames) {
+        // Kbases with the fewest packages go first, so the parts of a combined kbase have
+        // started by the time a builder thread picks the combined one up
+        List<String> ordered = kieBaseNames.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(this::packageCount))
+                .toList();
+        Map<String, CompletableFuture<KieBase>> owned = new LinkedHashMap<>();
+        for (String kieBaseName : ordered) {
+            CompletableFuture<KieBase> created = new CompletableFuture<>();
+            if (kieBases.putIfAbsent(kieBaseName, created) == null) {
+                owned.put(kieBaseName, created);
+            }
+        }
+        int threads = Math.min(owned.size(), Runtime.getRuntime().availableProcessors());
+        if (threads <= 1) {
+            owned.forEach(this::build);
+        } else {
+            try (ExecutorService builders = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("kiebase-builder-", 0).daemon().factory())) {
+                owned.forEach((kieBaseName, future) -> builders.execute(() -> build(kieBaseName, future)));
+            }
+        }
+        ordered.forEach(this::get);
+    }
+
+    /**
+     * Build costs of the kbases built so far, by kbase name.
+     */
+    Map<String, KieBaseBuildStats> stats() {
+        return Map.copyOf(stats);
+    }
+
+    private void build(String kieBaseName, CompletableFuture<KieBase> future) {
+        try {
+            Map<String, KieBase> parts = parts(kieBaseName);
+            long start = System.nanoTime();
+            long allocatedBefore = ThreadAllocation.allocatedBytes();
+            KieBase kieBase = parts.isEmpty() ? null : compose(kieBaseName, parts);
+            boolean composed = kieBase != null;
+            boolean restored = false;
+            if (!composed) {
+                if (snapshots != null) {
+                    KieBaseSnapshot snapshot = snapshots.load(kieContainer, kieBaseName);
+                    kieBase = snapshot.getKieBase();
+                    restored = snapshot.isRestored();
+                } else {
+                    kieBase = KieBaseOptions.newKieBase(kieContainer, kieBaseName);
+                }
+            }
+            KieBaseBuildStats built = KieBaseBuildStats.builder()
+                    .kieBaseName(kieBaseName)
+                    .buildNanos(System.nanoTime() - start)
+                    .allocatedBytes(Math.max(0, ThreadAllocation.allocatedBytes() - allocatedBefore))
+                    .restored(restored)
+                    .composedFrom(composed ? List.copyOf(parts.keySet()) : List.of())
+                    .build();
+            stats.put(kieBaseName, built);
+            logger.info("Built kbase {} in {} ms ({} bytes allocated{})", kieBaseName,
+                    built.getBuildNanos() / 1_000_000, built.getAllocatedBytes(),
+                    built.getComposedFrom().isEmpty() ? "" : ", from " + built.getComposedFrom());
+            future.complete(kieBase);
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * The kbases that together hold exactly the packages of {@code kieBaseName}, one per package,
+     * by name; empty if the kbase cannot be assembled from kbases already requested.
+     */
+    private Map<String, KieBase> parts(String kieBaseName) {
+        KieBaseModel combined = kieContainer.getKieBaseModel(kieBaseName);
+        if (combined == null || combined.getPackages().size() < 2 || !combined.getIncludes().isEmpty()) {
+            return Map.of();
+        }
+        Map<String, CompletableFuture<KieBase>> futures = new LinkedHashMap<>();
+        for (String packageName : combined.getPackages()) {
+            String part = kieBases.keySet().stream()
+                    .filter(name -> !name.equals(kieBaseName))
+                    .filter(name -> holdsOnly(kieContainer.getKieBaseModel(name), packageName, combined))
+                    .findFirst()
+                    .orElse(null);
+            if (part == null) {
+                return Map.of();
+            }
+            futures.put(part, kieBases.get(part));
+        }
+        Map<String, KieBase> parts = new LinkedHashMap<>();
+        try {
+            futures.forEach((name, future) -> parts.put(name, future.join()));
+        } catch (CompletionException e) {
+            // The part fails on its own; the combined kbase can still be built directly
+            return Map.of();
+        }
+        return parts;
+    }
+
+    /**
+     * True if the kbase holds only the package and would build it with the same engine options.
+     */
+    private static boolean holdsOnly(KieBaseModel part, String packageName, KieBaseModel combined) {
+        return part != null
+                && part.getPackages().equals(List.of(packageName))
+                && part.getIncludes().isEmpty()
+                && part.getEventProcessingMode() == combined.getEventProcessingMode()
+                && part.getEqualsBehavior() == combined.getEqualsBehavior()
+                && part.getDeclarativeAgenda() == combined.getDeclarativeAgenda()
+                && part.getSequential() == combined.getSequential();
+    }
+
+    private KieBase compose(String kieBaseName, Map<String, KieBase> parts) {
+        try {
+            KieBaseConfiguration configuration = KieBaseOptions.configuration(kieContainer, kieBaseName);
+            InternalKnowledgeBase kieBase = KnowledgeBaseFactory.newKnowledgeBase(kieBaseName, configuration);
+            List<KiePackage> packages = new ArrayList<>();
+            parts.values().forEach(part -> packages.addAll(part.getKiePackages()));
+            kieBase.addPackages(packages);
+            return kieBase;
+        } catch (RuntimeException e) {
+            logger.warn("Could not assemble kbase {} from {}, building it from the container", kieBaseName, parts.keySet(), e);
+            return null;
+        }
+    }
+
+    private int packageCount(String kieBaseName) {
+        KieBaseModel model = kieContainer.getKieBaseModel(kieBaseName);
+        return model == null ? 0 : model.getPackages().size();
+    }
+
+    private static KieBase join(CompletableFuture<KieBase> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
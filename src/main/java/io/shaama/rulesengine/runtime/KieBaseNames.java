@@ -0,0 +1,16 @@
+package io.shaama.rulesengine.runtime;
+
+/**
+ * KieBase names declared in META-INF/kmodule.xml.
+ */
+public final class KieBaseNames {
+
+    public static final String OFFER = "offerKBase";
+    public static final String ORDER = "orderKBase";
+    public static final String PAYMENT = "paymentKBase";
+    public static final String PAYMENT_VELOCITY = "paymentVelocityKBase";
+    public static final String ALL_RULES = "allRulesKBase";
+
+    private KieBaseNames() {
+    }
+}
@@ -0,0 +1,53 @@
+package io.shaama.rulesengine.runtime;
+
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.runtime.KieContainer;
+import org.kie.internal.conf.AlphaRangeIndexThresholdOption;
+
+/**
+ * Engine options of the kbases built from the rule packs.
+ *
+ * The options are set on the configuration of each kbase rather than in a
+ * {@code kie.properties.conf} on the classpath, which Drools would read into every kbase of the
+ * JVM, including those of other modules.
+ *
+ * Amount thresholds come first in every pattern, so the threshold alpha nodes of a fact type are
+ * siblings under its ObjectTypeNode. From {@value #ALPHA_RANGE_INDEX_THRESHOLD} of them on, they
+ * are range-indexed: a fact's amount is placed in its band with one tree lookup instead of being
+ * tested against every threshold.
+ */
+public final class KieBaseOptions {
+
+    public static final int ALPHA_RANGE_INDEX_THRESHOLD = 3;
+
+    private KieBaseOptions() {
+    }
+
+    /**
+     * The configuration of the kbase: the options its kmodule.xml declares plus the engine
+     * options above.
+     */
+    public static KieBaseConfiguration configuration(KieContainer kieContainer, String kieBaseName) {
+        KieBaseConfiguration configuration = KieServices.Factory.get()
+                .newKieBaseConfiguration(null, kieContainer.getClassLoader());
+        KieBaseModel model = kieContainer.getKieBaseModel(kieBaseName);
+        if (model != null) {
+            configuration.setOption(model.getEventProcessingMode());
+            configuration.setOption(model.getEqualsBehavior());
+            configuration.setOption(model.getDeclarativeAgenda());
+            configuration.setOption(model.getSequential());
+        }
+        configuration.setOption(AlphaRangeIndexThresholdOption.get(ALPHA_RANGE_INDEX_THRESHOLD));
+        return configuration;
+    }
+
+    /**
+     * Builds a new kbase from the container with {@link #configuration}.
+     */
+    public static KieBase newKieBase(KieContainer kieContainer, String kieBaseName) {
+        return kieContainer.newKieBase(kieBaseName, configuration(kieContainer, kieBaseName));
+    }
+}
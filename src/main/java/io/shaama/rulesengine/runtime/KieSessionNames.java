@@ -0,0 +1,17 @@
+package io.shaama.rulesengine.runtime;
+
+/**
+ * KieSession names declared in META-INF/kmodule.xml. All are stateless except the stream-mode
+ * {@link #PAYMENT_VELOCITY} session.
+ */
+public final class KieSessionNames {
+
+    public static final String OFFER = "offerKSession";
+    public static final String ORDER = "orderKSession";
+    public static final String PAYMENT = "paymentKSession";
+    public static final String PAYMENT_VELOCITY = "paymentVelocityKSession";
+    public static final String ALL_RULES = "allRulesKSession";
+
+    private KieSessionNames() {
+    }
+}
@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Point-in-time snapshot of a session pool.
+ */
+@Value
+@Builder
+public class PoolMetrics {
+    String kieSessionName;
+    int poolSize;
+    int available;
+    long acquisitions;
+    long timeouts;
+    long totalWaitNanos;
+    long maxWaitNanos;
+
+    public double getAverageWaitNanos() {
+        return acquisitions == 0 ? 0 : (double) totalWaitNanos / acquisitions;
+    }
+}
@@ -0,0 +1,21 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kie.api.builder.ReleaseId;
+
+/**
+ * Outcome of swapping a {@link RulesEngine} to another rule pack, or back to the previous one.
+ */
+@Value
+@Builder
+public class ReloadResult {
+    ReleaseId releaseId;
+    ReleaseId previousReleaseId;
+    /** Session pools and kbases built for the new pack; 0 on rollback. */
+    long buildNanos;
+    /** Warm-up evaluations run on the new kbases before the swap; 0 on rollback. */
+    long warmUpNanos;
+    /** Time during which the engine switched generations; evaluations never wait on it. */
+    long swapPauseNanos;
+}
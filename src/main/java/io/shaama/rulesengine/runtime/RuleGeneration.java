@@ -0,0 +1,262 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.cache.DecisionCache;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import io.shaama.rulesengine.fastpath.FastPathEvaluators;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * The session pools, decision caches and fast-path evaluators built from one {@link KieContainer}.
+ *
+ * The kbases of the ksessions named at construction are built in parallel right away; the other
+ * configured ksessions get their kbase, pool and cache on first use, so a kbase nobody evaluates
+ * against is never built.
+ *
+ * Evaluations {@link #enter()} the generation they start on and {@link #exit()} it when done, so
+ * a generation that has been swapped out is only shut down once its in-flight evaluations have
+ * finished. Containers the engine loaded itself are disposed with the generation.
+ */
+class RuleGeneration {
+
+    private final KieContainer kieContainer;
+    private final boolean ownsContainer;
+    private final int poolSize;
+    private final int decisionCacheSize;
+    private final BiFunction<KieSessionsPool, String, StatelessKieSession> sessionFactory;
+    private final List<FastPathEvaluator<?>> evaluators;
+    private final KieBaseBuilder kieBaseBuilder;
+    private final List<KieSessionsPool> kieSessionsPools = new ArrayList<>();
+    private final Map<String, KieSessionSlot> slots = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean retired;
+
+    /**
+     * @param eagerKieSessionNames ksessions whose kbases are built before the constructor returns
+     * @param sessionFactory       creates a pooled session with the engine's globals bound, given
+     *                             the kbase's sessions pool and the kbase name
+     */
+    RuleGeneration(KieContainer kieContainer, boolean ownsContainer, RulesEngineConfig config,
+                   Collection<String> eagerKieSessionNames,
+                   BiFunction<KieSessionsPool, String, StatelessKieSession> sessionFactory) {
+        this.kieContainer = kieContainer;
+        this.ownsContainer = ownsContainer;
+        this.poolSize = config.getSessionsPerKieSession();
+        this.decisionCacheSize = config.getDecisionCacheSize();
+        this.sessionFactory = sessionFactory;
+        // Generated evaluators are compiled into the application and cannot follow a reloaded
+        // rule pack, so only the container the engine was created with uses them.
+        this.evaluators = config.getEvaluationMode() == EvaluationMode.FAST_PATH && !ownsContainer
+                ? FastPathEvaluators.load(kieContainer.getClassLoader())
+                : List.of();
+        // Reloaded rule packs are built once and replaced soon after, so only the initial
+        // container is worth a snapshot.
+        this.kieBaseBuilder = new KieBaseBuilder(kieContainer, ownsContainer ? null : config.getKieBaseSnapshots());
+        try {
+            for (String kieSessionName : config.getKieSessionNames()) {
+                String kieBaseName = kieContainer.getKieSessionModel(kieSessionName).getKieBaseModel().getName();
+                slots.put(kieSessionName, new KieSessionSlot(kieSessionName, kieBaseName));
+            }
+            List<KieSessionSlot> eager = eagerKieSessionNames.stream()
+                    .map(slots::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            kieBaseBuilder.buildAll(eager.stream().map(slot -> slot.kieBaseName).toList());
+            eager.forEach(KieSessionSlot::built);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    ReleaseId getReleaseId() {
+        return kieContainer.getReleaseId();
+    }
+
+    /**
+     * Registers an evaluation; returns false if the generation has already been retired.
+     */
+    boolean enter() {
+        inFlight.incrementAndGet();
+        if (retired) {
+            exit();
+            return false;
+        }
+        return true;
+    }
+
+    void exit() {
+        if (inFlight.decrementAndGet() == 0 && retired) {
+            close();
+        }
+    }
+
+    /**
+     * Stops new evaluations from entering; the generation closes once the last one exits.
+     */
+    void retire() {
+        retired = true;
+        if (inFlight.get() == 0) {
+            close();
+        }
+    }
+
+    SessionPool pool(String kieSessionName) {
+        return slot(kieSessionName).built().pool;
+    }
+
+    /**
+     * Checks that a pool is configured for the ksession without building its kbase.
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    void checkConfigured(String kieSessionName) {
+        slot(kieSessionName);
+    }
+
+    private KieSessionSlot slot(String kieSessionName) {
+        KieSessionSlot slot = slots.get(kieSessionName);
+        if (slot == null) {
+            throw new IllegalArgumentException("No session pool configured for " + kieSessionName);
+        }
+        return slot;
+    }
+
+    /**
+     * Ksessions whose kbase has been built, so a reload can build the same ones up front.
+     */
+    List<String> builtKieSessionNames() {
+        return slots.values().stream().filter(KieSessionSlot::isBuilt).map(slot -> slot.kieSessionName).toList();
+    }
+
+    /**
+     * Pools of the ksessions built so far.
+     */
+    Map<String, SessionPool> pools() {
+        Map<String, SessionPool> pools = new LinkedHashMap<>();
+        slots.values().stream().filter(KieSessionSlot::isBuilt).forEach(slot -> pools.put(slot.kieSessionName, slot.pool));
+        return pools;
+    }
+
+    /**
+     * Kbases of the ksessions built so far.
+     */
+    Map<String, KieBase> kieBases() {
+        Map<String, KieBase> kieBases = new LinkedHashMap<>();
+        slots.values().stream().filter(KieSessionSlot::isBuilt).forEach(slot -> kieBases.put(slot.kieSessionName, slot.kieBase));
+        return kieBases;
+    }
+
+    Map<String, KieBaseBuildStats> kieBaseBuildStats() {
+        return kieBaseBuilder.stats();
+    }
+
+    DecisionCache decisionCache(String kieSessionName) {
+        KieSessionSlot slot = slots.get(kieSessionName);
+        return slot == null ? null : slot.built().decisionCache;
+    }
+
+    Map<String, DecisionCache> decisionCaches() {
+        Map<String, DecisionCache> decisionCaches = new LinkedHashMap<>();
+        slots.values().stream()
+                .filter(slot -> slot.isBuilt() && slot.decisionCache != null)
+                .forEach(slot -> decisionCaches.put(slot.kieSessionName, slot.decisionCache));
+        return decisionCaches;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> FastPathEvaluator<T> fastPath(String kieSessionName, T fact) {
+        KieSessionSlot slot = slots.get(kieSessionName);
+        if (slot == null) {
+            return null;
+        }
+        for (FastPathEvaluator<?> evaluator : slot.built().fastPaths) {
+            if (evaluator.factType().isInstance(fact)) {
+                return (FastPathEvaluator<T>) evaluator;
+            }
+        }
+        return null;
+    }
+
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (kieSessionsPools) {
+            kieSessionsPools.forEach(KieSessionsPool::shutdown);
+        }
+        if (ownsContainer) {
+            ReleaseId releaseId = kieContainer.getReleaseId();
+            kieContainer.dispose();
+            KieServices.Factory.get().getRepository().removeKieModule(releaseId);
+        }
+    }
+
+    /**
+     * The kbase, pool, cache and fast paths of one ksession, set up on first use.
+     */
+    private final class KieSessionSlot {
+        final String kieSessionName;
+        final String kieBaseName;
+        /** Written last, so a non-null kbase publishes the fields below. */
+        volatile KieBase kieBase;
+        SessionPool pool;
+        DecisionCache decisionCache;
+        List<FastPathEvaluator<?>> fastPaths;
+
+        KieSessionSlot(String kieSessionName, String kieBaseName) {
+            this.kieSessionName = kieSessionName;
+            this.kieBaseName = kieBaseName;
+        }
+
+        boolean isBuilt() {
+            return kieBase != null;
+        }
+
+        KieSessionSlot built() {
+            if (kieBase == null) {
+                synchronized (this) {
+                    if (kieBase == null) {
+                        build();
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void build() {
+            KieBase built = kieBaseBuilder.get(kieBaseName);
+            KieSessionsPool kieSessionsPool = built.newKieSessionsPool(poolSize);
+            synchronized (kieSessionsPools) {
+                kieSessionsPools.add(kieSessionsPool);
+                if (closed.get()) {
+                    kieSessionsPool.shutdown();
+                }
+            }
+            pool = new SessionPool(kieSessionName, kieBaseName, poolSize,
+                    () -> sessionFactory.apply(kieSessionsPool, kieBaseName));
+            if (decisionCacheSize > 0) {
+                decisionCache = new DecisionCache(built, kieContainer.getReleaseId(), kieBaseName, decisionCacheSize);
+            }
+            fastPaths = evaluators.stream()
+                    .filter(evaluator -> built.getKiePackage(evaluator.packageName()) != null)
+                    .toList();
+            kieBase = built;
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.audit.DecisionAuditLog;
+import io.shaama.rulesengine.cache.DecisionCache;
+import io.shaama.rulesengine.cache.DecisionCacheStats;
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.profile.CustomerProfileStore;
+import org.kie.api.KieServices;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runtime entry point for request serving.
+ *
+ * Keeps a bounded pool of stateless sessions per ksession with the globals already bound,
+ * backed by a Drools {@link KieSessionsPool} per kbase so the underlying sessions are reset
+ * and reused instead of created per call. Evaluations run on virtual threads. When every
+ * session is busy a call waits up to {@link RulesEngineConfig#getAcquireTimeout()} and is
+ * then rejected; submissions beyond {@link RulesEngineConfig#getMaxPendingEvaluations()}
+ * are rejected immediately. With a decision cache configured, repeated offer and order
+ * inputs are answered from the cache without taking a session. In
+ * {@link EvaluationMode#FAST_PATH} facts whose kbase has a generated
+ * {@link FastPathEvaluator} skip Drools altogether; rule firing counts are then not recorded.
+ * A {@link HitPolicy} other than {@link HitPolicy#COLLECT} cancels a fact's remaining matches
+ * once the policy is satisfied, on either path; with rule metrics the rules fired per
+ * evaluation are recorded.
+ *
+ * {@link #reload(KieContainer)} builds and warms pools for another rule pack off the request
+ * path and then swaps them in; evaluations already running finish on the kbase they started on.
+ * The engine keeps the previous pack for {@link #rollback()}, so at most two are held at once.
+ *
+ * {@link #evaluateCheckout} runs the offer, order and payment stages of a checkout as one
+ * evaluation on one rule pack, deriving each stage's amount from the previous stage.
+ *
+ * With {@link RulesEngineConfig#getCustomerProfiles()} set, each offer and payment first takes
+ * its customer's attributes from the {@link CustomerProfileStore}, so callers only pass the
+ * customer id, which {@link RulesEngineConfig#getCustomerIdMapping()} maps to the store id.
+ *
+ * With {@link RulesEngineConfig#getAuditLog()} set, sampled evaluations are appended to the
+ * {@link DecisionAuditLog} with the rules they fired, or flagged as answered from the decision
+ * cache. Audited Drools evaluations always fire through a {@link HitPolicyFilter} to see the
+ * rule names.
+ *
+ * {@link #warmUp()} primes the kbases with synthetic facts until latency settles; with
+ * {@link RulesEngineConfig#isWarmUpBeforeReady()} the engine only reports {@link #isReady()}
+ * afterwards.
+ */
+public class RulesEngine implements AutoCloseable {
+
+    private final RulesEngineConfig config;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore pending;
+    private final Duration acquireTimeout;
+    private final DecisionEventSink decisionEventSink;
+    private final RuleMetrics ruleMetrics;
+    private final CustomerProfileStore customerProfiles;
+    private final ToLongFunction<String> customerIdMapping;
+    private final DecisionAuditLog auditLog;
+    private final Map<String, HitPolicy> hitPolicies;
+    private final Object reloadLock = new Object();
+    private volatile RuleGeneration current;
+    private RuleGeneration previous;
+    private volatile boolean ready;
+
+    public RulesEngine(KieContainer kieContainer, RulesEngineConfig config) {
+        this.config = config;
+        this.pending = new Semaphore(config.getMaxPendingEvaluations());
+        this.acquireTimeout = config.getAcquireTimeout();
+        this.decisionEventSink = config.getDecisionEventSink();
+        this.ruleMetrics = config.getRuleMetrics();
+        if (config.getCustomerProfiles() != null && config.getCustomerIdMapping() == null) {
+            throw new IllegalArgumentException("customerProfiles requires a customerIdMapping");
+        }
+        this.customerProfiles = config.getCustomerProfiles();
+        this.customerIdMapping = config.getCustomerIdMapping();
+        this.auditLog = config.getAuditLog();
+        this.hitPolicies = Map.copyOf(config.getHitPolicies());
+        this.current = newGeneration(kieContainer, false,
+                config.isLazyKieBases() ? List.of() : config.getKieSessionNames());
+        this.ready = !config.isWarmUpBeforeReady();
+    }
+
+    /**
+     * Creates an engine on the classpath KJAR with the default configuration.
+     */
+    public static RulesEngine create() {
+        return new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(), RulesEngineConfig.defaults());
+    }
+
+    public CompletableFuture<Offer> evaluateOffer(Offer offer) {
+        return evaluate(KieSessionNames.OFFER, offer);
+    }
+
+    public CompletableFuture<Order> evaluateOrder(Order order) {
+        return evaluate(KieSessionNames.ORDER, order);
+    }
+
+    public CompletableFuture<Payment> evaluatePayment(Payment payment) {
+        return evaluate(KieSessionNames.PAYMENT, payment);
+    }
+
+    /**
+     * Evaluates a checkout in one round-trip: the offer, then the order priced at the discounted
+     * offer amount rounded half up to whole minor units, then the payment for the order total. The caller sets the inputs of each fact
+     * except {@code order.orderAmount} and {@code payment.amount}, which are derived here. The
+     * result is the same as evaluating the three facts one after another with those amounts.
+     */
+    public CompletableFuture<CheckoutResult> evaluateCheckout(Offer offer, Order order, Payment payment) {
+        RuleGeneration generation = current;
+        generation.checkConfigured(KieSessionNames.OFFER);
+        generation.checkConfigured(KieSessionNames.ORDER);
+        generation.checkConfigured(KieSessionNames.PAYMENT);
+        if (!pending.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending evaluations for checkout"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> checkout(offer, order, payment), executor)
+                    .whenComplete((result, error) -> pending.release());
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Evaluates the fact on a pooled session of the named ksession. The fact is updated in
+     * place and the future completes with it, or completes exceptionally with a
+     * {@link RejectedExecutionException} when the engine is saturated.
+     */
+    public <T> CompletableFuture<T> evaluate(String kieSessionName, T fact) {
+        current.checkConfigured(kieSessionName);
+        if (!pending.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many pending evaluations for " + kieSessionName));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> evaluateOnCurrent(kieSessionName, fact), executor)
+                    .whenComplete((result, error) -> pending.release());
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs synthetic offers, orders and payments covering every rule through all kbases until
+     * HotSpot has compiled the hot paths and latency settles, then marks the engine ready. With
+     * {@link RulesEngineConfig#isLazyKieBases()} only the kbases built so far are warmed.
+     * Blocks the caller; decision events and rule metrics are not recorded for warm-up facts.
+     */
+    public WarmUpReport warmUp() {
+        RuleGeneration generation = enterCurrent();
+        try {
+            WarmUpReport report = new WarmUp(generation, config.getWarmUp(), hitPolicies).run();
+            ready = true;
+            return report;
+        } finally {
+            generation.exit();
+        }
+    }
+
+    /**
+     * False while a warm-up required by {@link RulesEngineConfig#isWarmUpBeforeReady()} has not
+     * completed, e.g. for a readiness probe.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Builds session pools for the kbases of {@code kieContainer}, warms them and swaps them in.
+     * The engine takes ownership of the container and disposes it once it is neither current
+     * nor the rollback target and its last in-flight evaluation has finished. The previous
+     * rollback target is released before the new pack is built.
+     */
+    public ReloadResult reload(KieContainer kieContainer) {
+        synchronized (reloadLock) {
+            if (previous != null) {
+                previous.retire();
+                previous = null;
+            }
+            long start = System.nanoTime();
+            // A lazy engine builds what the current pack has built so far, so requests are not
+            // left waiting on kbase builds after the swap
+            RuleGeneration next = newGeneration(kieContainer, true,
+                    config.isLazyKieBases() ? current.builtKieSessionNames() : config.getKieSessionNames());
+            long built = System.nanoTime();
+            try {
+                new WarmUp(next, config.getWarmUp(), hitPolicies).run();
+            } catch (RuntimeException e) {
+                next.close();
+                throw e;
+            }
+            long warmed = System.nanoTime();
+            RuleGeneration replaced = current;
+            current = next;
+            previous = replaced;
+            long swapped = System.nanoTime();
+            return ReloadResult.builder()
+                    .releaseId(next.getReleaseId())
+                    .previousReleaseId(replaced.getReleaseId())
+                    .buildNanos(built - start)
+                    .warmUpNanos(warmed - built)
+                    .swapPauseNanos(swapped - warmed)
+                    .build();
+        }
+    }
+
+    /**
+     * Swaps back to the rule pack that was active before the last reload. Calling it again
+     * swaps forward again.
+     *
+     * @throws IllegalStateException if there is no previous pack
+     */
+    public ReloadResult rollback() {
+        synchronized (reloadLock) {
+            if (previous == null) {
+                throw new IllegalStateException("No previous rule pack to roll back to");
+            }
+            long start = System.nanoTime();
+            RuleGeneration replaced = current;
+            current = previous;
+            previous = replaced;
+            long swapped = System.nanoTime();
+            return ReloadResult.builder()
+                    .releaseId(current.getReleaseId())
+                    .previousReleaseId(replaced.getReleaseId())
+                    .swapPauseNanos(swapped - start)
+                    .build();
+        }
+    }
+
+    /**
+     * Release of the rule pack new evaluations run on.
+     */
+    public ReleaseId getReleaseId() {
+        return current.getReleaseId();
+    }
+
+    /**
+     * Release {@link #rollback()} would return to, or null.
+     */
+    public ReleaseId getPreviousReleaseId() {
+        synchronized (reloadLock) {
+            return previous == null ? null : previous.getReleaseId();
+        }
+    }
+
+    /**
+     * Pool counters of the current rule pack; they restart from zero after a reload.
+     */
+    public PoolMetrics poolMetrics(String kieSessionName) {
+        return current.pool(kieSessionName).metrics();
+    }
+
+    public Map<String, PoolMetrics> poolMetrics() {
+        Map<String, PoolMetrics> metrics = new LinkedHashMap<>();
+        current.pools().forEach((name, pool) -> metrics.put(name, pool.metrics()));
+        return metrics;
+    }
+
+    /**
+     * Decision cache counters per ksession; empty when the cache is disabled.
+     */
+    public Map<String, DecisionCacheStats> decisionCacheStats() {
+        Map<String, DecisionCacheStats> stats = new LinkedHashMap<>();
+        current.decisionCaches().forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    /**
+     * Build time and allocation of each kbase of the current rule pack built so far, by kbase name.
+     */
+    public Map<String, KieBaseBuildStats> kieBaseBuildStats() {
+        return new TreeMap<>(current.kieBaseBuildStats());
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        synchronized (reloadLock) {
+            current.close();
+            if (previous != null) {
+                previous.close();
+            }
+        }
+    }
+
+    private <T> T evaluateOnCurrent(String kieSessionName, T fact) {
+        RuleGeneration generation = enterCurrent();
+        try {
+            return evaluateIn(generation, kieSessionName, fact);
+        } finally {
+            generation.exit();
+        }
+    }
+
+    /**
+     * Runs all three stages on the same generation, so a reload never splits a checkout
+     * between two rule packs.
+     */
+    private CheckoutResult checkout(Offer offer, Order order, Payment payment) {
+        RuleGeneration generation = enterCurrent();
+        try {
+            long start = System.nanoTime();
+            evaluateIn(generation, KieSessionNames.OFFER, offer);
+            long offered = System.nanoTime();
+            order.setOrderAmount(discountedAmount(offer));
+            evaluateIn(generation, KieSessionNames.ORDER, order);
+            long ordered = System.nanoTime();
+            payment.setAmount(order.getTotalAmount() != null ? order.getTotalAmount() : order.getOrderAmount());
+            evaluateIn(generation, KieSessionNames.PAYMENT, payment);
+            long paid = System.nanoTime();
+            return CheckoutResult.builder()
+                    .offer(offer)
+                    .order(order)
+                    .payment(payment)
+                    .offerNanos(offered - start)
+                    .orderNanos(ordered - offered)
+                    .paymentNanos(paid - ordered)
+                    .build();
+        } finally {
+            generation.exit();
+        }
+    }
+
+    /**
+     * The offer amount less the discount if the offer applies, rounded half up to whole minor
+     * units. A percentage discount can leave fractions of a minor unit, which the order and the
+     * payment would otherwise carry: a GOLD offer of 5882.36 leaves 5000.006, a total the
+     * customer cannot be charged.
+     */
+    private static BigDecimal discountedAmount(Offer offer) {
+        BigDecimal amount = offer.getOrderAmount() != null ? offer.getOrderAmount() : BigDecimal.ZERO;
+        if (offer.isOfferApplicable() && offer.getDiscountAmount() != null) {
+            amount = amount.subtract(offer.getDiscountAmount());
+        }
+        return amount.setScale(MinorUnits.SCALE, RoundingMode.HALF_UP);
+    }
+
+    private RuleGeneration enterCurrent() {
+        RuleGeneration generation = current;
+        while (!generation.enter()) {
+            generation = current;
+        }
+        return generation;
+    }
+
+    private <T> T evaluateIn(RuleGeneration generation, String kieSessionName, T fact) {
+        if (customerProfiles != null) {
+            customerProfiles.apply(fact, customerIdMapping);
+        }
+        SessionPool pool = generation.pool(kieSessionName);
+        DecisionCache decisionCache = generation.decisionCache(kieSessionName);
+        FastPathEvaluator<T> fastPath = generation.fastPath(kieSessionName, fact);
+        AuditCapture audit = auditLog != null && auditLog.sample() ? new AuditCapture(decisionEventSink) : null;
+        UnaryOperator<T> evaluator = fastPath == null
+                ? f -> execute(pool, f, audit)
+                : f -> execute(fastPath, pool.getKieBaseName(), f, audit);
+        T result = decisionCache == null ? evaluator.apply(fact) : decisionCache.evaluate(fact, evaluator);
+        if (audit != null) {
+            auditLog.record(pool.getKieBaseName(), result, audit.getFiredRules(), audit.isCached());
+        }
+        return result;
+    }
+
+    private <T> T execute(SessionPool pool, T fact, AuditCapture audit) {
+        StatelessKieSession session;
+        try {
+            session = pool.acquire(acquireTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        if (session == null) {
+            throw new RejectedExecutionException("No session of " + pool.getKieSessionName()
+                    + " became available within " + acquireTimeout);
+        }
+        try {
+            HitPolicy hitPolicy = hitPolicy(pool.getKieBaseName());
+            List<String> firedRules = audit == null ? null : audit.begin();
+            if (ruleMetrics == null) {
+                if (hitPolicy == HitPolicy.COLLECT && firedRules == null) {
+                    session.execute(fact);
+                } else {
+                    execute(session, fact, hitPolicy, firedRules);
+                }
+            } else {
+                long start = System.nanoTime();
+                int fired = execute(session, fact, hitPolicy, firedRules);
+                ruleMetrics.recordExecution(pool.getKieBaseName(), System.nanoTime() - start);
+                ruleMetrics.recordFirings(pool.getKieBaseName(), fired);
+            }
+            return fact;
+        } finally {
+            pool.release(session);
+        }
+    }
+
+    /**
+     * Inserts the fact and fires the rules through a {@link HitPolicyFilter}, which also counts
+     * the firings and adds the fired rule names to {@code firedRules} unless it is null.
+     */
+    private static int execute(StatelessKieSession session, Object fact, HitPolicy hitPolicy, List<String> firedRules) {
+        return HitPolicyFilter.execute(session, List.of(fact), hitPolicy, firedRules);
+    }
+
+    private <T> T execute(FastPathEvaluator<T> fastPath, String kieBaseName, T fact, AuditCapture audit) {
+        HitPolicy hitPolicy = hitPolicy(kieBaseName);
+        DecisionEventSink sink = decisionEventSink;
+        if (audit != null) {
+            audit.begin();
+            sink = audit;
+        }
+        if (ruleMetrics == null) {
+            fastPath.evaluate(fact, sink, hitPolicy);
+        } else {
+            long start = System.nanoTime();
+            int fired = fastPath.evaluate(fact, sink, hitPolicy);
+            ruleMetrics.recordExecution(kieBaseName, System.nanoTime() - start);
+            ruleMetrics.recordFirings(kieBaseName, fired);
+        }
+        return fact;
+    }
+
+    private HitPolicy hitPolicy(String kieBaseName) {
+        return hitPolicies.getOrDefault(kieBaseName, HitPolicy.COLLECT);
+    }
+
+    private RuleGeneration newGeneration(KieContainer kieContainer, boolean ownsContainer,
+                                         List<String> eagerKieSessionNames) {
+        return new RuleGeneration(kieContainer, ownsContainer, config, eagerKieSessionNames, this::newSession);
+    }
+
+    private StatelessKieSession newSession(KieSessionsPool kieSessionsPool, String kieBaseName) {
+        StatelessKieSession session = kieSessionsPool.newStatelessKieSession();
+        session.setGlobal(DecisionEventSink.GLOBAL, decisionEventSink);
+        if (ruleMetrics != null) {
+            ruleMetrics.attach(session, kieBaseName);
+        }
+        return session;
+    }
+}
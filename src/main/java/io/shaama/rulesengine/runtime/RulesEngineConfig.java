@@ -0,0 +1,88 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.audit.DecisionAuditLog;
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import io.shaama.rulesengine.profile.CustomerProfileStore;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshotStore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Pool sizing and backpressure settings for {@link RulesEngine}.
+ */
+@Value
+@Builder
+public class RulesEngineConfig {
+
+    /** Stateless sessions pre-initialised per ksession. */
+    @Builder.Default
+    int sessionsPerKieSession = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** How long an evaluation waits for a free session before it is rejected. */
+    @Builder.Default
+    Duration acquireTimeout = Duration.ofMillis(100);
+
+    /** Evaluations accepted but not yet completed; further submissions are rejected immediately. */
+    @Builder.Default
+    int maxPendingEvaluations = 10_000;
+
+    /** Ksessions to pool, from the kmodule.xml session definitions. */
+    @Builder.Default
+    List<String> kieSessionNames = List.of(KieSessionNames.OFFER, KieSessionNames.ORDER, KieSessionNames.PAYMENT);
+
+    /**
+     * Builds a ksession's kbase and pool on its first evaluation instead of at startup, where the
+     * kbases are built in parallel.
+     */
+    boolean lazyKieBases;
+
+    /** Receives a decision event per rule firing; discards them unless configured. */
+    @Builder.Default
+    DecisionEventSink decisionEventSink = DecisionEventSink.NOOP;
+
+    /** Per-rule firing counts and per-kbase execute latency; null disables instrumentation. */
+    RuleMetrics ruleMetrics;
+
+    /** Drools sessions, or the generated fast-path evaluators where the kbase has one. */
+    @Builder.Default
+    EvaluationMode evaluationMode = EvaluationMode.DROOLS;
+
+    /** Hit policy per kbase name; kbases not listed use {@link HitPolicy#COLLECT}. */
+    @Builder.Default
+    Map<String, HitPolicy> hitPolicies = Map.of();
+
+    /** Entries per ksession of the offer/order {@link io.shaama.rulesengine.cache.DecisionCache}; 0 disables it. */
+    int decisionCacheSize;
+
+    /** When warm-up of the initial kbases and of reloaded rule packs is considered settled. */
+    @Builder.Default
+    WarmUpSettings warmUp = WarmUpSettings.defaults();
+
+    /** Keeps {@link RulesEngine#isReady()} false until {@link RulesEngine#warmUp()} has completed. */
+    boolean warmUpBeforeReady;
+
+    /** Profiles applied to offers and payments before evaluation; null leaves facts as given. */
+    CustomerProfileStore customerProfiles;
+
+    /**
+     * Maps a fact's customer id to its id in {@link #customerProfiles}, required with it; ids mapped
+     * to a negative number have no profile. See {@link CustomerProfileStore#idsMatching(String)}.
+     */
+    ToLongFunction<String> customerIdMapping;
+
+    /** Receives sampled decisions with their fired rules; null disables auditing. The caller closes it. */
+    DecisionAuditLog auditLog;
+
+    /** Restores the kbases of the initial container from snapshots; null builds them every start. */
+    KieBaseSnapshotStore kieBaseSnapshots;
+
+    public static RulesEngineConfig defaults() {
+        return RulesEngineConfig.builder().build();
+    }
+}
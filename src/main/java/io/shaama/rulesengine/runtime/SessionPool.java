@@ -0,0 +1,84 @@
+package io.shaama.rulesengine.runtime;
+
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of pre-initialised stateless sessions for one ksession, with wait-time metrics.
+ */
+class SessionPool {
+
+    private final String kieSessionName;
+    private final String kieBaseName;
+    private final int size;
+    private final BlockingQueue<StatelessKieSession> sessions;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    SessionPool(String kieSessionName, String kieBaseName, int size, Supplier<StatelessKieSession> sessionFactory) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Session pool size must be positive: " + size);
+        }
+        this.kieSessionName = kieSessionName;
+        this.kieBaseName = kieBaseName;
+        this.size = size;
+        this.sessions = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            sessions.add(sessionFactory.get());
+        }
+    }
+
+    /**
+     * Takes a session, waiting up to {@code timeout}; returns null if none became free in time.
+     */
+    StatelessKieSession acquire(Duration timeout) throws InterruptedException {
+        long start = System.nanoTime();
+        StatelessKieSession session = sessions.poll();
+        if (session == null) {
+            session = sessions.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        long waited = System.nanoTime() - start;
+        if (session == null) {
+            timeouts.increment();
+            return null;
+        }
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return session;
+    }
+
+    void release(StatelessKieSession session) {
+        sessions.offer(session);
+    }
+
+    String getKieSessionName() {
+        return kieSessionName;
+    }
+
+    String getKieBaseName() {
+        return kieBaseName;
+    }
+
+    PoolMetrics metrics() {
+        return PoolMetrics.builder()
+                .kieSessionName(kieSessionName)
+                .poolSize(size)
+                .available(sessions.size())
+                .acquisitions(acquisitions.sum())
+                .timeouts(timeouts.sum())
+                .totalWaitNanos(totalWaitNanos.sum())
+                .maxWaitNanos(maxWaitNanos.get())
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import org.kie.api.KieBase;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Runs {@link WarmUpFacts} through the kbases of a {@link RuleGeneration} until latency settles.
+ *
+ * Facts take the path they take when served: through the generated fast-path evaluator where the
+ * generation has one, otherwise through a stateless session of the kbase, with the kbase's
+ * {@link HitPolicy} on either path. The sessions are not
+ * pooled ones, so decision events and rule metrics are not recorded. The first round also records
+ * which rules fired, to report rules the synthetic facts do not reach.
+ */
+final class WarmUp {
+
+    private final RuleGeneration generation;
+    private final WarmUpSettings settings;
+    private final Map<String, StatelessKieSession> sessions = new LinkedHashMap<>();
+    private final Map<String, HitPolicy> hitPolicies = new LinkedHashMap<>();
+    private final Map<String, List<Long>> roundNanos = new LinkedHashMap<>();
+    private final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+    private final List<Long> roundCompilationMillis = new ArrayList<>();
+    private long factsPerRound;
+
+    /**
+     * @param hitPolicies hit policy per kbase name, as configured for the engine
+     */
+    WarmUp(RuleGeneration generation, WarmUpSettings settings, Map<String, HitPolicy> hitPolicies) {
+        this.generation = generation;
+        this.settings = settings;
+        Map<String, SessionPool> pools = generation.pools();
+        generation.kieBases().forEach((kieSessionName, kieBase) -> {
+            StatelessKieSession session = kieBase.newStatelessKieSession();
+            session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+            sessions.put(kieSessionName, session);
+            this.hitPolicies.put(kieSessionName,
+                    hitPolicies.getOrDefault(pools.get(kieSessionName).getKieBaseName(), HitPolicy.COLLECT));
+            roundNanos.put(kieSessionName, new ArrayList<>());
+        });
+    }
+
+    WarmUpReport run() {
+        long start = System.nanoTime();
+        long deadline = start + settings.getMaxDuration().toNanos();
+        long compilationAtStart = compilationMillis();
+        Map<String, Set<String>> unfiredRules = runCoverageRound();
+        int rounds = 1;
+        roundCompilationMillis.add(compilationMillis());
+        boolean settled = false;
+        while (!settled && System.nanoTime() < deadline) {
+            runRound();
+            rounds++;
+            roundCompilationMillis.add(compilationMillis());
+            settled = rounds >= settings.getMinRounds() && isSettled(rounds);
+        }
+
+        Map<String, Double> initialMeanNanos = new LinkedHashMap<>();
+        Map<String, Double> finalMeanNanos = new LinkedHashMap<>();
+        int completed = rounds;
+        int window = Math.min(settings.getWindowRounds(), completed);
+        roundNanos.forEach((kieSessionName, nanos) -> {
+            initialMeanNanos.put(kieSessionName, windowMean(nanos, 0, 1));
+            finalMeanNanos.put(kieSessionName, windowMean(nanos, completed - window, completed));
+        });
+        return WarmUpReport.builder()
+                .durationNanos(System.nanoTime() - start)
+                .rounds(rounds)
+                .evaluations(factsPerRound * rounds * sessions.size())
+                .settled(settled)
+                .compilationMillis(compilationAtStart < 0 ? -1 : compilationMillis() - compilationAtStart)
+                .initialMeanNanos(initialMeanNanos)
+                .finalMeanNanos(finalMeanNanos)
+                .unfiredRules(unfiredRules)
+                .build();
+    }
+
+    /**
+     * Runs the first round with a listener collecting fired rule names on every session.
+     * Kbases whose facts all go through a fast-path evaluator fire no rules and are left out.
+     */
+    private Map<String, Set<String>> runCoverageRound() {
+        Map<String, FiredRules> firedRules = new LinkedHashMap<>();
+        sessions.forEach((kieSessionName, session) -> {
+            FiredRules listener = new FiredRules();
+            session.addEventListener(listener);
+            firedRules.put(kieSessionName, listener);
+        });
+        runRound();
+        Map<String, Set<String>> unfiredRules = new LinkedHashMap<>();
+        firedRules.forEach((kieSessionName, listener) -> {
+            sessions.get(kieSessionName).removeEventListener(listener);
+            if (!listener.names.isEmpty()) {
+                Set<String> unfired = ruleNames(generation.kieBases().get(kieSessionName));
+                unfired.removeAll(listener.names);
+                unfiredRules.put(kieSessionName, unfired);
+            }
+        });
+        return unfiredRules;
+    }
+
+    private void runRound() {
+        sessions.forEach((kieSessionName, session) -> {
+            List<Object> facts = WarmUpFacts.create();
+            factsPerRound = facts.size();
+            long start = System.nanoTime();
+            for (Object fact : facts) {
+                evaluate(kieSessionName, session, fact);
+            }
+            roundNanos.get(kieSessionName).add(System.nanoTime() - start);
+        });
+    }
+
+    private <T> void evaluate(String kieSessionName, StatelessKieSession session, T fact) {
+        HitPolicy hitPolicy = hitPolicies.get(kieSessionName);
+        FastPathEvaluator<T> fastPath = generation.fastPath(kieSessionName, fact);
+        if (fastPath == null) {
+            hitPolicy.execute(session, List.of(fact));
+        } else {
+            fastPath.evaluate(fact, DecisionEventSink.NOOP, hitPolicy);
+        }
+    }
+
+    /**
+     * Compares the last two windows of round totals across all kbases, and the compilation time
+     * spent during the last window against its wall time.
+     */
+    private boolean isSettled(int rounds) {
+        int window = settings.getWindowRounds();
+        if (rounds < 2 * window) {
+            return false;
+        }
+        long previous = 0;
+        long last = 0;
+        for (List<Long> nanos : roundNanos.values()) {
+            previous += sum(nanos, rounds - 2 * window, rounds - window);
+            last += sum(nanos, rounds - window, rounds);
+        }
+        if (Math.abs(last - previous) > settings.getTolerance() * previous) {
+            return false;
+        }
+        if (roundCompilationMillis.get(0) < 0) {
+            return true;
+        }
+        long compiledMillis = roundCompilationMillis.get(rounds - 1) - roundCompilationMillis.get(rounds - window - 1);
+        return compiledMillis * 1_000_000 <= settings.getTolerance() * last;
+    }
+
+    private double windowMean(List<Long> nanos, int from, int to) {
+        return (double) sum(nanos, from, to) / ((to - from) * factsPerRound);
+    }
+
+    private static long sum(List<Long> nanos, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += nanos.get(i);
+        }
+        return sum;
+    }
+
+    private static Set<String> ruleNames(KieBase kieBase) {
+        Set<String> names = new TreeSet<>();
+        for (KiePackage kiePackage : kieBase.getKiePackages()) {
+            for (Rule rule : kiePackage.getRules()) {
+                names.add(rule.getName());
+            }
+        }
+        return names;
+    }
+
+    private long compilationMillis() {
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime()
+                : -1;
+    }
+
+    private static class FiredRules extends DefaultAgendaEventListener {
+        private final Set<String> names = new TreeSet<>();
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            names.add(event.getMatch().getRule().getName());
+        }
+    }
+}
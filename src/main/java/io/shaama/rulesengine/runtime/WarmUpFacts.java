@@ -0,0 +1,107 @@
+package io.shaama.rulesengine.runtime;
+
+import io.shaama.rulesengine.model.BusinessDate;
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fresh offers, orders and payments used to exercise a kbase before it starts serving.
+ *
+ * Every categorical value (and null) is combined with amounts on both sides of each threshold the
+ * rules test, so every rule fires and every constraint is evaluated both ways. The flags and
+ * the remaining fields vary with the position in the list.
+ */
+final class WarmUpFacts {
+
+    private static final long[] OFFER_AMOUNTS = {10_000, 20_000, 50_000, 80_000, 100_000, 150_000, 200_000};
+    private static final long[] ORDER_AMOUNTS = {2_000, 5_000, 60_000, 100_000, 500_000, 1_000_000};
+    private static final long[] PAYMENT_AMOUNTS = {90_000, 100_000, 500_000, 500_001, 1_000_000, 2_500_000, 5_000_000};
+
+    private WarmUpFacts() {
+    }
+
+    static List<Object> create() {
+        List<Object> facts = new ArrayList<>();
+        addOffers(facts);
+        addOrders(facts);
+        addPayments(facts);
+        return facts;
+    }
+
+    private static void addOffers(List<Object> facts) {
+        LocalDate today = BusinessDate.today();
+        LocalDate[] validUntil = {null, today.plusDays(1), today.minusDays(1)};
+        int i = 0;
+        for (CustomerSegment segment : withNull(CustomerSegment.values())) {
+            for (ProductType category : withNull(ProductType.values())) {
+                for (long amount : OFFER_AMOUNTS) {
+                    facts.add(Offer.builder()
+                            .offerId("WARM-O" + i)
+                            .customerSegment(segment)
+                            .productCategory(category)
+                            .orderAmountMinor(amount)
+                            .isFirstTimeCustomer(i % 2 == 0)
+                            .offerValidUntil(validUntil[i % validUntil.length])
+                            .build());
+                    i++;
+                }
+            }
+        }
+    }
+
+    private static void addOrders(List<Object> facts) {
+        int i = 0;
+        for (DeliveryZone zone : withNull(DeliveryZone.values())) {
+            for (ProductType productType : ProductType.values()) {
+                for (long amount : ORDER_AMOUNTS) {
+                    facts.add(Order.builder()
+                            .orderId("WARM-R" + i)
+                            .deliveryZone(zone)
+                            .productType(productType)
+                            .orderAmountMinor(amount)
+                            .itemCount(i % 3 == 0 ? 12 : 1)
+                            .isPeakHour(i % 2 == 0)
+                            .build());
+                    i++;
+                }
+            }
+        }
+    }
+
+    private static void addPayments(List<Object> facts) {
+        Long[] creditLimits = {null, 200_000L, 10_000_000L};
+        int i = 0;
+        for (PaymentMethod method : PaymentMethod.values()) {
+            for (CustomerType customerType : CustomerType.values()) {
+                for (long amount : PAYMENT_AMOUNTS) {
+                    facts.add(Payment.builder()
+                            .paymentId("WARM-P" + i)
+                            .paymentMethod(method)
+                            .customerType(customerType)
+                            .amountMinor(amount)
+                            .creditLimitMinor(creditLimits[i % creditLimits.length])
+                            .transactionCount(i % 30)
+                            .build());
+                    i++;
+                }
+            }
+        }
+    }
+
+    private static <E> List<E> withNull(E[] values) {
+        List<E> list = new ArrayList<>(Arrays.asList(values));
+        list.add(null);
+        return list;
+    }
+}
@@ -0,0 +1,29 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of warming up the kbases of a {@link RulesEngine}.
+ */
+@Value
+@Builder
+public class WarmUpReport {
+    long durationNanos;
+    int rounds;
+    /** Facts evaluated across all rounds and kbases. */
+    long evaluations;
+    /** Whether latency settled before {@link WarmUpSettings#getMaxDuration()} ran out. */
+    boolean settled;
+    /** HotSpot compilation time during warm-up; -1 if the JVM does not report it. */
+    long compilationMillis;
+    /** Mean nanoseconds per fact in the first round, which also tracks fired rules, per ksession. */
+    Map<String, Double> initialMeanNanos;
+    /** Mean nanoseconds per fact over the last window, per ksession. */
+    Map<String, Double> finalMeanNanos;
+    /** Rules no warm-up fact fired, per ksession evaluated through Drools. */
+    Map<String, Set<String>> unfiredRules;
+}
@@ -0,0 +1,39 @@
+package io.shaama.rulesengine.runtime;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * When {@link RulesEngine#warmUp()} considers the JIT settled.
+ *
+ * Warm-up runs rounds of synthetic facts through every kbase. It stops once the mean latency of
+ * the last {@link #windowRounds} rounds is within {@link #tolerance} of the window before, and
+ * HotSpot spent less than that fraction of the window compiling, or when {@link #maxDuration}
+ * has passed.
+ */
+@Value
+@Builder
+public class WarmUpSettings {
+
+    /** Rounds always run, whatever the latency does. */
+    @Builder.Default
+    int minRounds = 20;
+
+    /** Rounds per window whose mean latency is compared with the previous window. */
+    @Builder.Default
+    int windowRounds = 5;
+
+    /** Relative change between windows that still counts as settled. */
+    @Builder.Default
+    double tolerance = 0.05;
+
+    /** Warm-up ends after this long even if latency has not settled. */
+    @Builder.Default
+    Duration maxDuration = Duration.ofSeconds(30);
+
+    public static WarmUpSettings defaults() {
+        return WarmUpSettings.builder().build();
+    }
+}
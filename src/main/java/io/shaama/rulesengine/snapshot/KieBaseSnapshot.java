@@ -0,0 +1,23 @@
+package io.shaama.rulesengine.snapshot;
+
+import lombok.Builder;
+import lombok.Value;
+import org.kie.api.KieBase;
+
+/**
+ * A kbase obtained from {@link KieBaseSnapshotStore#load}, with where it came from.
+ */
+@Value
+@Builder
+public class KieBaseSnapshot {
+    KieBase kieBase;
+    String kieBaseName;
+    /** Checksum of the sources the kbase was built from; null if the container cannot be inspected. */
+    String checksum;
+    /** True if the kbase was read from a snapshot file, false if it was built from the container. */
+    boolean restored;
+    /** Time spent restoring or building the kbase, including the checksum and writing a new snapshot. */
+    long loadNanos;
+    /** Size of the snapshot file read or written; 0 if there is none. */
+    long snapshotBytes;
+}
@@ -0,0 +1,229 @@
+package io.shaama.rulesengine.snapshot;
+
+import io.shaama.rulesengine.runtime.KieBaseOptions;
+import org.drools.core.common.DroolsObjectInputStream;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Keeps serialized kbases on local disk so a restart can skip building them.
+ *
+ * {@link #load} computes a checksum of the kbase's sources and reads the snapshot file written
+ * for that checksum, memory-mapped. If there is none, or it cannot be read, the kbase is built
+ * from the container and a new snapshot replaces the kbase's previous one. Every failure falls
+ * back to building, so a corrupt or incompatible snapshot only costs the time it took to reject.
+ *
+ * One store serves one process at a time; snapshots are written to a temporary file and moved
+ * into place, so a crash never leaves a partial snapshot behind.
+ */
+public class KieBaseSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieBaseSnapshotStore.class);
+
+    static final String SUFFIX = ".kbase";
+    private static final int MAGIC = 0x4b425331; // "KBS1"
+
+    private final Path directory;
+
+    public KieBaseSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Restores the kbase from its snapshot when the checksum matches, otherwise builds it from
+     * the container and writes a snapshot for the next start.
+     */
+    public KieBaseSnapshot load(KieContainer kieContainer, String kieBaseName) {
+        long start = System.nanoTime();
+        String checksum = SnapshotChecksum.of(kieContainer, kieBaseName);
+        KieBaseSnapshot.KieBaseSnapshotBuilder snapshot = KieBaseSnapshot.builder()
+                .kieBaseName(kieBaseName)
+                .checksum(checksum);
+        if (checksum == null) {
+            logger.debug("Kbase {} cannot be checksummed, building it without a snapshot", kieBaseName);
+            return snapshot.kieBase(KieBaseOptions.newKieBase(kieContainer, kieBaseName))
+                    .loadNanos(System.nanoTime() - start)
+                    .build();
+        }
+
+        Path file = snapshotFile(kieBaseName, checksum);
+        KieBase restored = restore(file, checksum, kieContainer.getClassLoader());
+        if (restored != null) {
+            return snapshot.kieBase(restored)
+                    .restored(true)
+                    .snapshotBytes(size(file))
+                    .loadNanos(System.nanoTime() - start)
+                    .build();
+        }
+
+        KieBase kieBase = KieBaseOptions.newKieBase(kieContainer, kieBaseName);
+        boolean saved = save(file, kieBaseName, checksum, kieBase);
+        return snapshot.kieBase(kieBase)
+                .snapshotBytes(saved ? size(file) : 0)
+                .loadNanos(System.nanoTime() - start)
+                .build();
+    }
+
+    /**
+     * Snapshot files of the kbase are named {@code <kieBaseName>-<checksum>.kbase}.
+     */
+    Path snapshotFile(String kieBaseName, String checksum) {
+        return directory.resolve(kieBaseName + "-" + checksum + SUFFIX);
+    }
+
+    private KieBase restore(Path file, String checksum, ClassLoader classLoader) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        // Drools resolves rule classes through the context class loader while the kbase is read
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES * 2 || buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a kbase snapshot");
+            }
+            byte[] storedChecksum = new byte[buffer.getInt()];
+            buffer.get(storedChecksum);
+            if (!checksum.equals(new String(storedChecksum, StandardCharsets.US_ASCII))) {
+                throw new IllegalStateException("Checksum mismatch");
+            }
+            try (ObjectInputStream in = new DroolsObjectInputStream(new ByteBufferInputStream(buffer), classLoader)) {
+                KieBase kieBase = (KieBase) in.readObject();
+                logger.info("Restored kbase snapshot {}", file);
+                return kieBase;
+            }
+        } catch (Exception | LinkageError e) {
+            logger.warn("Discarding kbase snapshot {}, the kbase is rebuilt", file, e);
+            delete(file);
+            return null;
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private boolean save(Path file, String kieBaseName, String checksum, KieBase kieBase) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, kieBaseName, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                DataOutputStream header = new DataOutputStream(out);
+                byte[] checksumBytes = checksum.getBytes(StandardCharsets.US_ASCII);
+                header.writeInt(MAGIC);
+                header.writeInt(checksumBytes.length);
+                header.write(checksumBytes);
+                ObjectOutputStream objects = new DroolsObjectOutputStream(out);
+                objects.writeObject(kieBase);
+                objects.flush();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOutdated(kieBaseName, file);
+            logger.info("Wrote kbase snapshot {}", file);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not write a snapshot of kbase {} to {}", kieBaseName, directory, e);
+            if (temporary != null) {
+                delete(temporary);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes the kbase's snapshots for other checksums; they can never match again.
+     */
+    private void deleteOutdated(String kieBaseName, Path current) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> !path.equals(current))
+                    .filter(path -> isSnapshotOf(path, kieBaseName))
+                    .forEach(KieBaseSnapshotStore::delete);
+        }
+    }
+
+    private static boolean isSnapshotOf(Path path, String kieBaseName) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(kieBaseName + "-") || !name.endsWith(SUFFIX)) {
+            return false;
+        }
+        // Another kbase's name may extend this one's, as in offerKBase and offerKBase-v2
+        String checksum = name.substring(kieBaseName.length() + 1, name.length() - SUFFIX.length());
+        return checksum.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * Reads the serialized kbase straight from the mapped file.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.shaama.rulesengine.snapshot;
+
+import io.shaama.rulesengine.runtime.KieBaseOptions;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.kie.api.runtime.KieContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifies the sources a snapshot of a kbase was built from.
+ *
+ * The digest covers kmodule.xml and every DRL file of the kbase's module. A serialized kbase also
+ * depends on the fact classes it matches, whose fields property reactivity indexes, and on the
+ * Drools and Java versions that wrote it, so the classes the DRL files import and both versions
+ * are part of the digest as well, and so are the {@link KieBaseOptions} it was built with.
+ */
+final class SnapshotChecksum {
+
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+([\\w.]+)\\s*;?\\s*$", Pattern.MULTILINE);
+
+    private SnapshotChecksum() {
+    }
+
+    /**
+     * The checksum, or null if the container does not expose the module the kbase comes from.
+     */
+    static String of(KieContainer kieContainer, String kieBaseName) {
+        if (!(kieContainer instanceof KieContainerImpl container)) {
+            return null;
+        }
+        InternalKieModule kieModule = container.getKieProject().getKieModuleForKBase(kieBaseName);
+        if (kieModule == null) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        update(digest, DroolsObjectOutputStream.class.getPackage().getImplementationVersion() + "|" + Runtime.version()
+                + "|" + KieBaseOptions.ALPHA_RANGE_INDEX_THRESHOLD);
+        update(digest, kieModule.getKieModuleModel().toXML());
+        TreeSet<String> imports = new TreeSet<>();
+        for (String fileName : new TreeSet<>(kieModule.getFileNames())) {
+            if (!fileName.endsWith(".drl")) {
+                continue;
+            }
+            byte[] content = kieModule.getBytes(fileName);
+            if (content == null) {
+                continue;
+            }
+            update(digest, fileName);
+            digest.update(content);
+            Matcher matcher = IMPORT.matcher(new String(content, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                imports.add(matcher.group(1));
+            }
+        }
+        for (String className : imports) {
+            String resource = className.replace('.', '/') + ".class";
+            try (InputStream in = kieContainer.getClassLoader().getResourceAsStream(resource)) {
+                update(digest, className);
+                if (in != null) {
+                    digest.update(in.readAllBytes());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + resource, e);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
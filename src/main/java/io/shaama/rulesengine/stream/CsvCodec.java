@@ -0,0 +1,124 @@
+package io.shaama.rulesengine.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV records; input columns are matched to fields by the header, empty values are left unset.
+ * Output records carry every field of the schema.
+ */
+class CsvCodec<T> implements RecordCodec<T> {
+
+    private final FactSchema<T> schema;
+    private String[] columns = new String[0];
+
+    CsvCodec(FactSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public boolean hasHeader() {
+        return true;
+    }
+
+    @Override
+    public void readHeader(String line) {
+        List<String> names = split(line);
+        columns = names.stream().map(String::strip).toArray(String[]::new);
+    }
+
+    @Override
+    public String outputHeader() {
+        StringBuilder header = new StringBuilder();
+        for (FactSchema.Field<T> field : schema.fields()) {
+            if (!header.isEmpty()) {
+                header.append(',');
+            }
+            header.append(field.name());
+        }
+        return header.toString();
+    }
+
+    @Override
+    public T decode(String line) {
+        List<String> values = split(line);
+        if (values.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values but found " + values.size());
+        }
+        T fact = schema.newFact();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i);
+            if (!value.isEmpty()) {
+                schema.set(fact, columns[i], value);
+            }
+        }
+        return fact;
+    }
+
+    @Override
+    public void encode(T fact, StringBuilder out) {
+        boolean first = true;
+        for (FactSchema.Field<T> field : schema.fields()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            Object value = field.getter().apply(fact);
+            if (value != null) {
+                appendValue(value.toString(), out);
+            }
+        }
+    }
+
+    private static void appendValue(String value, StringBuilder out) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,164 @@
+package io.shaama.rulesengine.stream;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.ProductType;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Record layout of a fact type: which named fields are read from input records and which are
+ * written to output records, and the kbase the facts are evaluated against.
+ *
+ * Only input fields are read, so the outputs of an earlier run in a re-scored export do not
+ * suppress the rules that set them. Output records carry the input fields followed by the
+ * fields the rules set.
+ */
+public final class FactSchema<T> {
+
+    public static final FactSchema<Order> ORDER = new FactSchema<>("order", KieBaseNames.ORDER, Order::new, List.of(
+            input("orderId", Order::setOrderId, Order::getOrderId),
+            input("customerId", Order::setCustomerId, Order::getCustomerId),
+            input("orderAmount", (Order o, String v) -> o.setOrderAmount(new BigDecimal(v)), Order::getOrderAmount),
+            input("deliveryZone", (Order o, String v) -> o.setDeliveryZone(DeliveryZone.of(v)), Order::getDeliveryZone),
+            input("orderDate", (Order o, String v) -> o.setOrderDate(LocalDateTime.parse(v)), Order::getOrderDate),
+            input("itemCount", (Order o, String v) -> o.setItemCount(Integer.valueOf(v)), Order::getItemCount),
+            input("isPeakHour", (Order o, String v) -> o.setPeakHour(parseBoolean(v)), Order::isPeakHour),
+            input("productType", (Order o, String v) -> o.setProductType(ProductType.of(v)), Order::getProductType),
+            output("shippingCharge", Order::getShippingCharge),
+            output("processingFee", Order::getProcessingFee),
+            output("totalAmount", Order::getTotalAmount),
+            output("orderPriority", Order::getOrderPriority),
+            output("requiresApproval", Order::isRequiresApproval),
+            output("freeShippingEligible", Order::isFreeShippingEligible),
+            output("validationMessage", Order::getValidationMessage)));
+
+    public static final FactSchema<Payment> PAYMENT = new FactSchema<>("payment", KieBaseNames.PAYMENT, Payment::new, List.of(
+            input("paymentId", Payment::setPaymentId, Payment::getPaymentId),
+            input("orderId", Payment::setOrderId, Payment::getOrderId),
+            input("customerId", Payment::setCustomerId, Payment::getCustomerId),
+            input("amount", (Payment p, String v) -> p.setAmount(new BigDecimal(v)), Payment::getAmount),
+            input("paymentMethod", (Payment p, String v) -> p.setPaymentMethod(PaymentMethod.of(v)), Payment::getPaymentMethod),
+            input("customerType", (Payment p, String v) -> p.setCustomerType(CustomerType.of(v)), Payment::getCustomerType),
+            input("transactionCount", (Payment p, String v) -> p.setTransactionCount(Integer.valueOf(v)), Payment::getTransactionCount),
+            input("paymentDate", (Payment p, String v) -> p.setPaymentDate(LocalDateTime.parse(v)), Payment::getPaymentDate),
+            input("currency", Payment::setCurrency, Payment::getCurrency),
+            input("creditLimit", (Payment p, String v) -> p.setCreditLimit(new BigDecimal(v)), Payment::getCreditLimit),
+            output("paymentApproved", Payment::isPaymentApproved),
+            output("paymentStatus", Payment::getPaymentStatus),
+            output("transactionFee", Payment::getTransactionFee),
+            output("cashbackAmount", Payment::getCashbackAmount),
+            output("cashbackPercentage", Payment::getCashbackPercentage),
+            output("requiresManualReview", Payment::isRequiresManualReview),
+            output("rejectionReason", Payment::getRejectionReason),
+            output("riskScore", Payment::getRiskScore)));
+
+    public static final FactSchema<Offer> OFFER = new FactSchema<>("offer", KieBaseNames.OFFER, Offer::new, List.of(
+            input("offerId", Offer::setOfferId, Offer::getOfferId),
+            input("offerCode", Offer::setOfferCode, Offer::getOfferCode),
+            input("customerId", Offer::setCustomerId, Offer::getCustomerId),
+            input("customerSegment", (Offer o, String v) -> o.setCustomerSegment(CustomerSegment.of(v)), Offer::getCustomerSegment),
+            input("orderAmount", (Offer o, String v) -> o.setOrderAmount(new BigDecimal(v)), Offer::getOrderAmount),
+            input("offerValidUntil", (Offer o, String v) -> o.setOfferValidUntil(LocalDate.parse(v)), Offer::getOfferValidUntil),
+            input("productCategory", (Offer o, String v) -> o.setProductCategory(ProductType.of(v)), Offer::getProductCategory),
+            input("isFirstTimeCustomer", (Offer o, String v) -> o.setFirstTimeCustomer(parseBoolean(v)), Offer::isFirstTimeCustomer),
+            output("discountPercentage", Offer::getDiscountPercentage),
+            output("discountAmount", Offer::getDiscountAmount),
+            output("appliedOfferType", Offer::getAppliedOfferType),
+            output("offerApplicable", Offer::isOfferApplicable),
+            output("rejectionReason", Offer::getRejectionReason)));
+
+    private static final Map<String, FactSchema<?>> BY_NAME = Map.of(
+            ORDER.name, ORDER, PAYMENT.name, PAYMENT, OFFER.name, OFFER);
+
+    private final String name;
+    private final String kieBaseName;
+    private final Supplier<T> factory;
+    private final List<Field<T>> fields;
+    private final Map<String, Field<T>> inputs = new LinkedHashMap<>();
+
+    private FactSchema(String name, String kieBaseName, Supplier<T> factory, List<Field<T>> fields) {
+        this.name = name;
+        this.kieBaseName = kieBaseName;
+        this.factory = factory;
+        this.fields = fields;
+        for (Field<T> field : fields) {
+            if (field.setter() != null) {
+                inputs.put(field.name(), field);
+            }
+        }
+    }
+
+    /**
+     * Looks up a schema by its name, {@code order}, {@code payment} or {@code offer}.
+     */
+    public static FactSchema<?> named(String name) {
+        FactSchema<?> schema = BY_NAME.get(name.toLowerCase(Locale.ROOT));
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown record type " + name + ", expected one of " + BY_NAME.keySet());
+        }
+        return schema;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKieBaseName() {
+        return kieBaseName;
+    }
+
+    T newFact() {
+        return factory.get();
+    }
+
+    List<Field<T>> fields() {
+        return fields;
+    }
+
+    /**
+     * Sets an input field from its text form; unknown and output fields are ignored.
+     */
+    void set(T fact, String fieldName, String value) {
+        Field<T> field = inputs.get(fieldName);
+        if (field != null) {
+            field.setter().accept(fact, value);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+    private static <T> Field<T> input(String name, BiConsumer<T, String> setter, Function<T, ?> getter) {
+        return new Field<>(name, setter, getter);
+    }
+
+    private static <T> Field<T> output(String name, Function<T, ?> getter) {
+        return new Field<>(name, null, getter);
+    }
+
+    record Field<T>(String name, BiConsumer<T, String> setter, Function<T, ?> getter) {
+    }
+}
@@ -0,0 +1,91 @@
+package io.shaama.rulesengine.stream;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 lines from a file through a sliding memory-mapped window.
+ *
+ * Only one window is mapped at a time, so files larger than the 2 GB limit of a single mapping
+ * are read with the same footprint as small ones: the window and a buffer as long as the
+ * longest line. Lines end at {@code \n}; a trailing {@code \r} is dropped.
+ */
+class MappedLineReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] line = new byte[256];
+
+    MappedLineReader(Path file, long windowBytes) throws IOException {
+        if (windowBytes < 1 || windowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowBytes must be between 1 and " + Integer.MAX_VALUE + ": " + windowBytes);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Returns the next line, or null at the end of the file.
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        boolean read = false;
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                if (!advance()) {
+                    return read ? decode(length) : null;
+                }
+            }
+            read = true;
+            byte b = window.get();
+            if (b == '\n') {
+                return decode(length);
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+    }
+
+    /** Bytes consumed so far. */
+    long position() {
+        return window == null ? 0 : windowStart + window.position();
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean advance() throws IOException {
+        long next = position();
+        if (next >= size) {
+            return false;
+        }
+        windowStart = next;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowBytes, size - next));
+        return true;
+    }
+
+    private String decode(int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,210 @@
+package io.shaama.rulesengine.stream;
+
+/**
+ * Newline-delimited JSON records. Each line is a flat object whose values are strings, numbers,
+ * booleans or null; nested objects and arrays are rejected. Numbers are passed to the fields as
+ * written, so amounts keep their scale.
+ */
+class NdjsonCodec<T> implements RecordCodec<T> {
+
+    private final FactSchema<T> schema;
+
+    NdjsonCodec(FactSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public boolean hasHeader() {
+        return false;
+    }
+
+    @Override
+    public void readHeader(String line) {
+        throw new UnsupportedOperationException("NDJSON has no header");
+    }
+
+    @Override
+    public String outputHeader() {
+        return null;
+    }
+
+    @Override
+    public T decode(String line) {
+        T fact = schema.newFact();
+        new Parser(line).parseObject(fact);
+        return fact;
+    }
+
+    @Override
+    public void encode(T fact, StringBuilder out) {
+        out.append('{');
+        boolean first = true;
+        for (FactSchema.Field<T> field : schema.fields()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            appendString(field.name(), out);
+            out.append(':');
+            Object value = field.getter().apply(fact);
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                out.append(value);
+            } else {
+                appendString(value.toString(), out);
+            }
+        }
+        out.append('}');
+    }
+
+    private static void appendString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Single-pass parser for one flat JSON object.
+     */
+    private class Parser {
+        private final String line;
+        private int pos;
+
+        Parser(String line) {
+            this.line = line;
+        }
+
+        void parseObject(T fact) {
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                do {
+                    skipWhitespace();
+                    String name = parseString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    String value = parseValue();
+                    if (value != null) {
+                        schema.set(fact, name, value);
+                    }
+                    skipWhitespace();
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (pos != line.length()) {
+                throw error("Unexpected content after the object");
+            }
+        }
+
+        /**
+         * Returns the text of a scalar value, or null for JSON null.
+         */
+        private String parseValue() {
+            char c = peek();
+            if (c == '"') {
+                return parseString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            int start = pos;
+            while (pos < line.length() && ",} \t".indexOf(line.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = line.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("Missing value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (pos >= line.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = line.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= line.length()) {
+                    throw error("Unterminated escape");
+                }
+                char escaped = line.charAt(pos++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > line.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        value.append((char) Integer.parseInt(line, pos, pos + 4, 16));
+                        pos += 4;
+                    }
+                    default -> throw error("Invalid escape \\" + escaped);
+                }
+            }
+        }
+
+        private char peek() {
+            if (pos >= line.length()) {
+                throw error("Unexpected end of line");
+            }
+            return line.charAt(pos);
+        }
+
+        private boolean consume(char c) {
+            if (pos < line.length() && line.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at column " + (pos + 1));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.shaama.rulesengine.stream;
+
+/**
+ * Converts between the lines of one {@link RecordFormat} and facts of one {@link FactSchema}.
+ *
+ * A codec is configured by {@link #readHeader(String)} before the workers start and is then
+ * only read, so the workers share it.
+ */
+interface RecordCodec<T> {
+
+    /** Whether the first input line is a header rather than a record. */
+    boolean hasHeader();
+
+    void readHeader(String line);
+
+    /** Line written before the first output record, or null. */
+    String outputHeader();
+
+    /**
+     * @throws IllegalArgumentException if the line is not a valid record
+     */
+    T decode(String line);
+
+    void encode(T fact, StringBuilder out);
+}
@@ -0,0 +1,32 @@
+package io.shaama.rulesengine.stream;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Line-oriented record formats the stream processor reads and writes.
+ */
+public enum RecordFormat {
+    /** One flat JSON object per line. */
+    NDJSON,
+    /** Comma-separated values with a header line; quoted values may not span lines. */
+    CSV;
+
+    /**
+     * Picks the format from the file extension: {@code .csv}, or {@code .ndjson}/{@code .jsonl}/{@code .json}.
+     */
+    public static RecordFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the record format of " + file + " from its extension");
+    }
+
+    <T> RecordCodec<T> codec(FactSchema<T> schema) {
+        return this == CSV ? new CsvCodec<>(schema) : new NdjsonCodec<>(schema);
+    }
+}
@@ -0,0 +1,45 @@
+package io.shaama.rulesengine.stream;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Pipeline sizing for {@link StreamProcessor}. Memory use is bounded by these settings, not by
+ * the size of the input.
+ */
+@Value
+@Builder
+public class StreamConfig {
+
+    /** Records parsed, evaluated in one stateless execute and encoded together. */
+    @Builder.Default
+    int batchSize = 512;
+
+    /** Batches between reading and writing at any time, including those being evaluated. */
+    @Builder.Default
+    int maxBatchesInFlight = 32;
+
+    /** Threads parsing, evaluating and encoding batches. */
+    @Builder.Default
+    int workers = Runtime.getRuntime().availableProcessors();
+
+    /** Size of the memory-mapped window the input is read through. */
+    @Builder.Default
+    long mapWindowBytes = 64L << 20;
+
+    /** Receives a decision event per rule firing; discards them unless configured. */
+    @Builder.Default
+    DecisionEventSink decisionEventSink = DecisionEventSink.NOOP;
+
+    /** Hit policy per kbase name, as in the engine's configuration; kbases not listed use {@link HitPolicy#COLLECT}. */
+    @Builder.Default
+    Map<String, HitPolicy> hitPolicies = Map.of();
+
+    public static StreamConfig defaults() {
+        return StreamConfig.builder().build();
+    }
+}
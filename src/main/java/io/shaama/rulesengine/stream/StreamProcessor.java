@@ -0,0 +1,313 @@
+package io.shaama.rulesengine.stream;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.runtime.ConfiguredKieBases;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Re-scores an export file of orders, payments or offers and writes the enriched records.
+ *
+ * A reader thread splits the memory-mapped input into batches of lines. Worker threads parse
+ * each batch, execute it in one stateless session, applying the kbase's hit policy from
+ * {@link StreamConfig#getHitPolicies()}, and encode the results. The calling thread
+ * writes the encoded batches in input order. At most {@link StreamConfig#getMaxBatchesInFlight()}
+ * batches exist at a time, so memory use does not grow with the input. Lines that cannot be
+ * parsed are skipped and counted; any other failure stops the pipeline and is rethrown.
+ */
+public class StreamProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamProcessor.class);
+    private static final int LOGGED_MALFORMED_LINES = 10;
+
+    private final ConfiguredKieBases kieBases;
+    private final StreamConfig config;
+
+    public StreamProcessor(KieContainer kieContainer, StreamConfig config) {
+        if (config.getBatchSize() < 1 || config.getMaxBatchesInFlight() < 1 || config.getWorkers() < 1) {
+            throw new IllegalArgumentException("batchSize, maxBatchesInFlight and workers must be positive: " + config);
+        }
+        this.kieBases = new ConfiguredKieBases(kieContainer);
+        this.config = config;
+    }
+
+    /**
+     * Creates a processor on the classpath KJAR with the default configuration.
+     */
+    public static StreamProcessor create() {
+        return new StreamProcessor(KieServices.Factory.get().getKieClasspathContainer(), StreamConfig.defaults());
+    }
+
+    /**
+     * Processes {@code input} into {@code output}, taking both formats from the file extensions.
+     */
+    public <T> StreamStats process(FactSchema<T> schema, Path input, Path output) throws IOException {
+        return process(schema, input, RecordFormat.of(input), output, RecordFormat.of(output));
+    }
+
+    public <T> StreamStats process(FactSchema<T> schema, Path input, RecordFormat inputFormat,
+                                   Path output, RecordFormat outputFormat) throws IOException {
+        RecordCodec<T> decoder = inputFormat.codec(schema);
+        RecordCodec<T> encoder = outputFormat.codec(schema);
+        KieBase kieBase = kieBases.get(schema.getKieBaseName());
+        long start = System.nanoTime();
+        try (MappedLineReader lines = new MappedLineReader(input, config.getMapWindowBytes());
+             Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            if (decoder.hasHeader()) {
+                String header = lines.readLine();
+                lineNumber++;
+                if (header != null) {
+                    decoder.readHeader(header);
+                }
+            }
+            String outputHeader = encoder.outputHeader();
+            if (outputHeader != null) {
+                out.write(outputHeader);
+                out.write('\n');
+            }
+            HitPolicy hitPolicy = config.getHitPolicies().getOrDefault(schema.getKieBaseName(), HitPolicy.COLLECT);
+            Pipeline<T> pipeline = new Pipeline<>(kieBase, hitPolicy, decoder, encoder);
+            pipeline.run(lines, lineNumber, out);
+            return StreamStats.builder()
+                    .recordType(schema.getName())
+                    .records(pipeline.records)
+                    .malformed(pipeline.malformed)
+                    .bytesRead(lines.size())
+                    .elapsedNanos(System.nanoTime() - start)
+                    .build();
+        }
+    }
+
+    private record Batch(long sequence, List<String> lines, long[] lineNumbers) {
+        static final Batch END = new Batch(-1, List.of(), new long[0]);
+    }
+
+    private record Encoded(long sequence, String text, int records, int malformed) {
+    }
+
+    /**
+     * State of one run: the two hand-off queues, the in-flight permits and the first failure.
+     */
+    private class Pipeline<T> {
+        private final KieBase kieBase;
+        private final HitPolicy hitPolicy;
+        private final RecordCodec<T> decoder;
+        private final RecordCodec<T> encoder;
+        private final BlockingQueue<Batch> parsed;
+        private final BlockingQueue<Encoded> evaluated;
+        private final Semaphore inFlight;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong malformedLogged = new AtomicLong();
+        private final List<Thread> threads = new ArrayList<>();
+        private volatile long batchCount = -1;
+        private long records;
+        private long malformed;
+
+        Pipeline(KieBase kieBase, HitPolicy hitPolicy, RecordCodec<T> decoder, RecordCodec<T> encoder) {
+            this.kieBase = kieBase;
+            this.hitPolicy = hitPolicy;
+            this.decoder = decoder;
+            this.encoder = encoder;
+            this.parsed = new ArrayBlockingQueue<>(config.getMaxBatchesInFlight() + config.getWorkers());
+            this.evaluated = new ArrayBlockingQueue<>(config.getMaxBatchesInFlight());
+            this.inFlight = new Semaphore(config.getMaxBatchesInFlight());
+        }
+
+        void run(MappedLineReader lines, long headerLines, Writer out) throws IOException {
+            threads.add(Thread.ofPlatform().name("stream-reader").unstarted(guarded(() -> read(lines, headerLines))));
+            for (int i = 0; i < config.getWorkers(); i++) {
+                threads.add(Thread.ofPlatform().name("stream-worker-" + i).unstarted(guarded(this::evaluate)));
+            }
+            threads.forEach(Thread::start);
+            try {
+                write(out);
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } finally {
+                for (Thread thread : threads) {
+                    joinUninterruptibly(thread);
+                }
+            }
+            Throwable error = failure.get();
+            if (error instanceof IOException e) {
+                throw e;
+            }
+            if (error instanceof UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (error instanceof RuntimeException e) {
+                throw e;
+            }
+            if (error != null) {
+                throw new IllegalStateException("Stream processing failed", error);
+            }
+        }
+
+        private void read(MappedLineReader lines, long headerLines) throws IOException, InterruptedException {
+            long lineNumber = headerLines;
+            long sequence = 0;
+            int batchSize = config.getBatchSize();
+            List<String> batch = new ArrayList<>(batchSize);
+            long[] lineNumbers = new long[batchSize];
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lineNumbers[batch.size()] = lineNumber;
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    inFlight.acquire();
+                    parsed.put(new Batch(sequence++, batch, lineNumbers));
+                    batch = new ArrayList<>(batchSize);
+                    lineNumbers = new long[batchSize];
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.acquire();
+                parsed.put(new Batch(sequence++, batch, lineNumbers));
+            }
+            batchCount = sequence;
+            for (int i = 0; i < config.getWorkers(); i++) {
+                parsed.put(Batch.END);
+            }
+        }
+
+        private void evaluate() throws InterruptedException {
+            StatelessKieSession session = kieBase.newStatelessKieSession();
+            session.setGlobal(DecisionEventSink.GLOBAL, config.getDecisionEventSink());
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                Batch batch = parsed.take();
+                if (batch == Batch.END) {
+                    return;
+                }
+                List<T> facts = new ArrayList<>(batch.lines().size());
+                int skipped = 0;
+                for (int i = 0; i < batch.lines().size(); i++) {
+                    try {
+                        facts.add(decoder.decode(batch.lines().get(i)));
+                    } catch (RuntimeException e) {
+                        skipped++;
+                        logMalformed(batch.lineNumbers()[i], e);
+                    }
+                }
+                if (!facts.isEmpty()) {
+                    hitPolicy.execute(session, facts);
+                }
+                text.setLength(0);
+                for (T fact : facts) {
+                    encoder.encode(fact, text);
+                    text.append('\n');
+                }
+                evaluated.put(new Encoded(batch.sequence(), text.toString(), facts.size(), skipped));
+            }
+        }
+
+        /**
+         * Writes encoded batches in sequence order; batches finished early wait in {@code pending}.
+         */
+        private void write(Writer out) throws IOException, InterruptedException {
+            Map<Long, Encoded> pending = new HashMap<>();
+            long next = 0;
+            while (next != batchCount) {
+                if (failure.get() != null) {
+                    return;
+                }
+                Encoded encoded = evaluated.poll(100, TimeUnit.MILLISECONDS);
+                if (encoded == null) {
+                    continue;
+                }
+                pending.put(encoded.sequence(), encoded);
+                while ((encoded = pending.remove(next)) != null) {
+                    out.write(encoded.text());
+                    records += encoded.records();
+                    malformed += encoded.malformed();
+                    next++;
+                    inFlight.release();
+                }
+            }
+        }
+
+        private void logMalformed(long lineNumber, RuntimeException e) {
+            long logged = malformedLogged.incrementAndGet();
+            if (logged <= LOGGED_MALFORMED_LINES) {
+                logger.warn("Skipping malformed record on line {}: {}", lineNumber, e.toString());
+            }
+            if (logged == LOGGED_MALFORMED_LINES) {
+                logger.warn("Further malformed records are counted but not logged");
+            }
+        }
+
+        private Runnable guarded(Task task) {
+            return () -> {
+                try {
+                    task.run();
+                } catch (InterruptedException e) {
+                    if (failure.get() == null) {
+                        fail(e);
+                    }
+                } catch (Throwable e) {
+                    fail(e);
+                }
+            };
+        }
+
+        private void fail(Throwable error) {
+            if (failure.compareAndSet(null, error)) {
+                threads.forEach(thread -> {
+                    if (thread != Thread.currentThread()) {
+                        thread.interrupt();
+                    }
+                });
+            }
+        }
+
+        private void joinUninterruptibly(Thread thread) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
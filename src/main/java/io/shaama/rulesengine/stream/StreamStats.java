@@ -0,0 +1,27 @@
+package io.shaama.rulesengine.stream;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Statistics for one file processed by {@link StreamProcessor}.
+ */
+@Value
+@Builder
+public class StreamStats {
+    String recordType;
+    /** Records evaluated and written. */
+    long records;
+    /** Input lines skipped because they could not be parsed. */
+    long malformed;
+    long bytesRead;
+    long elapsedNanos;
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesRead * 1_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,169 @@
+package io.shaama.rulesengine.velocity;
+
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentEvent;
+import io.shaama.rulesengine.model.PaymentVelocity;
+import io.shaama.rulesengine.runtime.KieSessionNames;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.time.SessionClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Counts each customer's successful payments over sliding windows in a long-lived stream-mode
+ * session, so callers no longer query their own stores for {@link Payment#getTransactionCount()}.
+ *
+ * Payments are recorded as {@link PaymentEvent}s on the {@value #ENTRY_POINT} entry point and
+ * expire after 30 days, the longest window, so the session holds only the events still inside
+ * a window. Lookups insert a {@link PaymentVelocity} request that the velocity rules fill in
+ * from indexed per-customer accumulations and then remove. The session is not thread-safe, so
+ * all calls are serialized.
+ *
+ * Events carry the time of the payment, not the time they were recorded. A tracker on the wall
+ * clock starts empty, so after a restart {@link #backfill} the last 30 days of payments from the
+ * payment store before the first lookup; they land in the windows they were made in.
+ */
+public class PaymentVelocityTracker implements AutoCloseable {
+
+    public static final String ENTRY_POINT = "payment-events";
+    /** The longest velocity window, after which payment events expire. */
+    public static final Duration LONGEST_WINDOW = Duration.ofDays(30);
+
+    private final KieSession session;
+    private final EntryPoint events;
+
+    public PaymentVelocityTracker(KieSession session) {
+        this.session = session;
+        this.events = session.getEntryPoint(ENTRY_POINT);
+    }
+
+    /**
+     * Creates a tracker on the {@value KieSessionNames#PAYMENT_VELOCITY} session of the container,
+     * using the wall clock.
+     */
+    public static PaymentVelocityTracker create(KieContainer kieContainer) {
+        return new PaymentVelocityTracker(kieContainer.newKieSession(KieSessionNames.PAYMENT_VELOCITY));
+    }
+
+    /**
+     * Creates a tracker whose session runs on a pseudo clock, advanced through {@link #getClock()};
+     * for tests and for replaying historical payments.
+     */
+    public static PaymentVelocityTracker withPseudoClock(KieContainer kieContainer) {
+        KieSessionConfiguration configuration = KieServices.Factory.get().newKieSessionConfiguration();
+        configuration.setOption(ClockTypeOption.PSEUDO);
+        return new PaymentVelocityTracker(kieContainer.newKieSession(KieSessionNames.PAYMENT_VELOCITY, configuration));
+    }
+
+    /**
+     * Records a successful payment at the current session time.
+     */
+    public synchronized void record(String customerId, String paymentId, long amountMinor) {
+        events.insert(new PaymentEvent(customerId, paymentId, amountMinor, session.getSessionClock().getCurrentTime()));
+    }
+
+    /**
+     * Records a successful payment made at {@code paidAt}, which may lie in the past.
+     */
+    public void record(String customerId, String paymentId, long amountMinor, Instant paidAt) {
+        backfill(List.of(new PaymentEvent(customerId, paymentId, amountMinor, paidAt.toEpochMilli())));
+    }
+
+    /**
+     * Records the payment if the payment rules approved it, at its {@code paymentDate} in the
+     * system time zone, or at the current session time if it has none.
+     */
+    public void record(Payment payment) {
+        if (!payment.isPaymentApproved() || payment.getCustomerId() == null) {
+            return;
+        }
+        if (payment.getPaymentDate() == null) {
+            record(payment.getCustomerId(), payment.getPaymentId(), payment.getAmountMinor());
+        } else {
+            record(payment.getCustomerId(), payment.getPaymentId(), payment.getAmountMinor(),
+                    payment.getPaymentDate().atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    /**
+     * Replays successful payments, e.g. those of the last 30 days from the payment store after a
+     * restart, in any order. Events that have already left {@link #LONGEST_WINDOW} are skipped.
+     *
+     * @return the number of events recorded
+     */
+    public synchronized int backfill(Iterable<PaymentEvent> payments) {
+        long oldest = session.getSessionClock().getCurrentTime() - LONGEST_WINDOW.toMillis();
+        int recorded = 0;
+        for (PaymentEvent payment : payments) {
+            if (payment.getPaidAtMillis() > oldest) {
+                events.insert(payment);
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    public synchronized PaymentVelocity velocity(String customerId) {
+        PaymentVelocity velocity = new PaymentVelocity(customerId);
+        session.insert(velocity);
+        session.fireAllRules();
+        return velocity;
+    }
+
+    /**
+     * Sets {@link Payment#setTransactionCount(Integer)} from the customer's last 30 days, ready for
+     * the payment rules. Payments without a customer id are left unchanged.
+     */
+    public Payment enrich(Payment payment) {
+        if (payment.getCustomerId() != null) {
+            payment.setTransactionCount(Math.toIntExact(velocity(payment.getCustomerId()).getTransactionsLast30Days()));
+        }
+        return payment;
+    }
+
+    /**
+     * Moves the payment events of the customers {@code moved} accepts to another tracker, e.g.
+     * those a {@link io.shaama.rulesengine.partition.PartitionedExecutor} resize assigns to
+     * another partition, so it can be built with {@code PaymentVelocityTracker::handOff}.
+     *
+     * @return the number of events the other tracker recorded
+     */
+    public int handOff(PaymentVelocityTracker to, Predicate<String> moved) {
+        List<PaymentEvent> leaving = new ArrayList<>();
+        synchronized (this) {
+            for (FactHandle handle : new ArrayList<>(events.getFactHandles(
+                    fact -> fact instanceof PaymentEvent event && moved.test(event.getCustomerId())))) {
+                leaving.add((PaymentEvent) events.getObject(handle));
+                events.delete(handle);
+            }
+        }
+        return to.backfill(leaving);
+    }
+
+    /**
+     * Payment events still held by the session, i.e. inside the 30-day window.
+     */
+    public synchronized long getEventCount() {
+        return events.getFactCount();
+    }
+
+    public <T extends SessionClock> T getClock() {
+        return session.getSessionClock();
+    }
+
+    @Override
+    public synchronized void close() {
+        session.dispose();
+    }
+}
@@ -0,0 +1,38 @@
+package io.shaama.rulesengine.workload;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Arrival rate and timing of a {@link LoadTestRunner} run.
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+
+    /** Evaluations started per second, whether or not earlier ones have completed. */
+    @Builder.Default
+    double ratePerSecond = 1_000;
+
+    /** How long evaluations are started and measured, after the warm-up. */
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(30);
+
+    /** Initial period run at the same rate but left out of the results. */
+    @Builder.Default
+    Duration warmUp = Duration.ofSeconds(5);
+
+    /** How long to wait for outstanding evaluations after the last one was started. */
+    @Builder.Default
+    Duration drainTimeout = Duration.ofSeconds(30);
+
+    /** Seed of the {@link WorkloadGenerator}. */
+    @Builder.Default
+    long seed = 42;
+
+    public static LoadTestConfig defaults() {
+        return LoadTestConfig.builder().build();
+    }
+}
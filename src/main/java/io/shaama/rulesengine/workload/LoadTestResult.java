@@ -0,0 +1,38 @@
+package io.shaama.rulesengine.workload;
+
+import io.shaama.rulesengine.metrics.LatencySnapshot;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of a {@link LoadTestRunner} run; warm-up evaluations are not counted.
+ */
+@Value
+@Builder
+public class LoadTestResult {
+    double targetRatePerSecond;
+    /** From the first measured start to the last completion. */
+    long elapsedNanos;
+    /** Evaluations started in the measured period. */
+    long started;
+    long completed;
+    /** Evaluations that failed, including those the engine rejected. */
+    long failed;
+    /** Failed evaluations rejected by the engine's backpressure. */
+    long rejected;
+    /** Evaluations still outstanding when the drain timeout ran out. */
+    long timedOut;
+    /**
+     * Latency from when each evaluation was due to start, so time an evaluation spent waiting
+     * behind a stalled generator or engine is counted (coordinated-omission corrected).
+     */
+    LatencySnapshot latency;
+    /** Latency from when each evaluation was actually submitted, as a closed-loop client would see it. */
+    LatencySnapshot serviceTime;
+    /** Furthest the generator fell behind the schedule when submitting. */
+    long maxScheduleLagNanos;
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : completed * 1e9 / elapsedNanos;
+    }
+}
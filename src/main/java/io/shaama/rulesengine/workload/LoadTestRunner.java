@@ -0,0 +1,150 @@
+package io.shaama.rulesengine.workload;
+
+import io.shaama.rulesengine.metrics.LatencyHistogram;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.RulesEngine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link RulesEngine} with synthetic facts at a fixed arrival rate (open loop).
+ *
+ * Evaluation {@code i} is due at {@code start + i / rate} and is submitted then, however many
+ * earlier evaluations are still running. Latency is measured from the due time rather than the
+ * submit time, so when the engine or the submitting thread stalls, every evaluation that should
+ * have started during the stall is charged for it instead of silently starting late. This is
+ * the coordinated-omission correction HdrHistogram describes; the uncorrected service time is
+ * reported next to it. Facts are drawn before their due time so generating them is not measured.
+ */
+public class LoadTestRunner {
+
+    private static final long SPIN_NANOS = 50_000;
+
+    private final RulesEngine engine;
+    private final WorkloadProfile profile;
+
+    public LoadTestRunner(RulesEngine engine, WorkloadProfile profile) {
+        this.engine = engine;
+        this.profile = profile;
+    }
+
+    public LoadTestRunner(RulesEngine engine) {
+        this(engine, WorkloadProfile.defaults());
+    }
+
+    /**
+     * Runs the warm-up and the measured period on the calling thread, then waits for outstanding
+     * evaluations up to the drain timeout.
+     */
+    public LoadTestResult run(LoadTestConfig config) {
+        if (!(config.getRatePerSecond() > 0)) {
+            throw new IllegalArgumentException("ratePerSecond must be positive: " + config.getRatePerSecond());
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(profile, config.getSeed());
+        double intervalNanos = 1e9 / config.getRatePerSecond();
+        LatencyHistogram latency = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        AtomicLong outstanding = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+
+        long start = System.nanoTime();
+        long measuredStart = start + config.getWarmUp().toNanos();
+        long end = measuredStart + config.getDuration().toNanos();
+        long started = 0;
+        long maxScheduleLag = 0;
+        for (long i = 0; ; i++) {
+            long due = start + Math.round(i * intervalNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            Object fact = generator.next();
+            waitUntil(due);
+            long submitted = System.nanoTime();
+            boolean measured = due - measuredStart >= 0;
+            if (measured) {
+                started++;
+                maxScheduleLag = Math.max(maxScheduleLag, submitted - due);
+                outstanding.incrementAndGet();
+            }
+            submit(fact).whenComplete((result, error) -> {
+                if (!measured) {
+                    return;
+                }
+                long now = System.nanoTime();
+                if (error == null) {
+                    latency.record(now - due);
+                    serviceTime.record(now - submitted);
+                    completed.increment();
+                } else {
+                    failed.increment();
+                    if (unwrap(error) instanceof RejectedExecutionException) {
+                        rejected.increment();
+                    }
+                }
+                lastCompletion.accumulateAndGet(now, Math::max);
+                outstanding.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + config.getDrainTimeout().toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        long finished = lastCompletion.get() == 0 ? System.nanoTime() : lastCompletion.get();
+        return LoadTestResult.builder()
+                .targetRatePerSecond(config.getRatePerSecond())
+                .elapsedNanos(started == 0 ? 0 : Math.max(0, finished - measuredStart))
+                .started(started)
+                .completed(completed.sum())
+                .failed(failed.sum())
+                .rejected(rejected.sum())
+                .timedOut(outstanding.get())
+                .latency(latency.snapshot())
+                .serviceTime(serviceTime.snapshot())
+                .maxScheduleLagNanos(maxScheduleLag)
+                .build();
+    }
+
+    private CompletableFuture<?> submit(Object fact) {
+        try {
+            if (fact instanceof Offer offer) {
+                return engine.evaluateOffer(offer);
+            }
+            if (fact instanceof Order order) {
+                return engine.evaluateOrder(order);
+            }
+            return engine.evaluatePayment((Payment) fact);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Parks until shortly before the due time and spins the rest, so arrivals stay on schedule
+     * at rates where the park granularity would be too coarse.
+     */
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            if (remaining > 2 * SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,81 @@
+package io.shaama.rulesengine.workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Draws from a discrete distribution by binary search over the cumulative weights.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulative;
+
+    private WeightedChoice(List<T> values, double[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * Values are taken in key order, not in the map's iteration order, so a seed draws the same
+     * sequence on every JVM.
+     */
+    static <T extends Comparable<T>> WeightedChoice<T> of(String name, Map<T, Double> weights) {
+        List<T> values = new ArrayList<>();
+        List<Double> positive = new ArrayList<>();
+        new TreeMap<>(weights).forEach((value, weight) -> {
+            if (weight == null || weight < 0 || weight.isNaN()) {
+                throw new IllegalArgumentException("Invalid " + name + " weight for " + value + ": " + weight);
+            }
+            if (weight > 0) {
+                values.add(value);
+                positive.add(weight);
+            }
+        });
+        double[] cumulative = new double[values.size()];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += positive.get(i);
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("No " + name + " has a positive weight");
+        }
+        return new WeightedChoice<>(values, cumulative);
+    }
+
+    /**
+     * Zipf distribution over {@code 0 .. size - 1}: rank {@code k} is drawn in proportion to
+     * {@code 1 / (k + 1)^exponent}.
+     */
+    static WeightedChoice<Integer> zipf(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        return new WeightedChoice<>(null, cumulative);
+    }
+
+    /**
+     * @param uniform a draw from [0, 1)
+     */
+    T pick(double uniform) {
+        return values.get(index(uniform));
+    }
+
+    int index(double uniform) {
+        double target = uniform * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        // An exact hit on a boundary belongs to the next value, whose range starts there
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,163 @@
+package io.shaama.rulesengine.workload;
+
+import io.shaama.rulesengine.model.BusinessDate;
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.ProductType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded source of synthetic offers, orders and payments drawn from a {@link WorkloadProfile}.
+ *
+ * Two generators with the same profile and seed produce the same facts in the same order, except
+ * for offer validity dates, which are relative to the {@link BusinessDate} the offer is drawn on,
+ * the date the expiry rule compares against. Customers are drawn from a Zipf distribution, and
+ * each customer keeps its segment and type across facts. Fact ids count up from 1 per fact type.
+ * A generator is not thread-safe; give each thread its own seed.
+ */
+public class WorkloadGenerator {
+
+    private static final int SEGMENT_SALT = 1;
+    private static final int TYPE_SALT = 2;
+
+    private final WorkloadProfile profile;
+    private final long seed;
+    private final SplittableRandom random;
+    private final WeightedChoice<Integer> customers;
+    private final WeightedChoice<CustomerSegment> segments;
+    private final WeightedChoice<CustomerType> customerTypes;
+    private final WeightedChoice<PaymentMethod> paymentMethods;
+    private final WeightedChoice<DeliveryZone> deliveryZones;
+    private final WeightedChoice<ProductType> productTypes;
+    private final double offerShare;
+    private final double orderShare;
+    private long offers;
+    private long orders;
+    private long payments;
+
+    public WorkloadGenerator(WorkloadProfile profile, long seed) {
+        double totalWeight = profile.getOfferWeight() + profile.getOrderWeight() + profile.getPaymentWeight();
+        if (profile.getOfferWeight() < 0 || profile.getOrderWeight() < 0 || profile.getPaymentWeight() < 0
+                || !(totalWeight > 0)) {
+            throw new IllegalArgumentException("Fact weights must be non-negative with a positive sum");
+        }
+        this.profile = profile;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.customers = WeightedChoice.zipf(profile.getCustomers(), profile.getCustomerSkew());
+        this.segments = WeightedChoice.of("customer segment", profile.getCustomerSegments());
+        this.customerTypes = WeightedChoice.of("customer type", profile.getCustomerTypes());
+        this.paymentMethods = WeightedChoice.of("payment method", profile.getPaymentMethods());
+        this.deliveryZones = WeightedChoice.of("delivery zone", profile.getDeliveryZones());
+        this.productTypes = WeightedChoice.of("product type", profile.getProductTypes());
+        this.offerShare = profile.getOfferWeight() / totalWeight;
+        this.orderShare = profile.getOrderWeight() / totalWeight;
+    }
+
+    public WorkloadGenerator(long seed) {
+        this(WorkloadProfile.defaults(), seed);
+    }
+
+    /**
+     * An offer, order or payment in the profile's mix.
+     */
+    public Object next() {
+        double draw = random.nextDouble();
+        if (draw < offerShare) {
+            return nextOffer();
+        }
+        return draw < offerShare + orderShare ? nextOrder() : nextPayment();
+    }
+
+    public Offer nextOffer() {
+        int customer = customer();
+        double validity = random.nextDouble();
+        return Offer.builder()
+                .offerId("OFF-" + ++offers)
+                .customerId(customerId(customer))
+                .customerSegment(segments.pick(attribute(customer, SEGMENT_SALT)))
+                .productCategory(productTypes.pick(random.nextDouble()))
+                .orderAmountMinor(amount(profile.getOfferThresholdsMinor()))
+                .isFirstTimeCustomer(random.nextDouble() < profile.getFirstTimeCustomerRate())
+                .offerValidUntil(validity < profile.getExpiredOfferRate() ? BusinessDate.today().minusDays(1)
+                        : validity < 0.5 ? null : BusinessDate.today().plusDays(30))
+                .build();
+    }
+
+    public Order nextOrder() {
+        int customer = customer();
+        return Order.builder()
+                .orderId("ORD-" + ++orders)
+                .customerId(customerId(customer))
+                .orderAmountMinor(amount(profile.getOrderThresholdsMinor()))
+                .deliveryZone(deliveryZones.pick(random.nextDouble()))
+                .productType(productTypes.pick(random.nextDouble()))
+                .itemCount(random.nextDouble() < profile.getBulkOrderRate() ? 10 + random.nextInt(20) : 1 + random.nextInt(9))
+                .isPeakHour(random.nextDouble() < profile.getPeakHourRate())
+                .build();
+    }
+
+    public Payment nextPayment() {
+        int customer = customer();
+        CustomerType customerType = customerTypes.pick(attribute(customer, TYPE_SALT));
+        PaymentMethod method = paymentMethods.pick(random.nextDouble());
+        long amount = amount(profile.getPaymentThresholdsMinor());
+        return Payment.builder()
+                .paymentId("PAY-" + ++payments)
+                .orderId("ORD-" + payments)
+                .customerId(customerId(customer))
+                .amountMinor(amount)
+                .paymentMethod(method)
+                .customerType(customerType)
+                .transactionCount(customerType == CustomerType.NEW ? random.nextInt(2) : random.nextInt(30))
+                // Most card limits cover the payment; a few are drawn below it to exercise the limit rule
+                .creditLimitMinor(method == PaymentMethod.CREDIT_CARD
+                        ? Math.max(1, Math.round(amount * Math.exp(random.nextGaussian(1.0, 0.8))))
+                        : null)
+                .build();
+    }
+
+    public WorkloadProfile getProfile() {
+        return profile;
+    }
+
+    private int customer() {
+        return customers.index(random.nextDouble());
+    }
+
+    private static String customerId(int customer) {
+        return "CUST-" + customer;
+    }
+
+    /**
+     * A uniform draw fixed by the seed and the customer, so the customer's attributes do not
+     * change from one fact to the next.
+     */
+    private double attribute(int customer, int salt) {
+        long mixed = mix64(seed + customer * 0x9E3779B97F4A7C15L + salt * 0xC2B2AE3D27D4EB4FL);
+        return (mixed >>> 11) * 0x1.0p-53;
+    }
+
+    private long amount(List<Long> thresholds) {
+        if (!thresholds.isEmpty() && random.nextDouble() < profile.getThresholdShare()) {
+            long threshold = thresholds.get(random.nextInt(thresholds.size()));
+            double offset = profile.getThresholdSpread() * (2 * random.nextDouble() - 1);
+            return Math.max(1, Math.round(threshold * (1 + offset)));
+        }
+        double amount = profile.getMedianAmountMinor() * Math.exp(profile.getAmountSigma() * random.nextGaussian());
+        return Math.max(1, Math.round(amount));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,126 @@
+package io.shaama.rulesengine.workload;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.ProductType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distributions {@link WorkloadGenerator} draws facts from.
+ *
+ * Weights are relative and need not sum to 1; a value with no weight is never drawn. Amounts
+ * are log-normal around {@code medianAmountMinor}, except for a {@code thresholdShare} of them
+ * that land within {@code thresholdSpread} of a threshold the rules test. The defaults follow
+ * the production mix and the thresholds of the shipped DRL files.
+ */
+@Value
+@Builder
+public class WorkloadProfile {
+
+    /** Distinct customers; their segment and type stay the same across facts. */
+    @Builder.Default
+    int customers = 100_000;
+
+    /** Zipf exponent of how often each customer shows up; 0 is uniform, higher is more skewed. */
+    @Builder.Default
+    double customerSkew = 1.1;
+
+    /** Relative share of offers, orders and payments in {@link WorkloadGenerator#next()}. */
+    @Builder.Default
+    double offerWeight = 1;
+    @Builder.Default
+    double orderWeight = 1;
+    @Builder.Default
+    double paymentWeight = 1;
+
+    @Builder.Default
+    Map<CustomerSegment, Double> customerSegments = Map.of(
+            CustomerSegment.REGULAR, 0.55,
+            CustomerSegment.SILVER, 0.25,
+            CustomerSegment.GOLD, 0.15,
+            CustomerSegment.PREMIUM, 0.05);
+
+    @Builder.Default
+    Map<CustomerType, Double> customerTypes = Map.of(
+            CustomerType.REGULAR, 0.70,
+            CustomerType.NEW, 0.20,
+            CustomerType.VIP, 0.10);
+
+    @Builder.Default
+    Map<PaymentMethod, Double> paymentMethods = Map.of(
+            PaymentMethod.UPI, 0.35,
+            PaymentMethod.CREDIT_CARD, 0.25,
+            PaymentMethod.DEBIT_CARD, 0.15,
+            PaymentMethod.WALLET, 0.10,
+            PaymentMethod.COD, 0.08,
+            PaymentMethod.NET_BANKING, 0.07);
+
+    @Builder.Default
+    Map<DeliveryZone, Double> deliveryZones = Map.of(
+            DeliveryZone.REGIONAL, 0.35,
+            DeliveryZone.LOCAL, 0.30,
+            DeliveryZone.NATIONAL, 0.28,
+            DeliveryZone.INTERNATIONAL, 0.07);
+
+    @Builder.Default
+    Map<ProductType, Double> productTypes = Map.of(
+            ProductType.GROCERIES, 0.30,
+            ProductType.FASHION, 0.25,
+            ProductType.ELECTRONICS, 0.20,
+            ProductType.OTHER, 0.15,
+            ProductType.BOOKS, 0.10);
+
+    /** Median of the log-normal amounts, in minor units. */
+    @Builder.Default
+    long medianAmountMinor = 60_000;
+
+    /** Standard deviation of the amounts' natural logarithm. */
+    @Builder.Default
+    double amountSigma = 1.0;
+
+    /** Fraction of amounts drawn close to a rule threshold, from 0 to 1. */
+    @Builder.Default
+    double thresholdShare = 0.3;
+
+    /** How far from a threshold such an amount may be, relative to the threshold. */
+    @Builder.Default
+    double thresholdSpread = 0.02;
+
+    /** Offer amount thresholds of offer-rules.drl, in minor units. */
+    @Builder.Default
+    List<Long> offerThresholdsMinor = List.of(20_000L, 50_000L, 80_000L, 100_000L, 150_000L, 200_000L);
+
+    /** Order amount thresholds of order-rules.drl, in minor units. */
+    @Builder.Default
+    List<Long> orderThresholdsMinor = List.of(5_000L, 100_000L, 500_000L, 1_000_000L);
+
+    /** Payment amount thresholds of payment-rules.drl, in minor units. */
+    @Builder.Default
+    List<Long> paymentThresholdsMinor = List.of(100_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L);
+
+    /** Fraction of offers made to first-time customers. */
+    @Builder.Default
+    double firstTimeCustomerRate = 0.15;
+
+    /** Fraction of offers whose validity ended yesterday. */
+    @Builder.Default
+    double expiredOfferRate = 0.05;
+
+    /** Fraction of orders placed at peak hour. */
+    @Builder.Default
+    double peakHourRate = 0.25;
+
+    /** Fraction of orders with ten items or more. */
+    @Builder.Default
+    double bulkOrderRate = 0.05;
+
+    public static WorkloadProfile defaults() {
+        return WorkloadProfile.builder().build();
+    }
+}
@@ -0,0 +1,197 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import io.shaama.rulesengine.fastpath.FastPathEvaluators;
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.ProductType;
+import io.shaama.rulesengine.runtime.KieSessionNames;
+import org.junit.jupiter.api.BeforeAll;
+import org.drools.commands.runtime.rule.FireAllRulesCommand;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieContainerSessionsPool;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.api.runtime.rule.AgendaFilter;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails the build when evaluating one offer, order or payment allocates more than its budget, so
+ * allocation regressions in DRL edits are caught before they reach the GC logs.
+ *
+ * Allocation is read from the HotSpot per-thread allocated-bytes counter around a batch of
+ * evaluations on the test thread, after enough warm-up for the JIT to have compiled the path. The
+ * facts are built before the counter is read. The fast path runs the DRL constraints and
+ * consequences as plain Java, so its budget is close to what the rules themselves allocate.
+ *
+ * Drools evaluations go through the insert and fire commands the engine sends, and their budget
+ * is a baseline measured in the same run plus a small margin: the baseline is the same
+ * evaluation with an agenda filter that cancels every match, which covers the session, the
+ * network and the matches, so the margin only has to cover firing the rules and their
+ * consequences. Budgets are in bytes per evaluation and can be overridden with
+ * {@code -PallocationBudget.drools=...} (the margin over the baseline) and
+ * {@code -PallocationBudget.fastPath=...}.
+ */
+class AllocationBudgetTest {
+
+    private static final long DROOLS_MARGIN = Long.getLong("rulesengine.allocationBudget.drools", 1_024);
+    private static final long FAST_PATH_BUDGET = Long.getLong("rulesengine.allocationBudget.fastPath", 256);
+    private static final int BATCH = 1_000;
+    private static final int WARM_UP_BATCHES = 20;
+    private static final int MEASURED_BATCHES = 5;
+
+    private static final KieCommands COMMANDS = KieServices.Factory.get().getCommands();
+    private static final AgendaFilter FIRE_ALL = match -> true;
+    private static final AgendaFilter FIRE_NONE = match -> false;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static KieContainerSessionsPool sessionsPool;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled(),
+                "per-thread allocation counters are not available");
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        sessionsPool = kieContainer.newKieSessionsPool(1);
+    }
+
+    @Test
+    void testOfferDroolsWithinBudget() {
+        assertDroolsWithinBudget("offer on Drools", KieSessionNames.OFFER, AllocationBudgetTest::offer);
+    }
+
+    @Test
+    void testOrderDroolsWithinBudget() {
+        assertDroolsWithinBudget("order on Drools", KieSessionNames.ORDER, AllocationBudgetTest::order);
+    }
+
+    @Test
+    void testPaymentDroolsWithinBudget() {
+        assertDroolsWithinBudget("payment on Drools", KieSessionNames.PAYMENT, AllocationBudgetTest::payment);
+    }
+
+    @Test
+    void testOfferFastPathWithinBudget() {
+        assertWithinBudget("offer on the fast path", FAST_PATH_BUDGET,
+                fastPathBytes("io.shaama.rulesengine.rules.offer", AllocationBudgetTest::offer));
+    }
+
+    @Test
+    void testOrderFastPathWithinBudget() {
+        assertWithinBudget("order on the fast path", FAST_PATH_BUDGET,
+                fastPathBytes("io.shaama.rulesengine.rules.order", AllocationBudgetTest::order));
+    }
+
+    @Test
+    void testPaymentFastPathWithinBudget() {
+        assertWithinBudget("payment on the fast path", FAST_PATH_BUDGET,
+                fastPathBytes("io.shaama.rulesengine.rules.payment", AllocationBudgetTest::payment));
+    }
+
+    private static <T> void assertDroolsWithinBudget(String evaluation, String kieSessionName, IntFunction<T> facts) {
+        long baseline = droolsBytes(kieSessionName, facts, FIRE_NONE);
+        assertWithinBudget(evaluation, baseline + DROOLS_MARGIN, droolsBytes(kieSessionName, facts, FIRE_ALL));
+    }
+
+    private static <T> long droolsBytes(String kieSessionName, IntFunction<T> facts, AgendaFilter filter) {
+        StatelessKieSession session = sessionsPool.newStatelessKieSession(kieSessionName);
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        return bytesPerEvaluation(facts, fact -> session.execute(COMMANDS.newBatchExecution(
+                List.of(COMMANDS.newInsert(fact), new FireAllRulesCommand(filter)))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> long fastPathBytes(String packageName, IntFunction<T> facts) {
+        FastPathEvaluator<T> fastPath = (FastPathEvaluator<T>) FastPathEvaluators.forPackage(packageName);
+        return bytesPerEvaluation(facts, fact -> fastPath.evaluate(fact, DecisionEventSink.NOOP));
+    }
+
+    /**
+     * The fewest bytes allocated per evaluation over the measured batches, so a one-off
+     * allocation such as a resized internal buffer does not count against the budget.
+     */
+    private static <T> long bytesPerEvaluation(IntFunction<T> facts, Consumer<T> evaluation) {
+        for (int i = 0; i < WARM_UP_BATCHES; i++) {
+            measureBatch(facts, evaluation);
+        }
+        long fewest = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_BATCHES; i++) {
+            fewest = Math.min(fewest, measureBatch(facts, evaluation));
+        }
+        return fewest;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> long measureBatch(IntFunction<T> facts, Consumer<T> evaluation) {
+        Object[] batch = new Object[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = facts.apply(i);
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (Object fact : batch) {
+            evaluation.accept((T) fact);
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / BATCH;
+    }
+
+    private static void assertWithinBudget(String evaluation, long budget, long bytes) {
+        assertTrue(bytes <= budget, "Evaluating one " + evaluation + " allocates " + bytes
+                + " bytes, over the budget of " + budget);
+    }
+
+    /** Cycles through every offer rule, including the expiry check. */
+    private static Offer offer(int i) {
+        LocalDate today = LocalDate.now();
+        LocalDate[] validUntil = {null, today.plusDays(30), today.minusDays(1)};
+        return Offer.builder()
+                .offerId("OFF-" + i)
+                .customerSegment(CustomerSegment.values()[i % CustomerSegment.values().length])
+                .productCategory(i % 2 == 0 ? ProductType.ELECTRONICS : ProductType.FASHION)
+                .isFirstTimeCustomer(i % 4 == 0)
+                .orderAmountMinor(10_000 + (i % 30) * 10_000L)
+                .offerValidUntil(validUntil[i % validUntil.length])
+                .build();
+    }
+
+    /** Cycles through every delivery zone, peak-hour fees, priorities and the minimum order. */
+    private static Order order(int i) {
+        return Order.builder()
+                .orderId("ORD-" + i)
+                .orderAmountMinor(4_000 + (i % 40) * 30_000L)
+                .deliveryZone(DeliveryZone.values()[i % DeliveryZone.values().length])
+                .itemCount(1 + i % 12)
+                .isPeakHour(i % 3 == 0)
+                .productType(ProductType.values()[i % ProductType.values().length])
+                .build();
+    }
+
+    /** Cycles through every payment method and customer type, across the review and limit thresholds. */
+    private static Payment payment(int i) {
+        return Payment.builder()
+                .paymentId("PAY-" + i)
+                .amountMinor(50_000 + (i % 25) * 250_000L)
+                .paymentMethod(PaymentMethod.values()[i % PaymentMethod.values().length])
+                .customerType(CustomerType.values()[i % CustomerType.values().length])
+                .transactionCount(i % 8)
+                .creditLimitMinor(i % 5 == 0 ? 1_000_000L : null)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.runtime.KieBaseOptions;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter;
+import org.drools.core.reteoo.ObjectSinkPropagator;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaRangeIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "offerKBase, io.shaama.rulesengine.model.Offer",
+            "orderKBase, io.shaama.rulesengine.model.Order",
+            "paymentKBase, io.shaama.rulesengine.model.Payment",
+            "allRulesKBase, io.shaama.rulesengine.model.Offer",
+            "allRulesKBase, io.shaama.rulesengine.model.Order",
+            "allRulesKBase, io.shaama.rulesengine.model.Payment"
+    })
+    void testAmountThresholdsAreRangeIndexed(String kieBaseName, Class<?> factType) {
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        InternalKnowledgeBase kieBase = (InternalKnowledgeBase) KieBaseOptions.newKieBase(kieContainer, kieBaseName);
+
+        assertEquals(KieBaseOptions.ALPHA_RANGE_INDEX_THRESHOLD,
+                kieBase.getRuleBaseConfiguration().getAlphaNodeRangeIndexThreshold());
+        ObjectSinkPropagator propagator = objectTypeNode(kieBase, factType).getObjectSinkPropagator();
+        CompositeObjectSinkAdapter adapter = assertInstanceOf(CompositeObjectSinkAdapter.class, propagator);
+        assertNotNull(adapter.getRangeIndexMap(), factType.getSimpleName() + " thresholds are not range-indexed");
+        assertFalse(adapter.getRangeIndexMap().isEmpty());
+    }
+
+    @Test
+    void testOptionIsNotSetJvmWide() {
+        InternalKnowledgeBase kieBase = (InternalKnowledgeBase) KieServices.Factory.get()
+                .getKieClasspathContainer().getKieBase("orderKBase");
+
+        assertNotEquals(KieBaseOptions.ALPHA_RANGE_INDEX_THRESHOLD,
+                kieBase.getRuleBaseConfiguration().getAlphaNodeRangeIndexThreshold());
+    }
+
+    private static ObjectTypeNode objectTypeNode(InternalKnowledgeBase kieBase, Class<?> factType) {
+        return kieBase.getRete().getObjectTypeNodes().stream()
+                .filter(node -> node.getObjectType().getClassName().equals(factType.getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no ObjectTypeNode for " + factType));
+    }
+}
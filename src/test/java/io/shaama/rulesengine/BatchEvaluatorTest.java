@@ -0,0 +1,187 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.BatchEvaluator;
+import io.shaama.rulesengine.runtime.BatchResult;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private static final int FACT_COUNT = 1000;
+
+    private static KieContainer kieContainer;
+    private static BatchEvaluator batchEvaluator;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        batchEvaluator = new BatchEvaluator(kieContainer, new ForkJoinPool(4), 64);
+    }
+
+    @Test
+    void testOrdersMatchSingleFactExecution() {
+        List<Order> expected = orders(42);
+        executeOneByOne("orderKSession", expected);
+
+        BatchResult<Order> result = batchEvaluator.evaluateOrders(orders(42));
+
+        assertEquals(expected, result.getResults());
+        assertEquals(FACT_COUNT, result.getStats().getFactCount());
+        assertEquals("orderKBase", result.getStats().getKieBaseName());
+        assertTrue(result.getStats().getChunkCount() >= FACT_COUNT / 64);
+    }
+
+    @Test
+    void testPaymentsMatchSingleFactExecution() {
+        List<Payment> expected = payments(7);
+        executeOneByOne("paymentKSession", expected);
+
+        BatchResult<Payment> result = batchEvaluator.evaluatePayments(payments(7));
+
+        assertEquals(expected, result.getResults());
+    }
+
+    @Test
+    void testOffersMatchSingleFactExecution() {
+        List<Offer> expected = offers(13);
+        executeOneByOne("offerKSession", expected);
+
+        BatchResult<Offer> result = batchEvaluator.evaluateOffers(offers(13));
+
+        assertEquals(expected, result.getResults());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = HitPolicy.class, names = {"FIRST", "PRIORITY"})
+    void testAppliesHitPolicyLikeTheEngine(HitPolicy hitPolicy) {
+        Map<String, HitPolicy> hitPolicies = Map.of(KieBaseNames.OFFER, hitPolicy, KieBaseNames.ORDER, hitPolicy);
+        List<Offer> expected = offers(21);
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .hitPolicies(hitPolicies)
+                .build())) {
+            expected.forEach(offer -> engine.evaluateOffer(offer).join());
+        }
+        BatchEvaluator evaluator = new BatchEvaluator(kieContainer, ForkJoinPool.commonPool(), 64,
+                DecisionEventSink.NOOP, null, hitPolicies);
+
+        BatchResult<Offer> result = evaluator.evaluateOffers(offers(21));
+
+        assertEquals(expected, result.getResults());
+        assertNotEquals(batchEvaluator.evaluateOffers(offers(21)).getResults(), result.getResults());
+    }
+
+    @Test
+    void testResultsKeepInputOrder() {
+        List<Order> input = new LinkedList<>(orders(3));
+
+        BatchResult<Order> result = batchEvaluator.evaluateOrders(input);
+
+        for (int i = 0; i < input.size(); i++) {
+            assertEquals("ORD-" + i, result.getResults().get(i).getOrderId());
+            assertNotNull(result.getResults().get(i).getTotalAmount());
+        }
+    }
+
+    @Test
+    void testEmptyBatch() {
+        BatchResult<Payment> result = batchEvaluator.evaluatePayments(List.of());
+
+        assertTrue(result.getResults().isEmpty());
+        assertEquals(0, result.getStats().getChunkCount());
+    }
+
+    @Test
+    void testRejectsInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchEvaluator(kieContainer, ForkJoinPool.commonPool(), 0));
+    }
+
+    private static <T> void executeOneByOne(String ksession, List<T> facts) {
+        StatelessKieSession session = kieContainer.newStatelessKieSession(ksession);
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        facts.forEach(session::execute);
+    }
+
+    private static List<Order> orders(long seed) {
+        Random random = new Random(seed);
+        String[] zones = {"LOCAL", "REGIONAL", "NATIONAL", "INTERNATIONAL"};
+        String[] types = {"ELECTRONICS", "GROCERIES", "FASHION", "BOOKS", "OTHER"};
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < FACT_COUNT; i++) {
+            orders.add(Order.builder()
+                    .orderId("ORD-" + i)
+                    .customerId("CUST-" + random.nextInt(100))
+                    .orderAmount(BigDecimal.valueOf(random.nextInt(20000)))
+                    .deliveryZone(zones[random.nextInt(zones.length)])
+                    .itemCount(random.nextInt(20))
+                    .isPeakHour(random.nextBoolean())
+                    .productType(types[random.nextInt(types.length)])
+                    .build());
+        }
+        return orders;
+    }
+
+    private static List<Payment> payments(long seed) {
+        Random random = new Random(seed);
+        String[] methods = {"CREDIT_CARD", "DEBIT_CARD", "UPI", "NET_BANKING", "WALLET", "COD"};
+        String[] customerTypes = {"NEW", "REGULAR", "VIP"};
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < FACT_COUNT; i++) {
+            payments.add(Payment.builder()
+                    .paymentId("PAY-" + i)
+                    .orderId("ORD-" + i)
+                    .customerId("CUST-" + random.nextInt(100))
+                    .amount(BigDecimal.valueOf(random.nextInt(60000)))
+                    .paymentMethod(methods[random.nextInt(methods.length)])
+                    .customerType(customerTypes[random.nextInt(customerTypes.length)])
+                    .transactionCount(random.nextInt(10))
+                    .creditLimit(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(40000)) : null)
+                    .build());
+        }
+        return payments;
+    }
+
+    private static List<Offer> offers(long seed) {
+        Random random = new Random(seed);
+        String[] segments = {"PREMIUM", "GOLD", "SILVER", "REGULAR"};
+        String[] categories = {"ELECTRONICS", "FASHION", "GROCERIES"};
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < FACT_COUNT; i++) {
+            offers.add(Offer.builder()
+                    .offerId("OFF-" + i)
+                    .customerId("CUST-" + random.nextInt(100))
+                    .customerSegment(segments[random.nextInt(segments.length)])
+                    .orderAmount(BigDecimal.valueOf(random.nextInt(3000)))
+                    .productCategory(categories[random.nextInt(categories.length)])
+                    .isFirstTimeCustomer(random.nextBoolean())
+                    .offerValidUntil(LocalDate.now().plusDays(random.nextInt(20) - 5))
+                    .build());
+        }
+        return offers;
+    }
+}
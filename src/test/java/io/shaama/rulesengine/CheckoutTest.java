@@ -0,0 +1,122 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentStatus;
+import io.shaama.rulesengine.runtime.CheckoutResult;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static io.shaama.rulesengine.RuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckoutTest {
+
+    private static KieContainer kieContainer;
+    private static RulesEngine rulesEngine;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        rulesEngine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .build());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        rulesEngine.close();
+    }
+
+    @Test
+    void testCheckoutChainsDiscountIntoOrderAndTotalIntoPayment() {
+        CheckoutResult result = rulesEngine.evaluateCheckout(
+                Offer.builder().offerId("OFF-001").customerSegment("GOLD").orderAmount(new BigDecimal("900")).build(),
+                Order.builder().orderId("ORD-001").deliveryZone("NATIONAL").itemCount(1).productType("BOOKS").build(),
+                Payment.builder().paymentId("PAY-001").paymentMethod("CREDIT_CARD").customerType("REGULAR")
+                        .transactionCount(3).build()).join();
+
+        assertEquals(new BigDecimal("135.00"), result.getOffer().getDiscountAmount());
+        assertEquals(new BigDecimal("765.00"), result.getOrder().getOrderAmount());
+        assertEquals(new BigDecimal("965.00"), result.getOrder().getTotalAmount());
+        assertEquals(new BigDecimal("965.00"), result.getPayment().getAmount());
+        assertEquals(new BigDecimal("24.12500"), result.getPayment().getTransactionFee());
+        assertTrue(result.getOfferNanos() > 0);
+        assertTrue(result.getOrderNanos() > 0);
+        assertTrue(result.getPaymentNanos() > 0);
+        assertEquals(result.getOfferNanos() + result.getOrderNanos() + result.getPaymentNanos(), result.getTotalNanos());
+    }
+
+    @Test
+    void testFractionalDiscountIsRoundedToMinorUnits() {
+        CheckoutResult result = rulesEngine.evaluateCheckout(
+                Offer.builder().offerId("OFF-002").customerSegment("GOLD").orderAmount(new BigDecimal("1234.57")).build(),
+                Order.builder().orderId("ORD-002").deliveryZone("LOCAL").itemCount(1).productType("BOOKS").build(),
+                Payment.builder().paymentId("PAY-002").paymentMethod("UPI").customerType("REGULAR")
+                        .transactionCount(3).build()).join();
+
+        assertEquals(new BigDecimal("185.1855"), result.getOffer().getDiscountAmount());
+        assertEquals(new BigDecimal("1049.38"), result.getOrder().getOrderAmount());
+        assertEquals(104938, result.getOrder().getOrderAmountMinor());
+        assertEquals(result.getOrder().getTotalAmount(), result.getPayment().getAmount());
+    }
+
+    @Test
+    void testDiscountJustOverCodLimitIsRejected() {
+        // 5882.36 less 15% is 5000.006, which rounds to 5000.01
+        CheckoutResult result = rulesEngine.evaluateCheckout(
+                Offer.builder().offerId("OFF-003").customerSegment("GOLD").orderAmount(new BigDecimal("5882.36")).build(),
+                Order.builder().orderId("ORD-003").deliveryZone("LOCAL").itemCount(1).productType("BOOKS").build(),
+                Payment.builder().paymentId("PAY-003").paymentMethod("COD").customerType("REGULAR")
+                        .transactionCount(3).build()).join();
+
+        assertEquals(new BigDecimal("882.3540"), result.getOffer().getDiscountAmount());
+        assertEquals(new BigDecimal("5000.01"), result.getOrder().getTotalAmount());
+        assertEquals(new BigDecimal("5000.01"), result.getPayment().getAmount());
+        assertFalse(result.getPayment().isPaymentApproved());
+        assertEquals(PaymentStatus.REJECTED, result.getPayment().getPaymentStatus());
+        assertEquals("COD not available for orders above 5000", result.getPayment().getRejectionReason());
+    }
+
+    @Test
+    void testCheckoutMatchesThreeSeparateExecutions() {
+        StatelessKieSession offerSession = session(kieContainer, "offerKSession");
+        StatelessKieSession orderSession = session(kieContainer, "orderKSession");
+        StatelessKieSession paymentSession = session(kieContainer, "paymentKSession");
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            long seed = random.nextLong();
+            Offer offer = randomOffer(new Random(seed), i);
+            Order order = randomOrder(new Random(seed), i);
+            Payment payment = randomPayment(new Random(seed), i);
+            offerSession.execute(offer);
+            BigDecimal discounted = offer.isOfferApplicable()
+                    ? offer.getOrderAmount().subtract(offer.getDiscountAmount())
+                    : offer.getOrderAmount();
+            order.setOrderAmount(discounted.setScale(2, RoundingMode.HALF_UP));
+            orderSession.execute(order);
+            payment.setAmount(order.getTotalAmount());
+            paymentSession.execute(payment);
+
+            CheckoutResult result = rulesEngine.evaluateCheckout(
+                    randomOffer(new Random(seed), i),
+                    randomOrder(new Random(seed), i),
+                    randomPayment(new Random(seed), i)).join();
+
+            assertEquals(offer, result.getOffer(), "checkout " + i);
+            assertEquals(order, result.getOrder(), "checkout " + i);
+            assertEquals(payment, result.getPayment(), "checkout " + i);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.columnar.ColumnarEvaluator;
+import io.shaama.rulesengine.columnar.OrderColumns;
+import io.shaama.rulesengine.columnar.PaymentColumns;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static io.shaama.rulesengine.RuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ColumnarEvaluatorTest {
+
+    // Not a multiple of any vector length, so every run also goes through the scalar tail
+    private static final int CASES = 10_003;
+
+    private static KieContainer kieContainer;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testScalarOrdersMatchDrools() {
+        assertOrdersMatchDrools(ColumnarEvaluator.scalar());
+    }
+
+    @Test
+    void testScalarPaymentsMatchDrools() {
+        assertPaymentsMatchDrools(ColumnarEvaluator.scalar());
+    }
+
+    @Test
+    void testVectorOrdersMatchDrools() {
+        assumeTrue(ColumnarEvaluator.isVectorApiAvailable(), "jdk.incubator.vector is not resolved");
+        assertOrdersMatchDrools(ColumnarEvaluator.vector());
+    }
+
+    @Test
+    void testVectorPaymentsMatchDrools() {
+        assumeTrue(ColumnarEvaluator.isVectorApiAvailable(), "jdk.incubator.vector is not resolved");
+        assertPaymentsMatchDrools(ColumnarEvaluator.vector());
+    }
+
+    @Test
+    void testCreateUsesVectorKernelWhenAvailable() {
+        ColumnarEvaluator evaluator = ColumnarEvaluator.create();
+
+        assertEquals(ColumnarEvaluator.isVectorApiAvailable(), evaluator.isVectorized());
+        assertFalse(ColumnarEvaluator.scalar().isVectorized());
+        assertEquals("scalar", ColumnarEvaluator.scalar().description());
+    }
+
+    @Test
+    void testRangeLeavesOtherRowsUntouched() {
+        List<Order> orders = facts(i -> order(new Random(i), i));
+        OrderColumns columns = OrderColumns.of(orders);
+        Arrays.fill(columns.totalAmountMinor(), -1);
+
+        ColumnarEvaluator.create().evaluate(columns, 17, 1_017);
+
+        for (int row = 0; row < columns.size(); row++) {
+            boolean evaluated = row >= 17 && row < 1_017;
+            assertEquals(evaluated, columns.totalAmountMinor()[row] >= 0, "row " + row);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> ColumnarEvaluator.scalar().evaluate(columns, 0, CASES + 1));
+    }
+
+    @Test
+    void testRejectsEvaluatedFacts() {
+        Order order = order(new Random(1), 1);
+        session(kieContainer, "orderKSession").execute(order);
+
+        assertThrows(IllegalArgumentException.class, () -> new OrderColumns(1).add(order));
+        assertThrows(IllegalStateException.class, () -> new PaymentColumns(0).add(payment(new Random(1), 1)));
+    }
+
+    @Test
+    void testRejectsAmountsBelowOneMinorUnit() {
+        Order order = order(new Random(1), 1);
+        order.setOrderAmount(new BigDecimal("999.995"));
+        Payment payment = payment(new Random(1), 1);
+        payment.setCreditLimit(new BigDecimal("100.001"));
+
+        assertThrows(IllegalArgumentException.class, () -> new OrderColumns(1).add(order));
+        assertThrows(IllegalArgumentException.class, () -> new PaymentColumns(1).add(payment));
+    }
+
+    private static void assertOrdersMatchDrools(ColumnarEvaluator evaluator) {
+        List<Order> expected = facts(i -> order(new Random(i), i));
+        List<Order> actual = facts(i -> order(new Random(i), i));
+        StatelessKieSession session = session(kieContainer, "orderKSession");
+        expected.forEach(session::execute);
+
+        OrderColumns columns = OrderColumns.of(actual);
+        evaluator.evaluate(columns);
+
+        for (int row = 0; row < CASES; row++) {
+            columns.applyTo(row, actual.get(row));
+            assertEquals(normalized(expected.get(row)), normalized(actual.get(row)), evaluator.description() + " row " + row);
+        }
+    }
+
+    private static void assertPaymentsMatchDrools(ColumnarEvaluator evaluator) {
+        List<Payment> expected = facts(i -> payment(new Random(i), i));
+        List<Payment> actual = facts(i -> payment(new Random(i), i));
+        StatelessKieSession session = session(kieContainer, "paymentKSession");
+        expected.forEach(session::execute);
+
+        PaymentColumns columns = PaymentColumns.of(actual);
+        evaluator.evaluate(columns);
+
+        for (int row = 0; row < CASES; row++) {
+            columns.applyTo(row, actual.get(row));
+            assertEquals(normalized(expected.get(row)), normalized(actual.get(row)), evaluator.description() + " row " + row);
+        }
+    }
+
+    private static <T> List<T> facts(Function<Integer, T> fact) {
+        List<T> facts = new ArrayList<>(CASES);
+        for (int i = 0; i < CASES; i++) {
+            facts.add(fact.apply(i));
+        }
+        return facts;
+    }
+
+    // The columns carry charges at a fixed scale, Drools at the scale of the BigDecimal arithmetic
+    private static Order normalized(Order order) {
+        order.setShippingCharge(stripped(order.getShippingCharge()));
+        order.setProcessingFee(stripped(order.getProcessingFee()));
+        order.setTotalAmount(stripped(order.getTotalAmount()));
+        return order;
+    }
+
+    private static Payment normalized(Payment payment) {
+        payment.setTransactionFee(stripped(payment.getTransactionFee()));
+        payment.setCashbackAmount(stripped(payment.getCashbackAmount()));
+        return payment;
+    }
+
+    private static BigDecimal stripped(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+
+    /** A random order with its amount rounded down to whole minor units, as the columns hold them. */
+    private static Order order(Random random, int i) {
+        Order order = randomOrder(random, i);
+        order.setOrderAmount(whole(order.getOrderAmount()));
+        return order;
+    }
+
+    private static Payment payment(Random random, int i) {
+        Payment payment = randomPayment(random, i);
+        payment.setAmount(whole(payment.getAmount()));
+        payment.setCreditLimit(whole(payment.getCreditLimit()));
+        return payment;
+    }
+
+    private static BigDecimal whole(BigDecimal amount) {
+        return MinorUnits.isWhole(amount) ? amount : amount.setScale(MinorUnits.SCALE, RoundingMode.FLOOR);
+    }
+}
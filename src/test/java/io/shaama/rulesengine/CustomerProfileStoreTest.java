@@ -0,0 +1,207 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.profile.CustomerProfile;
+import io.shaama.rulesengine.profile.CustomerProfileStore;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieServices;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerProfileStoreTest {
+
+    private static final ToLongFunction<String> CUSTOMER_IDS = CustomerProfileStore.idsMatching("CUST-(\\d{6})");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPutAndGet() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 1_000)) {
+            CustomerProfile profile = CustomerProfile.builder()
+                    .customerId(42)
+                    .firstTimeCustomer(true)
+                    .customerType(CustomerType.VIP)
+                    .customerSegment(CustomerSegment.GOLD)
+                    .transactionCount(7)
+                    .creditLimitMinor(500_000L)
+                    .build();
+            store.put(profile);
+
+            assertEquals(profile, store.get(42));
+            assertNull(store.get(41));
+            assertNull(store.get(1_000));
+            assertNull(store.get(-1));
+        }
+    }
+
+    @Test
+    void testNullFieldsRoundTrip() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10)) {
+            CustomerProfile profile = CustomerProfile.builder().customerId(3).build();
+            store.put(profile);
+
+            assertEquals(profile, store.get(3));
+        }
+    }
+
+    @Test
+    void testProfilesSurviveReopen() throws Exception {
+        Path file = directory.resolve("profiles.bin");
+        try (CustomerProfileStore store = CustomerProfileStore.create(file, 100_000)) {
+            for (long id = 0; id < 100_000; id += 7) {
+                store.put(CustomerProfile.builder().customerId(id).transactionCount((int) id).build());
+            }
+        }
+
+        try (CustomerProfileStore store = CustomerProfileStore.open(file)) {
+            assertEquals(100_000, store.getCapacity());
+            assertEquals(14, store.get(14).getTransactionCount());
+            assertEquals(99_995, store.get(99_995).getTransactionCount());
+            assertNull(store.get(15));
+        }
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws Exception {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[8192]);
+
+        assertThrows(IOException.class, () -> CustomerProfileStore.open(file));
+    }
+
+    @Test
+    void testIncrementalUpdates() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10)) {
+            store.put(CustomerProfile.builder().customerId(1).firstTimeCustomer(true).customerType(CustomerType.NEW).build());
+
+            store.recordTransaction(1);
+            store.recordTransaction(1);
+            store.update(1, profile -> profile.toBuilder().customerType(CustomerType.REGULAR).build());
+
+            CustomerProfile profile = store.get(1);
+            assertFalse(profile.isFirstTimeCustomer());
+            assertEquals(2, profile.getTransactionCount());
+            assertEquals(CustomerType.REGULAR, profile.getCustomerType());
+
+            store.remove(1);
+            assertNull(store.get(1));
+            assertThrows(IllegalArgumentException.class, () -> store.recordTransaction(10));
+        }
+    }
+
+    @Test
+    void testIdsMatchingMapsOnlyCanonicalIds() {
+        assertEquals(123, CUSTOMER_IDS.applyAsLong("CUST-000123"));
+        assertEquals(-1, CUSTOMER_IDS.applyAsLong("123"));
+        assertEquals(-1, CUSTOMER_IDS.applyAsLong("CUST-123"));
+        assertEquals(-1, CUSTOMER_IDS.applyAsLong("X-CUST-000123"));
+        assertEquals(-1, CUSTOMER_IDS.applyAsLong("CUST-A"));
+        assertEquals(-1, CustomerProfileStore.idsMatching("(\\d+)").applyAsLong("12345678901234567890"));
+        assertThrows(IllegalArgumentException.class, () -> CustomerProfileStore.idsMatching("CUST-\\d+"));
+    }
+
+    @Test
+    void testApplyCopiesProfileIntoFacts() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10)) {
+            store.put(CustomerProfile.builder()
+                    .customerId(5)
+                    .firstTimeCustomer(true)
+                    .customerType(CustomerType.VIP)
+                    .customerSegment(CustomerSegment.PREMIUM)
+                    .transactionCount(12)
+                    .creditLimitMinor(250_000L)
+                    .build());
+
+            Offer offer = Offer.builder().customerId("CUST-000005").build();
+            Payment payment = Payment.builder().customerId("CUST-000005").transactionCount(1).build();
+            Payment unknown = Payment.builder().customerId("CUST-000006").customerType("NEW").build();
+
+            assertTrue(store.apply(offer, CUSTOMER_IDS));
+            assertTrue(store.apply(payment, CUSTOMER_IDS));
+            assertFalse(store.apply(unknown, CUSTOMER_IDS));
+            assertFalse(store.apply(Payment.builder().build(), CUSTOMER_IDS));
+
+            assertTrue(offer.isFirstTimeCustomer());
+            assertEquals(CustomerSegment.PREMIUM, offer.getCustomerSegment());
+            assertEquals(CustomerType.VIP, payment.getCustomerType());
+            assertEquals(12, payment.getTransactionCount());
+            assertEquals(new BigDecimal("2500.00"), payment.getCreditLimit());
+            assertEquals(CustomerType.NEW, unknown.getCustomerType());
+        }
+    }
+
+    @Test
+    void testEngineAppliesProfilesBeforeEvaluation() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10);
+             RulesEngine engine = new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(),
+                     RulesEngineConfig.builder().sessionsPerKieSession(1).customerProfiles(store)
+                             .customerIdMapping(CUSTOMER_IDS).build())) {
+            store.put(CustomerProfile.builder().customerId(1).customerSegment(CustomerSegment.GOLD).build());
+
+            Offer offer = engine.evaluateOffer(Offer.builder()
+                    .offerId("OFF-001")
+                    .customerId("CUST-000001")
+                    .orderAmount(new BigDecimal("900"))
+                    .build()).join();
+
+            assertTrue(offer.isOfferApplicable());
+            assertEquals(new BigDecimal("135.00"), offer.getDiscountAmount());
+        }
+    }
+
+    @Test
+    void testEngineRequiresCustomerIdMapping() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10)) {
+            RulesEngineConfig config = RulesEngineConfig.builder().sessionsPerKieSession(1).customerProfiles(store).build();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(), config));
+        }
+    }
+
+    @Test
+    void testReadersNeverSeeTornProfiles() throws Exception {
+        try (CustomerProfileStore store = CustomerProfileStore.create(directory.resolve("profiles.bin"), 10)) {
+            store.put(CustomerProfile.builder().customerId(0).transactionCount(0).creditLimitMinor(0L).build());
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicReference<CustomerProfile> torn = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(Thread.ofPlatform().start(() -> {
+                    while (!done.get()) {
+                        CustomerProfile profile = store.get(0);
+                        if (profile.getCreditLimitMinor() != profile.getTransactionCount() * 100L) {
+                            torn.set(profile);
+                        }
+                    }
+                }));
+            }
+            for (int count = 1; count <= 200_000; count++) {
+                store.put(CustomerProfile.builder().customerId(0).transactionCount(count).creditLimitMinor(count * 100L).build());
+            }
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertNull(torn.get());
+        }
+    }
+}
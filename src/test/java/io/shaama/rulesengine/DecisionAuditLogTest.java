@@ -0,0 +1,194 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.audit.AuditConfig;
+import io.shaama.rulesengine.audit.AuditEntry;
+import io.shaama.rulesengine.audit.AuditStats;
+import io.shaama.rulesengine.audit.DecisionAuditLog;
+import io.shaama.rulesengine.audit.DecisionAuditReader;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.EvaluationMode;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.kie.api.KieServices;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionAuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testRecordsFiredRulesAndFields(EvaluationMode evaluationMode) throws IOException {
+        try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder().directory(directory).build())) {
+            try (RulesEngine engine = engine(evaluationMode, 0, auditLog)) {
+                engine.evaluateOffer(firstTimeGoldOffer("OFF-001")).join();
+            }
+        }
+
+        List<AuditEntry> entries = DecisionAuditReader.history(directory, "OFF-001");
+
+        assertEquals(1, entries.size());
+        AuditEntry entry = entries.get(0);
+        assertEquals(KieBaseNames.OFFER, entry.getKieBaseName());
+        assertFalse(entry.isCached());
+        assertEquals(List.of("First Time Customer - 25% Discount", "Gold Customer - 15% Discount"), entry.getFiredRules());
+        assertEquals("GOLD", entry.getFields().get("customerSegment"));
+        assertEquals(90_000L, entry.getFields().get("orderAmountMinor"));
+        assertEquals(Boolean.TRUE, entry.getFields().get("isFirstTimeCustomer"));
+        assertEquals("GOLD_CUSTOMER", entry.getFields().get("appliedOfferType"));
+        assertNull(entry.getFields().get("rejectionReason"));
+    }
+
+    @Test
+    void testFlagsDecisionCacheHits() throws IOException {
+        try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder().directory(directory).build())) {
+            try (RulesEngine engine = engine(EvaluationMode.DROOLS, 16, auditLog)) {
+                engine.evaluateOffer(firstTimeGoldOffer("OFF-001")).join();
+                engine.evaluateOffer(firstTimeGoldOffer("OFF-002")).join();
+            }
+        }
+
+        AuditEntry cached = DecisionAuditReader.history(directory, "OFF-002").get(0);
+
+        assertTrue(cached.isCached());
+        assertEquals(List.of(), cached.getFiredRules());
+        assertEquals("GOLD_CUSTOMER", cached.getFields().get("appliedOfferType"));
+        assertFalse(DecisionAuditReader.history(directory, "OFF-001").get(0).isCached());
+    }
+
+    @Test
+    void testSampleRateZeroRecordsNothing() throws IOException {
+        AuditStats stats;
+        try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder()
+                .directory(directory)
+                .sampleRate(0)
+                .build())) {
+            try (RulesEngine engine = engine(EvaluationMode.DROOLS, 0, auditLog)) {
+                for (int i = 0; i < 10; i++) {
+                    engine.evaluateOffer(firstTimeGoldOffer("OFF-" + i)).join();
+                }
+            }
+            stats = auditLog.stats();
+        }
+
+        assertEquals(10, stats.getSampledOut());
+        assertEquals(0, stats.getRecorded());
+        try (Stream<AuditEntry> entries = DecisionAuditReader.read(directory)) {
+            assertEquals(0, entries.count());
+        }
+    }
+
+    @Test
+    void testRollsSegmentsAndKeepsTheNewest() throws IOException {
+        AuditStats stats;
+        try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder()
+                .directory(directory)
+                .segmentBytes(4096)
+                .maxSegments(2)
+                .bufferCapacity(1024)
+                .build())) {
+            for (int i = 0; i < 500; i++) {
+                Payment payment = Payment.builder()
+                        .paymentId(String.format("PAY-%03d", i))
+                        .customerId("CUST-" + i)
+                        .amount(new BigDecimal("125.50"))
+                        .build();
+                auditLog.record(KieBaseNames.PAYMENT, payment, List.of("Standard Payment Fee"), false);
+            }
+            stats = auditLog.stats();
+        }
+
+        List<AuditEntry> entries;
+        try (Stream<AuditEntry> read = DecisionAuditReader.read(directory)) {
+            entries = read.toList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        assertTrue(stats.getSegments() > 2);
+        assertEquals(500, stats.getWritten() + stats.getDropped());
+        assertTrue(entries.size() < stats.getWritten());
+        AuditEntry last = entries.get(entries.size() - 1);
+        assertEquals("PAY-499", last.getFactId());
+        assertEquals(12_550L, last.getFields().get("amountMinor"));
+        assertEquals(List.of("Standard Payment Fee"), last.getFiredRules());
+    }
+
+    @Test
+    void testKeepsTheFullSegmentWhenTheNextCannotBeCreated() throws IOException {
+        AuditStats stats;
+        Path blocked;
+        try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder()
+                .directory(directory)
+                .segmentBytes(4096)
+                .bufferCapacity(1024)
+                .build())) {
+            blocked = Files.createFile(directory.resolve("decisions-000000000002.audit"));
+            for (int i = 0; i < 500; i++) {
+                Payment payment = Payment.builder()
+                        .paymentId(String.format("PAY-%03d", i))
+                        .amount(new BigDecimal("125.50"))
+                        .build();
+                auditLog.record(KieBaseNames.PAYMENT, payment, List.of("Standard Payment Fee"), false);
+            }
+            stats = auditLog.stats();
+        }
+        Files.delete(blocked);
+
+        List<AuditEntry> entries;
+        try (Stream<AuditEntry> read = DecisionAuditReader.read(directory)) {
+            entries = read.toList();
+        }
+        assertEquals(1, stats.getSegments());
+        assertEquals(500, stats.getWritten() + stats.getDropped());
+        assertTrue(stats.getDropped() > 0);
+        assertEquals(stats.getWritten(), entries.size());
+        assertEquals("PAY-000", entries.get(0).getFactId());
+    }
+
+    @Test
+    void testReopeningAppendsANewSegment() throws IOException {
+        for (String offerId : List.of("OFF-001", "OFF-002")) {
+            try (DecisionAuditLog auditLog = DecisionAuditLog.open(AuditConfig.builder().directory(directory).build())) {
+                auditLog.record(KieBaseNames.OFFER, firstTimeGoldOffer(offerId), List.of(), false);
+            }
+        }
+
+        try (Stream<AuditEntry> entries = DecisionAuditReader.read(directory)) {
+            assertEquals(List.of("OFF-001", "OFF-002"), entries.map(AuditEntry::getFactId).toList());
+        }
+    }
+
+    private static RulesEngine engine(EvaluationMode evaluationMode, int decisionCacheSize, DecisionAuditLog auditLog) {
+        return new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(), RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .evaluationMode(evaluationMode)
+                .decisionCacheSize(decisionCacheSize)
+                .auditLog(auditLog)
+                .build());
+    }
+
+    private static Offer firstTimeGoldOffer(String offerId) {
+        return Offer.builder()
+                .offerId(offerId)
+                .customerSegment("GOLD")
+                .orderAmount(new BigDecimal("900"))
+                .isFirstTimeCustomer(true)
+                .build();
+    }
+}
@@ -0,0 +1,234 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.cache.DecisionCache;
+import io.shaama.rulesengine.cache.DecisionCacheStats;
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.BusinessDate;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static io.shaama.rulesengine.RuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionCacheTest {
+
+    private static KieContainer kieContainer;
+    private static StatelessKieSession offerSession;
+    private static StatelessKieSession orderSession;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        offerSession = session(kieContainer, "offerKSession");
+        orderSession = session(kieContainer, "orderKSession");
+    }
+
+    @Test
+    void testCachedOffersMatchFullEvaluation() {
+        DecisionCache cache = new DecisionCache(kieContainer, "offerKBase", 16);
+        Random expected = new Random(42);
+        Random actual = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            Offer evaluated = randomOffer(expected, i);
+            offerSession.execute(evaluated);
+            Offer cached = cache.evaluate(randomOffer(actual, i), execute(offerSession));
+
+            assertEquals(evaluated, cached, "offer " + i);
+        }
+        DecisionCacheStats stats = cache.stats();
+        assertTrue(stats.getHits() > 0);
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getSize() <= 16);
+    }
+
+    @Test
+    void testCachedOrdersMatchFullEvaluation() {
+        DecisionCache cache = new DecisionCache(kieContainer, "orderKBase", 64);
+        Random expected = new Random(7);
+        Random actual = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            Order evaluated = randomOrder(expected, i);
+            orderSession.execute(evaluated);
+            Order cached = cache.evaluate(randomOrder(actual, i), execute(orderSession));
+
+            assertEquals(evaluated, cached, "order " + i);
+        }
+        assertTrue(cache.stats().getHits() > 0);
+    }
+
+    @Test
+    void testCountsHitsAndMisses() {
+        DecisionCache cache = new DecisionCache(kieContainer, "offerKBase", 16);
+
+        Offer first = cache.evaluate(goldOffer("OFF-001", "900"), execute(offerSession));
+        Offer second = cache.evaluate(goldOffer("OFF-002", "950.50"), execute(offerSession));
+
+        assertEquals(new BigDecimal("135.00"), first.getDiscountAmount());
+        assertEquals(new BigDecimal("142.5750"), second.getDiscountAmount());
+        assertEquals("GOLD_CUSTOMER", second.getAppliedOfferType());
+        DecisionCacheStats stats = cache.stats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        DecisionCache cache = new DecisionCache(kieContainer, "offerKBase", 2);
+
+        cache.evaluate(goldOffer("OFF-001", "900"), execute(offerSession));
+        cache.evaluate(goldOffer("OFF-002", "100"), execute(offerSession));
+        cache.evaluate(goldOffer("OFF-003", "900"), execute(offerSession));
+        cache.evaluate(goldOffer("OFF-004", "5000"), execute(offerSession));
+        cache.evaluate(goldOffer("OFF-005", "900"), execute(offerSession));
+
+        DecisionCacheStats stats = cache.stats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getHits());
+    }
+
+    @Test
+    void testInvalidatesWhenDateChanges() {
+        MutableClock clock = new MutableClock();
+        BusinessDate.setClock(clock);
+        try {
+            DecisionCache cache = new DecisionCache(kieContainer, "offerKBase", 16);
+            LocalDate today = BusinessDate.today();
+
+            Offer first = cache.evaluate(goldOfferValidUntil("OFF-001", "900", today), execute(offerSession));
+            Offer second = cache.evaluate(goldOfferValidUntil("OFF-002", "900", today), execute(offerSession));
+            clock.advance(Duration.ofDays(1));
+            Offer expired = cache.evaluate(goldOfferValidUntil("OFF-003", "900", today), execute(offerSession));
+
+            assertNull(first.getRejectionReason());
+            assertNull(second.getRejectionReason());
+            assertEquals("Offer has expired", expired.getRejectionReason());
+            DecisionCacheStats stats = cache.stats();
+            assertEquals(1, stats.getInvalidations());
+            assertEquals(2, stats.getMisses());
+            assertEquals(1, stats.getHits());
+        } finally {
+            BusinessDate.setClock(null);
+        }
+    }
+
+    @Test
+    void testInvalidatesWhenKieBaseVersionChanges() {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId v1 = kieServices.newReleaseId("io.shaama", "decision-cache-test", "1.0.0");
+        ReleaseId v2 = kieServices.newReleaseId("io.shaama", "decision-cache-test", "1.0.1");
+        buildOfferModule(kieServices, v1);
+        buildOfferModule(kieServices, v2);
+        KieContainer versioned = kieServices.newKieContainer(v1);
+        String kieBaseName = versioned.getKieBaseNames().iterator().next();
+        DecisionCache cache = new DecisionCache(versioned, kieBaseName, 16);
+        StatelessKieSession session = versioned.newStatelessKieSession();
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+
+        cache.evaluate(goldOffer("OFF-001", "900"), execute(session));
+        cache.evaluate(goldOffer("OFF-002", "900"), execute(session));
+        versioned.updateToVersion(v2);
+        cache.evaluate(goldOffer("OFF-003", "900"), execute(session));
+
+        DecisionCacheStats stats = cache.stats();
+        assertEquals(1, stats.getInvalidations());
+        assertEquals(2, stats.getMisses());
+        versioned.dispose();
+    }
+
+    @Test
+    void testBypassesFactsThatCannotBeCached() {
+        DecisionCache cache = new DecisionCache(kieContainer, "offerKBase", 16);
+        Offer alreadyApplied = goldOffer("OFF-001", "900");
+        alreadyApplied.setOfferApplicable(true);
+
+        cache.evaluate(alreadyApplied, execute(offerSession));
+        cache.evaluate(Payment.builder().paymentId("PAY-001").build(), payment -> payment);
+
+        DecisionCacheStats stats = cache.stats();
+        assertEquals(2, stats.getBypasses());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void testRulesEngineServesRepeatedInputsFromCache() {
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .decisionCacheSize(128)
+                .build())) {
+            for (int i = 0; i < 50; i++) {
+                Offer offer = engine.evaluateOffer(goldOffer("OFF-" + i, "900")).join();
+                assertEquals(new BigDecimal("135.00"), offer.getDiscountAmount());
+            }
+
+            DecisionCacheStats stats = engine.decisionCacheStats().get("offerKSession");
+            assertEquals(49, stats.getHits());
+            assertEquals(1, stats.getMisses());
+        }
+    }
+
+    private static <T> UnaryOperator<T> execute(StatelessKieSession session) {
+        return fact -> {
+            session.execute(fact);
+            return fact;
+        };
+    }
+
+    private static void buildOfferModule(KieServices kieServices, ReleaseId releaseId) {
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.write(kieServices.getResources().newClassPathResource("rules/offer-rules.drl"));
+        kieServices.newKieBuilder(kfs).buildAll();
+    }
+
+    private static Offer goldOfferValidUntil(String offerId, String amount, LocalDate validUntil) {
+        Offer offer = goldOffer(offerId, amount);
+        offer.setOfferValidUntil(validUntil);
+        return offer;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
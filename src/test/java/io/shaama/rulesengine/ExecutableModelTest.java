@@ -0,0 +1,123 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.OrderPriority;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentStatus;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.modelcompiler.CanonicalKieModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutableModelTest {
+
+    private static KieContainer kieContainer;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testKjarContainsExecutableModel() {
+        assertNotNull(getClass().getClassLoader().getResource("META-INF/kie/io.shaama/rules-engine-kjar/drools-model"));
+        for (String kieBaseName : kieContainer.getKieBaseNames()) {
+            assertInstanceOf(CanonicalKieModule.class,
+                    ((KieContainerImpl) kieContainer).getKieProject().getKieModuleForKBase(kieBaseName));
+        }
+    }
+
+    @Test
+    void testAllKieBasesLoadGeneratedRules() {
+        assertEquals(7, ruleCount(kieContainer.getKieBase("offerKBase")));
+        assertEquals(12, ruleCount(kieContainer.getKieBase("orderKBase")));
+        assertEquals(13, ruleCount(kieContainer.getKieBase("paymentKBase")));
+        assertEquals(32, ruleCount(kieContainer.getKieBase("allRulesKBase")));
+    }
+
+    @Test
+    void testAllRulesKBaseContainsEveryRulePackage() {
+        Set<String> packages = kieContainer.getKieBase("allRulesKBase").getKiePackages().stream()
+                .filter(kiePackage -> !kiePackage.getRules().isEmpty())
+                .map(KiePackage::getName)
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("io.shaama.rulesengine.rules.offer",
+                "io.shaama.rulesengine.rules.order",
+                "io.shaama.rulesengine.rules.payment"), packages);
+    }
+
+    @Test
+    void testOfferSession() {
+        Offer offer = Offer.builder()
+                .offerId("OFF-001")
+                .customerId("CUST-001")
+                .customerSegment("PREMIUM")
+                .orderAmount(new BigDecimal("1500"))
+                .isFirstTimeCustomer(false)
+                .build();
+
+        session("offerKSession").execute(offer);
+
+        assertTrue(offer.isOfferApplicable());
+        assertEquals(new BigDecimal("20"), offer.getDiscountPercentage());
+        assertEquals(new BigDecimal("300.00"), offer.getDiscountAmount());
+    }
+
+    @Test
+    void testOrderSession() {
+        Order order = Order.builder()
+                .orderId("ORD-001")
+                .customerId("CUST-001")
+                .orderAmount(new BigDecimal("500"))
+                .deliveryZone("LOCAL")
+                .itemCount(2)
+                .build();
+
+        session("orderKSession").execute(order);
+
+        assertEquals(new BigDecimal("50"), order.getShippingCharge());
+        assertEquals(OrderPriority.LOW, order.getOrderPriority());
+    }
+
+    @Test
+    void testPaymentSession() {
+        Payment payment = Payment.builder()
+                .paymentId("PAY-001")
+                .orderId("ORD-001")
+                .customerId("CUST-001")
+                .amount(new BigDecimal("1000"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("REGULAR")
+                .transactionCount(5)
+                .build();
+
+        session("paymentKSession").execute(payment);
+
+        assertEquals(new BigDecimal("25.000"), payment.getTransactionFee());
+        assertEquals(PaymentStatus.APPROVED, payment.getPaymentStatus());
+    }
+
+    private static StatelessKieSession session(String name) {
+        StatelessKieSession session = kieContainer.newStatelessKieSession(name);
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        return session;
+    }
+
+    private static int ruleCount(KieBase kieBase) {
+        return kieBase.getKiePackages().stream().mapToInt(kiePackage -> kiePackage.getRules().size()).sum();
+    }
+}
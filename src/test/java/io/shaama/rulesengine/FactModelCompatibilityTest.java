@@ -0,0 +1,104 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.CustomerType;
+import io.shaama.rulesengine.model.DeliveryZone;
+import io.shaama.rulesengine.model.MinorUnits;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.model.PaymentStatus;
+import io.shaama.rulesengine.model.ProductType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FactModelCompatibilityTest {
+
+    @Test
+    void testStringValuesMapToEnums() {
+        Order order = Order.builder()
+                .deliveryZone("REGIONAL")
+                .productType("BOOKS")
+                .build();
+        Payment payment = Payment.builder()
+                .paymentMethod("COD")
+                .customerType("VIP")
+                .paymentStatus("PENDING")
+                .build();
+
+        assertEquals(DeliveryZone.REGIONAL, order.getDeliveryZone());
+        assertEquals(ProductType.BOOKS, order.getProductType());
+        assertEquals(PaymentMethod.COD, payment.getPaymentMethod());
+        assertEquals(CustomerType.VIP, payment.getCustomerType());
+        assertEquals(PaymentStatus.PENDING, payment.getPaymentStatus());
+        assertNull(Order.builder().deliveryZone((String) null).build().getDeliveryZone());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testDeprecatedStringAccessors() {
+        Payment payment = new Payment();
+        payment.setPaymentMethod("UPI");
+        payment.setPaymentStatus((String) null);
+        Offer offer = new Offer();
+        offer.setCustomerSegment("GOLD");
+
+        assertEquals(PaymentMethod.UPI, payment.getPaymentMethod());
+        assertEquals("UPI", payment.getPaymentMethodName());
+        assertNull(payment.getPaymentStatusName());
+        assertEquals("GOLD", offer.getCustomerSegmentName());
+    }
+
+    @Test
+    void testStringValuesMustBeConstantNames() {
+        assertThrows(IllegalArgumentException.class, () -> Order.builder().deliveryZone("local"));
+        assertThrows(IllegalArgumentException.class, () -> PaymentMethod.of(" CREDIT_CARD "));
+        assertThrows(IllegalArgumentException.class, () -> Order.builder().deliveryZone("MOON"));
+        assertThrows(IllegalArgumentException.class, () -> PaymentStatus.of(""));
+    }
+
+    @Test
+    void testDecimalAmountKeepsMinorUnitsInSync() {
+        Offer offer = Offer.builder().orderAmount(new BigDecimal("950.5")).build();
+
+        assertEquals(new BigDecimal("950.5"), offer.getOrderAmount());
+        assertEquals(95050, offer.getOrderAmountMinor());
+
+        offer.setOrderAmount(new BigDecimal("12"));
+        assertEquals(1200, offer.getOrderAmountMinor());
+    }
+
+    @Test
+    void testMinorUnitsKeepDecimalAmountInSync() {
+        Payment payment = Payment.builder().amountMinor(150025).creditLimitMinor(100000L).build();
+
+        assertEquals(new BigDecimal("1500.25"), payment.getAmount());
+        assertEquals(new BigDecimal("1000.00"), payment.getCreditLimit());
+
+        payment.setCreditLimit(null);
+        assertNull(payment.getCreditLimitMinor());
+    }
+
+    @Test
+    void testFractionBelowMinorUnitIsRoundedDown() {
+        assertEquals(999999, MinorUnits.of(new BigDecimal("9999.999")));
+        assertEquals(-1, MinorUnits.of(new BigDecimal("-0.001")));
+        assertEquals(18518, MinorUnits.of(new BigDecimal("1234.56").multiply(new BigDecimal("0.15"))));
+
+        Order order = new Order();
+        order.setOrderAmount(new BigDecimal("999.999"));
+        assertEquals(new BigDecimal("999.999"), order.getOrderAmount());
+        assertEquals(99999, order.getOrderAmountMinor());
+    }
+
+    @Test
+    void testWholeMinorUnits() {
+        assertTrue(MinorUnits.isWhole(new BigDecimal("5000")));
+        assertTrue(MinorUnits.isWhole(new BigDecimal("5000.010")));
+        assertTrue(MinorUnits.isWhole(null));
+        assertFalse(MinorUnits.isWhole(new BigDecimal("5000.006")));
+    }
+}
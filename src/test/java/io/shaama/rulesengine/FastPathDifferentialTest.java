@@ -0,0 +1,213 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.fastpath.FastPathEvaluator;
+import io.shaama.rulesengine.fastpath.FastPathEvaluators;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentStatus;
+import io.shaama.rulesengine.runtime.EvaluationMode;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.shaama.rulesengine.RuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastPathDifferentialTest {
+
+    private static final int CASES = 10_000;
+
+    private static KieContainer kieContainer;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testEvaluatorsAreGeneratedForEveryRuleFile() {
+        List<String> packages = FastPathEvaluators.load().stream().map(FastPathEvaluator::packageName).sorted().toList();
+
+        assertEquals(List.of("io.shaama.rulesengine.rules.offer", "io.shaama.rulesengine.rules.order",
+                "io.shaama.rulesengine.rules.payment"), packages);
+    }
+
+    @Test
+    void testOfferFastPathMatchesDrools() {
+        Random expected = new Random(11);
+        Random actual = new Random(11);
+        assertMatchesDrools("offerKSession", "io.shaama.rulesengine.rules.offer",
+                i -> offer(expected, i), i -> offer(actual, i));
+    }
+
+    @Test
+    void testOrderFastPathMatchesDrools() {
+        Random expected = new Random(23);
+        Random actual = new Random(23);
+        assertMatchesDrools("orderKSession", "io.shaama.rulesengine.rules.order",
+                i -> randomOrder(expected, i), i -> randomOrder(actual, i));
+    }
+
+    @Test
+    void testPaymentFastPathMatchesDrools() {
+        Random expected = new Random(37);
+        Random actual = new Random(37);
+        assertMatchesDrools("paymentKSession", "io.shaama.rulesengine.rules.payment",
+                i -> payment(expected, i), i -> payment(actual, i));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPaymentFastPathComparesAmountsBelowOneMinorUnit() {
+        FastPathEvaluator<Payment> fastPath =
+                (FastPathEvaluator<Payment>) FastPathEvaluators.forPackage("io.shaama.rulesengine.rules.payment");
+        Payment cod = Payment.builder().paymentId("PAY-COD").amount(new BigDecimal("5000.006"))
+                .paymentMethod("COD").customerType("REGULAR").build();
+        Payment credit = Payment.builder().paymentId("PAY-CREDIT").amount(new BigDecimal("100.005"))
+                .paymentMethod("CREDIT_CARD").customerType("NEW").creditLimit(new BigDecimal("100.001")).build();
+
+        fastPath.evaluate(cod, DecisionEventSink.NOOP);
+        fastPath.evaluate(credit, DecisionEventSink.NOOP);
+
+        assertEquals("COD not available for orders above 5000", cod.getRejectionReason());
+        assertEquals("Payment amount exceeds credit limit", credit.getRejectionReason());
+    }
+
+    @Test
+    void testRulesEngineUsesFastPath() throws Exception {
+        List<String> events = new ArrayList<>();
+        RulesEngineConfig config = RulesEngineConfig.builder()
+                .evaluationMode(EvaluationMode.FAST_PATH)
+                .decisionEventSink((ruleId, factId, outcome, amount) -> {
+                    synchronized (events) {
+                        events.add(ruleId);
+                    }
+                })
+                .build();
+        try (RulesEngine engine = new RulesEngine(kieContainer, config)) {
+            Payment payment = engine.evaluatePayment(Payment.builder()
+                    .paymentId("PAY-FP")
+                    .amount(new BigDecimal("60000"))
+                    .paymentMethod("CREDIT_CARD")
+                    .customerType("VIP")
+                    .build()).get();
+
+            assertEquals(PaymentStatus.REQUIRES_VERIFICATION, payment.getPaymentStatus());
+            assertEquals(new BigDecimal("1500.000"), payment.getTransactionFee());
+            assertEquals(new BigDecimal("3000.00"), payment.getCashbackAmount());
+            assertEquals(List.of("High Value Payment - Manual Review Required", "Credit Card Transaction Fee",
+                    "VIP Customer - 5% Cashback"), events);
+        }
+    }
+
+    @Test
+    void testHitPoliciesMatchDrools() {
+        for (HitPolicy hitPolicy : HitPolicy.values()) {
+            try (RulesEngine drools = hitPolicyEngine(EvaluationMode.DROOLS, hitPolicy);
+                 RulesEngine fastPath = hitPolicyEngine(EvaluationMode.FAST_PATH, hitPolicy)) {
+                assertEnginesAgree(hitPolicy, drools, fastPath, RulesEngine::evaluateOffer,
+                        i -> offer(new Random(i), i));
+                assertEnginesAgree(hitPolicy, drools, fastPath, RulesEngine::evaluateOrder,
+                        i -> randomOrder(new Random(i), i));
+                assertEnginesAgree(hitPolicy, drools, fastPath, RulesEngine::evaluatePayment,
+                        i -> payment(new Random(i), i));
+            }
+        }
+    }
+
+    private static RulesEngine hitPolicyEngine(EvaluationMode evaluationMode, HitPolicy hitPolicy) {
+        return new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .evaluationMode(evaluationMode)
+                .hitPolicies(Map.of(KieBaseNames.OFFER, hitPolicy, KieBaseNames.ORDER, hitPolicy,
+                        KieBaseNames.PAYMENT, hitPolicy))
+                .build());
+    }
+
+    private static <T> void assertEnginesAgree(HitPolicy hitPolicy, RulesEngine drools, RulesEngine fastPath,
+                                               BiFunction<RulesEngine, T, CompletableFuture<T>> evaluate,
+                                               Function<Integer, T> facts) {
+        for (int i = 0; i < CASES / 10; i++) {
+            T expected = facts.apply(i);
+            T actual = facts.apply(i);
+
+            boolean droolsFailed = run(() -> evaluate.apply(drools, expected).join());
+            boolean fastPathFailed = run(() -> evaluate.apply(fastPath, actual).join());
+
+            assertEquals(droolsFailed, fastPathFailed, hitPolicy + " failure for case " + i + ": " + expected);
+            if (!droolsFailed) {
+                assertEquals(expected, actual, hitPolicy + " case " + i);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void assertMatchesDrools(String kieSessionName, String packageName,
+                                                Function<Integer, T> expectedFacts, Function<Integer, T> actualFacts) {
+        FastPathEvaluator<T> fastPath = (FastPathEvaluator<T>) FastPathEvaluators.forPackage(packageName);
+        assertNotNull(fastPath, packageName);
+        List<String> droolsEvents = new ArrayList<>();
+        List<String> fastPathEvents = new ArrayList<>();
+        StatelessKieSession session = kieContainer.newStatelessKieSession(kieSessionName);
+        session.setGlobal(DecisionEventSink.GLOBAL, recorder(droolsEvents));
+
+        for (int i = 0; i < CASES; i++) {
+            T expected = expectedFacts.apply(i);
+            T actual = actualFacts.apply(i);
+            droolsEvents.clear();
+            fastPathEvents.clear();
+
+            boolean droolsFailed = run(() -> session.execute(expected));
+            boolean fastPathFailed = run(() -> fastPath.evaluate(actual, recorder(fastPathEvents)));
+
+            assertEquals(droolsFailed, fastPathFailed, "failure for case " + i + ": " + expected);
+            if (!droolsFailed) {
+                assertEquals(expected, actual, "case " + i);
+                assertEquals(droolsEvents, fastPathEvents, "events for case " + i + ": " + expected);
+            }
+        }
+    }
+
+    private static boolean run(Runnable evaluation) {
+        try {
+            evaluation.run();
+            return false;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private static DecisionEventSink recorder(List<String> events) {
+        return (ruleId, factId, outcome, amount) -> events.add(ruleId + "|" + factId + "|" + outcome + "|" + amount);
+    }
+
+    /** A random offer, one in ten already marked applicable. */
+    private static Offer offer(Random random, int i) {
+        Offer offer = randomOffer(random, i);
+        offer.setOfferApplicable(random.nextInt(10) == 0);
+        return offer;
+    }
+
+    /** A random payment, one in ten with a cashback already set. */
+    private static Payment payment(Random random, int i) {
+        Payment payment = randomPayment(random, i);
+        payment.setCashbackAmount(random.nextInt(10) == 0 ? BigDecimal.TEN : null);
+        return payment;
+    }
+}
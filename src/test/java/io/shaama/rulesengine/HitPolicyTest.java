@@ -0,0 +1,136 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.OrderPriority;
+import io.shaama.rulesengine.runtime.EvaluationMode;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.kie.api.KieServices;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HitPolicyTest {
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testCollectLetsLowerSalienceOffersOverwrite(EvaluationMode evaluationMode) {
+        try (RulesEngine engine = engine(evaluationMode, HitPolicy.COLLECT, null)) {
+            Offer offer = engine.evaluateOffer(firstTimeGoldOffer()).join();
+
+            assertEquals("GOLD_CUSTOMER", offer.getAppliedOfferType());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testFirstKeepsHighestSalienceOffer(EvaluationMode evaluationMode) {
+        try (RulesEngine engine = engine(evaluationMode, HitPolicy.FIRST, null)) {
+            Offer offer = engine.evaluateOffer(firstTimeGoldOffer()).join();
+
+            assertEquals("FIRST_TIME_CUSTOMER", offer.getAppliedOfferType());
+            assertEquals(new BigDecimal("135.00"), offer.getDiscountAmount());
+            assertTrue(offer.isOfferApplicable());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testFirstStopsAtRejection(EvaluationMode evaluationMode) {
+        try (RulesEngine engine = engine(evaluationMode, HitPolicy.FIRST, null)) {
+            Offer offer = firstTimeGoldOffer();
+            offer.setOfferValidUntil(LocalDate.now().minusDays(1));
+
+            engine.evaluateOffer(offer).join();
+
+            assertFalse(offer.isOfferApplicable());
+            assertEquals("Offer has expired", offer.getRejectionReason());
+            assertNull(offer.getAppliedOfferType());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testPriorityFiresEveryMatchOfTheTopSalience(EvaluationMode evaluationMode) {
+        try (RulesEngine priority = engine(evaluationMode, HitPolicy.PRIORITY, null);
+             RulesEngine first = engine(evaluationMode, HitPolicy.FIRST, null)) {
+            Order prioritized = priority.evaluateOrder(smallOrder()).join();
+            Order firstOnly = first.evaluateOrder(smallOrder()).join();
+
+            assertEquals(OrderPriority.LOW, prioritized.getOrderPriority());
+            assertEquals(new BigDecimal("200.00"), prioritized.getTotalAmount());
+            assertEquals(OrderPriority.LOW, firstOnly.getOrderPriority());
+            assertNull(firstOnly.getTotalAmount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvaluationMode.class)
+    void testReportsFiringsPerEvaluation(EvaluationMode evaluationMode) {
+        RuleMetrics collectMetrics = new RuleMetrics();
+        RuleMetrics firstMetrics = new RuleMetrics();
+        try (RulesEngine collect = engine(evaluationMode, HitPolicy.COLLECT, collectMetrics);
+             RulesEngine first = engine(evaluationMode, HitPolicy.FIRST, firstMetrics)) {
+            for (int i = 0; i < 10; i++) {
+                collect.evaluateOffer(firstTimeGoldOffer()).join();
+                first.evaluateOffer(firstTimeGoldOffer()).join();
+            }
+        }
+
+        assertEquals(10, collectMetrics.snapshot(KieBaseNames.OFFER).getEvaluations());
+        assertEquals(2.0, collectMetrics.snapshot(KieBaseNames.OFFER).getFiringsPerEvaluation());
+        assertEquals(10, firstMetrics.snapshot(KieBaseNames.OFFER).getEvaluations());
+        assertEquals(1.0, firstMetrics.snapshot(KieBaseNames.OFFER).getFiringsPerEvaluation());
+    }
+
+    @Test
+    void testKieBasesWithoutPolicyCollect() {
+        try (RulesEngine engine = new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(),
+                RulesEngineConfig.builder()
+                        .sessionsPerKieSession(1)
+                        .hitPolicies(Map.of(KieBaseNames.OFFER, HitPolicy.FIRST))
+                        .build())) {
+            Order order = engine.evaluateOrder(smallOrder()).join();
+
+            assertEquals(new BigDecimal("200.00"), order.getTotalAmount());
+        }
+    }
+
+    private static RulesEngine engine(EvaluationMode evaluationMode, HitPolicy hitPolicy, RuleMetrics ruleMetrics) {
+        return new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(), RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .evaluationMode(evaluationMode)
+                .ruleMetrics(ruleMetrics)
+                .hitPolicies(Map.of(KieBaseNames.OFFER, hitPolicy, KieBaseNames.ORDER, hitPolicy))
+                .build());
+    }
+
+    /** Matches the first-time (salience 100) and gold (salience 80) offers. */
+    private static Offer firstTimeGoldOffer() {
+        return Offer.builder()
+                .offerId("OFF-001")
+                .customerSegment("GOLD")
+                .orderAmount(new BigDecimal("900"))
+                .isFirstTimeCustomer(true)
+                .build();
+    }
+
+    /** Matches only the two salience 1 order rules: default priority and total amount. */
+    private static Order smallOrder() {
+        return Order.builder()
+                .orderId("ORD-001")
+                .orderAmount(new BigDecimal("200.00"))
+                .itemCount(2)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.KieBaseBuildStats;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.runtime.KieSessionNames;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KieBaseBuildTest {
+
+    private static final List<String> ALL_KIE_SESSIONS = List.of(
+            KieSessionNames.OFFER, KieSessionNames.ORDER, KieSessionNames.PAYMENT, KieSessionNames.ALL_RULES);
+
+    // A container of its own, so no kbase has been built by another test
+    private KieContainer kieContainer;
+
+    @BeforeEach
+    void setUp() {
+        kieContainer = KieServices.Factory.get().newKieClasspathContainer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        kieContainer.dispose();
+    }
+
+    @Test
+    void testLazyEngineBuildsOnlyRequestedKieBases() {
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .kieSessionNames(ALL_KIE_SESSIONS)
+                .lazyKieBases(true)
+                .build())) {
+            assertTrue(engine.kieBaseBuildStats().isEmpty());
+            assertTrue(engine.poolMetrics().isEmpty());
+
+            Payment payment = engine.evaluatePayment(payment()).join();
+
+            assertNotNull(payment.getPaymentStatus());
+            assertEquals(Set.of(KieBaseNames.PAYMENT), engine.kieBaseBuildStats().keySet());
+            assertEquals(Set.of(KieSessionNames.PAYMENT), engine.poolMetrics().keySet());
+        }
+    }
+
+    @Test
+    void testCombinedKieBaseIsAssembledFromPackageKieBases() {
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .kieSessionNames(ALL_KIE_SESSIONS)
+                .build())) {
+            Map<String, KieBaseBuildStats> stats = engine.kieBaseBuildStats();
+
+            assertEquals(Set.of(KieBaseNames.OFFER, KieBaseNames.ORDER, KieBaseNames.PAYMENT, KieBaseNames.ALL_RULES),
+                    stats.keySet());
+            assertEquals(List.of(KieBaseNames.OFFER, KieBaseNames.ORDER, KieBaseNames.PAYMENT),
+                    stats.get(KieBaseNames.ALL_RULES).getComposedFrom());
+            for (KieBaseBuildStats kieBase : stats.values()) {
+                assertTrue(kieBase.getBuildNanos() > 0, kieBase.getKieBaseName());
+                assertFalse(kieBase.isRestored());
+            }
+            assertTrue(stats.get(KieBaseNames.OFFER).getComposedFrom().isEmpty());
+        }
+    }
+
+    @Test
+    void testAssembledKieBaseMatchesBuiltOne() {
+        KieContainer reference = KieServices.Factory.get().newKieClasspathContainer();
+        StatelessKieSession expected = reference.newStatelessKieSession(KieSessionNames.ALL_RULES);
+        expected.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .kieSessionNames(ALL_KIE_SESSIONS)
+                .build())) {
+            for (String segment : new String[]{"PREMIUM", "GOLD", "REGULAR"}) {
+                for (String amount : new String[]{"40", "150", "800", "1500", "6000"}) {
+                    Offer evaluated = offer(segment, amount);
+                    expected.execute(evaluated);
+                    Offer assembled = engine.evaluate(KieSessionNames.ALL_RULES, offer(segment, amount)).join();
+                    assertEquals(evaluated, assembled, segment + "/" + amount);
+
+                    Order evaluatedOrder = order(amount);
+                    expected.execute(evaluatedOrder);
+                    assertEquals(evaluatedOrder, engine.evaluate(KieSessionNames.ALL_RULES, order(amount)).join());
+                }
+            }
+            Payment evaluatedPayment = payment();
+            expected.execute(evaluatedPayment);
+            assertEquals(evaluatedPayment, engine.evaluate(KieSessionNames.ALL_RULES, payment()).join());
+        } finally {
+            reference.dispose();
+        }
+    }
+
+    private static Offer offer(String segment, String amount) {
+        return Offer.builder()
+                .offerId("OFF-BUILD")
+                .customerId("CUST-BUILD")
+                .customerSegment(segment)
+                .productCategory("ELECTRONICS")
+                .orderAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static Order order(String amount) {
+        return Order.builder()
+                .orderId("ORD-BUILD")
+                .customerId("CUST-BUILD")
+                .orderAmount(new BigDecimal(amount))
+                .deliveryZone("NATIONAL")
+                .itemCount(4)
+                .productType("FASHION")
+                .build();
+    }
+
+    private static Payment payment() {
+        return Payment.builder()
+                .paymentId("PAY-BUILD")
+                .orderId("ORD-BUILD")
+                .customerId("CUST-BUILD")
+                .amount(new BigDecimal("1000"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("REGULAR")
+                .transactionCount(5)
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.registry.KieBaseLease;
+import io.shaama.rulesengine.registry.KieBaseRegistry;
+import io.shaama.rulesengine.registry.KieContainerLoader;
+import io.shaama.rulesengine.registry.RegistryConfig;
+import io.shaama.rulesengine.registry.RegistryStats;
+import io.shaama.rulesengine.registry.Rollout;
+import io.shaama.rulesengine.registry.VersionStats;
+import io.shaama.rulesengine.reload.RulePackSource;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KieBaseRegistryTest {
+
+    private static final String GOLD_RULE = "Gold Customer - 15% Discount";
+    private static final ReleaseId BASELINE = releaseId("7.0.0");
+    private static final ReleaseId CANARY = releaseId("7.1.0");
+
+    @TempDir
+    static Path packs;
+
+    @BeforeAll
+    static void writeRulePacks() throws IOException {
+        writeRulePack(BASELINE, null);
+        writeRulePack(CANARY, "0.30");
+    }
+
+    @Test
+    void testSharesKieBasesWithIdenticalRules() {
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(Long.MAX_VALUE, Map.of()));
+             KieBaseLease baselineOrders = registry.acquire(BASELINE, KieBaseNames.ORDER);
+             KieBaseLease canaryOrders = registry.acquire(CANARY, KieBaseNames.ORDER);
+             KieBaseLease baselineOffers = registry.acquire(BASELINE, KieBaseNames.OFFER);
+             KieBaseLease canaryOffers = registry.acquire(CANARY, KieBaseNames.OFFER)) {
+            assertSame(baselineOrders.getKieBase(), canaryOrders.getKieBase());
+            assertFalse(baselineOrders.isShared());
+            assertTrue(canaryOrders.isShared());
+            assertNotSame(baselineOffers.getKieBase(), canaryOffers.getKieBase());
+            assertFalse(canaryOffers.isShared());
+
+            RegistryStats stats = registry.stats();
+            assertEquals(2, stats.getLoads());
+            assertEquals(1, stats.getSharedKieBaseHits());
+            VersionStats canary = version(stats, CANARY);
+            assertEquals(List.of(KieBaseNames.OFFER), canary.getOwnKieBases());
+            assertEquals(List.of(KieBaseNames.ORDER), canary.getSharedKieBases());
+            assertEquals(2, canary.getHits());
+            assertEquals(2, canary.getActiveLeases());
+        }
+    }
+
+    @Test
+    void testReusesTheKieBaseOfALoadedRelease() {
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(Long.MAX_VALUE, Map.of()))) {
+            try (KieBaseLease first = registry.acquire(BASELINE, KieBaseNames.OFFER);
+                 KieBaseLease second = registry.acquire(BASELINE, KieBaseNames.OFFER)) {
+                assertSame(first.getKieBase(), second.getKieBase());
+            }
+
+            VersionStats baseline = version(registry.stats(), BASELINE);
+            assertEquals(2, baseline.getHits());
+            assertEquals(0, baseline.getActiveLeases());
+            assertEquals(1, registry.stats().getLoads());
+        }
+    }
+
+    @Test
+    void testRoutesCustomersToStableReleases() {
+        Rollout rollout = Rollout.builder()
+                .variant(new Rollout.Variant(BASELINE, 1))
+                .variant(new Rollout.Variant(CANARY, 1))
+                .build();
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(Long.MAX_VALUE, Map.of(KieBaseNames.OFFER, rollout)))) {
+            Set<BigDecimal> discounts = new HashSet<>();
+            for (int i = 0; i < 50; i++) {
+                String customerId = "CUST-" + i;
+                BigDecimal discount = registry.evaluate(customerId, KieBaseNames.OFFER, goldOffer()).getDiscountAmount();
+                assertEquals(discount, registry.evaluate(customerId, KieBaseNames.OFFER, goldOffer()).getDiscountAmount());
+                assertEquals(BASELINE.equals(rollout.select(customerId)) ? new BigDecimal("135.00") : new BigDecimal("270.00"), discount);
+                discounts.add(discount);
+            }
+
+            assertEquals(Set.of(new BigDecimal("135.00"), new BigDecimal("270.00")), discounts);
+        }
+    }
+
+    @Test
+    void testEvictsIdleReleasesOverBudget() {
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(1, Map.of()))) {
+            try (KieBaseLease baseline = registry.acquire(BASELINE, KieBaseNames.OFFER)) {
+                registry.acquire(CANARY, KieBaseNames.OFFER).close();
+
+                RegistryStats stats = registry.stats();
+                assertEquals(1, stats.getEvictions());
+                assertEquals(List.of(BASELINE), stats.getVersions().stream().map(VersionStats::getReleaseId).toList());
+                assertNotNull(baseline.getKieBase().newStatelessKieSession());
+            }
+
+            RegistryStats stats = registry.stats();
+            assertEquals(2, stats.getEvictions());
+            assertEquals(List.of(), stats.getVersions());
+            assertEquals(0, stats.getAllocatedBytes());
+
+            try (KieBaseLease reloaded = registry.acquire(BASELINE, KieBaseNames.OFFER)) {
+                assertEquals(BASELINE, reloaded.getReleaseId());
+            }
+            assertEquals(3, registry.stats().getLoads());
+        }
+    }
+
+    @Test
+    void testKeepsKieBasesSharedWithAnEvictedRelease() {
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(1, Map.of()))) {
+            KieBaseLease canaryOrders;
+            try (KieBaseLease baselineOrders = registry.acquire(BASELINE, KieBaseNames.ORDER)) {
+                canaryOrders = registry.acquire(CANARY, KieBaseNames.ORDER);
+                assertSame(baselineOrders.getKieBase(), canaryOrders.getKieBase());
+            }
+
+            RegistryStats stats = registry.stats();
+            assertEquals(List.of(CANARY), stats.getVersions().stream().map(VersionStats::getReleaseId).toList());
+            assertTrue(stats.getAllocatedBytes() > version(stats, CANARY).getAllocatedBytes());
+            assertNotNull(canaryOrders.getKieBase().newStatelessKieSession());
+
+            canaryOrders.close();
+
+            assertEquals(0, registry.stats().getAllocatedBytes());
+        }
+    }
+
+    @Test
+    void testRejectsUnknownKieBase() {
+        try (KieBaseRegistry registry = new KieBaseRegistry(config(Long.MAX_VALUE, Map.of()))) {
+            assertThrows(IllegalArgumentException.class, () -> registry.acquire(BASELINE, "missingKBase"));
+            assertThrows(IllegalArgumentException.class, () -> registry.route("CUST-1", KieBaseNames.PAYMENT));
+        }
+    }
+
+    private static RegistryConfig config(long allocationBudgetBytes, Map<String, Rollout> rollouts) {
+        return RegistryConfig.builder()
+                .allocationBudgetBytes(allocationBudgetBytes)
+                .loader(KieContainerLoader.directory(packs))
+                .rollouts(rollouts)
+                .sessionsPerKieBase(1)
+                .build();
+    }
+
+    private static VersionStats version(RegistryStats stats, ReleaseId releaseId) {
+        return stats.getVersions().stream()
+                .filter(version -> version.getReleaseId().equals(releaseId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Offer goldOffer() {
+        return Offer.builder()
+                .offerId("OFF-REG")
+                .customerSegment("GOLD")
+                .orderAmount(new BigDecimal("900"))
+                .build();
+    }
+
+    private static ReleaseId releaseId(String version) {
+        return KieServices.Factory.get().newReleaseId(RulePackSource.GROUP_ID, RulePackSource.ARTIFACT_ID, version);
+    }
+
+    /**
+     * Writes the packaged rules as a KJAR into {@link #packs}, with the Gold customer rate
+     * changed to {@code goldRate} unless it is null.
+     */
+    private static void writeRulePack(ReleaseId releaseId, String goldRate) throws IOException {
+        KieServices kieServices = KieServices.Factory.get();
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.writeKModuleXML(resource("META-INF/kmodule.xml"));
+        writeOfferRules(kfs, goldRate == null ? Map.of() : Map.of(GOLD_RULE, goldRate));
+        kfs.write("src/main/resources/rules/order-rules.drl", resource("rules/order-rules.drl"));
+        kfs.write("src/main/resources/rules/payment-rules.drl", resource("rules/payment-rules.drl"));
+        kfs.write("src/main/resources/streams/payment-velocity.drl", resource("streams/payment-velocity.drl"));
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll();
+        assertFalse(kieBuilder.getResults().hasMessages(Message.Level.ERROR), kieBuilder.getResults().toString());
+        InternalKieModule kieModule = (InternalKieModule) kieBuilder.getKieModule();
+        Files.write(packs.resolve(RulePackSource.ARTIFACT_ID + "-" + releaseId.getVersion() + ".jar"), kieModule.getBytes());
+        kieServices.getRepository().removeKieModule(releaseId);
+    }
+
+    /**
+     * The offer rules with the discount rate of each named rule replaced, as a rule pack release
+     * changes it.
+     */
+    private static void writeOfferRules(KieFileSystem kfs, Map<String, String> rates) throws IOException {
+        String offerRules = resource("rules/offer-rules.drl");
+        for (Map.Entry<String, String> rate : rates.entrySet()) {
+            offerRules = offerRules.replaceFirst("(?s)(rule \"" + Pattern.quote(rate.getKey())
+                    + "\".*?multiply\\(new BigDecimal\\(\")[^\"]*", "$1" + rate.getValue());
+        }
+        kfs.write("src/main/resources/rules/offer-rules.drl", offerRules);
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = KieBaseRegistryTest.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.runtime.KieBaseOptions;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshot;
+import io.shaama.rulesengine.snapshot.KieBaseSnapshotStore;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static io.shaama.rulesengine.RuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KieBaseSnapshotStoreTest {
+
+    private static KieContainer kieContainer;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testFirstLoadBuildsAndWritesSnapshot() throws IOException {
+        KieBaseSnapshot snapshot = new KieBaseSnapshotStore(directory).load(kieContainer, "offerKBase");
+
+        assertFalse(snapshot.isRestored());
+        assertNotNull(snapshot.getChecksum());
+        assertEquals(KieBaseOptions.ALPHA_RANGE_INDEX_THRESHOLD, alphaRangeIndexThreshold(snapshot.getKieBase()));
+        List<Path> files = snapshotFiles();
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().startsWith("offerKBase-" + snapshot.getChecksum()));
+        assertEquals(Files.size(files.get(0)), snapshot.getSnapshotBytes());
+    }
+
+    @Test
+    void testRestoredKieBaseMatchesBuiltOne() {
+        KieBaseSnapshot built = new KieBaseSnapshotStore(directory).load(kieContainer, "offerKBase");
+        // A new store stands in for the next start of the application
+        KieBaseSnapshot restored = new KieBaseSnapshotStore(directory).load(kieContainer, "offerKBase");
+
+        assertTrue(restored.isRestored());
+        assertEquals(built.getChecksum(), restored.getChecksum());
+        assertNotSame(built.getKieBase(), restored.getKieBase());
+        assertEquals(KieBaseOptions.ALPHA_RANGE_INDEX_THRESHOLD, alphaRangeIndexThreshold(restored.getKieBase()));
+        StatelessKieSession expected = session(built.getKieBase());
+        StatelessKieSession actual = session(restored.getKieBase());
+        for (int i = 0; i < 500; i++) {
+            Offer evaluated = randomOffer(new Random(i), i);
+            expected.execute(evaluated);
+            Offer fromSnapshot = randomOffer(new Random(i), i);
+            actual.execute(fromSnapshot);
+            assertEquals(evaluated, fromSnapshot, "offer " + i);
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotIsRebuilt() throws IOException {
+        KieBaseSnapshotStore store = new KieBaseSnapshotStore(directory);
+        store.load(kieContainer, "orderKBase");
+        Path file = snapshotFiles().get(0);
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        KieBaseSnapshot rebuilt = store.load(kieContainer, "orderKBase");
+
+        assertFalse(rebuilt.isRestored());
+        assertTrue(Files.size(file) > 8, "a fresh snapshot replaces the corrupt one");
+        assertTrue(store.load(kieContainer, "orderKBase").isRestored());
+    }
+
+    @Test
+    void testOutdatedSnapshotsOfTheKieBaseAreRemoved() throws IOException {
+        Path outdated = directory.resolve("offerKBase-" + "0".repeat(64) + ".kbase");
+        Path otherKieBase = directory.resolve("orderKBase-" + "0".repeat(64) + ".kbase");
+        Files.write(outdated, new byte[]{0});
+        Files.write(otherKieBase, new byte[]{0});
+
+        new KieBaseSnapshotStore(directory).load(kieContainer, "offerKBase");
+
+        assertFalse(Files.exists(outdated));
+        assertTrue(Files.exists(otherKieBase));
+    }
+
+    @Test
+    void testEngineEvaluatesWithRestoredKieBases() {
+        RulesEngineConfig config = RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .decisionCacheSize(32)
+                .kieBaseSnapshots(new KieBaseSnapshotStore(directory))
+                .build();
+        new RulesEngine(kieContainer, config).close();
+
+        try (RulesEngine engine = new RulesEngine(kieContainer, config)) {
+            Offer offer = engine.evaluateOffer(premiumOffer()).join();
+            Order order = engine.evaluateOrder(Order.builder()
+                    .orderId("ORD-SNAPSHOT")
+                    .customerId("CUST-SNAPSHOT")
+                    .orderAmount(new BigDecimal("800"))
+                    .deliveryZone("REGIONAL")
+                    .itemCount(3)
+                    .productType("ELECTRONICS")
+                    .build()).join();
+
+            Offer expected = premiumOffer();
+            session(kieContainer.getKieBase("offerKBase")).execute(expected);
+            assertEquals(expected, offer);
+            assertNotNull(order.getTotalAmount());
+        }
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".kbase")).toList();
+        }
+    }
+
+    private static int alphaRangeIndexThreshold(KieBase kieBase) {
+        return ((InternalKnowledgeBase) kieBase).getRuleBaseConfiguration().getAlphaNodeRangeIndexThreshold();
+    }
+
+    private static Offer premiumOffer() {
+        return Offer.builder()
+                .offerId("OFF-SNAPSHOT")
+                .customerId("CUST-SNAPSHOT")
+                .customerSegment("PREMIUM")
+                .productCategory("ELECTRONICS")
+                .orderAmount(new BigDecimal("1500"))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.metrics.LatencyHistogram;
+import io.shaama.rulesengine.metrics.LatencySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000, snapshot.getMaxNanos());
+        assertEquals(50_000_500, snapshot.getMeanNanos(), 1);
+        assertWithinPrecision(50_000_000, snapshot.getP50Nanos());
+        assertWithinPrecision(90_000_000, snapshot.getP90Nanos());
+        assertWithinPrecision(99_000_000, snapshot.getP99Nanos());
+        assertWithinPrecision(99_900_000, snapshot.getP999Nanos());
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        for (int value = 0; value < 32; value++) {
+            histogram.record(value);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(15, snapshot.getP50Nanos());
+        assertEquals(31, snapshot.getP999Nanos());
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getP99Nanos());
+        assertEquals(0, snapshot.getMeanNanos());
+    }
+
+    @Test
+    void testConcurrentRecordersLoseNothing() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000, histogram.snapshot().getCount());
+    }
+
+    @Test
+    void testRejectsStripeCountNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(3));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "expected " + expected + " within 1/16 but was " + actual);
+    }
+}
@@ -0,0 +1,52 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import io.shaama.rulesengine.workload.LoadTestConfig;
+import io.shaama.rulesengine.workload.LoadTestResult;
+import io.shaama.rulesengine.workload.LoadTestRunner;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestRunnerTest {
+
+    @Test
+    void testOpenLoopRunReportsThroughputAndLatency() {
+        try (RulesEngine engine = new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(),
+                RulesEngineConfig.builder().sessionsPerKieSession(4).build())) {
+            LoadTestResult result = new LoadTestRunner(engine).run(LoadTestConfig.builder()
+                    .ratePerSecond(500)
+                    .warmUp(Duration.ofMillis(500))
+                    .duration(Duration.ofSeconds(2))
+                    .build());
+
+            assertEquals(1_000, result.getStarted());
+            assertEquals(result.getStarted(), result.getCompleted() + result.getFailed() + result.getTimedOut());
+            assertEquals(0, result.getFailed());
+            assertEquals(result.getCompleted(), result.getLatency().getCount());
+            assertEquals(500, result.getThroughputPerSecond(), 100);
+            assertTrue(result.getLatency().getP50Nanos() <= result.getLatency().getP99Nanos());
+            assertTrue(result.getLatency().getP99Nanos() <= result.getLatency().getP999Nanos());
+        }
+    }
+
+    @Test
+    void testLatencyIncludesScheduleDelay() {
+        try (RulesEngine engine = new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(),
+                RulesEngineConfig.builder().sessionsPerKieSession(1).build())) {
+            LoadTestResult result = new LoadTestRunner(engine).run(LoadTestConfig.builder()
+                    .ratePerSecond(2_000)
+                    .warmUp(Duration.ZERO)
+                    .duration(Duration.ofMillis(500))
+                    .build());
+
+            // Measured from the due time, latency can never be shorter than the service time
+            assertTrue(result.getLatency().getMaxNanos() >= result.getServiceTime().getMaxNanos());
+            assertTrue(result.getLatency().getP50Nanos() >= result.getServiceTime().getP50Nanos());
+        }
+    }
+}
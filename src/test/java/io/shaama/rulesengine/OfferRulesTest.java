@@ -1,13 +1,12 @@
 package io.shaama.rulesengine;
 
+import io.shaama.rulesengine.events.DecisionEventSink;
 import io.shaama.rulesengine.model.Offer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.StatelessKieSession;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,7 +15,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class OfferRulesTest {
 
-    private static final Logger logger = LoggerFactory.getLogger(OfferRulesTest.class);
     private static StatelessKieSession kieSession;
 
     @BeforeAll
@@ -31,7 +29,7 @@ class OfferRulesTest {
         org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
         KieContainer kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
         kieSession = kieContainer.newStatelessKieSession();
-        kieSession.setGlobal("logger", logger);
+        kieSession.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
     }    @Test
     void testFirstTimeCustomerOffer() {
         Offer offer = Offer.builder()
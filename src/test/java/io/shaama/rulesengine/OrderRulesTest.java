@@ -1,13 +1,13 @@
 package io.shaama.rulesengine;
 
+import io.shaama.rulesengine.events.DecisionEventSink;
 import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.OrderPriority;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.StatelessKieSession;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,7 +16,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class OrderRulesTest {
 
-    private static final Logger logger = LoggerFactory.getLogger(OrderRulesTest.class);
     private static StatelessKieSession kieSession;
 
     @BeforeAll
@@ -31,7 +30,7 @@ class OrderRulesTest {
         org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
         KieContainer kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
         kieSession = kieContainer.newStatelessKieSession();
-        kieSession.setGlobal("logger", logger);
+        kieSession.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
     }    @Test
     void testFreeShipping() {
         Order order = Order.builder()
@@ -158,7 +157,7 @@ class OrderRulesTest {
         kieSession.execute(order);
 
         assertTrue(order.isRequiresApproval());
-        assertEquals("HIGH", order.getOrderPriority());
+        assertEquals(OrderPriority.HIGH, order.getOrderPriority());
     }
 
     @Test
@@ -177,7 +176,7 @@ class OrderRulesTest {
 
         kieSession.execute(order);
 
-        assertEquals("HIGH", order.getOrderPriority());
+        assertEquals(OrderPriority.HIGH, order.getOrderPriority());
     }
 
     @Test
@@ -195,7 +194,7 @@ class OrderRulesTest {
 
         kieSession.execute(order);
 
-        assertEquals("MEDIUM", order.getOrderPriority());
+        assertEquals(OrderPriority.MEDIUM, order.getOrderPriority());
     }
 
     @Test
@@ -0,0 +1,252 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.partition.PartitionConfig;
+import io.shaama.rulesengine.partition.PartitionStats;
+import io.shaama.rulesengine.partition.PartitionedExecutor;
+import io.shaama.rulesengine.velocity.PaymentVelocityTracker;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedExecutorTest {
+
+    /** Unsynchronized per-partition state: only safe if a partition runs on one thread. */
+    static class CustomerLog implements AutoCloseable {
+        final int partition;
+        final Map<String, List<Integer>> sequences = new HashMap<>();
+        final Map<String, String> threads = new HashMap<>();
+        boolean closed;
+
+        CustomerLog(int partition) {
+            this.partition = partition;
+        }
+
+        int append(String customerId, int sequence) {
+            sequences.computeIfAbsent(customerId, id -> new ArrayList<>()).add(sequence);
+            String thread = Thread.currentThread().getName();
+            if (threads.putIfAbsent(customerId, thread) != null && !threads.get(customerId).equals(thread)) {
+                throw new IllegalStateException(customerId + " ran on two threads");
+            }
+            return partition;
+        }
+
+        /** Moves the customers' sequences; their thread is recorded afresh on the new partition. */
+        static void handOff(CustomerLog from, CustomerLog to, Predicate<String> moved) {
+            for (Iterator<Map.Entry<String, List<Integer>>> entries = from.sequences.entrySet().iterator(); entries.hasNext(); ) {
+                Map.Entry<String, List<Integer>> entry = entries.next();
+                if (moved.test(entry.getKey())) {
+                    to.sequences.put(entry.getKey(), entry.getValue());
+                    from.threads.remove(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void testPreservesPerCustomerOrder() {
+        List<CustomerLog> logs = new ArrayList<>();
+        try (PartitionedExecutor<CustomerLog> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(4).queueCapacity(100_000).build(), i -> add(logs, new CustomerLog(i)))) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int sequence = 0; sequence < 200; sequence++) {
+                for (int customer = 0; customer < 100; customer++) {
+                    String customerId = "CUST-" + customer;
+                    int s = sequence;
+                    futures.add(executor.submit(customerId, log -> log.append(customerId, s)));
+                }
+            }
+            futures.forEach(CompletableFuture::join);
+        }
+
+        int customers = 0;
+        for (CustomerLog log : logs) {
+            assertTrue(log.closed);
+            for (Map.Entry<String, List<Integer>> entry : log.sequences.entrySet()) {
+                assertEquals(log.partition, PartitionedExecutor.partitionOf(entry.getKey(), 4));
+                List<Integer> sequences = entry.getValue();
+                assertEquals(200, sequences.size());
+                for (int i = 0; i < sequences.size(); i++) {
+                    assertEquals(i, sequences.get(i));
+                }
+                customers++;
+            }
+        }
+        assertEquals(100, customers);
+    }
+
+    @Test
+    void testSubmitFactUsesCustomerId() {
+        try (PartitionedExecutor<CustomerLog> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(8).build(), CustomerLog::new)) {
+            Payment payment = Payment.builder().paymentId("PAY-001").customerId("CUST-042").build();
+
+            int partition = executor.submitFact(payment, (log, p) -> log.append(p.getCustomerId(), 0)).join();
+
+            assertEquals(PartitionedExecutor.partitionOf("CUST-042", 8), partition);
+        }
+    }
+
+    @Test
+    void testResizeMovesFewCustomers() {
+        int moved = 0;
+        for (int customer = 0; customer < 10_000; customer++) {
+            String customerId = "CUST-" + customer;
+            int before = PartitionedExecutor.partitionOf(customerId, 8);
+            int after = PartitionedExecutor.partitionOf(customerId, 9);
+            if (before != after) {
+                assertEquals(8, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > 800 && moved < 1_400, "moved " + moved);
+    }
+
+    @Test
+    void testResizeKeepsOrderAndClosesRemovedPartitions() throws Exception {
+        List<CustomerLog> logs = new ArrayList<>();
+        try (PartitionedExecutor<CustomerLog> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(2).queueCapacity(100_000).build(), i -> add(logs, new CustomerLog(i)),
+                CustomerLog::handOff)) {
+            for (int customer = 0; customer < 50; customer++) {
+                String customerId = "CUST-" + customer;
+                executor.submit(customerId, log -> log.append(customerId, 0));
+            }
+            executor.resize(6);
+            assertEquals(6, executor.getPartitionCount());
+            for (int customer = 0; customer < 50; customer++) {
+                String customerId = "CUST-" + customer;
+                int partition = executor.submit(customerId, log -> log.append(customerId, 1)).join();
+                assertEquals(PartitionedExecutor.partitionOf(customerId, 6), partition);
+            }
+
+            executor.resize(3);
+            assertEquals(3, executor.getPartitionCount());
+            assertFalse(logs.get(0).closed);
+            assertTrue(logs.get(3).closed);
+            assertTrue(logs.get(5).closed);
+            for (int customer = 0; customer < 50; customer++) {
+                String customerId = "CUST-" + customer;
+                executor.submit(customerId, log -> log.append(customerId, 2)).join();
+                assertEquals(List.of(0, 1, 2), logs.get(PartitionedExecutor.partitionOf(customerId, 3)).sequences.get(customerId));
+            }
+        }
+    }
+
+    @Test
+    void testResizeWithoutHandOffFails() {
+        try (PartitionedExecutor<CustomerLog> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(2).build(), CustomerLog::new)) {
+            assertThrows(IllegalStateException.class, () -> executor.resize(3));
+            assertEquals(2, executor.getPartitionCount());
+        }
+    }
+
+    @Test
+    void testResizeHandsOffPaymentVelocity() throws Exception {
+        KieContainer kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        try (PartitionedExecutor<PaymentVelocityTracker> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(2).build(), i -> PaymentVelocityTracker.create(kieContainer),
+                PaymentVelocityTracker::handOff)) {
+            for (int customer = 0; customer < 20; customer++) {
+                String customerId = "CUST-" + customer;
+                executor.submit(customerId, tracker -> {
+                    tracker.record(customerId, "PAY-" + customerId, 10_000);
+                    return null;
+                }).join();
+            }
+
+            executor.resize(5);
+            for (int customer = 0; customer < 20; customer++) {
+                String customerId = "CUST-" + customer;
+                assertEquals(1, executor.submit(customerId, tracker -> tracker.velocity(customerId)).join()
+                        .getTransactionsLast30Days(), customerId);
+            }
+
+            executor.resize(1);
+            for (int customer = 0; customer < 20; customer++) {
+                String customerId = "CUST-" + customer;
+                assertEquals(1, executor.submit(customerId, tracker -> tracker.velocity(customerId)).join()
+                        .getTransactionsLast30Days(), customerId);
+            }
+        }
+    }
+
+    @Test
+    void testReportsQueueDepthAndRejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try (PartitionedExecutor<AtomicInteger> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(1).queueCapacity(3).build(), i -> new AtomicInteger())) {
+            executor.submit("CUST-1", state -> {
+                started.countDown();
+                await(release);
+                return state.incrementAndGet();
+            });
+            started.await();
+            List<CompletableFuture<Integer>> queued = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                queued.add(executor.submit("CUST-1", AtomicInteger::incrementAndGet));
+            }
+            CompletableFuture<Integer> rejected = executor.submit("CUST-1", AtomicInteger::incrementAndGet);
+
+            PartitionStats stats = executor.stats().get(0);
+            assertEquals(3, stats.getQueueDepth());
+            assertEquals(1, stats.getRejected());
+            CompletionException e = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+
+            release.countDown();
+            assertEquals(4, queued.get(2).join());
+            assertEquals(4, executor.stats().get(0).getCompleted());
+            assertEquals(0, executor.stats().get(0).getQueueDepth());
+        }
+    }
+
+    @Test
+    void testFailedTaskDoesNotStopPartition() {
+        try (PartitionedExecutor<AtomicInteger> executor = new PartitionedExecutor<>(
+                PartitionConfig.builder().partitions(1).build(), i -> new AtomicInteger())) {
+            CompletableFuture<Integer> failed = executor.submit("CUST-1", state -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThrows(CompletionException.class, failed::join);
+            assertEquals(1, executor.submit("CUST-1", AtomicInteger::incrementAndGet).join());
+            assertEquals(1, executor.stats().get(0).getFailed());
+        }
+    }
+
+    private static synchronized CustomerLog add(List<CustomerLog> logs, CustomerLog log) {
+        logs.add(log);
+        return log;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package io.shaama.rulesengine;
 
+import io.shaama.rulesengine.events.DecisionEventSink;
 import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentStatus;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.StatelessKieSession;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,7 +16,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class PaymentRulesTest {
 
-    private static final Logger logger = LoggerFactory.getLogger(PaymentRulesTest.class);
     private static StatelessKieSession kieSession;
 
     @BeforeAll
@@ -31,7 +30,7 @@ class PaymentRulesTest {
         org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
         KieContainer kieContainer = kieServices.newKieContainer(kieModule.getReleaseId());
         kieSession = kieContainer.newStatelessKieSession();
-        kieSession.setGlobal("logger", logger);
+        kieSession.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
     }    @Test
     void testHighValuePaymentManualReview() {
         Payment payment = Payment.builder()
@@ -48,7 +47,7 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertTrue(payment.isRequiresManualReview());
-        assertEquals("REQUIRES_VERIFICATION", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.REQUIRES_VERIFICATION, payment.getPaymentStatus());
         assertEquals(75, payment.getRiskScore());
     }
 
@@ -68,7 +67,7 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertEquals(new BigDecimal("25.000"), payment.getTransactionFee());
-        assertEquals("APPROVED", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.APPROVED, payment.getPaymentStatus());
     }
 
     @Test
@@ -162,7 +161,7 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertFalse(payment.isPaymentApproved());
-        assertEquals("REJECTED", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.REJECTED, payment.getPaymentStatus());
         assertEquals("Payment amount exceeds credit limit", payment.getRejectionReason());
         assertEquals(100, payment.getRiskScore());
     }
@@ -183,7 +182,7 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertTrue(payment.isRequiresManualReview());
-        assertEquals("REQUIRES_VERIFICATION", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.REQUIRES_VERIFICATION, payment.getPaymentStatus());
         assertEquals(60, payment.getRiskScore());
     }
 
@@ -203,10 +202,44 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertFalse(payment.isPaymentApproved());
-        assertEquals("REJECTED", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.REJECTED, payment.getPaymentStatus());
         assertEquals("COD not available for orders above 5000", payment.getRejectionReason());
     }
 
+    @Test
+    void testCodLimitExceededBelowOneMinorUnit() {
+        Payment payment = Payment.builder()
+                .paymentId("PAY-009A")
+                .amount(new BigDecimal("5000.006"))
+                .paymentMethod("COD")
+                .customerType("REGULAR")
+                .transactionCount(5)
+                .build();
+
+        kieSession.execute(payment);
+
+        assertFalse(payment.isPaymentApproved());
+        assertEquals(PaymentStatus.REJECTED, payment.getPaymentStatus());
+        assertEquals("COD not available for orders above 5000", payment.getRejectionReason());
+    }
+
+    @Test
+    void testCreditLimitExceededBelowOneMinorUnit() {
+        Payment payment = Payment.builder()
+                .paymentId("PAY-007A")
+                .amount(new BigDecimal("100.005"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("NEW")
+                .creditLimit(new BigDecimal("100.001"))
+                .transactionCount(0)
+                .build();
+
+        kieSession.execute(payment);
+
+        assertEquals(PaymentStatus.REJECTED, payment.getPaymentStatus());
+        assertEquals("Payment amount exceeds credit limit", payment.getRejectionReason());
+    }
+
     @Test
     void testLowRiskAutoApprove() {
         Payment payment = Payment.builder()
@@ -223,7 +256,7 @@ class PaymentRulesTest {
         kieSession.execute(payment);
 
         assertTrue(payment.isPaymentApproved());
-        assertEquals("APPROVED", payment.getPaymentStatus());
+        assertEquals(PaymentStatus.APPROVED, payment.getPaymentStatus());
         assertEquals(10, payment.getRiskScore());
     }
 
@@ -0,0 +1,159 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentEvent;
+import io.shaama.rulesengine.model.PaymentVelocity;
+import io.shaama.rulesengine.velocity.PaymentVelocityTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.time.SessionPseudoClock;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentVelocityTest {
+
+    private PaymentVelocityTracker tracker;
+    private SessionPseudoClock clock;
+
+    @BeforeEach
+    void setUp() {
+        tracker = PaymentVelocityTracker.withPseudoClock(KieServices.Factory.get().getKieClasspathContainer());
+        clock = tracker.getClock();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.close();
+    }
+
+    @Test
+    void testCountsPaymentsPerSlidingWindow() {
+        tracker.record("CUST-001", "PAY-001", 10_000);
+        clock.advanceTime(2, TimeUnit.DAYS);
+        tracker.record("CUST-001", "PAY-002", 20_000);
+        clock.advanceTime(20, TimeUnit.HOURS);
+        tracker.record("CUST-001", "PAY-003", 30_000);
+        clock.advanceTime(30, TimeUnit.MINUTES);
+        tracker.record("CUST-001", "PAY-004", 40_000);
+        clock.advanceTime(10, TimeUnit.MINUTES);
+
+        PaymentVelocity velocity = tracker.velocity("CUST-001");
+
+        assertEquals(2, velocity.getTransactionsLastHour());
+        assertEquals(3, velocity.getTransactionsLastDay());
+        assertEquals(90_000, velocity.getAmountLastDayMinor());
+        assertEquals(4, velocity.getTransactionsLast30Days());
+    }
+
+    @Test
+    void testWindowsSlideWithTheClock() {
+        tracker.record("CUST-001", "PAY-001", 10_000);
+        assertEquals(1, tracker.velocity("CUST-001").getTransactionsLastHour());
+
+        clock.advanceTime(61, TimeUnit.MINUTES);
+        PaymentVelocity velocity = tracker.velocity("CUST-001");
+        assertEquals(0, velocity.getTransactionsLastHour());
+        assertEquals(1, velocity.getTransactionsLastDay());
+
+        clock.advanceTime(1, TimeUnit.DAYS);
+        velocity = tracker.velocity("CUST-001");
+        assertEquals(0, velocity.getTransactionsLastDay());
+        assertEquals(0, velocity.getAmountLastDayMinor());
+        assertEquals(1, velocity.getTransactionsLast30Days());
+    }
+
+    @Test
+    void testCountsAreKeptPerCustomer() {
+        tracker.record("CUST-001", "PAY-001", 10_000);
+        tracker.record("CUST-001", "PAY-002", 10_000);
+        tracker.record("CUST-002", "PAY-003", 10_000);
+
+        assertEquals(2, tracker.velocity("CUST-001").getTransactionsLast30Days());
+        assertEquals(1, tracker.velocity("CUST-002").getTransactionsLast30Days());
+        assertEquals(0, tracker.velocity("CUST-003").getTransactionsLast30Days());
+    }
+
+    @Test
+    void testEventsExpireAfterTheLongestWindow() {
+        for (int i = 0; i < 100; i++) {
+            tracker.record("CUST-" + (i % 10), "PAY-" + i, 1_000);
+            clock.advanceTime(1, TimeUnit.HOURS);
+        }
+        assertEquals(100, tracker.getEventCount());
+
+        clock.advanceTime(30, TimeUnit.DAYS);
+        assertEquals(0, tracker.velocity("CUST-0").getTransactionsLast30Days());
+        assertEquals(0, tracker.getEventCount());
+    }
+
+    @Test
+    void testLookupRequestsAreNotRetained() {
+        tracker.record("CUST-001", "PAY-001", 10_000);
+        tracker.velocity("CUST-001");
+        tracker.velocity("CUST-001");
+
+        assertEquals(1, tracker.getEventCount());
+        assertEquals(1, tracker.velocity("CUST-001").getTransactionsLast30Days());
+    }
+
+    @Test
+    void testBackfilledPaymentsLandInTheirWindows() {
+        clock.advanceTime(40, TimeUnit.DAYS);
+        long now = clock.getCurrentTime();
+
+        int recorded = tracker.backfill(List.of(
+                new PaymentEvent("CUST-001", "PAY-001", 10_000, now - TimeUnit.DAYS.toMillis(10)),
+                new PaymentEvent("CUST-001", "PAY-002", 20_000, now - TimeUnit.MINUTES.toMillis(30)),
+                new PaymentEvent("CUST-001", "PAY-003", 30_000, now - TimeUnit.HOURS.toMillis(5)),
+                new PaymentEvent("CUST-001", "PAY-004", 40_000, now - TimeUnit.DAYS.toMillis(35))));
+
+        assertEquals(3, recorded);
+        assertEquals(3, tracker.getEventCount());
+        PaymentVelocity velocity = tracker.velocity("CUST-001");
+        assertEquals(1, velocity.getTransactionsLastHour());
+        assertEquals(2, velocity.getTransactionsLastDay());
+        assertEquals(50_000, velocity.getAmountLastDayMinor());
+        assertEquals(3, velocity.getTransactionsLast30Days());
+
+        clock.advanceTime(25, TimeUnit.DAYS);
+        assertEquals(2, tracker.velocity("CUST-001").getTransactionsLast30Days());
+        assertEquals(2, tracker.getEventCount());
+    }
+
+    @Test
+    void testPaymentIsRecordedAtItsPaymentDate() {
+        LocalDateTime paid = LocalDateTime.of(2026, 3, 1, 12, 0);
+        Instant paidAt = paid.atZone(ZoneId.systemDefault()).toInstant();
+        clock.advanceTime(paidAt.toEpochMilli() + TimeUnit.HOURS.toMillis(2), TimeUnit.MILLISECONDS);
+
+        tracker.record(Payment.builder().paymentId("PAY-001").customerId("CUST-001").amount(new BigDecimal("10.00"))
+                .paymentDate(paid).paymentApproved(true).build());
+        tracker.record("CUST-001", "PAY-002", 1_000, paidAt.plusSeconds(90 * 60));
+
+        PaymentVelocity velocity = tracker.velocity("CUST-001");
+        assertEquals(1, velocity.getTransactionsLastHour());
+        assertEquals(2, velocity.getTransactionsLastDay());
+    }
+
+    @Test
+    void testEnrichSetsTransactionCountFromRecordedPayments() {
+        tracker.record(Payment.builder().paymentId("PAY-001").customerId("CUST-001").amount(new BigDecimal("250.00"))
+                .paymentApproved(true).build());
+        tracker.record(Payment.builder().paymentId("PAY-002").customerId("CUST-001").amount(new BigDecimal("100.00"))
+                .paymentApproved(false).build());
+
+        Payment payment = tracker.enrich(Payment.builder().paymentId("PAY-003").customerId("CUST-001").build());
+
+        assertEquals(1, payment.getTransactionCount());
+        assertEquals(25_000, tracker.velocity("CUST-001").getAmountLastDayMinor());
+    }
+}
@@ -0,0 +1,127 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEvent;
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.events.RingBufferDecisionEventSink;
+import io.shaama.rulesengine.model.Payment;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferDecisionEventSinkTest {
+
+    @Test
+    void testDrainsEventsInOrder() {
+        List<String> factIds = new CopyOnWriteArrayList<>();
+        try (RingBufferDecisionEventSink sink = new RingBufferDecisionEventSink(8,
+                event -> factIds.add(event.getFactId()))) {
+            for (int i = 0; i < 100; i++) {
+                sink.record("rule", "FACT-" + i, "OK", BigDecimal.ONE);
+                while (sink.getRecordedCount() - sink.getDrainedCount() >= 8) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        assertEquals(100, factIds.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("FACT-" + i, factIds.get(i));
+        }
+    }
+
+    @Test
+    void testCountsDroppedEventsWhenFull() throws InterruptedException {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+        RingBufferDecisionEventSink sink = new RingBufferDecisionEventSink(4, event -> {
+            handling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(event.getFactId());
+        });
+
+        sink.record("rule", "FACT-0", "OK", null);
+        handling.await();
+        for (int i = 1; i < 10; i++) {
+            sink.record("rule", "FACT-" + i, "OK", null);
+        }
+
+        assertEquals(4, sink.getRecordedCount());
+        assertEquals(6, sink.getDroppedCount());
+        release.countDown();
+        sink.close();
+        assertEquals(List.of("FACT-0", "FACT-1", "FACT-2", "FACT-3"), handled);
+        assertEquals(4, sink.getDrainedCount());
+    }
+
+    @Test
+    void testHandlerFailureDoesNotStopDraining() {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        RingBufferDecisionEventSink sink = new RingBufferDecisionEventSink(4, event -> {
+            if ("FACT-0".equals(event.getFactId())) {
+                throw new IllegalStateException("boom");
+            }
+            handled.add(event.getFactId());
+        });
+
+        sink.record("rule", "FACT-0", "OK", null);
+        sink.record("rule", "FACT-1", "OK", null);
+        sink.close();
+
+        assertEquals(List.of("FACT-1"), handled);
+        assertEquals(1, sink.getHandlerFailureCount());
+    }
+
+    @Test
+    void testRejectsCapacityNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferDecisionEventSink(6, event -> {
+        }));
+    }
+
+    @Test
+    void testRulesReportFiringsToSink() {
+        List<String> events = new ArrayList<>();
+        List<DecisionEvent> drained = new CopyOnWriteArrayList<>();
+        StatelessKieSession session = KieServices.Factory.get().getKieClasspathContainer()
+                .newStatelessKieSession("paymentKSession");
+        Payment payment = Payment.builder()
+                .paymentId("PAY-001")
+                .amount(new BigDecimal("60000"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("VIP")
+                .transactionCount(10)
+                .build();
+
+        DecisionEventSink recording = (ruleId, factId, outcome, amount) -> events.add(ruleId + "|" + factId + "|" + outcome);
+        session.setGlobal(DecisionEventSink.GLOBAL, recording);
+        session.execute(payment);
+
+        assertTrue(events.contains("High Value Payment - Manual Review Required|PAY-001|REQUIRES_VERIFICATION"));
+        assertTrue(events.contains("Credit Card Transaction Fee|PAY-001|TRANSACTION_FEE"));
+        assertTrue(events.contains("VIP Customer - 5% Cashback|PAY-001|CASHBACK"));
+
+        try (RingBufferDecisionEventSink sink = new RingBufferDecisionEventSink(16, drained::add)) {
+            session.setGlobal(DecisionEventSink.GLOBAL, sink);
+            session.execute(Payment.builder()
+                    .paymentId("PAY-002")
+                    .amount(new BigDecimal("1500"))
+                    .paymentMethod("UPI")
+                    .customerType("REGULAR")
+                    .transactionCount(3)
+                    .build());
+        }
+        assertEquals(2, drained.size());
+    }
+}
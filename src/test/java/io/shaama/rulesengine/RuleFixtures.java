@@ -0,0 +1,129 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.BusinessDate;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Attribute values and fact factories shared by the tests that compare two ways of evaluating the
+ * rules. The values include null, and the boundary amounts sit on both sides of every amount
+ * threshold of the offer, order and payment rules, also within one minor unit above it. The
+ * random facts only set attributes the rules read, so they have not been evaluated yet.
+ */
+final class RuleFixtures {
+
+    static final String[] SEGMENTS = {"PREMIUM", "GOLD", "SILVER", "REGULAR", null};
+    static final String[] PRODUCT_TYPES = {"ELECTRONICS", "GROCERIES", "FASHION", "BOOKS", "OTHER", null};
+    static final String[] ZONES = {"LOCAL", "REGIONAL", "NATIONAL", "INTERNATIONAL", null};
+    static final String[] PRIORITIES = {null, null, null, "LOW", "HIGH"};
+    static final String[] PAYMENT_METHODS = {"CREDIT_CARD", "DEBIT_CARD", "UPI", "NET_BANKING", "WALLET", "COD", null};
+    static final String[] CUSTOMER_TYPES = {"NEW", "REGULAR", "VIP", null};
+    static final String[] PAYMENT_STATUSES = {null, null, null, null, "REJECTED", "REQUIRES_VERIFICATION", "APPROVED"};
+    static final BigDecimal[] BOUNDARY_AMOUNTS = {
+            new BigDecimal("49.99"), new BigDecimal("50"), new BigDecimal("199.99"), new BigDecimal("200"),
+            new BigDecimal("500"), new BigDecimal("800.00"), new BigDecimal("999.99"), new BigDecimal("1000"),
+            new BigDecimal("1500"), new BigDecimal("2000"), new BigDecimal("4999.99"), new BigDecimal("5000"),
+            new BigDecimal("5000.01"), new BigDecimal("9999.99"), new BigDecimal("10000"), new BigDecimal("24999.99"),
+            new BigDecimal("25000"), new BigDecimal("49999.99"), new BigDecimal("50000"),
+            new BigDecimal("999.995"), new BigDecimal("1000.001"), new BigDecimal("4999.999"),
+            new BigDecimal("5000.001"), new BigDecimal("5000.006"), new BigDecimal("9999.999"),
+            new BigDecimal("49999.999"), new BigDecimal("50000.001")
+    };
+
+    private RuleFixtures() {
+    }
+
+    static StatelessKieSession session(KieContainer kieContainer, String kieSessionName) {
+        StatelessKieSession session = kieContainer.newStatelessKieSession(kieSessionName);
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        return session;
+    }
+
+    static StatelessKieSession session(KieBase kieBase) {
+        StatelessKieSession session = kieBase.newStatelessKieSession();
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        return session;
+    }
+
+    static Offer goldOffer(String offerId, String amount) {
+        return Offer.builder()
+                .offerId(offerId)
+                .customerSegment("GOLD")
+                .orderAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    /**
+     * An offer that is valid, expires today, has expired or has no end date.
+     */
+    static Offer randomOffer(Random random, int i) {
+        LocalDate today = BusinessDate.today();
+        return Offer.builder()
+                .offerId("OFF-" + i)
+                .customerSegment(pick(random, SEGMENTS))
+                .productCategory(pick(random, PRODUCT_TYPES))
+                .orderAmount(randomAmount(random, 300_000))
+                .isFirstTimeCustomer(random.nextInt(4) == 0)
+                .offerValidUntil(switch (random.nextInt(4)) {
+                    case 0 -> null;
+                    case 1 -> today.minusDays(1 + random.nextInt(30));
+                    case 2 -> today;
+                    default -> today.plusDays(1 + random.nextInt(30));
+                })
+                .build();
+    }
+
+    static Order randomOrder(Random random, int i) {
+        return Order.builder()
+                .orderId("ORD-" + i)
+                .orderAmount(randomAmount(random, 1_500_000))
+                .deliveryZone(pick(random, ZONES))
+                .itemCount(random.nextInt(8) == 0 ? null : 1 + random.nextInt(20))
+                .isPeakHour(random.nextBoolean())
+                .productType(pick(random, PRODUCT_TYPES))
+                .orderPriority(pick(random, PRIORITIES))
+                .build();
+    }
+
+    static Payment randomPayment(Random random, int i) {
+        return Payment.builder()
+                .paymentId("PAY-" + i)
+                .amount(randomAmount(random, 7_000_000))
+                .paymentMethod(pick(random, PAYMENT_METHODS))
+                .customerType(pick(random, CUSTOMER_TYPES))
+                .transactionCount(random.nextInt(8) == 0 ? null : random.nextInt(30))
+                .creditLimit(random.nextBoolean() ? null : randomAmount(random, 7_000_000))
+                .paymentStatus(pick(random, PAYMENT_STATUSES))
+                .build();
+    }
+
+    /**
+     * A boundary amount one time in four, otherwise up to {@code maxCents} cents at two or three
+     * decimal places, so results that keep the scale of the amount vary too. One in four of those
+     * has a fraction below one cent.
+     */
+    static BigDecimal randomAmount(Random random, int maxCents) {
+        if (random.nextInt(4) == 0) {
+            return BOUNDARY_AMOUNTS[random.nextInt(BOUNDARY_AMOUNTS.length)];
+        }
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(maxCents), 2);
+        return switch (random.nextInt(4)) {
+            case 0 -> amount.setScale(3);
+            case 1 -> amount.add(BigDecimal.valueOf(1 + random.nextInt(9), 3));
+            default -> amount;
+        };
+    }
+
+    static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,140 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.metrics.KieBaseMetricsSnapshot;
+import io.shaama.rulesengine.metrics.RuleMetrics;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.runtime.BatchEvaluator;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleMetricsTest {
+
+    private static KieContainer kieContainer;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testCountsFiringsPerRule() {
+        RuleMetrics metrics = new RuleMetrics();
+        StatelessKieSession session = kieContainer.newStatelessKieSession("paymentKSession");
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        metrics.attach(session, "paymentKBase");
+
+        session.execute(vipCreditCardPayment("PAY-001"));
+        session.execute(vipCreditCardPayment("PAY-002"));
+
+        KieBaseMetricsSnapshot snapshot = metrics.snapshot("paymentKBase");
+        assertEquals(2, snapshot.getFactsInserted());
+        assertEquals(2L, snapshot.getRuleFirings().get("High Value Payment - Manual Review Required"));
+        assertEquals(2L, snapshot.getRuleFirings().get("Credit Card Transaction Fee"));
+        assertEquals(2L, snapshot.getRuleFirings().get("VIP Customer - 5% Cashback"));
+        assertEquals(6, snapshot.getTotalFirings());
+    }
+
+    @Test
+    void testRulesEngineRecordsLatencyPerKieBase() {
+        RuleMetrics metrics = new RuleMetrics();
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .ruleMetrics(metrics)
+                .build())) {
+            for (int i = 0; i < 100; i++) {
+                engine.evaluateOrder(Order.builder()
+                        .orderId("ORD-" + i)
+                        .orderAmount(new BigDecimal("600"))
+                        .deliveryZone("LOCAL")
+                        .itemCount(1)
+                        .build()).join();
+            }
+        }
+
+        KieBaseMetricsSnapshot snapshot = metrics.snapshot("orderKBase");
+        assertEquals(100, snapshot.getExecuteLatency().getCount());
+        assertTrue(snapshot.getExecuteLatency().getP50Nanos() > 0);
+        assertTrue(snapshot.getExecuteLatency().getP999Nanos() >= snapshot.getExecuteLatency().getP50Nanos());
+        assertEquals(100L, snapshot.getRuleFirings().get("Local Delivery Shipping Charge"));
+        assertEquals(100L, snapshot.getRuleFirings().get("Calculate Total Order Amount"));
+    }
+
+    @Test
+    void testBatchEvaluatorCountsFirings() {
+        RuleMetrics metrics = new RuleMetrics();
+        BatchEvaluator evaluator = new BatchEvaluator(kieContainer, ForkJoinPool.commonPool(), 16,
+                DecisionEventSink.NOOP, metrics);
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            payments.add(vipCreditCardPayment("PAY-" + i));
+        }
+
+        evaluator.evaluatePayments(payments);
+
+        KieBaseMetricsSnapshot snapshot = metrics.snapshot("paymentKBase");
+        assertEquals(100, snapshot.getFactsInserted());
+        assertEquals(100L, snapshot.getRuleFirings().get("Credit Card Transaction Fee"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExposesSnapshotsThroughJmx() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        ObjectName name = new ObjectName("io.shaama.rulesengine:type=RuleMetrics,kieBase=paymentKBase");
+        try (RuleMetrics metrics = new RuleMetrics(mBeanServer)) {
+            StatelessKieSession session = kieContainer.newStatelessKieSession("paymentKSession");
+            session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+            metrics.attach(session, "paymentKBase");
+            metrics.recordExecution("paymentKBase", 5_000);
+
+            session.execute(vipCreditCardPayment("PAY-001"));
+
+            assertEquals(1L, mBeanServer.getAttribute(name, "FactsInserted"));
+            assertEquals(3L, mBeanServer.getAttribute(name, "TotalFirings"));
+            assertEquals(1L, mBeanServer.getAttribute(name, "ExecuteCount"));
+            assertEquals(5_000L, mBeanServer.getAttribute(name, "ExecuteMaxNanos"));
+            assertNotNull(mBeanServer.getAttribute(name, "RuleFirings"));
+        }
+        assertFalse(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    void testSnapshotListsEveryKieBase() {
+        RuleMetrics metrics = new RuleMetrics();
+        metrics.recordExecution("offerKBase", 1_000);
+        metrics.recordExecution("orderKBase", 2_000);
+
+        Map<String, KieBaseMetricsSnapshot> snapshots = metrics.snapshot();
+
+        assertEquals(List.of("offerKBase", "orderKBase"), List.copyOf(snapshots.keySet()));
+        assertTrue(snapshots.get("offerKBase").getRuleFirings().isEmpty());
+    }
+
+    private static Payment vipCreditCardPayment(String paymentId) {
+        return Payment.builder()
+                .paymentId(paymentId)
+                .amount(new BigDecimal("60000"))
+                .paymentMethod("CREDIT_CARD")
+                .customerType("VIP")
+                .transactionCount(10)
+                .build();
+    }
+}
@@ -0,0 +1,221 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.reload.DirectoryRulePackSource;
+import io.shaama.rulesengine.reload.MavenRepositoryRulePackSource;
+import io.shaama.rulesengine.reload.ReloadMetrics;
+import io.shaama.rulesengine.reload.RulePack;
+import io.shaama.rulesengine.reload.RulePackSource;
+import io.shaama.rulesengine.reload.RuleReloader;
+import io.shaama.rulesengine.runtime.ReloadResult;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import io.shaama.rulesengine.runtime.WarmUpSettings;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieRepository;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleReloaderTest {
+
+    private static final String GOLD_RULE = "Gold Customer - 15% Discount";
+    private static final String FIRST_TIME_RULE = "First Time Customer - 25% Discount";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReloadsNewerPackAndRollsBack() throws IOException {
+        writeRulePack(tempDir, "9.0.0", "0.18");
+        try (RulesEngine engine = newEngine();
+             RuleReloader reloader = new RuleReloader(engine, new DirectoryRulePackSource(tempDir))) {
+            assertEquals(new BigDecimal("135.00"), evaluateGoldOffer(engine));
+
+            ReloadResult reload = reloader.checkNow().orElseThrow();
+
+            assertEquals("9.0.0", reload.getReleaseId().getVersion());
+            assertEquals(new BigDecimal("162.00"), evaluateGoldOffer(engine));
+            assertEquals(Optional.empty(), reloader.checkNow());
+
+            ReloadResult rollback = reloader.rollback();
+
+            assertEquals(reload.getPreviousReleaseId(), rollback.getReleaseId());
+            assertEquals(new BigDecimal("135.00"), evaluateGoldOffer(engine));
+            assertEquals(Optional.empty(), reloader.checkNow());
+
+            ReloadMetrics metrics = reloader.metrics();
+            assertEquals(1, metrics.getReloads());
+            assertEquals(1, metrics.getRollbacks());
+            assertEquals(1, metrics.getReloadTime().getCount());
+            assertEquals(2, metrics.getSwapPause().getCount());
+        }
+    }
+
+    @Test
+    void testKeepsAtMostTwoRulePacks() throws IOException {
+        try (RulesEngine engine = newEngine();
+             RuleReloader reloader = new RuleReloader(engine, new DirectoryRulePackSource(tempDir))) {
+            for (String version : new String[]{"9.0.0", "9.0.1", "9.0.2"}) {
+                writeRulePack(tempDir, version, "0.20");
+                reloader.checkNow();
+            }
+
+            assertEquals("9.0.2", engine.getReleaseId().getVersion());
+            assertEquals("9.0.1", engine.getPreviousReleaseId().getVersion());
+            KieRepository repository = KieServices.Factory.get().getRepository();
+            assertNull(repository.getKieModule(releaseId("9.0.0")));
+            assertNotNull(repository.getKieModule(releaseId("9.0.1")));
+            assertEquals(new BigDecimal("180.00"), evaluateGoldOffer(engine));
+        }
+    }
+
+    @Test
+    void testFailedPackKeepsCurrentRules() throws IOException {
+        Files.writeString(tempDir.resolve(RulePackSource.ARTIFACT_ID + "-9.0.0.jar"), "not a jar");
+        try (RulesEngine engine = newEngine();
+             RuleReloader reloader = new RuleReloader(engine, new DirectoryRulePackSource(tempDir))) {
+            assertThrows(RuntimeException.class, reloader::checkNow);
+
+            assertEquals(new BigDecimal("135.00"), evaluateGoldOffer(engine));
+            assertEquals(1, reloader.metrics().getFailures());
+            assertThrows(IllegalStateException.class, reloader::rollback);
+        }
+    }
+
+    @Test
+    void testFailedVersionIsSkippedUntilANewerOne() throws IOException {
+        writeRulePack(tempDir, "9.0.0", "0.18", "<kmodule xmlns=\"http://www.drools.org/xsd/kmodule\"/>");
+        try (RulesEngine engine = newEngine();
+             RuleReloader reloader = new RuleReloader(engine, new DirectoryRulePackSource(tempDir))) {
+            assertThrows(RuntimeException.class, reloader::checkNow);
+
+            assertNull(KieServices.Factory.get().getRepository().getKieModule(releaseId("9.0.0")));
+            assertEquals(Optional.empty(), reloader.checkNow());
+            assertEquals(1, reloader.metrics().getFailures());
+
+            writeRulePack(tempDir, "9.0.1", "0.18");
+
+            assertEquals("9.0.1", reloader.checkNow().orElseThrow().getReleaseId().getVersion());
+            assertEquals(new BigDecimal("162.00"), evaluateGoldOffer(engine));
+        }
+    }
+
+    @Test
+    void testDirectorySourcePicksHighestVersion() throws IOException {
+        for (String version : new String[]{"1.0.9", "1.0.10", "1.0.10-SNAPSHOT", "1.0.2"}) {
+            Files.createFile(tempDir.resolve(RulePackSource.ARTIFACT_ID + "-" + version + ".jar"));
+        }
+        Files.createFile(tempDir.resolve("other-artifact-2.0.0.jar"));
+        for (String classifier : new String[]{"sources", "javadoc", "tests"}) {
+            Files.createFile(tempDir.resolve(RulePackSource.ARTIFACT_ID + "-1.0.11-" + classifier + ".jar"));
+        }
+
+        RulePack latest = new DirectoryRulePackSource(tempDir).latest().orElseThrow();
+
+        assertEquals("1.0.10", latest.getVersion());
+    }
+
+    @Test
+    void testMavenSourceSkipsSnapshotsAndIncompleteVersions() throws IOException {
+        Path artifact = tempDir.resolve("io/shaama").resolve(RulePackSource.ARTIFACT_ID);
+        installed(artifact, "1.0.5", true);
+        installed(artifact, "1.0.6", false);
+        installed(artifact, "1.0.7-SNAPSHOT", true);
+
+        RulePack latest = new MavenRepositoryRulePackSource(tempDir).latest().orElseThrow();
+
+        assertEquals("1.0.5", latest.getVersion());
+        assertEquals(artifact.resolve("1.0.5").resolve(RulePackSource.ARTIFACT_ID + "-1.0.5.jar"), latest.getFile());
+    }
+
+    private static RulesEngine newEngine() {
+        return new RulesEngine(KieServices.Factory.get().getKieClasspathContainer(), RulesEngineConfig.builder()
+                .sessionsPerKieSession(2)
+                .warmUp(WarmUpSettings.builder().maxDuration(Duration.ZERO).build())
+                .build());
+    }
+
+    private static BigDecimal evaluateGoldOffer(RulesEngine engine) {
+        return engine.evaluateOffer(Offer.builder()
+                        .offerId("OFF-001")
+                        .customerSegment("GOLD")
+                        .orderAmount(new BigDecimal("900"))
+                        .build())
+                .join()
+                .getDiscountAmount();
+    }
+
+    private static ReleaseId releaseId(String version) {
+        return KieServices.Factory.get().newReleaseId(RulePackSource.GROUP_ID, RulePackSource.ARTIFACT_ID, version);
+    }
+
+    /**
+     * Builds the packaged rules with the Gold and first-time customer rate changed to
+     * {@code goldRate} and writes them as a KJAR into {@code directory}.
+     */
+    private static void writeRulePack(Path directory, String version, String goldRate) throws IOException {
+        writeRulePack(directory, version, goldRate, resource("META-INF/kmodule.xml"));
+    }
+
+    private static void writeRulePack(Path directory, String version, String goldRate, String kmodule) throws IOException {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = releaseId(version);
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.writeKModuleXML(kmodule);
+        writeOfferRules(kfs, Map.of(GOLD_RULE, goldRate, FIRST_TIME_RULE, goldRate));
+        kfs.write("src/main/resources/rules/order-rules.drl", resource("rules/order-rules.drl"));
+        kfs.write("src/main/resources/rules/payment-rules.drl", resource("rules/payment-rules.drl"));
+        kfs.write("src/main/resources/streams/payment-velocity.drl", resource("streams/payment-velocity.drl"));
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kfs).buildAll();
+        assertFalse(kieBuilder.getResults().hasMessages(Message.Level.ERROR), kieBuilder.getResults().toString());
+        InternalKieModule kieModule = (InternalKieModule) kieBuilder.getKieModule();
+        Files.write(directory.resolve(RulePackSource.ARTIFACT_ID + "-" + version + ".jar"), kieModule.getBytes());
+        kieServices.getRepository().removeKieModule(releaseId);
+    }
+
+    /**
+     * The offer rules with the discount rate of each named rule replaced, as a rule pack release
+     * changes it.
+     */
+    private static void writeOfferRules(KieFileSystem kfs, Map<String, String> rates) throws IOException {
+        String offerRules = resource("rules/offer-rules.drl");
+        for (Map.Entry<String, String> rate : rates.entrySet()) {
+            offerRules = offerRules.replaceFirst("(?s)(rule \"" + Pattern.quote(rate.getKey())
+                    + "\".*?multiply\\(new BigDecimal\\(\")[^\"]*", "$1" + rate.getValue());
+        }
+        kfs.write("src/main/resources/rules/offer-rules.drl", offerRules);
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = RuleReloaderTest.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void installed(Path artifact, String version, boolean withPom) throws IOException {
+        Path directory = Files.createDirectories(artifact.resolve(version));
+        Files.createFile(directory.resolve(RulePackSource.ARTIFACT_ID + "-" + version + ".jar"));
+        if (withPom) {
+            Files.createFile(directory.resolve(RulePackSource.ARTIFACT_ID + "-" + version + ".pom"));
+        }
+    }
+}
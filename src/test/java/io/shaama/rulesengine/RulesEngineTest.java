@@ -0,0 +1,216 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentStatus;
+import io.shaama.rulesengine.runtime.PoolMetrics;
+import io.shaama.rulesengine.runtime.RulesEngine;
+import io.shaama.rulesengine.runtime.RulesEngineConfig;
+import io.shaama.rulesengine.runtime.WarmUpReport;
+import io.shaama.rulesengine.runtime.WarmUpSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulesEngineTest {
+
+    private static KieContainer kieContainer;
+    private static RulesEngine rulesEngine;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+        rulesEngine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(4)
+                .acquireTimeout(Duration.ofSeconds(5))
+                .build());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        rulesEngine.close();
+    }
+
+    @Test
+    void testEvaluateOffer() {
+        Offer offer = Offer.builder()
+                .offerId("OFF-001")
+                .customerSegment("GOLD")
+                .orderAmount(new BigDecimal("900"))
+                .build();
+
+        Offer result = rulesEngine.evaluateOffer(offer).join();
+
+        assertSame(offer, result);
+        assertEquals("GOLD_CUSTOMER", result.getAppliedOfferType());
+    }
+
+    @Test
+    void testEvaluateOrder() {
+        Order order = Order.builder()
+                .orderId("ORD-001")
+                .orderAmount(new BigDecimal("600"))
+                .deliveryZone("NATIONAL")
+                .itemCount(1)
+                .build();
+
+        Order result = rulesEngine.evaluateOrder(order).join();
+
+        assertEquals(new BigDecimal("200"), result.getShippingCharge());
+    }
+
+    @Test
+    void testEvaluatePayment() {
+        Payment payment = Payment.builder()
+                .paymentId("PAY-001")
+                .amount(new BigDecimal("2500"))
+                .paymentMethod("WALLET")
+                .customerType("REGULAR")
+                .transactionCount(7)
+                .build();
+
+        Payment result = rulesEngine.evaluatePayment(payment).join();
+
+        assertEquals(new BigDecimal("25.00"), result.getTransactionFee());
+        assertEquals(PaymentStatus.APPROVED, result.getPaymentStatus());
+    }
+
+    @Test
+    void testConcurrentEvaluationsReuseBoundedPool() {
+        List<CompletableFuture<Payment>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(rulesEngine.evaluatePayment(Payment.builder()
+                    .paymentId("PAY-" + i)
+                    .amount(BigDecimal.valueOf(1000 + i))
+                    .paymentMethod("UPI")
+                    .customerType("VIP")
+                    .transactionCount(3)
+                    .build()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        futures.forEach(future -> assertEquals(PaymentStatus.APPROVED, future.join().getPaymentStatus()));
+        PoolMetrics metrics = rulesEngine.poolMetrics("paymentKSession");
+        assertEquals(4, metrics.getPoolSize());
+        assertEquals(4, metrics.getAvailable());
+        assertTrue(metrics.getAcquisitions() >= 500);
+        assertEquals(0, metrics.getTimeouts());
+    }
+
+    @Test
+    void testRejectsWhenPoolExhausted() throws InterruptedException {
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .acquireTimeout(Duration.ofMillis(50))
+                .build())) {
+            CompletableFuture<Order> blocked = engine.evaluateOrder(new BlockingOrder(evaluating, release));
+            evaluating.await();
+
+            CompletableFuture<Order> rejected = engine.evaluateOrder(Order.builder()
+                    .orderId("ORD-002")
+                    .orderAmount(new BigDecimal("100"))
+                    .itemCount(1)
+                    .build());
+
+            CompletionException error = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            release.countDown();
+            assertNotNull(blocked.join().getTotalAmount());
+            assertEquals(1, engine.poolMetrics("orderKSession").getTimeouts());
+        }
+    }
+
+    @Test
+    void testRejectsWhenTooManyPending() {
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .maxPendingEvaluations(0)
+                .build())) {
+            CompletableFuture<Offer> future = engine.evaluateOffer(Offer.builder()
+                    .orderAmount(new BigDecimal("100"))
+                    .build());
+
+            CompletionException error = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void testWarmUpExercisesEveryRuleBeforeReady() {
+        try (RulesEngine engine = new RulesEngine(kieContainer, RulesEngineConfig.builder()
+                .sessionsPerKieSession(1)
+                .warmUpBeforeReady(true)
+                .warmUp(WarmUpSettings.builder()
+                        .minRounds(2)
+                        .windowRounds(1)
+                        .maxDuration(Duration.ofSeconds(2))
+                        .build())
+                .build())) {
+            assertFalse(engine.isReady());
+
+            WarmUpReport report = engine.warmUp();
+
+            assertTrue(engine.isReady());
+            assertTrue(report.getRounds() >= 2);
+            assertEquals(List.of("offerKSession", "orderKSession", "paymentKSession"),
+                    List.copyOf(report.getFinalMeanNanos().keySet()));
+            assertEquals(3, report.getUnfiredRules().size());
+            report.getUnfiredRules().forEach((kieSessionName, rules) -> assertEquals(Set.of(), rules, kieSessionName));
+            assertEquals(0, engine.poolMetrics("offerKSession").getAcquisitions());
+        }
+    }
+
+    @Test
+    void testReadyWithoutWarmUpByDefault() {
+        assertTrue(rulesEngine.isReady());
+    }
+
+    @Test
+    void testUnknownSession() {
+        assertThrows(IllegalArgumentException.class, () -> rulesEngine.evaluate("unknownKSession", new Object()));
+    }
+
+    /**
+     * Order that holds its session until released, to exhaust a pool of one.
+     */
+    private static class BlockingOrder extends Order {
+        private final CountDownLatch evaluating;
+        private final CountDownLatch release;
+
+        BlockingOrder(CountDownLatch evaluating, CountDownLatch release) {
+            this.evaluating = evaluating;
+            this.release = release;
+            setOrderId("ORD-001");
+            setOrderAmount(new BigDecimal("500"));
+            setItemCount(1);
+        }
+
+        @Override
+        public BigDecimal getOrderAmount() {
+            evaluating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getOrderAmount();
+        }
+    }
+}
@@ -5,7 +5,7 @@ import org.junit.jupiter.api.Test;
 class RulesengineApplicationTests {
 
 	@Test
-	void contextLoads() {
+	void contextLoads() throws Exception {
 		// Basic test to ensure the application can be loaded
 		RulesengineApplication.main(new String[]{});
 	}
@@ -0,0 +1,178 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.events.DecisionEventSink;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.runtime.HitPolicy;
+import io.shaama.rulesengine.runtime.KieBaseNames;
+import io.shaama.rulesengine.stream.FactSchema;
+import io.shaama.rulesengine.stream.RecordFormat;
+import io.shaama.rulesengine.stream.StreamConfig;
+import io.shaama.rulesengine.stream.StreamProcessor;
+import io.shaama.rulesengine.stream.StreamStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.StatelessKieSession;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamProcessorTest {
+
+    private static final String[] ZONES = {"LOCAL", "REGIONAL", "NATIONAL", "INTERNATIONAL"};
+
+    private static KieContainer kieContainer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() {
+        kieContainer = KieServices.Factory.get().getKieClasspathContainer();
+    }
+
+    @Test
+    void testCsvOrdersMatchSingleFactExecution() throws IOException {
+        Path input = tempDir.resolve("orders.csv");
+        int count = 5_000;
+        try (BufferedWriter out = Files.newBufferedWriter(input)) {
+            out.write("orderId,orderAmount,deliveryZone,itemCount,isPeakHour,productType,totalAmount\n");
+            for (int i = 0; i < count; i++) {
+                out.write("ORD-" + i + "," + amount(i) + "," + ZONES[i % ZONES.length] + "," + (1 + i % 15) + ","
+                        + (i % 2 == 0) + ",ELECTRONICS,999\n");
+            }
+        }
+        Path output = tempDir.resolve("orders-out.csv");
+
+        StreamStats stats = newProcessor().process(FactSchema.ORDER, input, output);
+
+        assertEquals(count, stats.getRecords());
+        assertEquals(0, stats.getMalformed());
+        assertTrue(stats.getRecordsPerSecond() > 0);
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(count + 1, lines.size());
+        List<String> header = List.of(lines.get(0).split(","));
+        StatelessKieSession session = kieContainer.newStatelessKieSession("orderKSession");
+        session.setGlobal(DecisionEventSink.GLOBAL, DecisionEventSink.NOOP);
+        for (int i = 0; i < count; i++) {
+            Order expected = Order.builder()
+                    .orderId("ORD-" + i)
+                    .orderAmount(new BigDecimal(amount(i)))
+                    .deliveryZone(ZONES[i % ZONES.length])
+                    .itemCount(1 + i % 15)
+                    .isPeakHour(i % 2 == 0)
+                    .productType("ELECTRONICS")
+                    .build();
+            session.execute(expected);
+            String[] values = lines.get(i + 1).split(",", -1);
+            assertEquals("ORD-" + i, values[header.indexOf("orderId")]);
+            assertEquals(Objects.toString(expected.getTotalAmount(), ""), values[header.indexOf("totalAmount")]);
+            assertEquals(Objects.toString(expected.getOrderPriority(), ""), values[header.indexOf("orderPriority")]);
+            assertEquals(String.valueOf(expected.isRequiresApproval()), values[header.indexOf("requiresApproval")]);
+        }
+    }
+
+    @Test
+    void testNdjsonPaymentsAcrossMapWindows() throws IOException {
+        Path input = tempDir.resolve("payments.ndjson");
+        Files.writeString(input, """
+                {"paymentId":"PAY-1","amount":2500,"paymentMethod":"WALLET","customerType":"REGULAR","transactionCount":7}
+                {"paymentId":"PAY-2","amount":6000.00,"paymentMethod":"COD","customerType":"NEW","transactionCount":0}
+
+                {"paymentId":"PAY-\\"3\\"", "amount": 1000, "paymentMethod": "UPI", "customerType": "VIP", "creditLimit": null}
+                """);
+        Path output = tempDir.resolve("payments-out.ndjson");
+        StreamProcessor processor = new StreamProcessor(kieContainer, StreamConfig.builder()
+                .batchSize(1)
+                .workers(2)
+                .mapWindowBytes(16)
+                .build());
+
+        StreamStats stats = processor.process(FactSchema.PAYMENT, input, output);
+
+        assertEquals(3, stats.getRecords());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"paymentId\":\"PAY-1\""), lines.get(0));
+        assertTrue(lines.get(0).contains("\"transactionFee\":25.00"), lines.get(0));
+        assertTrue(lines.get(0).contains("\"paymentStatus\":\"APPROVED\""), lines.get(0));
+        assertTrue(lines.get(1).contains("\"paymentStatus\":\"REJECTED\""), lines.get(1));
+        assertTrue(lines.get(2).contains("\"paymentId\":\"PAY-\\\"3\\\"\""), lines.get(2));
+        assertTrue(lines.get(2).contains("\"transactionFee\":0"), lines.get(2));
+    }
+
+    @Test
+    void testSkipsMalformedRecords() throws IOException {
+        Path input = tempDir.resolve("offers.ndjson");
+        Files.writeString(input, """
+                {"offerId":"OFF-1","customerSegment":"GOLD","orderAmount":900}
+                {"offerId":"OFF-2","customerSegment":"UNKNOWN","orderAmount":900}
+                {"offerId":"OFF-3","orderAmount":12.345}
+                {"offerId":"OFF-4",
+                {"offerId":"OFF-5","customerSegment":"PREMIUM","orderAmount":1500}
+                """);
+        Path output = tempDir.resolve("offers-out.csv");
+
+        StreamStats stats = newProcessor().process(FactSchema.OFFER, input, RecordFormat.NDJSON,
+                output, RecordFormat.CSV);
+
+        assertEquals(2, stats.getRecords());
+        assertEquals(3, stats.getMalformed());
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("OFF-1,"));
+        assertTrue(lines.get(1).contains(",GOLD_CUSTOMER,"), lines.get(1));
+        assertTrue(lines.get(2).startsWith("OFF-5,"));
+    }
+
+    @Test
+    void testAppliesConfiguredHitPolicy() throws IOException {
+        Path input = tempDir.resolve("first-time-offers.ndjson");
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            records.append("{\"offerId\":\"OFF-").append(i)
+                    .append("\",\"customerSegment\":\"GOLD\",\"orderAmount\":900,\"isFirstTimeCustomer\":true}\n");
+        }
+        Files.writeString(input, records);
+        Path output = tempDir.resolve("first-time-offers-out.ndjson");
+        StreamProcessor processor = new StreamProcessor(kieContainer, StreamConfig.builder()
+                .batchSize(4)
+                .workers(2)
+                .hitPolicies(Map.of(KieBaseNames.OFFER, HitPolicy.FIRST))
+                .build());
+
+        StreamStats stats = processor.process(FactSchema.OFFER, input, output);
+
+        assertEquals(10, stats.getRecords());
+        for (String line : Files.readAllLines(output)) {
+            assertTrue(line.contains("\"appliedOfferType\":\"FIRST_TIME_CUSTOMER\""), line);
+        }
+    }
+
+    @Test
+    void testUnknownRecordType() {
+        assertThrows(IllegalArgumentException.class, () -> FactSchema.named("invoice"));
+    }
+
+    private StreamProcessor newProcessor() {
+        return new StreamProcessor(kieContainer, StreamConfig.builder()
+                .batchSize(64)
+                .maxBatchesInFlight(4)
+                .workers(3)
+                .build());
+    }
+
+    private static String amount(int i) {
+        return (i * 37 % 12_000) + "." + (i % 100 < 10 ? "0" : "") + (i % 100);
+    }
+}
@@ -0,0 +1,120 @@
+package io.shaama.rulesengine;
+
+import io.shaama.rulesengine.model.CustomerSegment;
+import io.shaama.rulesengine.model.Offer;
+import io.shaama.rulesengine.model.Order;
+import io.shaama.rulesengine.model.Payment;
+import io.shaama.rulesengine.model.PaymentMethod;
+import io.shaama.rulesengine.workload.WorkloadGenerator;
+import io.shaama.rulesengine.workload.WorkloadProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    private static final int SAMPLES = 50_000;
+
+    @Test
+    void testSameSeedProducesSameFacts() {
+        WorkloadGenerator first = new WorkloadGenerator(7);
+        WorkloadGenerator second = new WorkloadGenerator(7);
+        WorkloadGenerator other = new WorkloadGenerator(8);
+
+        List<Object> expected = new ArrayList<>();
+        List<Object> actual = new ArrayList<>();
+        List<Object> different = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            expected.add(first.next());
+            actual.add(second.next());
+            different.add(other.next());
+        }
+
+        assertEquals(expected, actual);
+        assertNotEquals(expected, different);
+    }
+
+    @Test
+    void testFactMixFollowsWeights() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadProfile.builder()
+                .offerWeight(1)
+                .orderWeight(0)
+                .paymentWeight(3)
+                .build(), 1);
+
+        int payments = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            Object fact = generator.next();
+            assertFalse(fact instanceof Order);
+            if (fact instanceof Payment) {
+                payments++;
+            }
+        }
+
+        assertEquals(0.75, (double) payments / SAMPLES, 0.01);
+    }
+
+    @Test
+    void testPaymentMethodsFollowProfile() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadProfile.builder()
+                .paymentMethods(Map.of(PaymentMethod.UPI, 3.0, PaymentMethod.COD, 1.0))
+                .build(), 3);
+
+        Map<PaymentMethod, Integer> counts = new EnumMap<>(PaymentMethod.class);
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(generator.nextPayment().getPaymentMethod(), 1, Integer::sum);
+        }
+
+        assertEquals(Set.of(PaymentMethod.UPI, PaymentMethod.COD), counts.keySet());
+        assertEquals(0.75, counts.get(PaymentMethod.UPI) / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    void testCustomersAreSkewedAndKeepTheirSegment() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadProfile.builder()
+                .customers(10_000)
+                .customerSkew(1.1)
+                .build(), 5);
+
+        Map<String, Integer> offersPerCustomer = new HashMap<>();
+        Map<String, CustomerSegment> segments = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            Offer offer = generator.nextOffer();
+            offersPerCustomer.merge(offer.getCustomerId(), 1, Integer::sum);
+            CustomerSegment previous = segments.putIfAbsent(offer.getCustomerId(), offer.getCustomerSegment());
+            assertTrue(previous == null || previous == offer.getCustomerSegment(), offer.getCustomerId());
+        }
+
+        // Under Zipf(1.1) over 10,000 customers the most frequent one accounts for about 15%
+        int hottest = offersPerCustomer.values().stream().max(Integer::compare).orElseThrow();
+        assertTrue(hottest > SAMPLES * 0.05, "hottest customer had " + hottest + " offers");
+        assertTrue(offersPerCustomer.size() < 10_000);
+    }
+
+    @Test
+    void testAmountsClusterAroundThresholds() {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadProfile.builder()
+                .thresholdShare(1.0)
+                .thresholdSpread(0.01)
+                .orderThresholdsMinor(List.of(100_000L))
+                .build(), 11);
+
+        int below = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            long amount = generator.nextOrder().getOrderAmountMinor();
+            assertTrue(amount >= 99_000 && amount <= 101_000, "amount " + amount);
+            if (amount < 100_000) {
+                below++;
+            }
+        }
+
+        assertEquals(0.5, (double) below / SAMPLES, 0.02);
+    }
+}
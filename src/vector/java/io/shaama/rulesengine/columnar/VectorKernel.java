@@ -0,0 +1,190 @@
+package io.shaama.rulesengine.columnar;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_CODE;
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_INT;
+import static io.shaama.rulesengine.columnar.ColumnCodes.NULL_LONG;
+import static io.shaama.rulesengine.columnar.ColumnarRules.*;
+
+/**
+ * SIMD kernel on the {@code jdk.incubator.vector} API. It is the only class of the vector source
+ * set, the one compiled with the incubator module, and only loaded by {@link ColumnarEvaluator}
+ * when the module is resolved.
+ *
+ * Rows are processed a vector of {@code long} lanes at a time: every rule condition becomes a
+ * lane mask and every output a blend of the rule results in the same salience order as
+ * {@link ScalarKernel}, so the loop has no data-dependent branches. Code and count columns are
+ * loaded in the same vector shape and widened to {@code long} lanes; results narrower than
+ * {@code long} are narrowed back and stored through a mask covering the rows of the block. The
+ * rows after the last block whose widest load still fits the range go through
+ * {@link ScalarKernel}.
+ */
+final class VectorKernel implements ColumnarKernel {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = LONGS.withLanes(int.class);
+    private static final VectorSpecies<Byte> BYTES = LONGS.withLanes(byte.class);
+    private static final int LANES = LONGS.length();
+    /** Lanes of the narrow vectors that hold the rows of one block. */
+    private static final VectorMask<Integer> BLOCK_INTS = INTS.indexInRange(0, LANES);
+    private static final VectorMask<Byte> BLOCK_BYTES = BYTES.indexInRange(0, LANES);
+    private static final LongVector ZERO = LongVector.zero(LONGS);
+
+    static int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void evaluateOrders(OrderColumns columns, int from, int to) {
+        int row = from;
+        for (; row <= to - BYTES.length(); row += LANES) {
+            LongVector amount = LongVector.fromArray(LONGS, columns.orderAmountMinor, row);
+            LongVector zone = widen(columns.deliveryZone, row);
+            LongVector productType = widen(columns.productType, row);
+            LongVector items = widen(columns.itemCount, row);
+            LongVector priority = widen(columns.orderPriority, row);
+            VectorMask<Long> peakHour = VectorMask.fromArray(LONGS, columns.peakHour, row);
+
+            VectorMask<Long> freeShipping = amount.compare(VectorOperators.GE, FREE_SHIPPING_MINOR);
+            VectorMask<Long> zoned = zone.compare(VectorOperators.NE, NULL_CODE).andNot(freeShipping);
+            LongVector shipping = ZERO
+                    .blend(LOCAL_SHIPPING_MINOR, zoned.and(zone.eq(LOCAL)))
+                    .blend(REGIONAL_SHIPPING_MINOR, zoned.and(zone.eq(REGIONAL)))
+                    .blend(NATIONAL_SHIPPING_MINOR, zoned.and(zone.eq(NATIONAL)))
+                    .blend(INTERNATIONAL_SHIPPING_MINOR, zoned.and(zone.eq(INTERNATIONAL)));
+            LongVector processing = ZERO.blend(PEAK_HOUR_FEE_MINOR, peakHour);
+            VectorMask<Long> approval = amount.compare(VectorOperators.GE, APPROVAL_MINOR);
+            VectorMask<Long> unprioritized = priority.eq(NULL_CODE);
+            VectorMask<Long> electronicsValue = productType.eq(ELECTRONICS)
+                    .and(amount.compare(VectorOperators.GE, ELECTRONICS_PRIORITY_MINOR));
+            VectorMask<Long> bulk = unprioritized.and(items.compare(VectorOperators.GE, BULK_ITEM_COUNT));
+            VectorMask<Long> standard = unprioritized.andNot(approval).andNot(electronicsValue)
+                    .and(items.compare(VectorOperators.NE, NULL_INT))
+                    .and(items.lt(BULK_ITEM_COUNT));
+
+            priority = priority
+                    .blend(HIGH, approval)
+                    .blend(HIGH, unprioritized.and(electronicsValue))
+                    .blend(MEDIUM, bulk)
+                    .blend(LOW, standard);
+            LongVector flags = ZERO
+                    .lanewise(VectorOperators.OR, OrderColumns.FREE_SHIPPING | OrderColumns.SHIPPING_CHARGED, freeShipping)
+                    .lanewise(VectorOperators.OR, OrderColumns.SHIPPING_CHARGED, zoned)
+                    .lanewise(VectorOperators.OR, OrderColumns.PROCESSING_CHARGED, peakHour)
+                    .lanewise(VectorOperators.OR, OrderColumns.REQUIRES_APPROVAL, approval)
+                    .lanewise(VectorOperators.OR, OrderColumns.BELOW_MINIMUM, amount.lt(MINIMUM_ORDER_MINOR));
+
+            shipping.intoArray(columns.shippingChargeMinor, row);
+            processing.intoArray(columns.processingFeeMinor, row);
+            amount.add(shipping).add(processing).intoArray(columns.totalAmountMinor, row);
+            narrowToBytes(priority).intoArray(columns.orderPriority, row, BLOCK_BYTES);
+            narrowToBytes(flags).intoArray(columns.flags, row, BLOCK_BYTES);
+        }
+        ScalarKernel.INSTANCE.evaluateOrders(columns, row, to);
+    }
+
+    @Override
+    public void evaluatePayments(PaymentColumns columns, int from, int to) {
+        int row = from;
+        for (; row <= to - BYTES.length(); row += LANES) {
+            LongVector amount = LongVector.fromArray(LONGS, columns.amountMinor, row);
+            LongVector method = widen(columns.paymentMethod, row);
+            LongVector type = widen(columns.customerType, row);
+            LongVector transactions = widen(columns.transactionCount, row);
+            LongVector creditLimit = LongVector.fromArray(LONGS, columns.creditLimitMinor, row);
+            LongVector status = widen(columns.paymentStatus, row);
+
+            VectorMask<Long> notRejected = status.compare(VectorOperators.NE, REJECTED);
+            VectorMask<Long> isNew = type.eq(NEW);
+            VectorMask<Long> regularOrVip = type.eq(REGULAR).or(type.eq(VIP));
+            // The rules make the strict checks on the decimal amounts; rows are whole minor units, where both agree
+            VectorMask<Long> creditLimitExceeded = method.eq(CREDIT_CARD).or(method.eq(NET_BANKING))
+                    .and(creditLimit.compare(VectorOperators.NE, NULL_LONG))
+                    .and(amount.compare(VectorOperators.GT, creditLimit));
+            VectorMask<Long> codOverLimit = method.eq(COD).and(amount.compare(VectorOperators.GT, COD_LIMIT_MINOR));
+            VectorMask<Long> manualReview = amount.compare(VectorOperators.GE, MANUAL_REVIEW_MINOR);
+            VectorMask<Long> largeNew = isNew.and(amount.compare(VectorOperators.GE, NEW_CUSTOMER_VERIFY_MINOR));
+            VectorMask<Long> newCustomerVerify = largeNew.and(notRejected);
+            VectorMask<Long> feeCharged = method.eq(CREDIT_CARD).or(method.eq(DEBIT_CARD)).or(method.eq(UPI))
+                    .or(method.eq(WALLET)).and(notRejected);
+            VectorMask<Long> vipCashback = type.eq(VIP).and(notRejected)
+                    .and(amount.compare(VectorOperators.GE, VIP_CASHBACK_MINOR));
+            VectorMask<Long> regularCashback = type.eq(REGULAR).and(notRejected)
+                    .and(amount.compare(VectorOperators.GE, REGULAR_CASHBACK_MINOR))
+                    .and(transactions.compare(VectorOperators.GE, REGULAR_CASHBACK_TRANSACTIONS));
+            VectorMask<Long> smallRegularOrVip = regularOrVip.and(amount.lt(LOW_RISK_MINOR));
+            VectorMask<Long> lowRisk = smallRegularOrVip.andNot(codOverLimit);
+            VectorMask<Long> mediumRisk = isNew.and(notRejected)
+                    .and(amount.lt(MEDIUM_RISK_MINOR))
+                    .and(transactions.compare(VectorOperators.GE, MEDIUM_RISK_TRANSACTIONS))
+                    .and(status.compare(VectorOperators.NE, REQUIRES_VERIFICATION));
+            VectorMask<Long> withinCreditLimit = creditLimit.eq(NULL_LONG)
+                    .or(amount.compare(VectorOperators.LE, creditLimit));
+            VectorMask<Long> pending = status.eq(NULL_CODE).and(withinCreditLimit)
+                    .and(amount.lt(MANUAL_REVIEW_MINOR))
+                    .andNot(codOverLimit).andNot(smallRegularOrVip).andNot(largeNew);
+
+            status = status
+                    .blend(REJECTED, creditLimitExceeded.or(codOverLimit))
+                    .blend(REQUIRES_VERIFICATION, manualReview.or(newCustomerVerify))
+                    .blend(APPROVED, lowRisk.or(mediumRisk))
+                    .blend(PENDING, pending);
+            LongVector risk = LongVector.broadcast(LONGS, NULL_INT)
+                    .blend(CREDIT_LIMIT_RISK, creditLimitExceeded)
+                    .blend(MANUAL_REVIEW_RISK, manualReview)
+                    .blend(NEW_CUSTOMER_VERIFY_RISK, newCustomerVerify)
+                    .blend(LOW_RISK, lowRisk)
+                    .blend(MEDIUM_RISK, mediumRisk)
+                    .blend(DEFAULT_RISK, pending);
+            LongVector feeRate = ZERO
+                    .blend(CREDIT_CARD_FEE_RATE, method.eq(CREDIT_CARD))
+                    .blend(DEBIT_CARD_FEE_RATE, method.eq(DEBIT_CARD))
+                    .blend(WALLET_FEE_RATE, method.eq(WALLET));
+            LongVector cashbackRate = ZERO
+                    .blend(VIP_CASHBACK_RATE, vipCashback)
+                    .blend(REGULAR_CASHBACK_RATE, regularCashback);
+            LongVector flags = ZERO
+                    .lanewise(VectorOperators.OR, PaymentColumns.APPROVED, lowRisk.or(mediumRisk))
+                    .lanewise(VectorOperators.OR, PaymentColumns.MANUAL_REVIEW, manualReview.or(newCustomerVerify))
+                    .lanewise(VectorOperators.OR, PaymentColumns.FEE_CHARGED, feeCharged)
+                    .lanewise(VectorOperators.OR, PaymentColumns.VIP_CASHBACK, vipCashback)
+                    .lanewise(VectorOperators.OR, PaymentColumns.REGULAR_CASHBACK, regularCashback)
+                    .lanewise(VectorOperators.OR, PaymentColumns.REJECTED_CREDIT_LIMIT, creditLimitExceeded)
+                    .lanewise(VectorOperators.OR, PaymentColumns.REJECTED_COD_LIMIT, codOverLimit);
+
+            amount.mul(ZERO.blend(feeRate, feeCharged)).intoArray(columns.transactionFee, row);
+            amount.mul(cashbackRate).intoArray(columns.cashback, row);
+            narrowToBytes(status).intoArray(columns.paymentStatus, row, BLOCK_BYTES);
+            narrowToInts(risk).intoArray(columns.riskScore, row, BLOCK_INTS);
+            narrowToBytes(flags).intoArray(columns.flags, row, BLOCK_BYTES);
+        }
+        ScalarKernel.INSTANCE.evaluatePayments(columns, row, to);
+    }
+
+    @Override
+    public String description() {
+        return "vector (" + LANES + " x 64-bit lanes)";
+    }
+
+    private static LongVector widen(byte[] column, int row) {
+        return (LongVector) ByteVector.fromArray(BYTES, column, row).convertShape(VectorOperators.B2L, LONGS, 0);
+    }
+
+    private static LongVector widen(int[] column, int row) {
+        return (LongVector) IntVector.fromArray(INTS, column, row).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+
+    private static ByteVector narrowToBytes(LongVector values) {
+        return (ByteVector) values.convertShape(VectorOperators.L2B, BYTES, 0);
+    }
+
+    private static IntVector narrowToInts(LongVector values) {
+        return (IntVector) values.convertShape(VectorOperators.L2I, INTS, 0);
+    }
+}